@@ -154,6 +154,8 @@ public class EntityLogView extends StandardListView<EntityLogItem> {
     @Autowired
     protected UserRepository userRepository;
     @Autowired
+    protected DataManager dataManager;
+    @Autowired
     protected MessageTools messageTools;
     @Autowired
     protected DialogWindows dialogBuilders;
@@ -412,12 +414,18 @@ public class EntityLogView extends StandardListView<EntityLogItem> {
     protected void onEntityLogTableSelect(SelectionEvent<Grid<EntityLogItem>, EntityLogItem> event1) {
         EntityLogItem entity = event1.getFirstSelectedItem().orElse(null);
         if (entity != null) {
-            entityLogAttrDc.setItems(entity.getAttributes());
+            entityLogAttrDc.setItems(loadEntityLogItemWithChanges(entity).getAttributes());
         } else {
             entityLogAttrDc.setItems(null);
         }
     }
 
+    protected EntityLogItem loadEntityLogItemWithChanges(EntityLogItem item) {
+        return dataManager.load(Id.of(item))
+                .fetchPlan(FetchPlan.LOCAL)
+                .one();
+    }
+
     @Subscribe("attributesCheckboxGroup")
     protected void onAttributesCheckboxGroupValueChange(AbstractField.ComponentValueChangeEvent<CheckboxGroup<String>,
             Set<String>> event) {
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.jmix.audit.benchmark;
+
+import com.thoughtworks.xstream.XStream;
+import io.jmix.audit.AuditConfiguration;
+import io.jmix.audit.snapshot.EntityDifferenceManager;
+import io.jmix.audit.snapshot.EntitySnapshotManager;
+import io.jmix.audit.snapshot.model.EntityDifferenceModel;
+import io.jmix.audit.snapshot.model.EntitySnapshotModel;
+import io.jmix.core.*;
+import io.jmix.data.DataConfiguration;
+import io.jmix.dynattr.DynAttrConfiguration;
+import io.jmix.eclipselink.EclipselinkConfiguration;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import test_support.AuditTestConfiguration;
+import test_support.TestContextInititalizer;
+import test_support.testmodel.cascade.CascOrder;
+import test_support.testmodel.cascade.CascOrderReview;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creation, reading and comparison of entity snapshots in the current JSON format
+ * and in the legacy XStream XML format.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EntitySnapshotBenchmark {
+
+    private AnnotationConfigApplicationContext context;
+    private EntitySnapshotManager snapshotManager;
+    private EntityDifferenceManager differenceManager;
+    private XStream xStream;
+
+    private CascOrder order;
+    private FetchPlan fetchPlan;
+
+    private EntitySnapshotModel jsonSnapshot1;
+    private EntitySnapshotModel jsonSnapshot2;
+    private EntitySnapshotModel xmlSnapshot1;
+    private EntitySnapshotModel xmlSnapshot2;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = new AnnotationConfigApplicationContext();
+        new TestContextInititalizer().initialize(context);
+        context.register(CoreConfiguration.class, DataConfiguration.class, EclipselinkConfiguration.class,
+                AuditConfiguration.class, DynAttrConfiguration.class, AuditTestConfiguration.class);
+        context.refresh();
+
+        snapshotManager = context.getBean(EntitySnapshotManager.class);
+        differenceManager = context.getBean(EntityDifferenceManager.class);
+        Metadata metadata = context.getBean(Metadata.class);
+
+        xStream = new XStream();
+        XStream.setupDefaultSecurity(xStream);
+        xStream.allowTypesByWildcard(new String[]{"test_support.**", "io.jmix.**"});
+
+        fetchPlan = context.getBean(FetchPlans.class).builder(CascOrder.class)
+                .addFetchPlan(FetchPlan.LOCAL)
+                .add("review", FetchPlan.LOCAL)
+                .build();
+
+        order = metadata.create(CascOrder.class);
+        order.setNotes("Order notes");
+        CascOrderReview review = metadata.create(CascOrderReview.class);
+        review.setTitle("Review");
+        review.setText("Review text");
+        order.setReview(review);
+
+        jsonSnapshot1 = snapshotManager.createTempSnapshot(order, fetchPlan, new Date(1000), "admin");
+        xmlSnapshot1 = createXmlSnapshot(jsonSnapshot1, new Date(1000));
+
+        review.setText("Changed review text");
+        jsonSnapshot2 = snapshotManager.createTempSnapshot(order, fetchPlan, new Date(2000), "admin");
+        xmlSnapshot2 = createXmlSnapshot(jsonSnapshot2, new Date(2000));
+    }
+
+    private EntitySnapshotModel createXmlSnapshot(EntitySnapshotModel jsonSnapshot, Date snapshotDate) {
+        EntitySnapshotModel snapshot = context.getBean(Metadata.class).create(EntitySnapshotModel.class);
+        snapshot.setEntityMetaClass(jsonSnapshot.getEntityMetaClass());
+        snapshot.setObjectEntityId(jsonSnapshot.getEntityId());
+        snapshot.setFetchPlanXml(xStream.toXML(fetchPlan));
+        snapshot.setSnapshotXml(xStream.toXML(order));
+        snapshot.setSnapshotDate(snapshotDate);
+        snapshot.setAuthorUsername("admin");
+        return snapshot;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public EntitySnapshotModel createJson() {
+        return snapshotManager.createTempSnapshot(order, fetchPlan, new Date(3000), "admin");
+    }
+
+    @Benchmark
+    public String createXml() {
+        return xStream.toXML(order);
+    }
+
+    @Benchmark
+    public Object extractJson() {
+        return snapshotManager.extractEntity(jsonSnapshot2);
+    }
+
+    @Benchmark
+    public Object extractXml() {
+        return snapshotManager.extractEntity(xmlSnapshot2);
+    }
+
+    @Benchmark
+    public EntityDifferenceModel differenceJson() {
+        return differenceManager.getDifference(jsonSnapshot1, jsonSnapshot2);
+    }
+
+    @Benchmark
+    public EntityDifferenceModel differenceXml() {
+        return differenceManager.getDifference(xmlSnapshot1, xmlSnapshot2);
+    }
+}
@@ -19,6 +19,8 @@ package io.jmix.audit;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.bind.DefaultValue;
 
+import java.time.Duration;
+
 @ConfigurationProperties("jmix.audit")
 public class AuditProperties {
 
@@ -26,12 +28,52 @@ public class AuditProperties {
     //ToDo: make system user name globally configurable?
     String systemUsername;
 
+    /**
+     * Whether entity log items are written to the outbox table and moved to the entity log
+     * by a background worker instead of being saved synchronously.
+     */
+    boolean entityLogOutboxEnabled;
+
+    /**
+     * Delay in milliseconds between runs of the entity log outbox processing.
+     */
+    Duration entityLogOutboxProcessingInterval;
+
+    /**
+     * Maximum number of outbox records moved to the entity log in one transaction.
+     */
+    int entityLogOutboxBatchSize;
+
+    /**
+     * Maximum number of attempts to move an outbox record to the entity log. Records that failed this number of
+     * times are no longer processed and remain in the outbox table for investigation.
+     */
+    int entityLogOutboxMaxAttempts;
+
+    /**
+     * Format of the entity log item changes: {@code properties} (default) or {@code binary}.
+     * Changes stored in other formats remain readable.
+     *
+     * @see EntityLogChangesCodec
+     */
+    String entityLogChangesFormat;
+
     public AuditProperties(
             @DefaultValue("true") boolean enabled,
-            @DefaultValue("system") String systemUsername
+            @DefaultValue("system") String systemUsername,
+            @DefaultValue("false") boolean entityLogOutboxEnabled,
+            @DefaultValue("1000") Duration entityLogOutboxProcessingInterval,
+            @DefaultValue("100") int entityLogOutboxBatchSize,
+            @DefaultValue("5") int entityLogOutboxMaxAttempts,
+            @DefaultValue("properties") String entityLogChangesFormat
     ) {
         this.enabled = enabled;
         this.systemUsername = systemUsername;
+        this.entityLogOutboxEnabled = entityLogOutboxEnabled;
+        this.entityLogOutboxProcessingInterval = entityLogOutboxProcessingInterval;
+        this.entityLogOutboxBatchSize = entityLogOutboxBatchSize;
+        this.entityLogOutboxMaxAttempts = entityLogOutboxMaxAttempts;
+        this.entityLogChangesFormat = entityLogChangesFormat;
     }
 
     public boolean isEnabled() {
@@ -41,4 +83,39 @@ public class AuditProperties {
     public String getSystemUsername() {
         return systemUsername;
     }
+
+    /**
+     * @see #entityLogOutboxEnabled
+     */
+    public boolean isEntityLogOutboxEnabled() {
+        return entityLogOutboxEnabled;
+    }
+
+    /**
+     * @see #entityLogOutboxProcessingInterval
+     */
+    public Duration getEntityLogOutboxProcessingInterval() {
+        return entityLogOutboxProcessingInterval;
+    }
+
+    /**
+     * @see #entityLogOutboxBatchSize
+     */
+    public int getEntityLogOutboxBatchSize() {
+        return entityLogOutboxBatchSize;
+    }
+
+    /**
+     * @see #entityLogOutboxMaxAttempts
+     */
+    public int getEntityLogOutboxMaxAttempts() {
+        return entityLogOutboxMaxAttempts;
+    }
+
+    /**
+     * @see #entityLogChangesFormat
+     */
+    public String getEntityLogChangesFormat() {
+        return entityLogChangesFormat;
+    }
 }
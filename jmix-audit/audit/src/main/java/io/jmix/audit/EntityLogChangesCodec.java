@@ -0,0 +1,51 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.jmix.audit;
+
+import io.jmix.audit.entity.EntityLogAttr;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Converts changed attributes of an entity log item to the value of {@code EntityLogItem.changes} and back.
+ * <p>
+ * Implementations are registered as Spring beans. The codec used for writing is selected by
+ * {@link AuditProperties#getEntityLogChangesFormat()}, the codec used for reading is the first one
+ * (in the bean order) that {@linkplain #canDecode(String) recognizes} the stored value, so rows
+ * written in different formats can coexist.
+ */
+public interface EntityLogChangesCodec {
+
+    /**
+     * @return format name used in {@link AuditProperties#getEntityLogChangesFormat()}
+     */
+    String getFormat();
+
+    /**
+     * @return true if the given stored value is written in the format of this codec
+     */
+    boolean canDecode(String changes);
+
+    String encode(Collection<EntityLogAttr> attributes);
+
+    /**
+     * @return attributes without the {@code logItem} reference
+     */
+    List<EntityLogAttr> decode(String changes);
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.jmix.audit;
+
+import io.jmix.audit.impl.EntityLogChangesSupport;
+import io.jmix.core.Stores;
+import io.jmix.core.security.Authenticated;
+import io.jmix.data.StoreAwareLocator;
+import io.jmix.data.persistence.DbmsSpecifics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedOperationParameter;
+import org.springframework.jmx.export.annotation.ManagedOperationParameters;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@ManagedResource(objectName = "jmix.audit:type=EntityLog", description = "Manages entity log")
+@Component("audit_EntityLogManagementFacade")
+public class EntityLogManagementFacade {
+
+    private static final Logger log = LoggerFactory.getLogger(EntityLogManagementFacade.class);
+
+    @Autowired
+    protected EntityLogChangesSupport entityLogChangesSupport;
+
+    @Autowired
+    protected AuditProperties auditProperties;
+
+    @Autowired
+    protected StoreAwareLocator storeAwareLocator;
+
+    @Autowired
+    protected DbmsSpecifics dbmsSpecifics;
+
+    @PersistenceContext
+    protected EntityManager entityManager;
+
+    protected TransactionTemplate transaction;
+
+    @Autowired
+    protected void setTransaction(PlatformTransactionManager transactionManager) {
+        transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Authenticated
+    @ManagedOperation(description = "Convert changes of existing entity log items to the configured format")
+    @ManagedOperationParameters({@ManagedOperationParameter(name = "batchSize",
+            description = "Number of entity log items processed in one transaction")})
+    public String reencodeChanges(int batchSize) {
+        if (batchSize <= 0) {
+            return "Batch size must be positive";
+        }
+
+        int processed = 0;
+        int reencoded = 0;
+        UUID lastId = null;
+        while (true) {
+            List<Object[]> rows = loadChangesBatch(lastId, batchSize);
+            if (rows.isEmpty()) {
+                break;
+            }
+            reencoded += reencodeChangesBatch(rows);
+            processed += rows.size();
+            lastId = (UUID) rows.get(rows.size() - 1)[0];
+            log.debug("{} entity log items processed, {} re-encoded", processed, reencoded);
+            if (rows.size() < batchSize) {
+                break;
+            }
+        }
+        return String.format("%d entity log items processed, %d converted to '%s' format",
+                processed, reencoded, auditProperties.getEntityLogChangesFormat());
+    }
+
+    protected List<Object[]> loadChangesBatch(@Nullable UUID lastId, int batchSize) {
+        return transaction.execute(status -> {
+            TypedQuery<Object[]> query = entityManager.createQuery(
+                    "select e.id, e.changes from audit_EntityLog e"
+                            + (lastId == null ? "" : " where e.id > :lastId")
+                            + " order by e.id", Object[].class);
+            if (lastId != null) {
+                query.setParameter("lastId", lastId);
+            }
+            return query.setMaxResults(batchSize).getResultList();
+        });
+    }
+
+    protected int reencodeChangesBatch(List<Object[]> rows) {
+        List<Object[]> batchArgs = new ArrayList<>();
+        for (Object[] row : rows) {
+            String changes = (String) row[1];
+            if (changes != null && entityLogChangesSupport.isReencodingRequired(changes)) {
+                batchArgs.add(new Object[]{entityLogChangesSupport.reencode(changes),
+                        dbmsSpecifics.getDbTypeConverter().getSqlObject(row[0])});
+            }
+        }
+        if (!batchArgs.isEmpty()) {
+            transaction.executeWithoutResult(status -> storeAwareLocator.getJdbcTemplate(Stores.MAIN)
+                    .batchUpdate("update AUDIT_ENTITY_LOG set CHANGES = ? where ID = ?", batchArgs));
+        }
+        return batchArgs.size();
+    }
+}
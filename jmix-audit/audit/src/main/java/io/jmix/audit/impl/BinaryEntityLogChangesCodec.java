@@ -0,0 +1,184 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.jmix.audit.impl;
+
+import io.jmix.audit.EntityLogChangesCodec;
+import io.jmix.audit.entity.EntityLogAttr;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Stores changes in a compact binary form: the number of attributes followed by name, value, value id,
+ * old value, old value id and messages pack of each attribute written as varint-length UTF-8 strings.
+ * Large payloads are additionally compressed with deflate.
+ * <p>
+ * As the changes column is textual, the payload is written as Base64 after the {@link #PREFIX} which
+ * cannot start a value written by {@link PropertiesEntityLogChangesCodec}.
+ */
+@Component("audit_BinaryEntityLogChangesCodec")
+@Order(100)
+public class BinaryEntityLogChangesCodec implements EntityLogChangesCodec {
+
+    public static final String FORMAT = "binary";
+
+    public static final String PREFIX = "!b1";
+
+    protected static final char RAW = 'r';
+    protected static final char DEFLATED = 'z';
+
+    /**
+     * Payloads shorter than this number of bytes are not compressed.
+     */
+    protected static final int COMPRESSION_THRESHOLD = 256;
+
+    @Override
+    public String getFormat() {
+        return FORMAT;
+    }
+
+    @Override
+    public boolean canDecode(String changes) {
+        return changes.startsWith(PREFIX);
+    }
+
+    @Override
+    public String encode(Collection<EntityLogAttr> attributes) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        writeVarInt(bytes, attributes.size());
+        for (EntityLogAttr attr : attributes) {
+            writeString(bytes, attr.getName());
+            writeString(bytes, attr.getValue());
+            writeString(bytes, attr.getValueId());
+            writeString(bytes, attr.getOldValue());
+            writeString(bytes, attr.getOldValueId());
+            writeString(bytes, attr.getMessagesPack());
+        }
+
+        byte[] payload = bytes.toByteArray();
+        char mode = RAW;
+        if (payload.length >= COMPRESSION_THRESHOLD) {
+            byte[] deflated = deflate(payload);
+            if (deflated.length < payload.length) {
+                payload = deflated;
+                mode = DEFLATED;
+            }
+        }
+        return PREFIX + mode + Base64.getEncoder().withoutPadding().encodeToString(payload);
+    }
+
+    @Override
+    public List<EntityLogAttr> decode(String changes) {
+        if (changes.length() <= PREFIX.length()) {
+            throw new IllegalArgumentException("Invalid binary entity log changes");
+        }
+        char mode = changes.charAt(PREFIX.length());
+        byte[] payload = Base64.getDecoder().decode(changes.substring(PREFIX.length() + 1));
+        if (mode == DEFLATED) {
+            payload = inflate(payload);
+        } else if (mode != RAW) {
+            throw new IllegalArgumentException("Unknown binary entity log changes mode: " + mode);
+        }
+
+        ByteArrayInputStream in = new ByteArrayInputStream(payload);
+        int count = readVarInt(in);
+        List<EntityLogAttr> attributes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            EntityLogAttr attr = new EntityLogAttr();
+            attr.setId(UUID.randomUUID());
+            attr.setName(readString(in));
+            attr.setValue(readString(in));
+            attr.setValueId(readString(in));
+            attr.setOldValue(readString(in));
+            attr.setOldValueId(readString(in));
+            attr.setMessagesPack(readString(in));
+            attributes.add(attr);
+        }
+        return attributes;
+    }
+
+    protected void writeString(ByteArrayOutputStream out, @Nullable String value) {
+        if (value == null) {
+            writeVarInt(out, 0);
+        } else {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(out, bytes.length + 1);
+            out.write(bytes, 0, bytes.length);
+        }
+    }
+
+    @Nullable
+    protected String readString(ByteArrayInputStream in) {
+        int length = readVarInt(in) - 1;
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        if (in.read(bytes, 0, length) != length) {
+            throw new IllegalArgumentException("Unexpected end of binary entity log changes");
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    protected void writeVarInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    protected int readVarInt(ByteArrayInputStream in) {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new IllegalArgumentException("Unexpected end of binary entity log changes");
+            }
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint in binary entity log changes");
+    }
+
+    protected byte[] deflate(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 2);
+        try (DeflaterOutputStream deflater = new DeflaterOutputStream(out)) {
+            deflater.write(bytes);
+        } catch (IOException e) {
+            throw new RuntimeException("Error compressing entity log attributes", e);
+        }
+        return out.toByteArray();
+    }
+
+    protected byte[] inflate(byte[] bytes) {
+        try (InflaterInputStream inflater = new InflaterInputStream(new ByteArrayInputStream(bytes))) {
+            return inflater.readAllBytes();
+        } catch (IOException e) {
+            throw new RuntimeException("Error decompressing entity log attributes", e);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.jmix.audit.impl;
+
+import io.jmix.audit.AuditProperties;
+import io.jmix.audit.EntityLogChangesCodec;
+import io.jmix.audit.entity.EntityLogAttr;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Selects {@link EntityLogChangesCodec} for writing and reading entity log item changes.
+ */
+@Component("audit_EntityLogChangesSupport")
+public class EntityLogChangesSupport {
+
+    protected final List<EntityLogChangesCodec> codecs;
+
+    protected final EntityLogChangesCodec writeCodec;
+
+    public EntityLogChangesSupport(List<EntityLogChangesCodec> codecs, AuditProperties properties) {
+        this.codecs = codecs;
+        this.writeCodec = codecs.stream()
+                .filter(codec -> codec.getFormat().equals(properties.getEntityLogChangesFormat()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException(
+                        "Unknown entity log changes format: " + properties.getEntityLogChangesFormat()));
+    }
+
+    public String encode(Collection<EntityLogAttr> attributes) {
+        return writeCodec.encode(attributes);
+    }
+
+    public List<EntityLogAttr> decode(String changes) {
+        return getReadCodec(changes).decode(changes);
+    }
+
+    /**
+     * @return true if the stored value is not written in the configured format
+     */
+    public boolean isReencodingRequired(String changes) {
+        return getReadCodec(changes) != writeCodec;
+    }
+
+    /**
+     * Converts the stored value to the configured format.
+     */
+    public String reencode(String changes) {
+        return writeCodec.encode(decode(changes));
+    }
+
+    protected EntityLogChangesCodec getReadCodec(String changes) {
+        for (EntityLogChangesCodec codec : codecs) {
+            if (codec.canDecode(changes)) {
+                return codec;
+            }
+        }
+        throw new IllegalArgumentException("No codec found for entity log changes");
+    }
+}
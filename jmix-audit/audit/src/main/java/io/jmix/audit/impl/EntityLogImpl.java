@@ -15,11 +15,11 @@
  */
 package io.jmix.audit.impl;
 
-import com.google.common.base.Strings;
 import io.jmix.audit.AuditProperties;
 import io.jmix.audit.EntityLog;
 import io.jmix.audit.entity.EntityLogAttr;
 import io.jmix.audit.entity.EntityLogItem;
+import io.jmix.audit.entity.EntityLogOutboxItem;
 import io.jmix.audit.entity.LoggedAttribute;
 import io.jmix.audit.entity.LoggedEntity;
 import io.jmix.core.*;
@@ -89,6 +89,10 @@ public class EntityLogImpl implements EntityLog, JpaLifecycleListener {
     protected AttributeChangesProvider attributeChangesProvider;
     @Autowired
     protected EntityEventManager entityEventManager;
+    @Autowired
+    protected EntityLogOutboxCodec entityLogOutboxCodec;
+    @Autowired
+    protected EntityLogChangesSupport entityLogChangesSupport;
 
     @PersistenceContext
     protected EntityManager entityManager;
@@ -131,7 +135,7 @@ public class EntityLogImpl implements EntityLog, JpaLifecycleListener {
 
     @Override
     public void onEntityChange(Object entity, EntityOp entityOp, @Nullable AttributeChanges changes) {
-        if (entity instanceof EntityLogItem) {
+        if (entity instanceof EntityLogItem || entity instanceof EntityLogOutboxItem) {
             return;
         }
         switch (entityOp) {
@@ -161,20 +165,45 @@ public class EntityLogImpl implements EntityLog, JpaLifecycleListener {
         if (items == null || items.isEmpty())
             return;
 
-        Set<EntityLogItem> saved = new LinkedHashSet<>();
-        for (EntityLogItem item : items) {
-            List<EntityLogItem> sameEntityList = items.stream()
-                    .filter(entityLogItem -> entityLogItem.getDbGeneratedIdEntity() != null ?
-                            entityLogItem.getDbGeneratedIdEntity().equals(item.getDbGeneratedIdEntity()) :
-                            entityLogItem.getEntityRef().getObjectEntityId().equals(item.getEntityRef().getObjectEntityId()))
-                    .collect(Collectors.toList());
+        Collection<List<EntityLogItem>> sameEntityLists = groupItemsByEntity(items);
+        List<EntityLogItem> itemsToSave = new ArrayList<>(sameEntityLists.size());
+        for (List<EntityLogItem> sameEntityList : sameEntityLists) {
             EntityLogItem itemToSave = sameEntityList.get(0);
-            if (!saved.contains(itemToSave)) {
-                computeChanges(itemToSave, sameEntityList);
-                saved.add(itemToSave);
-                saveItem(itemToSave);
+            computeChanges(itemToSave, sameEntityList);
+            itemsToSave.add(itemToSave);
+        }
+        saveItems(itemsToSave);
+    }
+
+    /**
+     * Groups log items by changed entity instance in a single pass keeping the order of the first item of each entity.
+     */
+    protected Collection<List<EntityLogItem>> groupItemsByEntity(List<EntityLogItem> items) {
+        // Instances with DB-generated ids don't have ids yet, so they are grouped by identity
+        Map<Object, List<EntityLogItem>> groupsByDbGeneratedIdEntity = new IdentityHashMap<>();
+        Map<List<Object>, List<EntityLogItem>> groupsByEntityId = new HashMap<>();
+        List<List<EntityLogItem>> groups = new ArrayList<>();
+        for (EntityLogItem item : items) {
+            List<EntityLogItem> group;
+            if (item.getDbGeneratedIdEntity() != null) {
+                group = groupsByDbGeneratedIdEntity.get(item.getDbGeneratedIdEntity());
+                if (group == null) {
+                    group = new ArrayList<>();
+                    groupsByDbGeneratedIdEntity.put(item.getDbGeneratedIdEntity(), group);
+                    groups.add(group);
+                }
+            } else {
+                List<Object> key = Arrays.asList(item.getEntity(), item.getEntityRef().getObjectEntityId());
+                group = groupsByEntityId.get(key);
+                if (group == null) {
+                    group = new ArrayList<>();
+                    groupsByEntityId.put(key, group);
+                    groups.add(group);
+                }
             }
+            group.add(item);
         }
+        return groups;
     }
 
     protected void computeChanges(EntityLogItem itemToSave, List<EntityLogItem> sameEntityList) {
@@ -184,31 +213,28 @@ public class EntityLogImpl implements EntityLog, JpaLifecycleListener {
 
         processAttributes(itemToSave, sameEntityList, attributes);
 
-        Properties properties = new Properties();
-
-        for (EntityLogAttr attr : itemToSave.getAttributes()) {
-            properties.setProperty(attr.getName(), Strings.nullToEmpty(attr.getValue()));
-            if (attr.getValueId() != null) {
-                properties.setProperty(attr.getName() + EntityLogAttr.VALUE_ID_SUFFIX, attr.getValueId());
-            }
-            if (attr.getOldValue() != null) {
-                properties.setProperty(attr.getName() + EntityLogAttr.OLD_VALUE_SUFFIX, attr.getOldValue());
-            }
-            if (attr.getOldValueId() != null) {
-                properties.setProperty(attr.getName() + EntityLogAttr.OLD_VALUE_ID_SUFFIX, attr.getOldValueId());
-            }
-            if (attr.getMessagesPack() != null) {
-                properties.setProperty(attr.getName() + EntityLogAttr.MP_SUFFIX, attr.getMessagesPack());
-            }
-        }
-
         if (itemToSave.getType() == EntityLogItem.Type.MODIFY) {
             sameEntityList.stream()
                     .filter(entityLogItem -> entityLogItem.getType() == EntityLogItem.Type.CREATE)
                     .findFirst()
                     .ifPresent(entityLogItem -> itemToSave.setType(EntityLogItem.Type.CREATE));
         }
-        itemToSave.setChanges(getChanges(properties));
+        itemToSave.setChanges(entityLogChangesSupport.encode(itemToSave.getAttributes()));
+    }
+
+    /**
+     * @deprecated changes are encoded by {@link EntityLogChangesSupport#encode(Collection)} from the attributes of
+     * the item
+     */
+    @Deprecated
+    protected String getChanges(Properties properties) {
+        try {
+            StringWriter writer = new StringWriter();
+            properties.store(writer, null);
+            return entityLogChangesSupport.reencode(writer.toString());
+        } catch (IOException e) {
+            throw new RuntimeException("Error writing entity log attributes", e);
+        }
     }
 
     protected void processAttributes(EntityLogItem itemToSave, List<EntityLogItem> sameEntityList, Set<String> attributes) {
@@ -252,30 +278,84 @@ public class EntityLogImpl implements EntityLog, JpaLifecycleListener {
     }
 
     protected void saveItem(EntityLogItem item) {
-        String storeName = metadata.getClass(item.getEntity()).getStore().getName();
-
-        entityEventManager.publishEntitySavingEvent(item, true);//workaround for jmix-framework/jmix#1069
-        if (item.getDbGeneratedIdEntity() == null) {
-            if (Stores.isMain(storeName)) {
-                entityManager.persist(item);
+        saveItems(Collections.singletonList(item));
+    }
+
+    /**
+     * Saves provided log items. Items of the main store are persisted in the current transaction,
+     * items of additional stores - in a single new transaction, items of entities with DB-generated ids -
+     * in a single new transaction after commit when ids are known.
+     * <p>
+     * Log items are stored in the main persistence unit, so their inserts are sent to the database in JDBC batches
+     * only if batch writing is enabled for the whole unit by the application properties:
+     * <pre>
+     * eclipselink.jdbc.batch-writing = JDBC
+     * eclipselink.jdbc.batch-writing.size = 100
+     * </pre>
+     * EclipseLink doesn't support batch writing for a single flush, so the audit doesn't enable it by itself:
+     * that would change how all entities of the application are written.
+     * If {@link AuditProperties#isEntityLogOutboxEnabled()} is set, items are written as a single outbox record
+     * instead and moved to the entity log later by {@link EntityLogOutboxProcessor}.
+     */
+    protected void saveItems(List<EntityLogItem> items) {
+        List<EntityLogItem> currentTransactionItems = new ArrayList<>();
+        List<EntityLogItem> newTransactionItems = new ArrayList<>();
+        List<EntityLogItem> afterCommitItems = new ArrayList<>();
+        for (EntityLogItem item : items) {
+            entityEventManager.publishEntitySavingEvent(item, true);//workaround for jmix-framework/jmix#1069
+            if (item.getDbGeneratedIdEntity() != null) {
+                afterCommitItems.add(item);
+            } else if (Stores.isMain(metadata.getClass(item.getEntity()).getStore().getName())) {
+                currentTransactionItems.add(item);
             } else {
-                // Create a new transaction in main DB if we are saving an entity from additional data store
-                transaction.executeWithoutResult(transactionStatus -> entityManager.persist(item));
+                newTransactionItems.add(item);
             }
-        } else {
+        }
+
+        if (!currentTransactionItems.isEmpty()) {
+            persistItems(currentTransactionItems);
+        }
+
+        if (!newTransactionItems.isEmpty()) {
+            // Create a new transaction in main DB if we are saving entities from additional data store
+            transaction.executeWithoutResult(transactionStatus -> persistItems(newTransactionItems));
+        }
+
+        if (!afterCommitItems.isEmpty()) {
             TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
                 @Override
                 public void afterCommit() {
-                    Object id = EntityValues.getId(item.getDbGeneratedIdEntity());
-                    item.getEntityRef().setObjectEntityId(id);
-                    transaction.executeWithoutResult(status -> {
-                        entityManager.persist(item);
-                    });
+                    for (EntityLogItem item : afterCommitItems) {
+                        Object id = EntityValues.getId(item.getDbGeneratedIdEntity());
+                        item.getEntityRef().setObjectEntityId(id);
+                    }
+                    transaction.executeWithoutResult(status -> persistItems(afterCommitItems));
                 }
             });
         }
     }
 
+    protected void persistItems(List<EntityLogItem> items) {
+        if (properties.isEntityLogOutboxEnabled()) {
+            Date createTs = timeSource.currentTimestamp();
+            UserDetails currentUser = auditInfoProvider.getCurrentUser();
+            //items are persisted later by the outbox processor on behalf of the system user,
+            //so the create info is filled here and restored by the processor
+            for (EntityLogItem item : items) {
+                item.setCreateTs(createTs);
+                item.setCreatedBy(currentUser != null ? currentUser.getUsername() : null);
+            }
+            EntityLogOutboxItem outboxItem = metadata.create(EntityLogOutboxItem.class);
+            outboxItem.setCreateTs(createTs);
+            outboxItem.setAttempts(0);
+            outboxItem.setItemsCount(items.size());
+            outboxItem.setPayload(entityLogOutboxCodec.encode(items));
+            entityManager.persist(outboxItem);
+        } else {
+            items.forEach(entityManager::persist);
+        }
+    }
+
     @Override
     public synchronized boolean isEnabled() {
         return enabled && isLoggingForCurrentThread();
@@ -611,19 +691,6 @@ public class EntityLogImpl implements EntityLog, JpaLifecycleListener {
         return result;
     }
 
-    protected String getChanges(Properties properties) {
-        try {
-            StringWriter writer = new StringWriter();
-            properties.store(writer, null);
-            String changes = writer.toString();
-            if (changes.startsWith("#"))
-                changes = changes.substring(changes.indexOf("\n") + 1); // cut off comments line
-            return changes;
-        } catch (IOException e) {
-            throw new RuntimeException("Error writing entity log attributes", e);
-        }
-    }
-
     @Override
     public void registerDelete(Object entity) {
         registerDelete(entity, false);
@@ -21,17 +21,13 @@ import io.jmix.audit.entity.EntityLogAttr;
 import io.jmix.audit.entity.EntityLogItem;
 import io.jmix.core.EntityStates;
 import io.jmix.data.listener.BeforeDetachEntityListener;
-import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import java.io.StringReader;
 import java.util.*;
 
-import static io.jmix.audit.entity.EntityLogAttr.*;
-
 @Component("audit_EntityLogItemDetachListener")
 public class EntityLogItemDetachListener implements BeforeDetachEntityListener<EntityLogItem> {
 
@@ -40,9 +36,8 @@ public class EntityLogItemDetachListener implements BeforeDetachEntityListener<E
 
     @Autowired
     protected EntityStates entityStates;
-
-    protected final String[] skipNames = new String[]{VALUE_ID_SUFFIX,
-            MP_SUFFIX, OLD_VALUE_SUFFIX, OLD_VALUE_ID_SUFFIX};
+    @Autowired
+    protected EntityLogChangesSupport entityLogChangesSupport;
 
     @Override
     public void onBeforeDetach(EntityLogItem item) {
@@ -61,26 +56,9 @@ public class EntityLogItemDetachListener implements BeforeDetachEntityListener<E
             return;
         }
 
-        StringReader reader = new StringReader(item.getChanges());
-        Properties properties = new Properties();
         try {
-            properties.load(reader);
-            Enumeration<?> names = properties.propertyNames();
-            while (names.hasMoreElements()) {
-                String name = (String) names.nextElement();
-                if (StringUtils.endsWithAny(name, skipNames))
-                    continue;
-
-                EntityLogAttr attr = new EntityLogAttr();
-                attr.setId(UUID.randomUUID());
+            for (EntityLogAttr attr : entityLogChangesSupport.decode(item.getChanges())) {
                 attr.setLogItem(item);
-                attr.setName(name);
-                attr.setValue(properties.getProperty(name));
-                attr.setValueId(properties.getProperty(name + VALUE_ID_SUFFIX));
-                attr.setOldValue(properties.getProperty(name + OLD_VALUE_SUFFIX));
-                attr.setOldValueId(properties.getProperty(name + OLD_VALUE_ID_SUFFIX));
-                attr.setMessagesPack(properties.getProperty(name + MP_SUFFIX));
-
                 attributes.add(attr);
             }
         } catch (Exception e) {
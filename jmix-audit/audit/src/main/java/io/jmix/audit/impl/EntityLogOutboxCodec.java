@@ -0,0 +1,205 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.jmix.audit.impl;
+
+import io.jmix.audit.entity.EntityLogItem;
+import io.jmix.core.Metadata;
+import io.jmix.data.entity.ReferenceToEntity;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Serializes entity log items to a compact binary form stored in the entity log outbox and restores them.
+ * <p>
+ * Only the persistent state of items is written: id, event timestamp, user, change type, entity name,
+ * entity reference, instance name, changes, tenant and create info. The stream is compressed with deflate.
+ */
+@Component("audit_EntityLogOutboxCodec")
+public class EntityLogOutboxCodec {
+
+    protected static final int FORMAT_VERSION = 2;
+
+    /**
+     * Version without create info, records written in this format can still be decoded.
+     */
+    protected static final int FORMAT_VERSION_1 = 1;
+
+    protected static final byte REF_NONE = 0;
+    protected static final byte REF_UUID = 1;
+    protected static final byte REF_STRING = 2;
+    protected static final byte REF_INT = 3;
+    protected static final byte REF_LONG = 4;
+
+    @Autowired
+    protected Metadata metadata;
+
+    public byte[] encode(List<EntityLogItem> items) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bytes))) {
+            out.writeByte(FORMAT_VERSION);
+            out.writeInt(items.size());
+            for (EntityLogItem item : items) {
+                writeItem(out, item);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to encode entity log items", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public List<EntityLogItem> decode(byte[] payload) {
+        try (DataInputStream in = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(payload)))) {
+            int version = in.readByte();
+            if (version != FORMAT_VERSION && version != FORMAT_VERSION_1) {
+                throw new IllegalArgumentException("Unsupported entity log outbox format version: " + version);
+            }
+            int count = in.readInt();
+            List<EntityLogItem> items = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                items.add(readItem(in, version));
+            }
+            return items;
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to decode entity log items", e);
+        }
+    }
+
+    protected void writeItem(DataOutputStream out, EntityLogItem item) throws IOException {
+        writeUuid(out, item.getId());
+        out.writeLong(item.getEventTs() == null ? Long.MIN_VALUE : item.getEventTs().getTime());
+        writeString(out, item.getUsername());
+        writeString(out, item.getType() == null ? null : item.getType().getId());
+        writeString(out, item.getEntity());
+        writeEntityRef(out, item.getEntityRef());
+        writeString(out, item.getEntityInstanceName());
+        writeString(out, item.getChanges());
+        writeString(out, item.getSysTenantId());
+        out.writeLong(item.getCreateTs() == null ? Long.MIN_VALUE : item.getCreateTs().getTime());
+        writeString(out, item.getCreatedBy());
+    }
+
+    protected EntityLogItem readItem(DataInputStream in, int version) throws IOException {
+        EntityLogItem item = metadata.create(EntityLogItem.class);
+        UUID id = readUuid(in);
+        if (id != null) {
+            item.setId(id);
+        }
+        long eventTs = in.readLong();
+        item.setEventTs(eventTs == Long.MIN_VALUE ? null : new Date(eventTs));
+        item.setUsername(readString(in));
+        String type = readString(in);
+        if (type != null) {
+            item.setType(EntityLogItem.Type.fromId(type));
+        }
+        item.setEntity(readString(in));
+        readEntityRef(in, item.getEntityRef());
+        item.setEntityInstanceName(readString(in));
+        item.setChanges(readString(in));
+        item.setSysTenantId(readString(in));
+        if (version >= FORMAT_VERSION) {
+            long createTs = in.readLong();
+            item.setCreateTs(createTs == Long.MIN_VALUE ? null : new Date(createTs));
+            item.setCreatedBy(readString(in));
+        }
+        return item;
+    }
+
+    protected void writeEntityRef(DataOutputStream out, ReferenceToEntity ref) throws IOException {
+        if (ref.getEntityId() != null) {
+            out.writeByte(REF_UUID);
+            writeUuid(out, ref.getEntityId());
+        } else if (ref.getStringEntityId() != null) {
+            out.writeByte(REF_STRING);
+            writeString(out, ref.getStringEntityId());
+        } else if (ref.getIntEntityId() != null) {
+            out.writeByte(REF_INT);
+            out.writeInt(ref.getIntEntityId());
+        } else if (ref.getLongEntityId() != null) {
+            out.writeByte(REF_LONG);
+            out.writeLong(ref.getLongEntityId());
+        } else {
+            out.writeByte(REF_NONE);
+        }
+    }
+
+    protected void readEntityRef(DataInputStream in, ReferenceToEntity ref) throws IOException {
+        byte kind = in.readByte();
+        switch (kind) {
+            case REF_UUID:
+                ref.setEntityId(readUuid(in));
+                break;
+            case REF_STRING:
+                ref.setStringEntityId(readString(in));
+                break;
+            case REF_INT:
+                ref.setIntEntityId(in.readInt());
+                break;
+            case REF_LONG:
+                ref.setLongEntityId(in.readLong());
+                break;
+            case REF_NONE:
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown entity reference kind: " + kind);
+        }
+    }
+
+    protected void writeUuid(DataOutputStream out, @Nullable UUID uuid) throws IOException {
+        out.writeBoolean(uuid != null);
+        if (uuid != null) {
+            out.writeLong(uuid.getMostSignificantBits());
+            out.writeLong(uuid.getLeastSignificantBits());
+        }
+    }
+
+    @Nullable
+    protected UUID readUuid(DataInputStream in) throws IOException {
+        return in.readBoolean() ? new UUID(in.readLong(), in.readLong()) : null;
+    }
+
+    protected void writeString(DataOutputStream out, @Nullable String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+        } else {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    @Nullable
+    protected String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
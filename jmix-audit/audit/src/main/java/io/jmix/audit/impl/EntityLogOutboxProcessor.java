@@ -0,0 +1,288 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.jmix.audit.impl;
+
+import com.google.common.collect.Lists;
+import io.jmix.audit.AuditProperties;
+import io.jmix.audit.entity.EntityLogItem;
+import io.jmix.audit.entity.EntityLogOutboxItem;
+import io.jmix.core.TimeSource;
+import io.jmix.core.security.SystemAuthenticator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Moves entity log items from the outbox table to the entity log when
+ * {@link AuditProperties#isEntityLogOutboxEnabled()} is set.
+ * <p>
+ * Outbox records are processed in batches: items of a batch are persisted and the records are deleted
+ * in the same transaction. Items already present in the entity log are skipped, so a batch can be
+ * safely processed again after a failure or by several application instances (at-least-once delivery).
+ * <p>
+ * If a batch fails, its records are processed one by one, and the attempts counter of each failed record is
+ * incremented. Records that failed {@link AuditProperties#getEntityLogOutboxMaxAttempts()} times are skipped, so a
+ * record that cannot be decoded or persisted does not block the outbox.
+ * <p>
+ * The age of the oldest unprocessed record is published as {@code jmix.EntityLogOutbox.lag} gauge.
+ */
+@Component("audit_EntityLogOutboxProcessor")
+public class EntityLogOutboxProcessor {
+
+    private static final Logger log = LoggerFactory.getLogger(EntityLogOutboxProcessor.class);
+
+    protected static final int EXISTING_IDS_QUERY_CHUNK_SIZE = 500;
+
+    @Autowired
+    protected AuditProperties properties;
+    @Autowired
+    protected EntityLogOutboxCodec entityLogOutboxCodec;
+    @Autowired
+    protected TimeSource timeSource;
+    @Autowired
+    protected SystemAuthenticator systemAuthenticator;
+    @Autowired
+    protected MeterRegistry meterRegistry;
+    @Autowired
+    @Qualifier("core_ThreadPoolTaskScheduler")
+    protected TaskScheduler taskScheduler;
+
+    @PersistenceContext
+    protected EntityManager entityManager;
+
+    protected TransactionTemplate transaction;
+
+    protected final AtomicBoolean scheduled = new AtomicBoolean();
+    protected final AtomicLong lagMillis = new AtomicLong();
+    protected Counter processedItemsCounter;
+
+    @Autowired
+    protected void setTransactionManager(PlatformTransactionManager transactionManager) {
+        transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @PostConstruct
+    protected void init() {
+        TimeGauge.builder("jmix.EntityLogOutbox.lag", lagMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("Age of the oldest entity log outbox record")
+                .register(meterRegistry);
+        processedItemsCounter = Counter.builder("jmix.EntityLogOutbox.items")
+                .description("Number of entity log items moved from the outbox to the entity log")
+                .register(meterRegistry);
+    }
+
+    @EventListener
+    protected void onContextRefreshedEvent(ContextRefreshedEvent event) {
+        if (properties.isEntityLogOutboxEnabled() && scheduled.compareAndSet(false, true)) {
+            Duration interval = properties.getEntityLogOutboxProcessingInterval();
+            taskScheduler.scheduleWithFixedDelay(this::processOutboxScheduled, timeSource.now().toInstant().plus(interval), interval);
+        }
+    }
+
+    protected void processOutboxScheduled() {
+        try {
+            systemAuthenticator.runWithSystem(this::processOutbox);
+        } catch (Exception e) {
+            log.error("Unable to process entity log outbox", e);
+        }
+    }
+
+    /**
+     * Moves all outbox records existing at the moment to the entity log.
+     *
+     * @return number of moved entity log items
+     */
+    public int processOutbox() {
+        int batchSize = properties.getEntityLogOutboxBatchSize();
+        int processedItems = 0;
+        while (true) {
+            BatchResult result;
+            try {
+                result = Objects.requireNonNull(transaction.execute(status -> processNextBatch(batchSize)));
+            } catch (RuntimeException e) {
+                log.warn("Unable to process a batch of entity log outbox records, processing them one by one", e);
+                result = processNextBatchByRecords(batchSize);
+            }
+            processedItems += result.items;
+            processedItemsCounter.increment(result.items);
+            //failed records are retried on the next run
+            if (result.records < batchSize || result.failedRecords > 0) {
+                break;
+            }
+        }
+        updateLag();
+        if (processedItems > 0) {
+            log.debug("{} entity log items have been moved from the outbox", processedItems);
+        }
+        return processedItems;
+    }
+
+    protected BatchResult processNextBatch(int batchSize) {
+        List<EntityLogOutboxItem> records = entityManager.createQuery(
+                        "select o from audit_EntityLogOutboxItem o where (o.attempts is null or o.attempts < :maxAttempts) order by o.createTs",
+                        EntityLogOutboxItem.class)
+                .setParameter("maxAttempts", properties.getEntityLogOutboxMaxAttempts())
+                .setMaxResults(batchSize)
+                .getResultList();
+        if (records.isEmpty()) {
+            return new BatchResult(0, 0, 0);
+        }
+        return new BatchResult(records.size(), moveRecords(records), 0);
+    }
+
+    /**
+     * Processes the next batch of records each in a separate transaction. Records that fail are not moved, their
+     * attempts counter is incremented instead.
+     */
+    protected BatchResult processNextBatchByRecords(int batchSize) {
+        List<UUID> recordIds = Objects.requireNonNull(transaction.execute(status -> entityManager.createQuery(
+                        "select o.id from audit_EntityLogOutboxItem o where (o.attempts is null or o.attempts < :maxAttempts) order by o.createTs",
+                        UUID.class)
+                .setParameter("maxAttempts", properties.getEntityLogOutboxMaxAttempts())
+                .setMaxResults(batchSize)
+                .getResultList()));
+
+        int items = 0;
+        int failedRecords = 0;
+        for (UUID recordId : recordIds) {
+            try {
+                items += Objects.requireNonNull(transaction.execute(status -> {
+                    EntityLogOutboxItem record = entityManager.find(EntityLogOutboxItem.class, recordId);
+                    return record == null ? 0 : moveRecords(Collections.singletonList(record));
+                }));
+            } catch (RuntimeException e) {
+                failedRecords++;
+                registerFailedAttempt(recordId, e);
+            }
+        }
+        return new BatchResult(recordIds.size(), items, failedRecords);
+    }
+
+    protected void registerFailedAttempt(UUID recordId, Exception exception) {
+        int maxAttempts = properties.getEntityLogOutboxMaxAttempts();
+        Integer attempts = transaction.execute(status -> {
+            EntityLogOutboxItem record = entityManager.find(EntityLogOutboxItem.class, recordId);
+            if (record == null) {
+                return null;
+            }
+            record.setAttempts(record.getAttempts() == null ? 1 : record.getAttempts() + 1);
+            return record.getAttempts();
+        });
+        if (attempts != null && attempts >= maxAttempts) {
+            log.error("Unable to move entity log outbox record {}, it is skipped after {} attempts", recordId, attempts, exception);
+        } else {
+            log.error("Unable to move entity log outbox record {} (attempt {} of {})", recordId, attempts, maxAttempts, exception);
+        }
+    }
+
+    /**
+     * Persists entity log items of the records and deletes the records.
+     *
+     * @return number of persisted entity log items
+     */
+    protected int moveRecords(List<EntityLogOutboxItem> records) {
+        List<EntityLogItem> items = new ArrayList<>();
+        for (EntityLogOutboxItem record : records) {
+            items.addAll(entityLogOutboxCodec.decode(record.getPayload()));
+        }
+
+        Set<UUID> existingIds = loadExistingIds(items);
+        int persisted = 0;
+        for (EntityLogItem item : items) {
+            if (item.getId() == null || !existingIds.contains(item.getId())) {
+                persistItem(item);
+                persisted++;
+            }
+        }
+        records.forEach(entityManager::remove);
+        return persisted;
+    }
+
+    /**
+     * Persists the item keeping its original create info. The persistence listener fills the create info from the
+     * current context which is the system authentication of the processor, so the decoded values are set again
+     * after the item has been registered. Items of records written without create info keep the listener values.
+     */
+    protected void persistItem(EntityLogItem item) {
+        Date createTs = item.getCreateTs();
+        String createdBy = item.getCreatedBy();
+        entityManager.persist(item);
+        if (createTs != null) {
+            item.setCreateTs(createTs);
+            item.setCreatedBy(createdBy);
+        }
+    }
+
+    protected Set<UUID> loadExistingIds(List<EntityLogItem> items) {
+        List<UUID> ids = new ArrayList<>(items.size());
+        for (EntityLogItem item : items) {
+            if (item.getId() != null) {
+                ids.add(item.getId());
+            }
+        }
+        Set<UUID> existingIds = new HashSet<>();
+        for (List<UUID> chunk : Lists.partition(ids, EXISTING_IDS_QUERY_CHUNK_SIZE)) {
+            existingIds.addAll(entityManager.createQuery(
+                            "select e.id from audit_EntityLog e where e.id in :ids", UUID.class)
+                    .setParameter("ids", chunk)
+                    .getResultList());
+        }
+        return existingIds;
+    }
+
+    protected void updateLag() {
+        Date oldestCreateTs = transaction.execute(status -> entityManager.createQuery(
+                        "select min(o.createTs) from audit_EntityLogOutboxItem o where (o.attempts is null or o.attempts < :maxAttempts)", Date.class)
+                .setParameter("maxAttempts", properties.getEntityLogOutboxMaxAttempts())
+                .getSingleResult());
+        lagMillis.set(oldestCreateTs == null ? 0 : Math.max(0, timeSource.currentTimeMillis() - oldestCreateTs.getTime()));
+    }
+
+    protected static class BatchResult {
+        protected final int records;
+        protected final int items;
+        protected final int failedRecords;
+
+        protected BatchResult(int records, int items, int failedRecords) {
+            this.records = records;
+            this.items = items;
+            this.failedRecords = failedRecords;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.jmix.audit.impl;
+
+import com.google.common.base.Strings;
+import io.jmix.audit.EntityLogChangesCodec;
+import io.jmix.audit.entity.EntityLogAttr;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.*;
+
+import static io.jmix.audit.entity.EntityLogAttr.*;
+
+/**
+ * Stores changes in the {@link Properties} text format. Attribute details are written as separate keys
+ * with suffixes, see {@link EntityLogAttr#VALUE_ID_SUFFIX} and others.
+ * <p>
+ * The codec is tried last when reading and accepts any value.
+ */
+@Component("audit_PropertiesEntityLogChangesCodec")
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class PropertiesEntityLogChangesCodec implements EntityLogChangesCodec {
+
+    public static final String FORMAT = "properties";
+
+    protected final String[] skipNames = new String[]{VALUE_ID_SUFFIX,
+            MP_SUFFIX, OLD_VALUE_SUFFIX, OLD_VALUE_ID_SUFFIX};
+
+    @Override
+    public String getFormat() {
+        return FORMAT;
+    }
+
+    @Override
+    public boolean canDecode(String changes) {
+        return true;
+    }
+
+    @Override
+    public String encode(Collection<EntityLogAttr> attributes) {
+        Properties properties = new Properties();
+
+        for (EntityLogAttr attr : attributes) {
+            properties.setProperty(attr.getName(), Strings.nullToEmpty(attr.getValue()));
+            if (attr.getValueId() != null) {
+                properties.setProperty(attr.getName() + VALUE_ID_SUFFIX, attr.getValueId());
+            }
+            if (attr.getOldValue() != null) {
+                properties.setProperty(attr.getName() + OLD_VALUE_SUFFIX, attr.getOldValue());
+            }
+            if (attr.getOldValueId() != null) {
+                properties.setProperty(attr.getName() + OLD_VALUE_ID_SUFFIX, attr.getOldValueId());
+            }
+            if (attr.getMessagesPack() != null) {
+                properties.setProperty(attr.getName() + MP_SUFFIX, attr.getMessagesPack());
+            }
+        }
+
+        try {
+            StringWriter writer = new StringWriter();
+            properties.store(writer, null);
+            String changes = writer.toString();
+            if (changes.startsWith("#"))
+                changes = changes.substring(changes.indexOf("\n") + 1); // cut off comments line
+            return changes;
+        } catch (IOException e) {
+            throw new RuntimeException("Error writing entity log attributes", e);
+        }
+    }
+
+    @Override
+    public List<EntityLogAttr> decode(String changes) {
+        Properties properties = new Properties();
+        try {
+            properties.load(new StringReader(changes));
+        } catch (IOException e) {
+            throw new RuntimeException("Error reading entity log attributes", e);
+        }
+
+        List<EntityLogAttr> attributes = new ArrayList<>();
+        Enumeration<?> names = properties.propertyNames();
+        while (names.hasMoreElements()) {
+            String name = (String) names.nextElement();
+            if (StringUtils.endsWithAny(name, skipNames))
+                continue;
+
+            EntityLogAttr attr = new EntityLogAttr();
+            attr.setId(UUID.randomUUID());
+            attr.setName(name);
+            attr.setValue(properties.getProperty(name));
+            attr.setValueId(properties.getProperty(name + VALUE_ID_SUFFIX));
+            attr.setOldValue(properties.getProperty(name + OLD_VALUE_SUFFIX));
+            attr.setOldValueId(properties.getProperty(name + OLD_VALUE_ID_SUFFIX));
+            attr.setMessagesPack(properties.getProperty(name + MP_SUFFIX));
+
+            attributes.add(attr);
+        }
+        return attributes;
+    }
+}
@@ -212,10 +212,13 @@ public class EntityDifferenceManagerImpl implements EntityDifferenceManager {
         Collection firstCollection = firstValue == null ? Collections.emptyList() : (Collection) firstValue;
         Collection secondCollection = secondValue == null ? Collections.emptyList() : (Collection) secondValue;
 
+        Map<Object, Entity> firstItemsById = getItemsById(firstCollection);
+        Map<Object, Entity> secondItemsById = getItemsById(secondCollection);
+
         // added or modified
         for (Object item : secondCollection) {
             Entity secondEntity = (Entity) item;
-            Entity firstEntity = getRelatedItem(firstCollection, secondEntity);
+            Entity firstEntity = getRelatedItem(firstItemsById, secondEntity);
             if (firstEntity == null)
                 addedEntities.add(secondEntity);
             else
@@ -225,7 +228,7 @@ public class EntityDifferenceManagerImpl implements EntityDifferenceManager {
         // removed
         for (Object item : firstCollection) {
             Entity firstEntity = (Entity) item;
-            Entity secondEntity = getRelatedItem(secondCollection, firstEntity);
+            Entity secondEntity = getRelatedItem(secondItemsById, firstEntity);
             if (secondEntity == null)
                 removedEntities.add(firstEntity);
         }
@@ -302,16 +305,26 @@ public class EntityDifferenceManagerImpl implements EntityDifferenceManager {
         return propertyDiff;
     }
 
-    @Nullable
-    private Entity getRelatedItem(Collection collection, Entity entity) {
+    /**
+     * Indexes collection items by id to match items of two collections in linear time.
+     * The first item wins if several items have the same id.
+     */
+    private Map<Object, Entity> getItemsById(Collection collection) {
+        Map<Object, Entity> itemsById = new HashMap<>(collection.size() * 2);
         for (Object item : collection) {
             Entity itemEntity = (Entity) item;
-
-            Object entityId = EntityValues.getId(entity);
-            if (entityId != null && entityId.equals(EntityValues.getId(itemEntity)))
-                return itemEntity;
+            Object itemId = EntityValues.getId(itemEntity);
+            if (itemId != null) {
+                itemsById.putIfAbsent(itemId, itemEntity);
+            }
         }
-        return null;
+        return itemsById;
+    }
+
+    @Nullable
+    private Entity getRelatedItem(Map<Object, Entity> itemsById, Entity entity) {
+        Object entityId = EntityValues.getId(entity);
+        return entityId != null ? itemsById.get(entityId) : null;
     }
 
     /**
@@ -60,6 +60,12 @@ public class EntitySnapshotManagerImpl implements EntitySnapshotManager {
     private final FetchPlanSerialization fetchPlanSerialization;
     private final EntitySnapshotDataStore entitySnapshotDataStore;
 
+    /**
+     * Reads legacy XML snapshots. Creating and configuring XStream is expensive while a configured
+     * instance is thread-safe, so it is created once on the first use.
+     */
+    private volatile XStream xStream;
+
     public EntitySnapshotManagerImpl(ExtendedEntities extendedEntities,
                                      UnconstrainedDataManager unconstrainedDataManager,
                                      FetchPlans fetchPlans,
@@ -291,6 +297,20 @@ public class EntitySnapshotManagerImpl implements EntitySnapshotManager {
     }
 
     private Object fromXML(String xml) {
+        XStream xStream = this.xStream;
+        if (xStream == null) {
+            synchronized (this) {
+                xStream = this.xStream;
+                if (xStream == null) {
+                    xStream = createXStream();
+                    this.xStream = xStream;
+                }
+            }
+        }
+        return xStream.fromXML(xml);
+    }
+
+    private XStream createXStream() {
         final List exclUpdateFields = Arrays.asList("updateDate", "updatedBy");
         final List exclCreateFields = Arrays.asList("createTs", "createdBy");
         XStream xStream = new XStream() {
@@ -327,7 +347,7 @@ public class EntitySnapshotManagerImpl implements EntitySnapshotManager {
         XStream.setupDefaultSecurity(xStream);
         xStream.allowTypeHierarchy(Serializable.class);
 
-        return xStream.fromXML(xml);
+        return xStream;
     }
 
     private boolean isUpdatable(Class<?> entityClass) {
@@ -360,7 +380,8 @@ public class EntitySnapshotManagerImpl implements EntitySnapshotManager {
         snapshot.setObjectEntityId(referenceToEntitySupport.getReferenceId(entity));
         snapshot.setEntityMetaClass(metaClass.getName());
         snapshot.setFetchPlanXml(fetchPlanSerialization.toJson(fetchPlan, FetchPlanSerializationOption.COMPACT_FORMAT));
-        snapshot.setSnapshotXml(entitySerialization.toJson(entity));
+        // only properties of the fetch plan are compared, so loaded properties out of it are not written
+        snapshot.setSnapshotXml(entitySerialization.toJson(entity, fetchPlan));
         snapshot.setSnapshotDate(snapshotDate);
         snapshot.setAuthorUsername(authorUsername);
 
@@ -0,0 +1,108 @@
+import io.jmix.audit.entity.EntityLogItem
+import io.jmix.audit.impl.EntityLogImpl
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.test.context.TestPropertySource
+import test_support.testmodel.UuidEntity
+
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+@TestPropertySource(properties = ['eclipselink.jdbc.batch-writing = JDBC'])
+class EntityLogBatchTest extends AbstractEntityLogTest {
+
+    @Autowired
+    EntityLogImpl entityLogImpl
+
+    void setup() {
+        clearTables("AUDIT_LOGGED_ATTR", "AUDIT_LOGGED_ENTITY")
+
+        withTransaction {
+            clearTable(em, "AUDIT_ENTITY_LOG")
+            saveEntityLogAutoConfFor('test_UuidEntity', 'name')
+        }
+
+        initEntityLogAPI()
+    }
+
+    void cleanup() {
+        clearTables("AUDIT_LOGGED_ATTR", "AUDIT_LOGGED_ENTITY", "TEST_UUID_ENTITY")
+    }
+
+    def "items are grouped by entity name and id keeping the order of entities"() {
+
+        given:
+
+        def id = UUID.randomUUID()
+        def otherId = UUID.randomUUID()
+
+        def first = createItem('test_UuidEntity', id)
+        def sameEntityFirst = createItem('test_UuidEntity', otherId)
+        def otherEntity = createItem('test_Db1Entity', id)
+        def second = createItem('test_UuidEntity', id)
+
+        when:
+
+        def groups = entityLogImpl.groupItemsByEntity([first, sameEntityFirst, otherEntity, second])
+
+        then:
+
+        groups as List == [[first, second], [sameEntityFirst], [otherEntity]]
+    }
+
+    def "items of several instances changed in one transaction are saved together"() {
+
+        given:
+
+        List<UuidEntity> entities = (1..3).collect {
+            def entity = metadata.create(UuidEntity)
+            entity.name = "name$it"
+            entity
+        }
+
+        when:
+
+        withTransaction {
+            entities.each { em.persist(it) }
+        }
+
+        withTransaction {
+            entities.each {
+                UuidEntity entity = em.find(UuidEntity, it.id)
+                entity.name = entity.name + '-changed'
+                em.flush()
+                entity.name = entity.name + '-twice'
+            }
+        }
+
+        then:
+
+        entities.every { entity ->
+            def items = getEntityLogItems('test_UuidEntity', entity.id)
+            items.size() == 2 &&
+                    items.count { it.type == EntityLogItem.Type.CREATE } == 1 &&
+                    items.count { it.type == EntityLogItem.Type.MODIFY } == 1 &&
+                    loggedValueMatches(items.find { it.type == EntityLogItem.Type.MODIFY }, 'name', entity.name + '-changed-twice') &&
+                    loggedOldValueMatches(items.find { it.type == EntityLogItem.Type.MODIFY }, 'name', entity.name)
+        }
+    }
+
+    protected EntityLogItem createItem(String entityName, Object entityId) {
+        EntityLogItem item = metadata.create(EntityLogItem)
+        item.entity = entityName
+        item.entityRef.objectEntityId = entityId
+        item
+    }
+}
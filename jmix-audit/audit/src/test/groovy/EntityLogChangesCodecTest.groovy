@@ -0,0 +1,151 @@
+import io.jmix.audit.EntityLogManagementFacade
+import io.jmix.audit.entity.EntityLogAttr
+import io.jmix.audit.entity.EntityLogItem
+import io.jmix.audit.impl.BinaryEntityLogChangesCodec
+import io.jmix.audit.impl.EntityLogChangesSupport
+import io.jmix.audit.impl.PropertiesEntityLogChangesCodec
+import org.springframework.beans.factory.annotation.Autowired
+
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+class EntityLogChangesCodecTest extends AbstractEntityLogTest {
+
+    @Autowired
+    BinaryEntityLogChangesCodec binaryCodec
+
+    @Autowired
+    PropertiesEntityLogChangesCodec propertiesCodec
+
+    @Autowired
+    EntityLogChangesSupport entityLogChangesSupport
+
+    @Autowired
+    EntityLogManagementFacade entityLogManagementFacade
+
+    void cleanup() {
+        clearTable("AUDIT_ENTITY_LOG")
+    }
+
+    def "binary codec restores attributes"() {
+
+        given:
+
+        def attributes = [
+                createAttr('name', 'Новое имя', null, 'Old name', null),
+                createAttr('customer', 'Customer 1', UUID.randomUUID().toString(), null, null),
+                createAttr('description', 'a' * 10000, null, '', null)
+        ]
+
+        when:
+
+        def changes = binaryCodec.encode(attributes)
+        def decoded = entityLogChangesSupport.decode(changes)
+
+        then:
+
+        changes.startsWith(BinaryEntityLogChangesCodec.PREFIX)
+        changes.length() < 1000
+        decoded.size() == 3
+        [decoded, attributes].transpose().every { EntityLogAttr restored, EntityLogAttr original ->
+            restored.name == original.name &&
+                    restored.value == original.value &&
+                    restored.valueId == original.valueId &&
+                    restored.oldValue == original.oldValue &&
+                    restored.oldValueId == original.oldValueId &&
+                    restored.messagesPack == original.messagesPack
+        }
+    }
+
+    def "changes in properties format remain readable"() {
+
+        when:
+
+        def decoded = entityLogChangesSupport.decode('name=test2\nname-oldVl=test1\n')
+
+        then:
+
+        decoded.size() == 1
+        decoded[0].name == 'name'
+        decoded[0].value == 'test2'
+        decoded[0].oldValue == 'test1'
+        !entityLogChangesSupport.isReencodingRequired(propertiesCodec.encode(decoded))
+    }
+
+    def "existing changes are converted to the configured format"() {
+
+        given:
+
+        def item = metadata.create(EntityLogItem)
+        item.eventTs = new Date()
+        item.type = EntityLogItem.Type.MODIFY
+        item.entity = 'test$IdentityEntity'
+        item.entityRef.longEntityId = 1L
+        item.changes = binaryCodec.encode([createAttr('name', 'test2', null, 'test1', null)])
+
+        withTransaction {
+            em.persist(item)
+        }
+
+        when:
+
+        entityLogManagementFacade.reencodeChanges(10)
+
+        then:
+
+        def changes = jdbc.queryForObject("select CHANGES from AUDIT_ENTITY_LOG", String)
+        changes.contains('name=test2')
+        changes.contains('name-oldVl=test1')
+    }
+
+    def "existing changes are converted in several batches"() {
+
+        given:
+
+        withTransaction { em ->
+            (1..5).each { i ->
+                def item = metadata.create(EntityLogItem)
+                item.eventTs = new Date()
+                item.type = EntityLogItem.Type.MODIFY
+                item.entity = 'test$IdentityEntity'
+                item.entityRef.longEntityId = i
+                item.changes = binaryCodec.encode([createAttr('name', "test$i", null, null, null)])
+                em.persist(item)
+            }
+        }
+
+        when:
+
+        def result = entityLogManagementFacade.reencodeChanges(2)
+
+        then:
+
+        result.startsWith('5 entity log items processed, 5 converted')
+        def changes = jdbc.queryForList("select CHANGES from AUDIT_ENTITY_LOG", String)
+        changes.size() == 5
+        changes.every { it.startsWith('name=test') }
+    }
+
+    protected EntityLogAttr createAttr(String name, String value, String valueId, String oldValue, String oldValueId) {
+        def attr = new EntityLogAttr()
+        attr.name = name
+        attr.value = value
+        attr.valueId = valueId
+        attr.oldValue = oldValue
+        attr.oldValueId = oldValueId
+        attr
+    }
+}
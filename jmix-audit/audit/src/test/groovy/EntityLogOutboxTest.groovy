@@ -0,0 +1,233 @@
+import io.jmix.audit.entity.EntityLogItem
+import io.jmix.audit.entity.EntityLogOutboxItem
+import io.jmix.audit.impl.EntityLogOutboxCodec
+import io.jmix.audit.impl.EntityLogOutboxProcessor
+import io.jmix.core.entity.EntityValues
+import io.jmix.core.security.SystemAuthenticator
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.test.context.TestPropertySource
+import test_support.testmodel.IdentityEntity
+
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+@TestPropertySource(properties = [
+        "jmix.audit.entity-log-outbox-enabled=true",
+        "jmix.audit.entity-log-outbox-processing-interval=1h",
+        "jmix.audit.entity-log-outbox-max-attempts=2"
+])
+class EntityLogOutboxTest extends AbstractEntityLogTest {
+
+    @Autowired
+    EntityLogOutboxProcessor entityLogOutboxProcessor
+
+    @Autowired
+    EntityLogOutboxCodec entityLogOutboxCodec
+
+    @Autowired
+    SystemAuthenticator systemAuthenticator
+
+    void setup() {
+        clearTables("AUDIT_LOGGED_ATTR", "AUDIT_LOGGED_ENTITY")
+
+        withTransaction {
+            clearTable(em, "AUDIT_ENTITY_LOG")
+            clearTable(em, "AUDIT_ENTITY_LOG_OUTBOX")
+            saveEntityLogAutoConfFor('test$IdentityEntity', 'name')
+        }
+
+        initEntityLogAPI()
+    }
+
+    void cleanup() {
+        clearTables("AUDIT_LOGGED_ATTR", "AUDIT_LOGGED_ENTITY", "AUDIT_ENTITY_LOG_OUTBOX", "TEST_IDENTITY")
+    }
+
+    def "entity log items are written to the outbox and moved to the entity log by the processor"() {
+
+        given:
+
+        def identityEntity = new IdentityEntity(name: 'test1')
+
+        when:
+
+        withTransaction {
+            em.persist(identityEntity)
+        }
+
+        then:
+
+        getEntityLogItems('test$IdentityEntity', EntityValues.getId(identityEntity)).isEmpty()
+        jdbc.queryForObject("select count(*) from AUDIT_ENTITY_LOG_OUTBOX", Integer) == 1
+
+        when:
+
+        def processed = entityLogOutboxProcessor.processOutbox()
+
+        then:
+
+        processed == 1
+        jdbc.queryForObject("select count(*) from AUDIT_ENTITY_LOG_OUTBOX", Integer) == 0
+
+        def entityLogItem = getLatestEntityLogItem('test$IdentityEntity', identityEntity)
+        entityLogItem.type == EntityLogItem.Type.CREATE
+        loggedValueMatches(entityLogItem, 'name', 'test1')
+
+        when: "the same items are delivered again"
+
+        def outboxItem = metadata.create(EntityLogOutboxItem)
+        outboxItem.createTs = new Date()
+        outboxItem.itemsCount = 1
+        outboxItem.payload = entityLogOutboxCodec.encode([entityLogItem])
+        withTransaction {
+            em.persist(outboxItem)
+        }
+        entityLogOutboxProcessor.processOutbox()
+
+        then: "they are not duplicated"
+
+        getEntityLogItems('test$IdentityEntity', EntityValues.getId(identityEntity)).size() == 1
+    }
+
+    def "codec restores persistent state of entity log items"() {
+
+        given:
+
+        def item = metadata.create(EntityLogItem)
+        item.eventTs = new Date()
+        item.username = 'admin'
+        item.type = EntityLogItem.Type.MODIFY
+        item.entity = 'test$IdentityEntity'
+        item.entityRef.longEntityId = 10L
+        item.entityInstanceName = 'Entity 10'
+        item.changes = 'name=new\nname-oldVal=old'
+
+        when:
+
+        def restored = entityLogOutboxCodec.decode(entityLogOutboxCodec.encode([item])).first()
+
+        then:
+
+        restored.id == item.id
+        restored.eventTs == item.eventTs
+        restored.username == 'admin'
+        restored.type == EntityLogItem.Type.MODIFY
+        restored.entity == 'test$IdentityEntity'
+        restored.entityRef.longEntityId == 10L
+        restored.entityInstanceName == 'Entity 10'
+        restored.changes == item.changes
+        restored.sysTenantId == null
+    }
+
+    def "create info of entity log items is preserved when they are moved by the processor"() {
+
+        given:
+
+        def createTs = new GregorianCalendar(2020, Calendar.JANUARY, 1, 10, 0).time
+        def item = createEntityLogItem(1L)
+        item.createTs = createTs
+        item.createdBy = 'admin'
+        persistOutboxItem(entityLogOutboxCodec.encode([item]), new Date())
+
+        when:
+
+        systemAuthenticator.runWithSystem { entityLogOutboxProcessor.processOutbox() }
+
+        then:
+
+        def persistedItem = getEntityLogItems('test$IdentityEntity', 1L).first()
+        persistedItem.createTs == createTs
+        persistedItem.createdBy == 'admin'
+    }
+
+    def "a record that cannot be moved does not block the outbox"() {
+
+        given:
+
+        def now = System.currentTimeMillis()
+        def brokenRecord = persistOutboxItem([1, 2, 3] as byte[], new Date(now - 1000))
+        persistOutboxItem(entityLogOutboxCodec.encode([createEntityLogItem(2L)]), new Date(now))
+
+        when:
+
+        def processed = entityLogOutboxProcessor.processOutbox()
+
+        then: "other records are moved and the failed attempt is counted"
+
+        processed == 1
+        getEntityLogItems('test$IdentityEntity', 2L).size() == 1
+        getAttempts(brokenRecord) == 1
+
+        when: "the record has failed the max number of attempts"
+
+        entityLogOutboxProcessor.processOutbox()
+        entityLogOutboxProcessor.processOutbox()
+
+        then: "it is skipped and kept in the outbox"
+
+        getAttempts(brokenRecord) == 2
+        jdbc.queryForObject("select count(*) from AUDIT_ENTITY_LOG_OUTBOX", Integer) == 1
+    }
+
+    def "codec restores create info of entity log items"() {
+
+        given:
+
+        def item = createEntityLogItem(3L)
+        item.createTs = new Date()
+        item.createdBy = 'admin'
+
+        when:
+
+        def restored = entityLogOutboxCodec.decode(entityLogOutboxCodec.encode([item])).first()
+
+        then:
+
+        restored.createTs == item.createTs
+        restored.createdBy == 'admin'
+    }
+
+    protected EntityLogItem createEntityLogItem(Long entityId) {
+        def item = metadata.create(EntityLogItem)
+        item.eventTs = new Date()
+        item.username = 'admin'
+        item.type = EntityLogItem.Type.CREATE
+        item.entity = 'test$IdentityEntity'
+        item.entityRef.longEntityId = entityId
+        item.changes = 'name=test'
+        return item
+    }
+
+    protected EntityLogOutboxItem persistOutboxItem(byte[] payload, Date createTs) {
+        def outboxItem = metadata.create(EntityLogOutboxItem)
+        outboxItem.createTs = createTs
+        outboxItem.itemsCount = 1
+        outboxItem.attempts = 0
+        outboxItem.payload = payload
+        withTransaction {
+            em.persist(outboxItem)
+        }
+        return outboxItem
+    }
+
+    protected Integer getAttempts(EntityLogOutboxItem outboxItem) {
+        Integer attempts = null
+        withTransaction {
+            attempts = em.find(EntityLogOutboxItem, outboxItem.id).attempts
+        }
+        return attempts
+    }
+}
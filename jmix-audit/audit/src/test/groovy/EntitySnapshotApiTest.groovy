@@ -21,6 +21,7 @@ import io.jmix.audit.snapshot.model.EntitySnapshotModel
 import io.jmix.core.Entity
 import io.jmix.core.FetchPlan
 import io.jmix.core.FetchPlanRepository
+import io.jmix.core.FetchPlans
 import io.jmix.core.security.InMemoryUserRepository
 import io.jmix.core.security.SystemAuthenticator
 import org.springframework.beans.factory.annotation.Autowired
@@ -36,6 +37,9 @@ class EntitySnapshotApiTest extends AbstractEntityLogTest {
     @Autowired
     private EntitySnapshotManager snapshotApi
 
+    @Autowired
+    private FetchPlans fetchPlans
+
     @Autowired
     private FetchPlanRepository fetchPlanRepository
 
@@ -158,6 +162,23 @@ class EntitySnapshotApiTest extends AbstractEntityLogTest {
         snapshot3.getAuthorUsername() == "admin"
     }
 
+    def "Snapshot contains only properties of the fetch plan"() {
+        given:
+        FetchPlan fetchPlan = fetchPlans.builder(IdentityEntity).add('name').build()
+        def entity = metadata.create(IdentityEntity)
+        entity.setName('testName')
+        entity.setEmail('test@example.com')
+
+        when:
+        EntitySnapshotModel snapshot = snapshotApi.createTempSnapshot(entity, fetchPlan, new Date(100), 'admin')
+        IdentityEntity extracted = snapshotApi.extractEntity(snapshot) as IdentityEntity
+
+        then:
+        snapshot.getSnapshotXml().contains('testName')
+        !snapshot.getSnapshotXml().contains('test@example.com')
+        extracted.name == 'testName'
+    }
+
     private List<EntitySnapshot> getSnapshotsList() {
         List<EntitySnapshot> entitySnapshotList
         transaction.executeWithoutResult {
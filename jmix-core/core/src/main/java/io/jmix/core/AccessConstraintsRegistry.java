@@ -16,11 +16,17 @@
 
 package io.jmix.core;
 
+import io.jmix.core.accesscontext.AccessContext;
 import io.jmix.core.constraint.AccessConstraint;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 
@@ -29,8 +35,14 @@ public class AccessConstraintsRegistry {
 
     protected List<AccessConstraint<?>> accessConstraints = new CopyOnWriteArrayList<>();
 
+    /**
+     * Registered constraints grouped by the access context classes they are applicable to.
+     */
+    protected Map<Class<?>, List<AccessConstraint<?>>> constraintsByContextClass = new ConcurrentHashMap<>();
+
     public void register(AccessConstraint accessConstraint) {
         accessConstraints.add(accessConstraint);
+        constraintsByContextClass.clear();
     }
 
     public List<AccessConstraint<?>> getConstraints() {
@@ -42,4 +54,42 @@ public class AccessConstraintsRegistry {
                 .filter(constraint -> accessConstraintClass.isAssignableFrom(constraint.getClass()))
                 .collect(Collectors.toList());
     }
+
+    /**
+     * Returns registered constraints applicable to the given access context class, in the order of registration.
+     * The result is computed once per context class and is not modifiable.
+     */
+    public List<AccessConstraint<?>> getConstraintsForContext(Class<? extends AccessContext> contextClass) {
+        return constraintsByContextClass.computeIfAbsent(contextClass, this::collectConstraintsForContext);
+    }
+
+    /**
+     * Returns true if the given collection contains exactly the registered constraints in the order of registration,
+     * so that {@link #getConstraintsForContext(Class)} can be used instead of filtering the collection.
+     */
+    public boolean isRegisteredConstraints(Collection<AccessConstraint<?>> constraints) {
+        if (constraints == accessConstraints) {
+            return true;
+        }
+        if (constraints.size() != accessConstraints.size()) {
+            return false;
+        }
+        Iterator<AccessConstraint<?>> registeredIterator = accessConstraints.iterator();
+        for (AccessConstraint<?> constraint : constraints) {
+            if (!registeredIterator.hasNext() || constraint != registeredIterator.next()) {
+                return false;
+            }
+        }
+        return !registeredIterator.hasNext();
+    }
+
+    protected List<AccessConstraint<?>> collectConstraintsForContext(Class<?> contextClass) {
+        List<AccessConstraint<?>> result = new ArrayList<>();
+        for (AccessConstraint<?> constraint : accessConstraints) {
+            if (constraint.getContextType().isAssignableFrom(contextClass)) {
+                result.add(constraint);
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
 }
@@ -26,6 +26,14 @@ import io.jmix.core.constraint.AccessConstraint;
 @Internal
 public interface AccessLogger {
 
+    /**
+     * Returns true if access logging is enabled. When it returns false, the caller may skip invoking
+     * {@link #log(AccessConstraint, AccessContext)} and {@link #reset()}.
+     */
+    default boolean isEnabled() {
+        return true;
+    }
+
     <T extends AccessContext> void log(AccessConstraint<T> constraint, T accessContext);
 
     void reset();
@@ -23,6 +23,7 @@ import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.function.Consumer;
 
@@ -68,21 +69,71 @@ public class AccessManager {
     }
 
     public <T extends AccessContext> void applyConstraints(T context, Collection<AccessConstraint<?>> constraints) {
+        doApplyConstraints(context, getApplicableConstraints(context.getClass(), constraints));
+    }
+
+    public <T extends AccessContext> void applyRegisteredConstraints(T context) {
+        doApplyConstraints(context, registry.getConstraintsForContext(context.getClass()));
+    }
+
+    /**
+     * Applies constraints to each of the given access contexts. Constraints applicable to a context class are
+     * resolved once for all contexts of this class, so the method should be preferred to applying constraints
+     * to contexts one by one, e.g. when checking access to all attributes of an entity.
+     */
+    public <T extends AccessContext> void applyConstraintsToAll(Collection<T> contexts, Collection<AccessConstraint<?>> constraints) {
+        Class<?> contextClass = null;
+        List<AccessConstraint<?>> applicableConstraints = Collections.emptyList();
+        for (T context : contexts) {
+            if (context.getClass() != contextClass) {
+                contextClass = context.getClass();
+                applicableConstraints = getApplicableConstraints(context.getClass(), constraints);
+            }
+            doApplyConstraints(context, applicableConstraints);
+        }
+    }
+
+    /**
+     * Applies registered constraints to each of the given access contexts.
+     *
+     * @see #applyConstraintsToAll(Collection, Collection)
+     */
+    public <T extends AccessContext> void applyRegisteredConstraintsToAll(Collection<T> contexts) {
+        applyConstraintsToAll(contexts, registry.getConstraints());
+    }
+
+    protected List<AccessConstraint<?>> getApplicableConstraints(Class<? extends AccessContext> contextClass,
+                                                                 Collection<AccessConstraint<?>> constraints) {
+        if (registry.isRegisteredConstraints(constraints)) {
+            return registry.getConstraintsForContext(contextClass);
+        }
+        List<AccessConstraint<?>> result = new ArrayList<>(constraints.size());
+        for (AccessConstraint<?> constraint : constraints) {
+            if (constraint.getContextType().isAssignableFrom(contextClass)) {
+                result.add(constraint);
+            }
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    protected <T extends AccessContext> void doApplyConstraints(T context, List<AccessConstraint<?>> applicableConstraints) {
+        if (applicableConstraints.isEmpty()) {
+            return;
+        }
+        if (!accessLogger.isEnabled()) {
+            for (AccessConstraint<?> constraint : applicableConstraints) {
+                ((AccessConstraint<T>) constraint).applyTo(context);
+            }
+            return;
+        }
         try {
-            //noinspection unchecked
-            constraints.stream()
-                    .filter(constraint -> constraint.getContextType().isAssignableFrom(context.getClass()))
-                    .map(constraint -> (AccessConstraint<T>) constraint)
-                    .forEach(constraint -> {
-                        constraint.applyTo(context);
-                        accessLogger.log(constraint, context);
-                    });
+            for (AccessConstraint<?> constraint : applicableConstraints) {
+                ((AccessConstraint<T>) constraint).applyTo(context);
+                accessLogger.log((AccessConstraint<T>) constraint, context);
+            }
         } finally {
             accessLogger.reset();
         }
     }
-
-    public <T extends AccessContext> void applyRegisteredConstraints(T context) {
-        applyConstraints(context, registry.getConstraints());
-    }
 }
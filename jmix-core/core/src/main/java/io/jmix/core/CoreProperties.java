@@ -57,6 +57,31 @@ public class CoreProperties {
     List<Locale> availableLocales;
     int crossDataStoreReferenceLoadingBatchSize;
 
+    /**
+     * Maximum number of threads used to load references to entities from different data stores in parallel.
+     * References to entities of the same data store are always loaded sequentially. Set to 1 to load all
+     * cross-datastore references in the calling thread.
+     */
+    int crossDataStoreReferenceLoadingThreads;
+
+    /**
+     * Maximum number of cross-datastore reference loading tasks waiting for a free thread. If the queue is full,
+     * the task is executed in the calling thread.
+     */
+    int crossDataStoreReferenceLoadingQueueCapacity;
+
+    /**
+     * Maximum number of ids passed to a single query when entities are loaded by lists of ids, e.g. existing
+     * entities during import or entities of bulk REST requests.
+     */
+    int loadByIdsBatchSize;
+
+    /**
+     * Maximum number of entities read from JSON and saved at once when entities are imported from a ZIP archive
+     * passed as a byte array.
+     */
+    int entityImportBatchSize;
+
     /**
      * Whether to generate identifiers for entities located in additional data stores.
      */
@@ -113,6 +138,10 @@ public class CoreProperties {
             String dbDir,
             List<String> availableLocales,
             @DefaultValue("50") int crossDataStoreReferenceLoadingBatchSize,
+            @DefaultValue("4") int crossDataStoreReferenceLoadingThreads,
+            @DefaultValue("100") int crossDataStoreReferenceLoadingQueueCapacity,
+            @DefaultValue("500") int loadByIdsBatchSize,
+            @DefaultValue("1000") int entityImportBatchSize,
             @DefaultValue("true") boolean idGenerationForEntitiesInAdditionalDataStoresEnabled,
             @DefaultValue("100") int dom4jMaxPoolSize,
             @DefaultValue("1000") int dom4jMaxBorrowWaitMillis,
@@ -143,6 +172,10 @@ public class CoreProperties {
         }
 
         this.crossDataStoreReferenceLoadingBatchSize = crossDataStoreReferenceLoadingBatchSize;
+        this.crossDataStoreReferenceLoadingThreads = crossDataStoreReferenceLoadingThreads;
+        this.crossDataStoreReferenceLoadingQueueCapacity = crossDataStoreReferenceLoadingQueueCapacity;
+        this.loadByIdsBatchSize = Math.max(1, loadByIdsBatchSize);
+        this.entityImportBatchSize = Math.max(1, entityImportBatchSize);
         this.idGenerationForEntitiesInAdditionalDataStoresEnabled = idGenerationForEntitiesInAdditionalDataStoresEnabled;
         this.dom4jMaxPoolSize = dom4jMaxPoolSize;
         this.dom4jMaxBorrowWaitMillis = dom4jMaxBorrowWaitMillis;
@@ -193,6 +226,34 @@ public class CoreProperties {
         return crossDataStoreReferenceLoadingBatchSize;
     }
 
+    /**
+     * @see #crossDataStoreReferenceLoadingThreads
+     */
+    public int getCrossDataStoreReferenceLoadingThreads() {
+        return crossDataStoreReferenceLoadingThreads;
+    }
+
+    /**
+     * @see #crossDataStoreReferenceLoadingQueueCapacity
+     */
+    public int getCrossDataStoreReferenceLoadingQueueCapacity() {
+        return crossDataStoreReferenceLoadingQueueCapacity;
+    }
+
+    /**
+     * @see #loadByIdsBatchSize
+     */
+    public int getLoadByIdsBatchSize() {
+        return loadByIdsBatchSize;
+    }
+
+    /**
+     * @see #entityImportBatchSize
+     */
+    public int getEntityImportBatchSize() {
+        return entityImportBatchSize;
+    }
+
     /**
      * @see #idGenerationForEntitiesInAdditionalDataStoresEnabled
      */
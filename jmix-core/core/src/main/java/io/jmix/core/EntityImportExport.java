@@ -16,7 +16,15 @@
 
 package io.jmix.core;
 
+import org.springframework.lang.Nullable;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
 import java.util.Collection;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Bean that is used for exporting a collection of entities and importing them.
@@ -45,6 +53,21 @@ public interface EntityImportExport {
      */
     byte[] exportEntitiesToZIP(Collection<Object> entities, FetchPlan fetchPlan);
 
+    /**
+     * Serializes a collection of entities to JSON using {@link EntitySerialization} and writes the JSON file into
+     * a ZIP archive compressed with DEFLATE. The JSON is written to the stream as entities are serialized, so the
+     * whole JSON is never kept in memory. Each entity is serialized separately, so repeated entities are compacted
+     * only within the graph of one root entity.
+     * <p>
+     * If the fetch plan is passed, entities are reloaded with it in batches before the serialization.
+     * The output stream is not closed by this method.
+     *
+     * @param entities     a collection of entities to export
+     * @param fetchPlan    fetch plan to reload entities with, or null to export entities as is
+     * @param outputStream stream to write the ZIP archive to
+     */
+    void exportEntitiesToZIP(Collection<Object> entities, @Nullable FetchPlan fetchPlan, OutputStream outputStream);
+
     /**
      * <p>Serializes a collection of entities to JSON using {@link EntitySerialization}.
      * Before the serialization entities will be reloaded with the fetch plan passed as method parameter.</p>
@@ -66,6 +89,18 @@ public interface EntityImportExport {
      */
     String exportEntitiesToJSON(Collection<Object> entities);
 
+    /**
+     * Serializes a collection of entities to a JSON array using {@link EntitySerialization} and writes it to the
+     * writer entity by entity. If the fetch plan is passed, entities are reloaded with it in batches before the
+     * serialization. The writer is not closed by this method.
+     *
+     * @param entities  a collection of entities to export
+     * @param fetchPlan fetch plan to reload entities with, or null to export entities as is
+     * @param writer    writer to write the JSON to
+     * @see #exportEntitiesToZIP(Collection, FetchPlan, OutputStream)
+     */
+    void exportEntitiesToJSON(Collection<Object> entities, @Nullable FetchPlan fetchPlan, Writer writer);
+
     /**
      * Deserializes the JSON and persists deserialized entities according to the rules, described by the {@code
      * importPlan} parameter. If the entity is not present in the database, it will be saved. Otherwise the fields of
@@ -90,6 +125,35 @@ public interface EntityImportExport {
      */
     Collection<Object> importEntitiesFromZIP(byte[] zipBytes, EntityImportPlan importPlan);
 
+    /**
+     * Reads a zip archive that contains JSON files and imports the entities like the {@link
+     * #importEntitiesFromZIP(byte[], EntityImportPlan)} method, but the JSON is read from the stream and entities
+     * are deserialized and saved in batches of the given size, each batch in a separate transaction. The input
+     * stream is not closed by this method.
+     *
+     * @param inputStream   stream of ZIP archive with JSON files
+     * @param importPlan    {@code EntityImportPlan} with the rules that describes how entities should be persisted
+     * @param batchSize     max number of entities read from JSON and saved at once
+     * @param batchListener optional listener that receives entities saved in each batch, e.g. to report progress
+     * @return number of entities read from the JSON files
+     */
+    int importEntitiesFromZIP(InputStream inputStream, EntityImportPlan importPlan, int batchSize,
+                              @Nullable Consumer<Collection<Object>> batchListener);
+
+    /**
+     * Reads a JSON array of entities and imports them in batches of the given size, each batch in a separate
+     * transaction. The reader is not closed by this method.
+     *
+     * @param reader        reader of JSON array with entities
+     * @param importPlan    {@code EntityImportPlan} with the rules that describes how entities should be persisted
+     * @param batchSize     max number of entities read from JSON and saved at once
+     * @param batchListener optional listener that receives entities saved in each batch, e.g. to report progress
+     * @return number of entities read from the JSON
+     * @see #importEntitiesFromZIP(InputStream, EntityImportPlan, int, Consumer)
+     */
+    int importEntitiesFromJson(Reader reader, EntityImportPlan importPlan, int batchSize,
+                               @Nullable Consumer<Collection<Object>> batchListener);
+
     /**
      * See {@link #importEntities(Collection, EntityImportPlan, boolean)}. The current method doesn't perform bean
      * validation
@@ -135,4 +199,16 @@ public interface EntityImportExport {
     void importEntityIntoSaveContext(SaveContext saveContext, Object srcEntity, EntityImportPlan importPlan, boolean validate, boolean optimisticLocking);
 
     void importEntityIntoSaveContext(SaveContext saveContext, Object srcEntity, EntityImportPlan importPlan, boolean validate, boolean optimisticLocking, boolean additionComposition);
+
+    /**
+     * Adds several entities to the save context. Works like the {@link #importEntityIntoSaveContext(SaveContext, Object,
+     * EntityImportPlan, boolean, boolean)} method called for each entity, but existing entities and references are
+     * loaded in batches.
+     *
+     * @param saveContext       save context to add the entities to
+     * @param entities          entities to import mapped to their import plans
+     * @param validate          whether the entities should be validated by the bean validation mechanism
+     * @param optimisticLocking whether the passed entities versions should be validated before entities are persisted
+     */
+    void importEntitiesIntoSaveContext(SaveContext saveContext, Map<Object, EntityImportPlan> entities, boolean validate, boolean optimisticLocking);
 }
@@ -16,9 +16,13 @@
 
 package io.jmix.core;
 
+import com.google.gson.JsonElement;
 import io.jmix.core.metamodel.model.MetaClass;
 
 import org.springframework.lang.Nullable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.lang.reflect.Type;
 import java.util.Collection;
 
@@ -64,6 +68,52 @@ public interface EntitySerialization {
                   @Nullable FetchPlan fetchPlan,
                   EntitySerializationOption... options);
 
+    /**
+     * Serializes a single entity to JSON and writes the result to the given writer. Method works like the
+     * {@link #toJson(Object, FetchPlan, EntitySerializationOption...)}, but streams the JSON directly to the writer
+     * instead of building a string in memory. The writer is not closed.
+     * <p>
+     * The default implementation builds the string and writes it to the writer.
+     *
+     * @param entity    an entity to be serialized
+     * @param writer    a writer to write the JSON object to
+     * @param fetchPlan a fetch plan that defines which entity properties should be added to the result JSON object
+     * @param options   options specifying how an entity should be serialized
+     */
+    default void toJson(Object entity,
+                        Writer writer,
+                        @Nullable FetchPlan fetchPlan,
+                        EntitySerializationOption... options) {
+        try {
+            writer.write(toJson(entity, fetchPlan, options));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write JSON", e);
+        }
+    }
+
+    /**
+     * Serializes a collection of entities to the JSON array and writes the result to the given writer. Method works
+     * like the {@link #toJson(Collection, FetchPlan, EntitySerializationOption...)}, but streams the JSON directly to
+     * the writer instead of building a string in memory. The writer is not closed.
+     * <p>
+     * The default implementation builds the string and writes it to the writer.
+     *
+     * @param entities  a collection of entities to be serialized
+     * @param writer    a writer to write the JSON array to
+     * @param fetchPlan a fetch plan that defines which entity properties should be added to the result JSON object
+     * @param options   options specifying how an entity should be serialized
+     */
+    default void toJson(Collection<?> entities,
+                        Writer writer,
+                        @Nullable FetchPlan fetchPlan,
+                        EntitySerializationOption... options) {
+        try {
+            writer.write(toJson(entities, fetchPlan, options));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write JSON", e);
+        }
+    }
+
     /**
      * An overloaded version of the {@link #toJson(Object, FetchPlan, EntitySerializationOption...)} method with a null
      * {@code fetchPlan} parameter and with no serialization options.
@@ -122,6 +172,24 @@ public interface EntitySerialization {
                                                  @Nullable MetaClass metaClass,
                                                  EntitySerializationOption... options);
 
+    /**
+     * Deserializes a parsed JSON array of objects to entities collection. Method works like the
+     * {@link #entitiesCollectionFromJson(String, MetaClass, EntitySerializationOption...)}, but accepts a JSON
+     * element that has already been parsed, e.g. when a large array is read element by element.
+     * <p>
+     * The default implementation converts the element to a string and deserializes it.
+     *
+     * @param json      a JSON array of objects
+     * @param metaClass a metaClass of the entities that will be created
+     * @param options   options specifying how a JSON object graph was serialized
+     * @return an entities collection
+     */
+    default <T> Collection<T> entitiesCollectionFromJson(JsonElement json,
+                                                         @Nullable MetaClass metaClass,
+                                                         EntitySerializationOption... options) {
+        return entitiesCollectionFromJson(json.toString(), metaClass, options);
+    }
+
     /**
      * Deserializes an object of any class from JSON. Date fields are deserialized according to the {@link
      * io.jmix.core.metamodel.datatype.impl.DateTimeDatatype} format, entities object and fields of Entity type are
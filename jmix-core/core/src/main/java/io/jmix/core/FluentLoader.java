@@ -35,6 +35,7 @@ import jakarta.persistence.TemporalType;
 import java.io.Serializable;
 import java.util.*;
 import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Component("core_FluentLoader")
 @Scope(BeanDefinition.SCOPE_PROTOTYPE)
@@ -569,6 +570,28 @@ public class FluentLoader<E> {
             return loader.dataManager.loadList(loadContext);
         }
 
+        /**
+         * Loads entities by batches of the given size and passes each batch to the consumer.
+         * Only one batch is kept in memory at a time.
+         *
+         * @see UnconstrainedDataManager#loadBatches(LoadContext, int)
+         */
+        public void forEachBatch(int batchSize, Consumer<List<E>> batchConsumer) {
+            LoadContext<E> loadContext = createLoadContext();
+            loader.dataManager.loadBatches(loadContext, batchSize).forEach(batchConsumer);
+        }
+
+        /**
+         * Returns a lazy stream of entities which are loaded by batches of the given size while the stream
+         * is consumed.
+         *
+         * @see UnconstrainedDataManager#loadBatches(LoadContext, int)
+         */
+        public Stream<E> stream(int batchSize) {
+            LoadContext<E> loadContext = createLoadContext();
+            return loader.dataManager.loadBatches(loadContext, batchSize).flatMap(List::stream);
+        }
+
         /**
          * Loads a single instance and wraps it in Optional.
          */
@@ -818,6 +841,28 @@ public class FluentLoader<E> {
             return loader.dataManager.loadList(loadContext);
         }
 
+        /**
+         * Loads entities by batches of the given size and passes each batch to the consumer.
+         * Only one batch is kept in memory at a time.
+         *
+         * @see UnconstrainedDataManager#loadBatches(LoadContext, int)
+         */
+        public void forEachBatch(int batchSize, Consumer<List<E>> batchConsumer) {
+            LoadContext<E> loadContext = createLoadContext();
+            loader.dataManager.loadBatches(loadContext, batchSize).forEach(batchConsumer);
+        }
+
+        /**
+         * Returns a lazy stream of entities which are loaded by batches of the given size while the stream
+         * is consumed.
+         *
+         * @see UnconstrainedDataManager#loadBatches(LoadContext, int)
+         */
+        public Stream<E> stream(int batchSize) {
+            LoadContext<E> loadContext = createLoadContext();
+            return loader.dataManager.loadBatches(loadContext, batchSize).flatMap(List::stream);
+        }
+
         /**
          * Loads a single instance and wraps it in Optional.
          */
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.core;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Defines the ability of a data store to load a query result by batches, each batch starting after the key of
+ * the last entity of the previous batch instead of an offset.
+ */
+public interface KeysetLoadingSupport {
+
+    /**
+     * Creates a context to load the next batch of entities for the query of the given context. The returned context
+     * selects entities in the order of a unique key and, if {@code lastLoadedEntity} is passed, only entities
+     * following it.
+     *
+     * @param context          original load context
+     * @param lastLoadedEntity last entity of the previous batch or null for the first batch
+     * @return load context or null if the query cannot be continued by key
+     */
+    @Nullable
+    LoadContext<?> createKeysetBatchContext(LoadContext<?> context, @Nullable Object lastLoadedEntity);
+}
@@ -20,6 +20,7 @@ import io.jmix.core.entity.KeyValueEntity;
 
 import org.springframework.lang.Nullable;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Central interface to provide CRUD functionality for entities.
@@ -52,6 +53,20 @@ public interface UnconstrainedDataManager {
      */
     <E> List<E> loadList(LoadContext<E> context);
 
+    /**
+     * Loads collection of entity instances by batches of the given size.
+     * <p>Batches are loaded lazily when the returned stream is consumed, each batch by a separate
+     * {@link #loadList(LoadContext)} call in its own transaction, so loaded entities are detached, do not build up
+     * in the caller's persistence context and previously loaded batches can be garbage collected. If the data store
+     * supports {@link KeysetLoadingSupport}, each batch continues after the key of the last loaded entity,
+     * otherwise batches are loaded by offsets.</p>
+     *
+     * @param context   {@link LoadContext} object with a query, defining what and how to load
+     * @param batchSize maximum number of entities in a batch
+     * @return lazy stream of non-empty batches
+     */
+    <E> Stream<List<E>> loadBatches(LoadContext<E> context, int batchSize);
+
     /**
      * Returns the number of entity instances for the given query passed in the {@link LoadContext}.
      *
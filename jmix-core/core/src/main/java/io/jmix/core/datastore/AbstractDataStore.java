@@ -17,9 +17,12 @@
 package io.jmix.core.datastore;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
 import io.jmix.core.*;
+import io.jmix.core.constraint.AccessConstraint;
 import io.jmix.core.entity.EntityValues;
 import io.jmix.core.entity.KeyValueEntity;
+import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.metamodel.model.MetaProperty;
 import org.apache.commons.lang3.reflect.FieldUtils;
 import org.slf4j.Logger;
@@ -42,6 +45,9 @@ public abstract class AbstractDataStore implements DataStore {
 
     private static final Logger log = LoggerFactory.getLogger(AbstractDataStore.class);
 
+    protected static final int MIN_LOAD_BATCH_SIZE = 100;
+    protected static final int MAX_LOAD_BATCH_SIZE = 100000;
+
     @Autowired
     public void setMetadata(Metadata metadata) {
         this.metadata = metadata;
@@ -355,8 +361,12 @@ public abstract class AbstractDataStore implements DataStore {
         int expectedSize = requestedMax + requestedFirst;
         int factor = actualSize == 0 ? 2 : requestedMax / actualSize * 2;
 
+        LoadContext<?> keysetContext = createKeysetBatchContext(context, null);
+        boolean keysetContinuation = keysetContext != null;
+
         int firstResult = 0;
         int maxResults = (requestedFirst + requestedMax) * factor;
+        long fetchedCount = 0;
         int i = 0;
         while (entities.size() < expectedSize) {
             if (i++ > 100000) {
@@ -364,27 +374,46 @@ public abstract class AbstractDataStore implements DataStore {
                 break;
             }
 
-            LoadContext<?> batchContext = context.copy();
-
+            LoadContext<?> batchContext;
+            if (keysetContinuation) {
+                batchContext = keysetContext;
+            } else {
+                batchContext = context.copy();
+                assert batchContext.getQuery() != null;
+                batchContext.getQuery().setFirstResult(firstResult);
+            }
             assert batchContext.getQuery() != null;
-            batchContext.getQuery().setFirstResult(firstResult);
             batchContext.getQuery().setMaxResults(maxResults);
 
             List<Object> list = loadAll(batchContext);
             if (list.size() == 0) {
                 break;
             }
+            fetchedCount += list.size();
 
             DataStoreEntityLoadingEvent loadEvent = new DataStoreEntityLoadingEvent(context, list, eventState);
             fireEvent(loadEvent);
 
             entities.addAll(loadEvent.getResultEntities());
-            firstResult = firstResult + maxResults;
+
+            if (list.size() < maxResults) {
+                break;
+            }
+
+            if (keysetContinuation) {
+                keysetContext = Objects.requireNonNull(createKeysetBatchContext(context, list.get(list.size() - 1)));
+            } else {
+                firstResult = firstResult + maxResults;
+            }
+            maxResults = getNextBatchSize(expectedSize - entities.size(), entities.size(), fetchedCount, maxResults);
         }
 
+        log.debug("Loaded by batches: store={}, metaClass={}, keyset={}, batches={}, fetched={}, passed={}",
+                getName(), context.getEntityMetaClass(), keysetContinuation, i, fetchedCount, entities.size());
+
         // Copy by iteration because subList() returns non-serializable class
         int max = Math.min(requestedFirst + requestedMax, entities.size());
-        List<Object> resultList = new ArrayList<>(max - requestedFirst);
+        List<Object> resultList = new ArrayList<>(Math.max(max - requestedFirst, 0));
         int j = 0;
         for (Object item : entities) {
             if (j >= max)
@@ -397,6 +426,41 @@ public abstract class AbstractDataStore implements DataStore {
         return resultList;
     }
 
+    /**
+     * Returns the number of rows to fetch by the next batch of {@link #loadListByBatches(LoadContext, int, EventSharedState)}
+     * so that the remaining entities are expected to be collected by one more query, according to the ratio of
+     * fetched rows passed through the {@link DataStoreEntityLoadingEvent} filtering so far.
+     *
+     * @param remaining     number of entities still required
+     * @param passedCount   number of entities passed through the filtering
+     * @param fetchedCount  number of rows fetched
+     * @param previousBatch size of the previous batch
+     */
+    protected int getNextBatchSize(int remaining, int passedCount, long fetchedCount, int previousBatch) {
+        long nextBatch;
+        if (passedCount == 0) {
+            nextBatch = (long) previousBatch * 2;
+        } else {
+            // add 20% to compensate uneven distribution of the filtered rows
+            nextBatch = (long) Math.ceil(remaining * 1.2 * fetchedCount / passedCount);
+        }
+        return (int) Math.max(Math.min(nextBatch, MAX_LOAD_BATCH_SIZE), MIN_LOAD_BATCH_SIZE);
+    }
+
+    /**
+     * Creates a context to load the next batch of entities in {@link #loadListByBatches(LoadContext, int, EventSharedState)}
+     * starting after the given entity by its key instead of the offset. The returned context must select entities
+     * in the order of a unique key.
+     *
+     * @param context          original load context
+     * @param lastLoadedEntity last entity of the previous batch or null for the first batch
+     * @return load context or null if the store cannot continue the query by key, then the offset paging is used
+     */
+    @Nullable
+    protected LoadContext<?> createKeysetBatchContext(LoadContext<?> context, @Nullable Object lastLoadedEntity) {
+        return null;
+    }
+
     protected List<Object> checkAndReorderLoadedEntities(LoadContext<?> context, List<Object> entities) {
         List<Object> result = new ArrayList<>(context.getIds().size());
         Map<Object, Object> idToEntityMap = entities.stream().collect(Collectors.toMap(EntityValues::getId, Function.identity()));
@@ -416,6 +480,9 @@ public abstract class AbstractDataStore implements DataStore {
         Set<Object> loadedEntities = new HashSet<>();
         Object loadTransaction = beginLoadTransaction(context.isJoinTransaction());
         try {
+            int batchSize = getReloadAfterSaveBatchSize();
+            Map<ReloadGroupKey, List<EntityReloadInfo>> reloadGroups = new LinkedHashMap<>();
+
             for (Object entity : savedEntities) {
                 EventSharedState loadState = new EventSharedState();
                 LoadContext<?> loadContext = new LoadContext<>(metadata.getClass(entity))
@@ -429,17 +496,23 @@ public abstract class AbstractDataStore implements DataStore {
                 fireEvent(beforeLoadEvent);
 
                 if (!beforeLoadEvent.loadPrevented()) {
-                    Object fetchedEntity = loadOne(loadContext);
-
-                    if (fetchedEntity != null) {
-                        loadInfoMap.put(fetchedEntity, new EntityLoadInfo(loadContext, loadState));
-
-                        copyNonPersistentAttributes(entity, fetchedEntity);
-
-                        DataStoreEntityLoadingEvent loadEvent = new DataStoreEntityLoadingEvent(loadContext, fetchedEntity, loadState);
-                        fireEvent(loadEvent);
+                    EntityReloadInfo reloadInfo = new EntityReloadInfo(entity, loadContext, loadState);
+                    if (batchSize > 1) {
+                        reloadGroups.computeIfAbsent(new ReloadGroupKey(loadContext), key -> new ArrayList<>())
+                                .add(reloadInfo);
+                    } else {
+                        reloadEntity(reloadInfo, loadOne(loadContext), loadInfoMap, loadedEntities);
+                    }
+                }
+            }
 
-                        loadedEntities.add(loadEvent.getResultEntity());
+            for (List<EntityReloadInfo> group : reloadGroups.values()) {
+                if (group.size() == 1) {
+                    EntityReloadInfo reloadInfo = group.get(0);
+                    reloadEntity(reloadInfo, loadOne(reloadInfo.loadContext), loadInfoMap, loadedEntities);
+                } else {
+                    for (List<EntityReloadInfo> batch : Lists.partition(group, batchSize)) {
+                        reloadBatch(batch, loadInfoMap, loadedEntities);
                     }
                 }
             }
@@ -468,6 +541,52 @@ public abstract class AbstractDataStore implements DataStore {
         return resultEntities;
     }
 
+    /**
+     * Returns the maximum number of saved entities of the same type and fetch plan that are reloaded by a single
+     * query after save. A value less than or equal to 1 means that each entity is reloaded by a separate query.
+     */
+    protected int getReloadAfterSaveBatchSize() {
+        return 1;
+    }
+
+    protected void reloadBatch(List<EntityReloadInfo> batch, Map<Object, EntityLoadInfo> loadInfoMap,
+                               Set<Object> loadedEntities) {
+        LoadContext<?> firstContext = batch.get(0).loadContext;
+
+        List<Object> ids = new ArrayList<>(batch.size());
+        for (EntityReloadInfo reloadInfo : batch) {
+            ids.add(reloadInfo.loadContext.getId());
+        }
+
+        LoadContext<?> batchContext = firstContext.copy()
+                .setId(null)
+                .setIds(ids)
+                .setLoadPartialEntities(firstContext.isLoadPartialEntities());
+
+        Map<Object, Object> fetchedEntities = new HashMap<>();
+        for (Object fetchedEntity : loadAll(batchContext)) {
+            fetchedEntities.put(EntityValues.getId(fetchedEntity), fetchedEntity);
+        }
+
+        for (EntityReloadInfo reloadInfo : batch) {
+            reloadEntity(reloadInfo, fetchedEntities.get(reloadInfo.loadContext.getId()), loadInfoMap, loadedEntities);
+        }
+    }
+
+    protected void reloadEntity(EntityReloadInfo reloadInfo, @Nullable Object fetchedEntity,
+                                Map<Object, EntityLoadInfo> loadInfoMap, Set<Object> loadedEntities) {
+        if (fetchedEntity != null) {
+            loadInfoMap.put(fetchedEntity, new EntityLoadInfo(reloadInfo.loadContext, reloadInfo.eventState));
+
+            copyNonPersistentAttributes(reloadInfo.entity, fetchedEntity);
+
+            DataStoreEntityLoadingEvent loadEvent = new DataStoreEntityLoadingEvent(reloadInfo.loadContext, fetchedEntity, reloadInfo.eventState);
+            fireEvent(loadEvent);
+
+            loadedEntities.add(loadEvent.getResultEntity());
+        }
+    }
+
     protected FetchPlan getFetchPlanForSave(Map<Object, FetchPlan> fetchPlans, Object entity) {
         FetchPlan fetchPlan = fetchPlans.get(entity);
         if (fetchPlan == null) {
@@ -505,4 +624,53 @@ public abstract class AbstractDataStore implements DataStore {
             this.eventState = eventState;
         }
     }
+
+    protected static class EntityReloadInfo {
+        protected Object entity;
+        protected LoadContext<?> loadContext;
+        protected EventSharedState eventState;
+
+        public EntityReloadInfo(Object entity, LoadContext<?> loadContext, EventSharedState eventState) {
+            this.entity = entity;
+            this.loadContext = loadContext;
+            this.eventState = eventState;
+        }
+    }
+
+    /**
+     * Groups saved entities that can be reloaded by a single query: the load contexts prepared for them
+     * (and possibly modified by event listeners) must differ only in the entity id.
+     */
+    protected static class ReloadGroupKey {
+        protected final MetaClass metaClass;
+        protected final FetchPlan fetchPlan;
+        protected final Map<String, Object> hints;
+        protected final boolean loadPartialEntities;
+        protected final List<AccessConstraint<?>> accessConstraints;
+
+        public ReloadGroupKey(LoadContext<?> loadContext) {
+            this.metaClass = loadContext.getEntityMetaClass();
+            this.fetchPlan = loadContext.getFetchPlan();
+            this.hints = new HashMap<>(loadContext.getHints());
+            this.loadPartialEntities = loadContext.isLoadPartialEntities();
+            this.accessConstraints = new ArrayList<>(loadContext.getAccessConstraints());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            ReloadGroupKey that = (ReloadGroupKey) o;
+            return loadPartialEntities == that.loadPartialEntities
+                    && metaClass.equals(that.metaClass)
+                    && Objects.equals(fetchPlan, that.fetchPlan)
+                    && hints.equals(that.hints)
+                    && accessConstraints.equals(that.accessConstraints);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(metaClass, fetchPlan, hints, loadPartialEntities, accessConstraints);
+        }
+    }
 }
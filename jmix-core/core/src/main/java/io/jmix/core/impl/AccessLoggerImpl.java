@@ -36,6 +36,11 @@ public class AccessLoggerImpl implements AccessLogger {
 
     private ThreadLocal<LastMessage> lastMessageThreadLocal = new ThreadLocal<>();
 
+    @Override
+    public boolean isEnabled() {
+        return log.isDebugEnabled();
+    }
+
     @Override
     public <T extends AccessContext> void log(AccessConstraint<T> constraint, T accessContext) {
         if (!log.isDebugEnabled()) {
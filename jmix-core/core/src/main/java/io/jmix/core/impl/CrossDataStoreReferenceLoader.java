@@ -16,6 +16,7 @@
 
 package io.jmix.core.impl;
 
+import com.google.common.collect.Iterables;
 import com.google.common.collect.Sets;
 import io.jmix.core.*;
 import io.jmix.core.common.util.Preconditions;
@@ -29,6 +30,8 @@ import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 /**
@@ -53,6 +56,9 @@ public class CrossDataStoreReferenceLoader {
     @Autowired
     private CoreProperties properties;
 
+    @Autowired
+    private CrossDataStoreReferenceLoadingExecutor loadingExecutor;
+
     private MetaClass metaClass;
 
     private FetchPlan fetchPlan;
@@ -122,13 +128,78 @@ public class CrossDataStoreReferenceLoader {
         }
         if (entityCrossDataStorePropertyList.size() == 1) {
             loadOne(entityCrossDataStorePropertyList.get(0));
-        } else {
-            entityCrossDataStorePropertyList.stream()
-                    .collect(Collectors.groupingBy(EntityCrossDataStoreProperty::getCrossProp))
-                    .forEach((ap, eapList) ->
-                            loadMany(ap, eapList.stream().map(eap -> eap.entity).collect(Collectors.toList()))
-                    );
+            return;
         }
+
+        // collect distinct ids of all entities of the same class and fetch plan, regardless of the referencing property
+        Map<LoadGroup, List<EntityCrossDataStoreProperty>> groups = entityCrossDataStorePropertyList.stream()
+                .collect(Collectors.groupingBy(eap -> new LoadGroup(eap.crossProp), LinkedHashMap::new, Collectors.toList()));
+
+        Map<LoadGroup, Map<Object, Object>> loadedEntities = loadGroups(groups);
+
+        groups.forEach((group, eapList) -> {
+            Map<Object, Object> entitiesById = loadedEntities.get(group);
+            for (EntityCrossDataStoreProperty eap : eapList) {
+                Object relatedPropertyValue = EntityValues.getValue(eap.entity, eap.crossProp.relatedPropertyName);
+                Object relatedEntity = relatedPropertyValue == null ? null : entitiesById.get(relatedPropertyValue);
+                if (relatedEntity != null) {
+                    EntityValues.setValue(eap.entity, eap.crossProp.property.getName(), relatedEntity);
+                }
+            }
+        });
+    }
+
+    /**
+     * Loads entities of the given groups. Groups of different data stores are loaded in parallel if possible,
+     * groups of the same data store are loaded sequentially.
+     */
+    private Map<LoadGroup, Map<Object, Object>> loadGroups(Map<LoadGroup, List<EntityCrossDataStoreProperty>> groups) {
+        Map<String, List<LoadGroup>> groupsByStore = groups.keySet().stream()
+                .collect(Collectors.groupingBy(group -> group.metaClass.getStore().getName(), LinkedHashMap::new, Collectors.toList()));
+
+        Map<LoadGroup, Map<Object, Object>> result = new HashMap<>();
+        if (groupsByStore.size() == 1 || !loadingExecutor.isParallelLoadingAvailable()) {
+            for (Map.Entry<LoadGroup, List<EntityCrossDataStoreProperty>> entry : groups.entrySet()) {
+                result.put(entry.getKey(), loadGroup(entry.getKey(), entry.getValue()));
+            }
+            return result;
+        }
+
+        Iterator<List<LoadGroup>> storeIterator = groupsByStore.values().iterator();
+        List<LoadGroup> callerThreadGroups = storeIterator.next();
+
+        List<Future<Map<LoadGroup, Map<Object, Object>>>> futures = new ArrayList<>();
+        while (storeIterator.hasNext()) {
+            List<LoadGroup> storeGroups = storeIterator.next();
+            futures.add(loadingExecutor.submit(() -> {
+                Map<LoadGroup, Map<Object, Object>> storeResult = new HashMap<>();
+                for (LoadGroup group : storeGroups) {
+                    storeResult.put(group, loadGroup(group, groups.get(group)));
+                }
+                return storeResult;
+            }));
+        }
+
+        try {
+            for (LoadGroup group : callerThreadGroups) {
+                result.put(group, loadGroup(group, groups.get(group)));
+            }
+            for (Future<Map<LoadGroup, Map<Object, Object>>> future : futures) {
+                result.putAll(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while loading cross-datastore references", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new RuntimeException("Error loading cross-datastore references", cause);
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+        return result;
     }
 
     private Set<Object> getAffectedEntities(Collection entities,
@@ -173,39 +244,37 @@ public class CrossDataStoreReferenceLoader {
         EntityValues.setValue(entity, aProp.property.getName(), relatedEntity);
     }
 
-    private void loadMany(CrossDataStoreProperty crossDataStoreProperty, List<Object> entities) {
-        int offset = 0, limit = properties.getCrossDataStoreReferenceLoadingBatchSize();
-        while (true) {
-            int end = offset + limit;
-            List<Object> batch = entities.subList(offset, Math.min(end, entities.size()));
-            loadBatch(crossDataStoreProperty, batch);
-            if (end >= entities.size())
-                break;
-            else
-                offset += limit;
+    private Map<Object, Object> loadGroup(LoadGroup group, List<EntityCrossDataStoreProperty> entityProperties) {
+        Set<Object> ids = new LinkedHashSet<>();
+        for (EntityCrossDataStoreProperty eap : entityProperties) {
+            Object id = EntityValues.getValue(eap.entity, eap.crossProp.relatedPropertyName);
+            if (id != null) {
+                ids.add(id);
+            }
         }
-    }
-
-    private void loadBatch(CrossDataStoreProperty crossDataStoreProperty, List<Object> entities) {
-        List<Object> idList = entities.stream()
-                .map(e -> EntityValues.getValue(e, crossDataStoreProperty.relatedPropertyName))
-                .filter(Objects::nonNull)
-                .distinct()
-                .collect(Collectors.toList());
 
-        if (idList.isEmpty())
-            return;
+        Map<Object, Object> entitiesById = new HashMap<>();
+        for (List<Object> batch : Iterables.partition(ids, properties.getCrossDataStoreReferenceLoadingBatchSize())) {
+            for (Object loadedEntity : loadBatch(group, batch)) {
+                Object id = EntityValues.getId(loadedEntity);
+                assert id != null;
+                entitiesById.put(id, loadedEntity);
+            }
+        }
+        return entitiesById;
+    }
 
-        MetaClass cdsrMetaClass = crossDataStoreProperty.property.getRange().asClass();
+    private List<?> loadBatch(LoadGroup group, List<Object> idList) {
+        MetaClass cdsrMetaClass = group.metaClass;
         LoadContext<?> loadContext = new LoadContext<>(cdsrMetaClass);
 
-        if (metadataTools.isJpa(crossDataStoreProperty.property)) {
+        if (group.jpa) {
             // Don't use standard loading by ids for JPA entities because AbstractDataStore throws exception
             // if not all requested entities are loaded, see checkAndReorderLoadedEntities()
             MetaProperty primaryKeyProperty = metadataTools.getPrimaryKeyProperty(cdsrMetaClass);
             if (primaryKeyProperty == null || !primaryKeyProperty.getRange().isClass()) {
                 String queryString = String.format(
-                        "select e from %s e where e.%s in :idList", cdsrMetaClass, crossDataStoreProperty.primaryKeyName);
+                        "select e from %s e where e.%s in :idList", cdsrMetaClass, group.primaryKeyName);
                 loadContext.setQuery(new LoadContext.Query(queryString).setParameter("idList", idList));
             } else {
                 // composite key entity
@@ -215,7 +284,7 @@ public class CrossDataStoreReferenceLoader {
                 MetaClass idMetaClass = primaryKeyProperty.getRange().asClass();
                 for (Iterator<MetaProperty> it = idMetaClass.getProperties().iterator(); it.hasNext(); ) {
                     MetaProperty property = it.next();
-                    sb.append("e.").append(crossDataStoreProperty.primaryKeyName).append(".").append(property.getName());
+                    sb.append("e.").append(group.primaryKeyName).append(".").append(property.getName());
                     sb.append(" in :list_").append(property.getName());
                     if (it.hasNext())
                         sb.append(" and ");
@@ -234,23 +303,10 @@ public class CrossDataStoreReferenceLoader {
             loadContext.setIds(idList);
         }
 
-        loadContext.setFetchPlan(crossDataStoreProperty.fetchPlanProperty.getFetchPlan());
+        loadContext.setFetchPlan(group.fetchPlan);
         loadContext.setJoinTransaction(joinTransaction);
 
-        List<?> loadedEntities = dataManager.loadList(loadContext);
-
-        for (Object entity : entities) {
-            Object relatedPropertyValue = EntityValues.getValue(entity, crossDataStoreProperty.relatedPropertyName);
-            loadedEntities.stream()
-                    .filter(e -> {
-                        Object id = EntityValues.getId(e);
-                        assert id != null;
-                        return id.equals(relatedPropertyValue);
-                    })
-                    .findAny()
-                    .ifPresent(e -> EntityValues.setValue(entity, crossDataStoreProperty.property.getName(), e)
-                    );
-        }
+        return dataManager.loadList(loadContext);
     }
 
     private static class EntityCrossDataStoreProperty {
@@ -273,12 +329,51 @@ public class CrossDataStoreReferenceLoader {
         }
     }
 
+    /**
+     * Entities of the same class to be loaded with the same fetch plan.
+     */
+    private static class LoadGroup {
+
+        private final MetaClass metaClass;
+        private final FetchPlan fetchPlan;
+        private final boolean jpa;
+        private final String primaryKeyName;
+
+        private LoadGroup(CrossDataStoreProperty crossDataStoreProperty) {
+            this.metaClass = crossDataStoreProperty.property.getRange().asClass();
+            this.fetchPlan = crossDataStoreProperty.fetchPlanProperty.getFetchPlan();
+            this.jpa = crossDataStoreProperty.jpa;
+            this.primaryKeyName = crossDataStoreProperty.primaryKeyName;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            LoadGroup that = (LoadGroup) o;
+            return jpa == that.jpa
+                    && metaClass.equals(that.metaClass)
+                    && Objects.equals(fetchPlan, that.fetchPlan);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(metaClass, fetchPlan, jpa);
+        }
+
+        @Override
+        public String toString() {
+            return "LoadGroup{" + metaClass + ", " + fetchPlan + "}";
+        }
+    }
+
     public class CrossDataStoreProperty {
 
         public final MetaProperty property;
         public final FetchPlanProperty fetchPlanProperty;
         public final String relatedPropertyName;
         public final String primaryKeyName;
+        public final boolean jpa;
 
         public CrossDataStoreProperty(MetaProperty metaProperty, FetchPlanProperty fetchPlanProperty) {
             this.property = metaProperty;
@@ -291,6 +386,7 @@ public class CrossDataStoreReferenceLoader {
             primaryKeyName = pkName != null
                     ? pkName
                     : "id"; // sensible default for non-persistent entities
+            jpa = metadataTools.isJpa(property);
         }
 
         @Override
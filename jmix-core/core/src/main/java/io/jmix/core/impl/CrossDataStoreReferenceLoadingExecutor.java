@@ -0,0 +1,163 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.core.impl;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.jmix.core.CoreProperties;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.lang.Nullable;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Map;
+import java.util.concurrent.*;
+
+/**
+ * INTERNAL.
+ * Bounded thread pool used by {@link CrossDataStoreReferenceLoader} to load references to entities
+ * of different data stores in parallel. Tasks exceeding the queue capacity are executed in the calling thread.
+ */
+@Component("core_CrossDataStoreReferenceLoadingExecutor")
+public class CrossDataStoreReferenceLoadingExecutor {
+
+    private static final ThreadLocal<Boolean> workerThread = new ThreadLocal<>();
+
+    @Autowired
+    private CoreProperties properties;
+
+    private volatile ThreadPoolExecutor executor;
+
+    /**
+     * Returns true if loading tasks can be passed to {@link #submit(Callable)} from the current thread.
+     * <p>
+     * Tasks are executed in the calling thread if a transaction is active, so the loading can join it,
+     * and if the calling thread is a worker of this executor, to avoid waiting for its own pool.
+     */
+    public boolean isParallelLoadingAvailable() {
+        return properties.getCrossDataStoreReferenceLoadingThreads() > 1
+                && workerThread.get() == null
+                && !TransactionSynchronizationManager.isActualTransactionActive();
+    }
+
+    /**
+     * Submits the task for execution with the context of the calling thread: security context, locale context,
+     * request attributes and logging MDC. If all threads are busy and the queue is full, the task is executed
+     * in the calling thread.
+     */
+    public <T> Future<T> submit(Callable<T> task) {
+        ThreadContext callerContext = ThreadContext.capture();
+        return getExecutor().submit(() -> {
+            ThreadContext previousContext = ThreadContext.capture();
+            boolean nested = workerThread.get() != null;
+            workerThread.set(Boolean.TRUE);
+            callerContext.apply();
+            try {
+                return task.call();
+            } finally {
+                previousContext.apply();
+                if (!nested) {
+                    workerThread.remove();
+                }
+            }
+        });
+    }
+
+    protected ThreadPoolExecutor getExecutor() {
+        ThreadPoolExecutor result = executor;
+        if (result == null) {
+            synchronized (this) {
+                result = executor;
+                if (result == null) {
+                    int threads = properties.getCrossDataStoreReferenceLoadingThreads();
+                    result = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                            new ArrayBlockingQueue<>(Math.max(properties.getCrossDataStoreReferenceLoadingQueueCapacity(), 1)),
+                            new ThreadFactoryBuilder()
+                                    .setNameFormat("jmix-cross-datastore-loader-%d")
+                                    .setDaemon(true)
+                                    .build(),
+                            (task, pool) -> {
+                                // CallerRunsPolicy silently discards tasks after shutdown, so their futures never complete
+                                if (pool.isShutdown()) {
+                                    throw new RejectedExecutionException("Cross-datastore reference loading executor is shut down");
+                                }
+                                task.run();
+                            });
+                    result.allowCoreThreadTimeOut(true);
+                    executor = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    @PreDestroy
+    protected void shutdown() {
+        ThreadPoolExecutor result = executor;
+        if (result != null) {
+            result.shutdownNow();
+        }
+    }
+
+    /**
+     * Thread-bound state that is passed from the calling thread to the loading tasks.
+     */
+    protected static class ThreadContext {
+
+        protected final SecurityContext securityContext;
+        protected final LocaleContext localeContext;
+        protected final RequestAttributes requestAttributes;
+        protected final Map<String, String> mdc;
+
+        protected ThreadContext(SecurityContext securityContext,
+                                @Nullable LocaleContext localeContext,
+                                @Nullable RequestAttributes requestAttributes,
+                                @Nullable Map<String, String> mdc) {
+            this.securityContext = securityContext;
+            this.localeContext = localeContext;
+            this.requestAttributes = requestAttributes;
+            this.mdc = mdc;
+        }
+
+        public static ThreadContext capture() {
+            return new ThreadContext(SecurityContextHolder.getContext(), LocaleContextHolder.getLocaleContext(),
+                    RequestContextHolder.getRequestAttributes(), MDC.getCopyOfContextMap());
+        }
+
+        public void apply() {
+            if (securityContext.getAuthentication() != null) {
+                SecurityContextHolder.setContext(securityContext);
+            } else {
+                SecurityContextHolder.clearContext();
+            }
+            LocaleContextHolder.setLocaleContext(localeContext);
+            RequestContextHolder.setRequestAttributes(requestAttributes);
+            if (mdc != null) {
+                MDC.setContextMap(mdc);
+            } else {
+                MDC.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.core.impl;
+
+import com.google.common.collect.Iterables;
+import io.jmix.core.CoreProperties;
+import io.jmix.core.LoadContext;
+import io.jmix.core.MetadataTools;
+import io.jmix.core.common.util.Preconditions;
+import io.jmix.core.entity.EntityValues;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * INTERNAL.
+ * Loads entities by lists of ids in batches, so the number of ids in a single query is limited
+ * by {@link CoreProperties#getLoadByIdsBatchSize()}.
+ */
+@Component("core_EntitiesByIdsLoader")
+public class EntitiesByIdsLoader {
+
+    @Autowired
+    protected CoreProperties coreProperties;
+
+    @Autowired
+    protected MetadataTools metadataTools;
+
+    /**
+     * Loads entities with the given ids.
+     *
+     * @param loadContext context defining the entity, fetch plan, hints and access constraints. Its copy
+     *                    with the ids of a batch is passed to the loader for each batch.
+     * @param ids         ids of entities, duplicates are ignored
+     * @param loader      function loading the list of entities by the context, e.g. {@code dataManager::loadList}
+     * @return loaded entities by ids, ids of entities that are not found are absent
+     */
+    @SuppressWarnings("unchecked")
+    public <E> Map<Object, E> loadByIds(LoadContext<E> loadContext,
+                                        Collection<?> ids,
+                                        Function<LoadContext<E>, List<E>> loader) {
+        Preconditions.checkNotNullArgument(loadContext, "loadContext is null");
+        Preconditions.checkNotNullArgument(ids, "ids is null");
+
+        Map<Object, E> entities = new LinkedHashMap<>();
+        if (ids.isEmpty()) {
+            return entities;
+        }
+        if (metadataTools.hasCompositePrimaryKey(loadContext.getEntityMetaClass())) {
+            // composite ids cannot be passed to the "in" condition
+            for (Object id : new LinkedHashSet<>(ids)) {
+                LoadContext<E> batchContext = (LoadContext<E>) loadContext.copy();
+                batchContext.setId(id);
+                for (E entity : loader.apply(batchContext)) {
+                    entities.put(id, entity);
+                }
+            }
+            return entities;
+        }
+
+        int batchSize = coreProperties.getLoadByIdsBatchSize();
+        for (List<?> batch : Iterables.partition(new LinkedHashSet<>(ids), batchSize)) {
+            LoadContext<E> batchContext = (LoadContext<E>) loadContext.copy();
+            batchContext.setIds(batch);
+            for (E entity : loader.apply(batchContext)) {
+                entities.put(EntityValues.getId(entity), entity);
+            }
+        }
+        return entities;
+    }
+}
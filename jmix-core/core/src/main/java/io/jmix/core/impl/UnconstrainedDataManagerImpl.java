@@ -38,6 +38,8 @@ import org.springframework.transaction.support.DefaultTransactionDefinition;
 import org.springframework.lang.Nullable;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 @Primary
 @Component("core_UnconstrainedDataManager")
@@ -115,6 +117,21 @@ public class UnconstrainedDataManagerImpl implements UnconstrainedDataManager {
         return entities;
     }
 
+    @Override
+    public <E> Stream<List<E>> loadBatches(LoadContext<E> context, int batchSize) {
+        Preconditions.checkNotNullArgument(context.getQuery(), "query is null");
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive");
+        }
+
+        MetaClass metaClass = getEffectiveMetaClassFromContext(context);
+        DataStore storage = dataStoreFactory.get(getStoreName(metaClass));
+
+        BatchIterator<E> iterator = new BatchIterator<>(context, batchSize, storage);
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
     @Override
     public long getCount(LoadContext<?> context) {
         MetaClass metaClass = getEffectiveMetaClassFromContext(context);
@@ -415,4 +432,95 @@ public class UnconstrainedDataManagerImpl implements UnconstrainedDataManager {
     protected List<AccessConstraint<?>> getAppliedConstraints() {
         return Collections.emptyList();
     }
+
+    /**
+     * Loads batches of {@link #loadBatches(LoadContext, int)} on demand.
+     */
+    protected class BatchIterator<E> implements Iterator<List<E>> {
+
+        protected final LoadContext<E> context;
+        protected final int batchSize;
+        protected final KeysetLoadingSupport keysetLoadingSupport;
+
+        protected int loadedCount;
+        protected Object lastLoadedEntity;
+        protected List<E> nextBatch;
+        protected boolean finished;
+
+        public BatchIterator(LoadContext<E> context, int batchSize, DataStore dataStore) {
+            this.context = context;
+            this.batchSize = batchSize;
+
+            LoadContext.Query query = Objects.requireNonNull(context.getQuery());
+            boolean keysetApplicable = query.getFirstResult() == 0
+                    && dataStore instanceof KeysetLoadingSupport
+                    && ((KeysetLoadingSupport) dataStore).createKeysetBatchContext(context, null) != null;
+            this.keysetLoadingSupport = keysetApplicable ? (KeysetLoadingSupport) dataStore : null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (nextBatch == null && !finished) {
+                nextBatch = loadNextBatch();
+            }
+            return nextBatch != null;
+        }
+
+        @Override
+        public List<E> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            List<E> batch = nextBatch;
+            nextBatch = null;
+            return batch;
+        }
+
+        @Nullable
+        protected List<E> loadNextBatch() {
+            LoadContext.Query query = Objects.requireNonNull(context.getQuery());
+
+            int maxResults = batchSize;
+            if (query.getMaxResults() > 0) {
+                maxResults = Math.min(batchSize, query.getMaxResults() - loadedCount);
+                if (maxResults <= 0) {
+                    finished = true;
+                    return null;
+                }
+            }
+
+            LoadContext<E> batchContext = createBatchContext();
+            LoadContext.Query batchQuery = Objects.requireNonNull(batchContext.getQuery());
+            batchQuery.setMaxResults(maxResults);
+
+            List<E> batch = loadList(batchContext);
+
+            loadedCount += batch.size();
+            if (batch.size() < maxResults) {
+                finished = true;
+            }
+            if (batch.isEmpty()) {
+                return null;
+            }
+            lastLoadedEntity = batch.get(batch.size() - 1);
+            return batch;
+        }
+
+        @SuppressWarnings("unchecked")
+        protected LoadContext<E> createBatchContext() {
+            LoadContext<E> batchContext;
+            if (keysetLoadingSupport != null) {
+                batchContext = (LoadContext<E>) Objects.requireNonNull(
+                        keysetLoadingSupport.createKeysetBatchContext(context, lastLoadedEntity));
+            } else {
+                batchContext = (LoadContext<E>) context.copy();
+                LoadContext.Query batchQuery = Objects.requireNonNull(batchContext.getQuery());
+                batchQuery.setFirstResult(Objects.requireNonNull(context.getQuery()).getFirstResult() + loadedCount);
+            }
+            batchContext.setLoadPartialEntities(context.isLoadPartialEntities());
+            //a batch is loaded in a separate transaction to keep its entities out of the caller's persistence context
+            batchContext.setJoinTransaction(false);
+            return batchContext;
+        }
+    }
 }
@@ -16,6 +16,12 @@
 
 package io.jmix.core.impl.importexport;
 
+import com.google.common.collect.Iterables;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
 import io.jmix.core.*;
 import io.jmix.core.accesscontext.InMemoryCrudEntityContext;
 import io.jmix.core.common.datastruct.Pair;
@@ -23,6 +29,7 @@ import io.jmix.core.entity.EntityPreconditions;
 import io.jmix.core.entity.EntitySystemAccess;
 import io.jmix.core.entity.EntityValues;
 import io.jmix.core.entity.SecurityState;
+import io.jmix.core.impl.EntitiesByIdsLoader;
 import io.jmix.core.impl.serialization.EntityTokenException;
 import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.metamodel.model.MetaProperty;
@@ -34,6 +41,8 @@ import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
 import org.apache.commons.compress.archivers.zip.ZipArchiveInputStream;
 import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.CloseShieldInputStream;
+import org.apache.commons.io.output.CloseShieldOutputStream;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
 import org.springframework.stereotype.Component;
@@ -43,14 +52,12 @@ import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
 import jakarta.validation.Validator;
 import jakarta.validation.groups.Default;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
+import java.io.*;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.function.Consumer;
 import java.util.zip.CRC32;
+import java.util.stream.Collectors;
 
 import static io.jmix.core.entity.EntitySystemAccess.getSecurityState;
 import static java.lang.String.format;
@@ -58,6 +65,11 @@ import static java.lang.String.format;
 @Component("core_EntityImportExport")
 public class EntityImportExportImpl implements EntityImportExport {
 
+    /**
+     * Max number of entities read in previous batches that are kept to resolve repeated entities of compacted JSON.
+     */
+    protected static final int REPEATED_ENTITIES_CACHE_SIZE = 10_000;
+
     @Autowired
     protected EntitySerialization entitySerialization;
 
@@ -103,31 +115,37 @@ public class EntityImportExportImpl implements EntityImportExport {
     @Autowired
     protected EntityAttributeImportExtensionResolver extensionResolver;
 
+    @Autowired
+    protected EntitiesByIdsLoader entitiesByIdsLoader;
+
     @Override
     public byte[] exportEntitiesToZIP(Collection<Object> entities, FetchPlan fetchPlan) {
-        return exportEntitiesToZIP(reloadEntities(entities, fetchPlan));
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        exportEntitiesToZIP(entities, fetchPlan, byteArrayOutputStream);
+        return byteArrayOutputStream.toByteArray();
     }
 
     @Override
     public byte[] exportEntitiesToZIP(Collection<Object> entities) {
-        String json = entitySerialization.toJson(entities, null, EntitySerializationOption.COMPACT_REPEATED_ENTITIES);
-        byte[] jsonBytes = json.getBytes(StandardCharsets.UTF_8);
-
         ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
-        ZipArchiveOutputStream zipOutputStream = new ZipArchiveOutputStream(byteArrayOutputStream);
-        zipOutputStream.setMethod(ZipArchiveOutputStream.STORED);
-        zipOutputStream.setEncoding(StandardCharsets.UTF_8.name());
-        ArchiveEntry singleDesignEntry = newStoredEntry("entities.json", jsonBytes);
-        try {
-            zipOutputStream.putArchiveEntry(singleDesignEntry);
-            zipOutputStream.write(jsonBytes);
+        exportEntitiesToZIP(entities, null, byteArrayOutputStream);
+        return byteArrayOutputStream.toByteArray();
+    }
+
+    @Override
+    public void exportEntitiesToZIP(Collection<Object> entities, @Nullable FetchPlan fetchPlan, OutputStream outputStream) {
+        //the entry size is unknown before the JSON is written, so it is deflated and followed by a data descriptor
+        try (ZipArchiveOutputStream zipOutputStream = new ZipArchiveOutputStream(CloseShieldOutputStream.wrap(outputStream))) {
+            zipOutputStream.setMethod(ZipArchiveOutputStream.DEFLATED);
+            zipOutputStream.setEncoding(StandardCharsets.UTF_8.name());
+            zipOutputStream.putArchiveEntry(new ZipArchiveEntry("entities.json"));
+            Writer writer = new BufferedWriter(new OutputStreamWriter(zipOutputStream, StandardCharsets.UTF_8));
+            writeEntitiesJson(entities, fetchPlan, writer, EntitySerializationOption.COMPACT_REPEATED_ENTITIES);
+            writer.flush();
             zipOutputStream.closeArchiveEntry();
-        } catch (Exception e) {
+        } catch (IOException e) {
             throw new RuntimeException("Error on creating zip archive during entities export", e);
-        } finally {
-            IOUtils.closeQuietly(zipOutputStream);
         }
-        return byteArrayOutputStream.toByteArray();
     }
 
     @Override
@@ -141,6 +159,44 @@ public class EntityImportExportImpl implements EntityImportExport {
                 EntitySerializationOption.COMPACT_REPEATED_ENTITIES, EntitySerializationOption.PRETTY_PRINT);
     }
 
+    @Override
+    public void exportEntitiesToJSON(Collection<Object> entities, @Nullable FetchPlan fetchPlan, Writer writer) {
+        try {
+            writeEntitiesJson(entities, fetchPlan, writer,
+                    EntitySerializationOption.COMPACT_REPEATED_ENTITIES, EntitySerializationOption.PRETTY_PRINT);
+            writer.flush();
+        } catch (IOException e) {
+            throw new RuntimeException("Error on writing JSON during entities export", e);
+        }
+    }
+
+    /**
+     * Writes entities as a JSON array. Each entity is serialized separately, so every element of the array can be
+     * deserialized on its own. If the fetch plan is passed, entities are reloaded with it in batches of
+     * {@link CoreProperties#getLoadByIdsBatchSize()}, so only one batch of reloaded entities is kept in memory.
+     */
+    protected void writeEntitiesJson(Collection<Object> entities,
+                                     @Nullable FetchPlan fetchPlan,
+                                     Writer writer,
+                                     EntitySerializationOption... options) throws IOException {
+        Iterable<? extends Collection<?>> batches = fetchPlan == null
+                ? Collections.singletonList(entities)
+                : Iterables.transform(Iterables.partition(entities, coreProperties.getLoadByIdsBatchSize()), batch -> reloadEntities(batch, fetchPlan));
+
+        writer.write('[');
+        boolean first = true;
+        for (Collection<?> batch : batches) {
+            for (Object entity : batch) {
+                if (!first) {
+                    writer.write(',');
+                }
+                entitySerialization.toJson(entity, writer, null, options);
+                first = false;
+            }
+        }
+        writer.write(']');
+    }
+
     protected Collection reloadEntities(Collection<Object> entities, FetchPlan fetchPlan) {
         List ids = new ArrayList(entities.size());
         for (Object entity : entities) {
@@ -158,6 +214,11 @@ public class EntityImportExportImpl implements EntityImportExport {
         return dataManager.loadList(ctx);
     }
 
+    /**
+     * @deprecated entities are exported to a deflated ZIP entry written with a data descriptor, so stored entries
+     * are not created any more
+     */
+    @Deprecated
     protected ArchiveEntry newStoredEntry(String name, byte[] data) {
         ZipArchiveEntry zipEntry = new ZipArchiveEntry(name);
         zipEntry.setSize(data.length);
@@ -181,30 +242,100 @@ public class EntityImportExportImpl implements EntityImportExport {
     @Override
     public Collection<Object> importEntitiesFromZIP(byte[] zipBytes, EntityImportPlan importPlan) {
         Collection<Object> result = new ArrayList<>();
-        ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(zipBytes);
-        ZipArchiveInputStream archiveReader = new ZipArchiveInputStream(byteArrayInputStream);
+        importEntitiesFromZIP(new ByteArrayInputStream(zipBytes), importPlan, coreProperties.getEntityImportBatchSize(),
+                result::addAll);
+        return result;
+    }
+
+    @Override
+    public int importEntitiesFromZIP(InputStream inputStream, EntityImportPlan importPlan, int batchSize,
+                                     @Nullable Consumer<Collection<Object>> batchListener) {
+        checkBatchSize(batchSize);
+        int count = 0;
+        try (ZipArchiveInputStream archiveReader = new ZipArchiveInputStream(CloseShieldInputStream.wrap(inputStream))) {
+            while (archiveReader.getNextZipEntry() != null) {
+                JsonReader jsonReader = new JsonReader(new InputStreamReader(archiveReader, StandardCharsets.UTF_8));
+                count += importEntitiesFromJson(jsonReader, importPlan, batchSize, batchListener);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Exception occurred while importing entities", e);
+        }
+        return count;
+    }
+
+    @Override
+    public int importEntitiesFromJson(Reader reader, EntityImportPlan importPlan, int batchSize,
+                                      @Nullable Consumer<Collection<Object>> batchListener) {
+        checkBatchSize(batchSize);
         try {
-            try {
-                while (archiveReader.getNextZipEntry() != null) {
-                    String json = new String(readBytesFromEntry(archiveReader), StandardCharsets.UTF_8);
-                    Collection<?> entities = entitySerialization.entitiesCollectionFromJson(json,
-                            null,
-                            EntitySerializationOption.COMPACT_REPEATED_ENTITIES);
-                    result.addAll(importEntities(entities, importPlan));
-                }
-            } catch (IOException e) {
-                throw new RuntimeException("Exception occurred while importing report", e);
+            return importEntitiesFromJson(new JsonReader(reader), importPlan, batchSize, batchListener);
+        } catch (IOException e) {
+            throw new RuntimeException("Exception occurred while importing entities", e);
+        }
+    }
+
+    /**
+     * Reads elements of the JSON array one by one and imports them when the batch is full, so only one batch of
+     * entities is deserialized and saved at once.
+     * <p>
+     * JSON written with {@link EntitySerializationOption#COMPACT_REPEATED_ENTITIES} for the whole array (by
+     * {@link #exportEntitiesToJSON(Collection)} and by ZIP exports of previous versions) contains only ids of
+     * entities repeated in different elements. Such references are replaced with the full JSON of the entity read
+     * in a previous batch by {@link RepeatedEntitiesResolver}. It keeps a limited number of recently read entities
+     * and stops keeping them as soon as the input turns out to be compacted for each element separately.
+     */
+    protected int importEntitiesFromJson(JsonReader jsonReader, EntityImportPlan importPlan, int batchSize,
+                                         @Nullable Consumer<Collection<Object>> batchListener) throws IOException {
+        int count = 0;
+        RepeatedEntitiesResolver repeatedEntitiesResolver = createRepeatedEntitiesResolver();
+        JsonArray batch = new JsonArray();
+        jsonReader.beginArray();
+        while (jsonReader.hasNext()) {
+            batch.add(JsonParser.parseReader(jsonReader));
+            if (batch.size() >= batchSize) {
+                repeatedEntitiesResolver.resolve(batch);
+                count += importEntitiesBatch(batch, importPlan, batchListener);
+                batch = new JsonArray();
             }
-        } finally {
-            IOUtils.closeQuietly(archiveReader);
         }
-        return result;
+        jsonReader.endArray();
+        if (batch.size() > 0) {
+            repeatedEntitiesResolver.resolve(batch);
+            count += importEntitiesBatch(batch, importPlan, batchListener);
+        }
+        return count;
+    }
+
+    protected int importEntitiesBatch(JsonArray batch, EntityImportPlan importPlan,
+                                      @Nullable Consumer<Collection<Object>> batchListener) {
+        Collection<Object> entities = entitySerialization.entitiesCollectionFromJson(batch, null,
+                EntitySerializationOption.COMPACT_REPEATED_ENTITIES);
+        Collection<Object> importedEntities = importEntities(entities, importPlan);
+        if (batchListener != null) {
+            batchListener.accept(importedEntities);
+        }
+        return entities.size();
     }
 
+    /**
+     * @deprecated ZIP entries are read as a stream by {@link #importEntitiesFromJson(JsonReader, EntityImportPlan,
+     * int, Consumer)}
+     */
+    @Deprecated
     protected byte[] readBytesFromEntry(ZipArchiveInputStream archiveReader) throws IOException {
         return IOUtils.toByteArray(archiveReader);
     }
 
+    protected RepeatedEntitiesResolver createRepeatedEntitiesResolver() {
+        return new RepeatedEntitiesResolver(REPEATED_ENTITIES_CACHE_SIZE);
+    }
+
+    protected void checkBatchSize(int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+    }
+
     @Override
     public Collection importEntities(Collection entities, EntityImportPlan importPlan) {
         return importEntities(entities, importPlan, false, false);
@@ -231,33 +362,24 @@ public class EntityImportExportImpl implements EntityImportExport {
         //
         //1. entities that should be persisted are processed first, fields that should be references to existing entities
         //are stored in the referenceInfoList variable
+        FetchPlan fetchPlan = constructFetchPlanFromImportPlan(importPlan).build();
         for (Object srcEntity : entities) {
             EntityPreconditions.checkEntityType(srcEntity);
-            FetchPlan fetchPlan = constructFetchPlanFromImportPlan(importPlan).build();
+        }
+        //existing entities are loaded in batches instead of one query per entity
+        LoadedEntities existingEntities = loadExistingEntities(entities, fetchPlan);
+        for (Object srcEntity : entities) {
             //set softDeletion to false because we can import deleted entity, so we'll restore it and update
-
             Object dstEntity = null;
             Object entityId = EntityValues.getId(srcEntity);
             if (entityId != null) {
-                LoadContext<?> ctx = new LoadContext<>(metadata.getClass(srcEntity))
-                        .setFetchPlan(fetchPlan)
-                        .setHint("jmix.dynattr", true)
-                        .setHint("jmix.softDeletion", false)
-                        .setId(entityId)
-                        .setAccessConstraints(accessConstraintsRegistry.getConstraints());
-                dstEntity = dataManager.load(ctx);
+                dstEntity = findExistingEntity(srcEntity, fetchPlan, existingEntities);
             }
             importEntity(srcEntity, dstEntity, importPlan, fetchPlan, saveContext, referenceInfoList, optimisticLocking, additionComposition);
         }
 
         //2. references to existing entities are processed
-
-        //store a list of loaded entities in the collection to prevent unnecessary database requests for searching the
-        //same instance
-        Set<Object> loadedEntities = new HashSet<>();
-        for (ReferenceInfo referenceInfo : referenceInfoList) {
-            processReferenceInfo(referenceInfo, saveContext, loadedEntities);
-        }
+        processReferenceInfos(referenceInfoList, saveContext);
 
         for (Object instance : saveContext.getEntitiesToSave()) {
             if (!entityStates.isNew(instance)) {
@@ -302,21 +424,65 @@ public class EntityImportExportImpl implements EntityImportExport {
         EntityPreconditions.checkEntityType(srcEntity);
         FetchPlan fetchPlan = constructFetchPlanFromImportPlan(importPlan).build();
 
-        LoadContext<?> ctx = new LoadContext<>(metadata.getClass(srcEntity))
-                .setFetchPlan(fetchPlan)
-                .setHint("jmix.dynattr", true)
-                .setHint("jmix.softDeletion", false)
-                .setId(EntityValues.getId(srcEntity))
-                .setAccessConstraints(accessConstraintsRegistry.getConstraints());
-        Object dstEntity = dataManager.load(ctx);
+        Object dstEntity = findExistingEntity(srcEntity, fetchPlan, new LoadedEntities());
 
         importEntity(srcEntity, dstEntity, importPlan, fetchPlan, saveContext, referenceInfoList, optimisticLocking, additionComposition);
 
-        Set<Object> loadedEntities = new HashSet<>();
-        for (ReferenceInfo referenceInfo : referenceInfoList) {
-            processReferenceInfo(referenceInfo, saveContext, loadedEntities);
+        processReferenceInfos(referenceInfoList, saveContext);
+
+        for (Object instance : saveContext.getEntitiesToSave()) {
+            if (!entityStates.isNew(instance)) {
+                if (EntityValues.isSoftDeleted(instance)) {
+                    EntityValues.setDeletedDate(instance, null);
+                }
+            }
+        }
+
+        if (validate) {
+            validateEntities(new LinkedHashSet<>(saveContext.getEntitiesToSave()));
+        }
+
+        if (!saveContext.getEntitiesToRemove().isEmpty()) {
+            saveContext.setHint("jmix.softDeletion", true);
+        }
+
+        saveContext.setAccessConstraints(accessConstraintsRegistry.getConstraints());
+    }
+
+    @Override
+    public void importEntitiesIntoSaveContext(SaveContext saveContext, Map<Object, EntityImportPlan> entities, boolean validate, boolean optimisticLocking) {
+        List<ReferenceInfo> referenceInfoList = new ArrayList<>();
+        saveContext.setHint("jmix.softDeletion", false);
+
+        Map<Object, FetchPlan> fetchPlansByEntity = new LinkedHashMap<>();
+        Map<MetaClass, FetchPlanBuilder> mergedFetchPlanBuilders = new LinkedHashMap<>();
+        for (Map.Entry<Object, EntityImportPlan> entry : entities.entrySet()) {
+            Object srcEntity = entry.getKey();
+            EntityPreconditions.checkEntityType(srcEntity);
+            FetchPlan fetchPlan = constructFetchPlanFromImportPlan(entry.getValue()).build();
+            fetchPlansByEntity.put(srcEntity, fetchPlan);
+            mergedFetchPlanBuilders.computeIfAbsent(metadata.getClass(srcEntity),
+                    metaClass -> fetchPlans.builder(metaClass.getJavaClass())).merge(fetchPlan);
+        }
+
+        //entities of the same class are loaded with a fetch plan that includes the properties of all their import plans
+        LoadedEntities existingEntities = new LoadedEntities();
+        for (Map.Entry<MetaClass, FetchPlanBuilder> entry : mergedFetchPlanBuilders.entrySet()) {
+            List<Object> classEntities = entities.keySet().stream()
+                    .filter(entity -> metadata.getClass(entity).equals(entry.getKey()))
+                    .collect(Collectors.toList());
+            existingEntities.putAll(loadExistingEntities(classEntities, entry.getValue().build()));
+        }
+
+        for (Map.Entry<Object, EntityImportPlan> entry : entities.entrySet()) {
+            Object srcEntity = entry.getKey();
+            FetchPlan fetchPlan = fetchPlansByEntity.get(srcEntity);
+            Object dstEntity = findExistingEntity(srcEntity, fetchPlan, existingEntities);
+            importEntity(srcEntity, dstEntity, entry.getValue(), fetchPlan, saveContext, referenceInfoList, optimisticLocking, false);
         }
 
+        processReferenceInfos(referenceInfoList, saveContext);
+
         for (Object instance : saveContext.getEntitiesToSave()) {
             if (!entityStates.isNew(instance)) {
                 if (EntityValues.isSoftDeleted(instance)) {
@@ -336,6 +502,101 @@ public class EntityImportExportImpl implements EntityImportExport {
         saveContext.setAccessConstraints(accessConstraintsRegistry.getConstraints());
     }
 
+    /**
+     * Loads existing entities for the passed source entities by their ids in batches.
+     */
+    protected LoadedEntities loadExistingEntities(Collection<Object> srcEntities, FetchPlan fetchPlan) {
+        Map<MetaClass, Set<Object>> idsByClass = new LinkedHashMap<>();
+        for (Object srcEntity : srcEntities) {
+            Object entityId = EntityValues.getId(srcEntity);
+            MetaClass metaClass = metadata.getClass(srcEntity);
+            if (entityId != null && !metadataTools.hasCompositePrimaryKey(metaClass)) {
+                idsByClass.computeIfAbsent(metaClass, k -> new LinkedHashSet<>()).add(entityId);
+            }
+        }
+
+        LoadedEntities loadedEntities = new LoadedEntities();
+        for (Map.Entry<MetaClass, Set<Object>> entry : idsByClass.entrySet()) {
+            LoadContext<Object> ctx = new LoadContext<>(entry.getKey())
+                    .setFetchPlan(fetchPlan)
+                    .setHint("jmix.dynattr", true)
+                    .setHint("jmix.softDeletion", false)
+                    .setAccessConstraints(accessConstraintsRegistry.getConstraints());
+            loadEntitiesByIds(ctx, entry.getValue(), loadedEntities);
+        }
+        return loadedEntities;
+    }
+
+    @Nullable
+    protected Object findExistingEntity(Object srcEntity, FetchPlan fetchPlan, LoadedEntities existingEntities) {
+        MetaClass metaClass = metadata.getClass(srcEntity);
+        Object entityId = EntityValues.getId(srcEntity);
+        if (existingEntities.contains(metaClass, entityId)) {
+            return existingEntities.get(metaClass, entityId);
+        }
+        LoadContext<?> ctx = new LoadContext<>(metaClass)
+                .setFetchPlan(fetchPlan)
+                .setHint("jmix.dynattr", true)
+                .setHint("jmix.softDeletion", false)
+                .setId(entityId)
+                .setAccessConstraints(accessConstraintsRegistry.getConstraints());
+        return dataManager.load(ctx);
+    }
+
+    /**
+     * Loads entities by the given ids in batches and puts them to {@code loadedEntities}.
+     * Ids that are not found are stored with null values, so they are not loaded again.
+     */
+    protected void loadEntitiesByIds(LoadContext<Object> loadContext, Collection<Object> ids, LoadedEntities loadedEntities) {
+        MetaClass metaClass = loadContext.getEntityMetaClass();
+        for (Object id : ids) {
+            loadedEntities.put(metaClass, id, null);
+        }
+        entitiesByIdsLoader.loadByIds(loadContext, ids, dataManager::loadList)
+                .forEach((id, entity) -> loadedEntities.put(metaClass, id, entity));
+    }
+
+    /**
+     * Finds and sets the references to existing entities. Referenced entities that are not being saved are loaded
+     * in batches before processing.
+     */
+    protected void processReferenceInfos(List<ReferenceInfo> referenceInfoList, SaveContext saveContext) {
+        //store loaded entities to prevent unnecessary database requests for searching the same instance
+        LoadedEntities loadedEntities = new LoadedEntities();
+        for (Object entity : saveContext.getEntitiesToSave()) {
+            loadedEntities.putEntityToSave(entity);
+        }
+        prefetchReferences(referenceInfoList, loadedEntities);
+        for (ReferenceInfo referenceInfo : referenceInfoList) {
+            processReferenceInfo(referenceInfo, saveContext, loadedEntities);
+        }
+    }
+
+    protected void prefetchReferences(List<ReferenceInfo> referenceInfoList, LoadedEntities loadedEntities) {
+        Map<MetaClass, Set<Object>> idsByClass = new LinkedHashMap<>();
+        for (ReferenceInfo referenceInfo : referenceInfoList) {
+            Object propertyValue = referenceInfo.getPropertyValue();
+            Collection<?> references = propertyValue instanceof Collection ? (Collection<?>) propertyValue
+                    : propertyValue != null ? Collections.singletonList(propertyValue) : Collections.emptyList();
+            for (Object reference : references) {
+                Object referenceId = EntityValues.getId(reference);
+                MetaClass metaClass = metadata.getClass(reference);
+                if (referenceId != null
+                        && loadedEntities.getEntityToSave(reference) == null
+                        && !metadataTools.hasCompositePrimaryKey(metaClass)) {
+                    idsByClass.computeIfAbsent(metaClass, k -> new LinkedHashSet<>()).add(referenceId);
+                }
+            }
+        }
+
+        for (Map.Entry<MetaClass, Set<Object>> entry : idsByClass.entrySet()) {
+            LoadContext<Object> ctx = new LoadContext<>(entry.getKey())
+                    .setHint("jmix.softDeletion", false)
+                    .setFetchPlan(fetchPlanRepository.getFetchPlan(entry.getKey().getJavaClass(), FetchPlan.INSTANCE_NAME));
+            loadEntitiesByIds(ctx, entry.getValue(), loadedEntities);
+        }
+    }
+
     @SuppressWarnings("unchecked")
     protected void validateEntities(Collection<Object> entitiesToValidate) {
         Collection<Pair<Object, Object>> referencesToExclude = new ArrayList<>();
@@ -630,7 +891,7 @@ public class EntityImportExportImpl implements EntityImportExport {
      * Method finds and set a reference value to the entity or throws EntityImportException if ERROR_ON_MISSING policy
      * is violated
      */
-    protected void processReferenceInfo(ReferenceInfo referenceInfo, SaveContext saveContext, Set<Object> loadedEntities) {
+    protected void processReferenceInfo(ReferenceInfo referenceInfo, SaveContext saveContext, LoadedEntities loadedEntities) {
         Object entity = referenceInfo.getEntity();
         EntityImportPlanProperty importPlanProperty = referenceInfo.getPlanProperty();
         MetaProperty metaProperty = metadata.getClass(entity).getProperty(importPlanProperty.getName());
@@ -747,25 +1008,28 @@ public class EntityImportExportImpl implements EntityImportExport {
 
     @Nullable
     protected Object findReferenceEntity(Object entity, EntityImportPlanProperty importPlanProperty, SaveContext saveContext,
-                                         Set<Object> loadedEntities) {
-        Object result = Stream.concat(loadedEntities.stream(), saveContext.getEntitiesToSave().stream())
-                .filter(item -> item.equals(entity))
-                .findFirst().orElse(null);
-        if (result == null) {
-            LoadContext<?> ctx = new LoadContext<>(metadata.getClass(entity))
-                    .setHint("jmix.softDeletion", false)
-                    .setFetchPlan(fetchPlanRepository.getFetchPlan(metadata.getClass(entity).getJavaClass(), FetchPlan.INSTANCE_NAME))
-                    .setId(EntityValues.getId(entity));
-            result = dataManager.load(ctx);
+                                         LoadedEntities loadedEntities) {
+        MetaClass metaClass = metadata.getClass(entity);
+        Object entityId = EntityValues.getId(entity);
+        Object result;
+        if (loadedEntities.contains(metaClass, entityId)) {
+            result = loadedEntities.get(metaClass, entityId);
+        } else {
+            result = loadedEntities.getEntityToSave(entity);
             if (result == null) {
-                if (importPlanProperty.getReferenceImportBehaviour() == ReferenceImportBehaviour.ERROR_ON_MISSING) {
-                    throw new EntityImportException(String.format("Referenced entity for property '%s' is missing",
-                            importPlanProperty.getName()));
-                }
-            } else {
-                loadedEntities.add(result);
+                LoadContext<?> ctx = new LoadContext<>(metaClass)
+                        .setHint("jmix.softDeletion", false)
+                        .setFetchPlan(fetchPlanRepository.getFetchPlan(metaClass.getJavaClass(), FetchPlan.INSTANCE_NAME))
+                        .setId(entityId);
+                result = dataManager.load(ctx);
+                loadedEntities.put(metaClass, entityId, result);
             }
         }
+        if (result == null
+                && importPlanProperty.getReferenceImportBehaviour() == ReferenceImportBehaviour.ERROR_ON_MISSING) {
+            throw new EntityImportException(String.format("Referenced entity for property '%s' is missing",
+                    importPlanProperty.getName()));
+        }
         return result;
     }
 
@@ -792,6 +1056,169 @@ public class EntityImportExportImpl implements EntityImportExport {
         }
     }
 
+    /**
+     * Entities loaded during the import, stored by meta-class and id. A null value means that the entity with this id
+     * doesn't exist. Also contains the entities being saved, so references to them are resolved without loading.
+     */
+    protected static class LoadedEntities {
+        protected Map<MetaClass, Map<Object, Object>> entitiesById = new HashMap<>();
+        protected Map<Object, Object> entitiesToSave = new HashMap<>();
+
+        protected boolean contains(MetaClass metaClass, @Nullable Object id) {
+            Map<Object, Object> entities = entitiesById.get(metaClass);
+            return entities != null && entities.containsKey(id);
+        }
+
+        @Nullable
+        protected Object get(MetaClass metaClass, @Nullable Object id) {
+            Map<Object, Object> entities = entitiesById.get(metaClass);
+            return entities != null ? entities.get(id) : null;
+        }
+
+        protected void put(MetaClass metaClass, @Nullable Object id, @Nullable Object entity) {
+            entitiesById.computeIfAbsent(metaClass, k -> new HashMap<>()).put(id, entity);
+        }
+
+        protected void putAll(LoadedEntities loadedEntities) {
+            loadedEntities.entitiesById.forEach((metaClass, entities) ->
+                    entitiesById.computeIfAbsent(metaClass, k -> new HashMap<>()).putAll(entities));
+        }
+
+        @Nullable
+        protected Object getEntityToSave(Object entity) {
+            return entitiesToSave.get(entity);
+        }
+
+        protected void putEntityToSave(Object entity) {
+            entitiesToSave.putIfAbsent(entity, entity);
+        }
+    }
+
+    /**
+     * Replaces JSON objects containing only the name and id of an entity, which was written in full in a previous
+     * batch, with a copy of the full JSON of this entity. References to entities written in full within the same
+     * batch are left as is, because they are resolved by the deserialization.
+     * <p>
+     * Only the given number of recently read entities is kept. If an entity is written in full in several elements
+     * of the array, the input is compacted for each element separately, so the resolver stops keeping entities.
+     */
+    protected static class RepeatedEntitiesResolver {
+
+        protected static final Set<String> REFERENCE_PROPERTIES = Set.of("_entityName", "_instanceName", "id",
+                "__securityToken");
+
+        protected Map<String, JsonObject> entities;
+        protected Set<String> batchEntities = new HashSet<>();
+        protected Set<String> elementEntities = new HashSet<>();
+        protected boolean disabled;
+        protected int copyDepth;
+
+        public RepeatedEntitiesResolver(int maxEntities) {
+            this.entities = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, JsonObject> eldest) {
+                    return size() > maxEntities;
+                }
+            };
+        }
+
+        protected void resolve(JsonArray batch) {
+            if (disabled) {
+                return;
+            }
+            batchEntities.clear();
+            for (int i = 0; i < batch.size() && !disabled; i++) {
+                elementEntities.clear();
+                JsonElement resolved = resolveElement(batch.get(i), new HashSet<>());
+                if (resolved != null) {
+                    batch.set(i, resolved);
+                }
+            }
+        }
+
+        protected void resolveArray(JsonArray array, Set<String> path) {
+            for (int i = 0; i < array.size(); i++) {
+                JsonElement resolved = resolveElement(array.get(i), path);
+                if (resolved != null) {
+                    array.set(i, resolved);
+                }
+            }
+        }
+
+        /**
+         * @return a full copy of the entity to replace the given reference or null if the element is not replaced
+         */
+        @Nullable
+        protected JsonElement resolveElement(JsonElement element, Set<String> path) {
+            if (element.isJsonArray()) {
+                resolveArray(element.getAsJsonArray(), path);
+                return null;
+            }
+            if (!element.isJsonObject()) {
+                return null;
+            }
+
+            JsonObject jsonObject = element.getAsJsonObject();
+            String key = getEntityKey(jsonObject);
+            if (key != null && isReference(jsonObject)) {
+                JsonObject entity = entities.get(key);
+                if (entity == null || batchEntities.contains(key) || path.contains(key)) {
+                    return null;
+                }
+                JsonObject copy = entity.deepCopy();
+                copyDepth++;
+                try {
+                    resolveObject(copy, key, path);
+                } finally {
+                    copyDepth--;
+                }
+                return copy;
+            }
+            if (key != null && copyDepth == 0) {
+                if (!elementEntities.contains(key) && entities.containsKey(key)) {
+                    //the entity is written in full again, so repeated entities are not compacted across elements
+                    disabled = true;
+                    entities.clear();
+                    return null;
+                }
+                entities.putIfAbsent(key, jsonObject);
+            }
+            resolveObject(jsonObject, key, path);
+            return null;
+        }
+
+        protected void resolveObject(JsonObject jsonObject, @Nullable String key, Set<String> path) {
+            if (key != null) {
+                batchEntities.add(key);
+                elementEntities.add(key);
+                path.add(key);
+            }
+            for (Map.Entry<String, JsonElement> entry : jsonObject.entrySet()) {
+                JsonElement resolved = resolveElement(entry.getValue(), path);
+                if (resolved != null) {
+                    entry.setValue(resolved);
+                }
+            }
+            if (key != null) {
+                path.remove(key);
+            }
+        }
+
+        @Nullable
+        protected String getEntityKey(JsonObject jsonObject) {
+            JsonElement entityName = jsonObject.get("_entityName");
+            JsonElement id = jsonObject.get("id");
+            if (entityName == null || !entityName.isJsonPrimitive() || id == null || id.isJsonNull()) {
+                return null;
+            }
+            return entityName.getAsString() + "-" + id;
+        }
+
+        protected boolean isReference(JsonObject jsonObject) {
+            return REFERENCE_PROPERTIES.containsAll(jsonObject.keySet());
+        }
+    }
+
     protected static class ReferenceInfo {
         protected Object entity;
         protected SecurityState prevSecurityState;
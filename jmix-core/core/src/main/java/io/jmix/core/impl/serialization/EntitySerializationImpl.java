@@ -22,6 +22,8 @@ import com.google.common.collect.HashBasedTable;
 import com.google.common.collect.Table;
 import com.google.gson.*;
 import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 import io.jmix.core.*;
 import io.jmix.core.accesscontext.ExportImportEntityContext;
 import io.jmix.core.annotation.Secret;
@@ -39,13 +41,16 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import org.springframework.lang.Nullable;
-import jakarta.validation.constraints.NotNull;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
 import java.math.BigDecimal;
 import java.text.ParseException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component("core_EntitySerialization")
 public class EntitySerializationImpl implements EntitySerialization {
@@ -80,14 +85,87 @@ public class EntitySerializationImpl implements EntitySerialization {
             ThreadLocal.withInitial(EntitySerializationContext::new);
 
     /**
-     * Class is used for storing a collection of entities already processed during the serialization.
+     * Gson instances used for serialization, one per set of options. Gson and the registered {@link EntitySerializer}
+     * are thread-safe, so they are created once and reused by all serialization calls.
+     */
+    protected Map<Set<EntitySerializationOption>, Gson> serializationGsons = new ConcurrentHashMap<>();
+
+    /**
+     * Used to write JSON elements returned by {@link EntityAttributeSerializationExtension}s to the stream.
+     */
+    protected static final TypeAdapter<JsonElement> JSON_ELEMENT_ADAPTER = new Gson().getAdapter(JsonElement.class);
+
+    /**
+     * Class is used for storing a collection of entities already processed during the serialization, and other
+     * state of a single serialization call.
      */
     protected static class EntitySerializationContext {
         protected Table<Object, MetaClass, Object> processedEntities = HashBasedTable.create();
+        protected FetchPlan fetchPlan;
+        protected Map<MetaClass, ExportImportEntityContext> exportImportContexts = new HashMap<>();
+        protected Map<MetaClass, List<PropertySerializationInfo>> additionalProperties = new HashMap<>();
+        protected boolean serializationInProgress;
 
         protected Table<Object, MetaClass, Object> getProcessedEntities() {
             return processedEntities;
         }
+
+        @Nullable
+        protected FetchPlan getFetchPlan() {
+            return fetchPlan;
+        }
+
+        protected void setFetchPlan(@Nullable FetchPlan fetchPlan) {
+            this.fetchPlan = fetchPlan;
+        }
+
+        protected Map<MetaClass, ExportImportEntityContext> getExportImportContexts() {
+            return exportImportContexts;
+        }
+
+        protected Map<MetaClass, List<PropertySerializationInfo>> getAdditionalProperties() {
+            return additionalProperties;
+        }
+
+        protected boolean isSerializationInProgress() {
+            return serializationInProgress;
+        }
+
+        protected void setSerializationInProgress(boolean serializationInProgress) {
+            this.serializationInProgress = serializationInProgress;
+        }
+    }
+
+    /**
+     * Serialization data of an entity class which doesn't depend on the serialization call: resolved primary key,
+     * its datatype and the properties of the meta-class.
+     */
+    protected static class ClassSerializationInfo {
+        protected MetaClass metaClass;
+        protected boolean embeddable;
+        protected MetaProperty primaryKeyProperty;
+        protected String primaryKeyName;
+        protected boolean compositePrimaryKey;
+        protected Datatype idDatatype;
+        protected List<PropertySerializationInfo> properties;
+        /**
+         * A property named "id". Its value replaces the value written by the id field, so it is written first.
+         */
+        protected PropertySerializationInfo idProperty;
+    }
+
+    /**
+     * Serialization data of an entity property: everything that can be computed once from {@link MetaProperty}.
+     */
+    protected static class PropertySerializationInfo {
+        protected MetaProperty metaProperty;
+        protected String name;
+        protected boolean secret;
+        protected boolean jpa;
+        protected boolean readOnly;
+        protected Range range;
+        protected Datatype datatype;
+        protected EntityAttributeSerializationExtension extension;
     }
 
     @Override
@@ -99,8 +177,17 @@ public class EntitySerializationImpl implements EntitySerialization {
     public String toJson(Object entity,
                          @Nullable FetchPlan fetchPlan,
                          EntitySerializationOption... options) {
-        context.remove();
-        return createGsonForSerialization(fetchPlan, options).toJson(entity);
+        StringWriter writer = new StringWriter();
+        writeJson(entity, writer, fetchPlan, options);
+        return writer.toString();
+    }
+
+    @Override
+    public void toJson(Object entity,
+                       Writer writer,
+                       @Nullable FetchPlan fetchPlan,
+                       EntitySerializationOption... options) {
+        writeJson(entity, writer, fetchPlan, options);
     }
 
     @Override
@@ -112,14 +199,24 @@ public class EntitySerializationImpl implements EntitySerialization {
     public String toJson(Collection<?> entities,
                          @Nullable FetchPlan fetchPlan,
                          EntitySerializationOption... options) {
-        context.remove();
-        return createGsonForSerialization(fetchPlan, options).toJson(entities);
+        StringWriter writer = new StringWriter();
+        writeJson(entities, writer, fetchPlan, options);
+        return writer.toString();
+    }
+
+    @Override
+    public void toJson(Collection<?> entities,
+                       Writer writer,
+                       @Nullable FetchPlan fetchPlan,
+                       EntitySerializationOption... options) {
+        writeJson(entities, writer, fetchPlan, options);
     }
 
     @Override
     public String objectToJson(Object object, EntitySerializationOption... options) {
-        context.remove();
-        return createGsonForSerialization(null, options).toJson(object);
+        StringWriter writer = new StringWriter();
+        writeJson(object, writer, null, options);
+        return writer.toString();
     }
 
     @SuppressWarnings("unchecked")
@@ -141,21 +238,61 @@ public class EntitySerializationImpl implements EntitySerialization {
         return createGsonForDeserialization(metaClass, options).fromJson(json, collectionType);
     }
 
+    @Override
+    public <T> Collection<T> entitiesCollectionFromJson(JsonElement json,
+                                                        @Nullable MetaClass metaClass,
+                                                        EntitySerializationOption... options) {
+        context.remove();
+        Type collectionType = new TypeToken<Collection<Entity>>() {
+        }.getType();
+        return createGsonForDeserialization(metaClass, options).fromJson(json, collectionType);
+    }
+
     @Override
     public <T> T objectFromJson(String json, Type type, EntitySerializationOption... options) {
         context.remove();
         return createGsonForDeserialization(null, options).fromJson(json, type);
     }
 
-    protected Gson createGsonForSerialization(@Nullable FetchPlan fetchPlan, EntitySerializationOption... options) {
+    protected void writeJson(@Nullable Object object,
+                             Writer writer,
+                             @Nullable FetchPlan fetchPlan,
+                             EntitySerializationOption... options) {
+        //a nested call, e.g. from a datatype or an attribute serialization extension, gets its own context
+        EntitySerializationContext previousContext = context.get();
+        EntitySerializationContext callContext = new EntitySerializationContext();
+        callContext.setFetchPlan(fetchPlan);
+        callContext.setSerializationInProgress(true);
+        context.set(callContext);
+        try {
+            getGsonForSerialization(options).toJson(object, writer);
+        } catch (JsonIOException e) {
+            throw new EntitySerializationException("Unable to write JSON", e.getCause() != null ? e.getCause() : e);
+        } finally {
+            if (previousContext.isSerializationInProgress()) {
+                context.set(previousContext);
+            } else {
+                context.remove();
+            }
+        }
+    }
+
+    protected Gson getGsonForSerialization(EntitySerializationOption... options) {
+        Set<EntitySerializationOption> key = EnumSet.noneOf(EntitySerializationOption.class);
+        if (options != null) {
+            Collections.addAll(key, options);
+        }
+        return serializationGsons.computeIfAbsent(key, k -> createGsonForSerialization(options));
+    }
+
+    protected Gson createGsonForSerialization(EntitySerializationOption... options) {
         GsonBuilder gsonBuilder = new GsonBuilder();
         if (ArrayUtils.contains(options, EntitySerializationOption.PRETTY_PRINT)) {
             gsonBuilder.setPrettyPrinting();
         }
         gsonBuilder
-                .registerTypeHierarchyAdapter(Entity.class, new EntitySerializer(fetchPlan, options))
-                .registerTypeHierarchyAdapter(Date.class, new DateSerializer())
-                .create();
+                .registerTypeHierarchyAdapter(Entity.class, new EntitySerializer(options).nullSafe())
+                .registerTypeHierarchyAdapter(Date.class, new DateSerializer());
         if (ArrayUtils.contains(options, EntitySerializationOption.SERIALIZE_NULLS)) {
             gsonBuilder.serializeNulls();
         }
@@ -187,17 +324,22 @@ public class EntitySerializationImpl implements EntitySerialization {
         }
     }
 
-    protected class EntitySerializer implements JsonSerializer<Entity> {
+    /**
+     * Writes entities directly to the {@link JsonWriter} without building an intermediate JSON tree. Instances are
+     * thread-safe: the state of a serialization call is kept in the {@link #context}. Reading is delegated to
+     * {@link EntityDeserializer}.
+     */
+    protected class EntitySerializer extends TypeAdapter<Entity> {
 
         protected boolean compactRepeatedEntities = false;
         protected boolean serializeInstanceName;
         protected boolean doNotSerializeReadOnlyProperties = false;
         protected boolean doNotSerializeDeniedProperties = false;
         protected boolean serializeSecretFields = false;
-        protected FetchPlan fetchPlan;
 
-        public EntitySerializer(@Nullable FetchPlan fetchPlan, EntitySerializationOption... options) {
-            this.fetchPlan = fetchPlan;
+        protected Map<MetaClass, ClassSerializationInfo> classInfos = new ConcurrentHashMap<>();
+
+        public EntitySerializer(EntitySerializationOption... options) {
             if (options != null) {
                 if (ArrayUtils.contains(options, EntitySerializationOption.COMPACT_REPEATED_ENTITIES)) {
                     compactRepeatedEntities = true;
@@ -218,15 +360,27 @@ public class EntitySerializationImpl implements EntitySerialization {
         }
 
         @Override
-        public JsonElement serialize(Entity entity, Type typeOfSrc, JsonSerializationContext context) {
-            return serializeEntity(entity, fetchPlan, new HashSet<>());
+        public void write(JsonWriter out, Entity entity) throws IOException {
+            writeEntity(out, entity, context.get().getFetchPlan(), new HashSet<>());
         }
 
-        protected JsonObject serializeEntity(Entity entity, @Nullable FetchPlan fetchPlan, Set<Entity> cyclicReferences) {
-            JsonObject jsonObject = new JsonObject();
-            MetaClass metaClass = metadata.getClass(entity);
-            if (!metadataTools.isJpaEmbeddable(metaClass)) {
-                jsonObject.addProperty(ENTITY_NAME_PROP, metaClass.getName());
+        @Override
+        public Entity read(JsonReader in) {
+            return (Entity) new EntityDeserializer(null).readEntity(JsonParser.parseReader(in).getAsJsonObject(), null);
+        }
+
+        /**
+         * Writes an entity as a JSON object.
+         *
+         * @param cyclicReferences entities that are being written on the path from the root entity; it's used to
+         *                         break cycles if {@code COMPACT_REPEATED_ENTITIES} option is not set
+         */
+        protected void writeEntity(JsonWriter out, Entity entity, @Nullable FetchPlan fetchPlan,
+                                   Set<Entity> cyclicReferences) throws IOException {
+            ClassSerializationInfo classInfo = getClassInfo(metadata.getClass(entity));
+            out.beginObject();
+            if (!classInfo.embeddable) {
+                out.name(ENTITY_NAME_PROP).value(classInfo.metaClass.getName());
                 if (serializeInstanceName) {
                     String instanceName = null;
                     try {
@@ -234,183 +388,259 @@ public class EntitySerializationImpl implements EntitySerialization {
                     } catch (Exception ignored) {
                         log.trace("Unable to get instance name for entity {}", entity, ignored);
                     }
-                    jsonObject.addProperty(INSTANCE_NAME_PROP, instanceName);
+                    out.name(INSTANCE_NAME_PROP).value(instanceName);
                 }
-                writeIdField(entity, jsonObject);
+
+                boolean fieldsRequired;
                 if (compactRepeatedEntities) {
                     Table<Object, MetaClass, Object> processedObjects = context.get().getProcessedEntities();
-                    if (processedObjects.get(EntityValues.getId(entity), metaClass) == null) {
-                        processedObjects.put(EntityValues.getId(entity), metaClass, entity);
-                        writeFields(entity, jsonObject, fetchPlan, cyclicReferences);
+                    Object id = EntityValues.getId(entity);
+                    fieldsRequired = processedObjects.get(id, classInfo.metaClass) == null;
+                    if (fieldsRequired) {
+                        processedObjects.put(id, classInfo.metaClass, entity);
                     }
                 } else {
-                    if (!cyclicReferences.contains(entity)) {
-                        cyclicReferences.add(entity);
-                        writeFields(entity, jsonObject, fetchPlan, cyclicReferences);
+                    fieldsRequired = cyclicReferences.add(entity);
+                }
+
+                if (fieldsRequired) {
+                    if (classInfo.idProperty == null
+                            || !writeProperty(out, entity, classInfo, classInfo.idProperty, false, fetchPlan, cyclicReferences)) {
+                        writeIdField(out, entity, classInfo);
+                    }
+                    writeFields(out, entity, classInfo, fetchPlan, cyclicReferences);
+                    if (!compactRepeatedEntities) {
+                        cyclicReferences.remove(entity);
                     }
+                } else {
+                    writeIdField(out, entity, classInfo);
                 }
             } else {
-                writeFields(entity, jsonObject, fetchPlan, cyclicReferences);
+                writeFields(out, entity, classInfo, fetchPlan, cyclicReferences);
             }
 
             if (coreProperties.isEntitySerializationTokenRequired()) {
                 String securityToken = tokenManager.generateSecurityToken(entity);
                 if (securityToken != null) {
-                    jsonObject.addProperty("__securityToken", securityToken);
+                    out.name("__securityToken").value(securityToken);
                 }
             }
+            out.endObject();
+        }
 
-            return jsonObject;
+        protected ClassSerializationInfo getClassInfo(MetaClass metaClass) {
+            return classInfos.computeIfAbsent(metaClass, this::createClassInfo);
         }
 
-        protected void writeIdField(Entity entity, JsonObject jsonObject) {
-            MetaClass metaClass = metadata.getClass(entity);
+        protected ClassSerializationInfo createClassInfo(MetaClass metaClass) {
+            ClassSerializationInfo classInfo = new ClassSerializationInfo();
+            classInfo.metaClass = metaClass;
+            classInfo.embeddable = metadataTools.isJpaEmbeddable(metaClass);
+            classInfo.primaryKeyName = metadataTools.getPrimaryKeyName(metaClass);
+
             MetaProperty primaryKeyProperty = metadataTools.getPrimaryKeyProperty(metaClass);
             if (primaryKeyProperty == null) {
-                primaryKeyProperty = metaClass.getProperty("id");
+                primaryKeyProperty = metaClass.findProperty("id");
+            }
+            classInfo.primaryKeyProperty = primaryKeyProperty;
+            if (!classInfo.embeddable && primaryKeyProperty != null) {
+                classInfo.compositePrimaryKey = metadataTools.hasCompositePrimaryKey(metaClass);
+                if (!classInfo.compositePrimaryKey) {
+                    classInfo.idDatatype = datatypeRegistry.get(primaryKeyProperty.getJavaType());
+                }
+            }
+
+            List<PropertySerializationInfo> properties = new ArrayList<>(metaClass.getProperties().size());
+            for (MetaProperty metaProperty : metaClass.getProperties()) {
+                PropertySerializationInfo propertyInfo = createPropertyInfo(metaProperty);
+                if ("id".equals(propertyInfo.name) && !classInfo.embeddable) {
+                    classInfo.idProperty = propertyInfo;
+                } else {
+                    properties.add(propertyInfo);
+                }
+            }
+            classInfo.properties = properties;
+            return classInfo;
+        }
+
+        protected PropertySerializationInfo createPropertyInfo(MetaProperty metaProperty) {
+            PropertySerializationInfo propertyInfo = new PropertySerializationInfo();
+            propertyInfo.metaProperty = metaProperty;
+            propertyInfo.name = metaProperty.getName();
+            propertyInfo.secret = metaProperty.getAnnotatedElement().isAnnotationPresent(Secret.class);
+            propertyInfo.jpa = metadataTools.isJpa(metaProperty);
+            propertyInfo.readOnly = metaProperty.isReadOnly();
+            propertyInfo.range = metaProperty.getRange();
+            if (propertyInfo.range.isDatatype()) {
+                propertyInfo.datatype = propertyInfo.range.asDatatype();
             }
-            if (primaryKeyProperty == null)
-                throw new EntitySerializationException("Primary key property not found for entity " + metaClass);
-            if (metadataTools.hasCompositePrimaryKey(metaClass)) {
-                JsonObject serializedIdEntity = serializeEntity((Entity) EntityValues.getId(entity), null, Collections.emptySet());
-                jsonObject.add("id", serializedIdEntity);
+            propertyInfo.extension = extensionResolver.findExtension(metaProperty);
+            return propertyInfo;
+        }
+
+        /**
+         * Additional properties are not cached in {@link ClassSerializationInfo} because they may change at runtime
+         * (e.g. dynamic attributes), so they are resolved once per serialization call.
+         */
+        protected List<PropertySerializationInfo> getAdditionalProperties(MetaClass metaClass) {
+            return context.get().getAdditionalProperties().computeIfAbsent(metaClass, mc -> {
+                List<PropertySerializationInfo> additionalProperties = new ArrayList<>();
+                for (MetaProperty metaProperty : metadataTools.getAdditionalProperties(mc)) {
+                    additionalProperties.add(createPropertyInfo(metaProperty));
+                }
+                return additionalProperties;
+            });
+        }
+
+        protected ExportImportEntityContext getExportImportContext(MetaClass metaClass) {
+            return context.get().getExportImportContexts().computeIfAbsent(metaClass, mc -> {
+                ExportImportEntityContext exportImportEntityContext = new ExportImportEntityContext(mc);
+                if (doNotSerializeDeniedProperties) {
+                    accessManager.applyRegisteredConstraints(exportImportEntityContext);
+                }
+                return exportImportEntityContext;
+            });
+        }
+
+        protected void writeIdField(JsonWriter out, Entity entity, ClassSerializationInfo classInfo) throws IOException {
+            if (classInfo.primaryKeyProperty == null)
+                throw new EntitySerializationException("Primary key property not found for entity " + classInfo.metaClass);
+            out.name("id");
+            if (classInfo.compositePrimaryKey) {
+                writeEntity(out, (Entity) EntityValues.getId(entity), null, new HashSet<>());
             } else {
-                Datatype idDatatype = datatypeRegistry.get(primaryKeyProperty.getJavaType());
-                jsonObject.addProperty("id", idDatatype.format(EntityValues.getId(entity)));
+                out.value(classInfo.idDatatype.format(EntityValues.getId(entity)));
             }
         }
 
-        protected boolean propertyWritingAllowed(MetaProperty metaProperty, Entity entity, ExportImportEntityContext exportImportContext) {
-            if (!serializeSecretFields && metaProperty.getAnnotatedElement().isAnnotationPresent(Secret.class)) {
+        protected boolean propertyWritingAllowed(PropertySerializationInfo property, Entity entity,
+                                                 ClassSerializationInfo classInfo,
+                                                 ExportImportEntityContext exportImportContext) {
+            if (!serializeSecretFields && property.secret) {
                 return false;
             }
-            MetaClass metaClass = metadata.getClass(entity);
+            String propertyName = property.name;
 
-            String primaryKeyName = metadataTools.getPrimaryKeyName(metaClass);
-            String propertyName = metaProperty.getName();
-
-            if (!Objects.equals(primaryKeyName, propertyName)) {
-                if (metadataTools.isJpa(metaProperty)) {
+            if (!Objects.equals(classInfo.primaryKeyName, propertyName)) {
+                if (property.jpa) {
                     return entityStates.isLoaded(entity, propertyName) && exportImportContext.canExported(propertyName);
                 } else {
-                    return (!metaProperty.isReadOnly() || !doNotSerializeReadOnlyProperties) && exportImportContext.canExported(propertyName);
+                    return (!property.readOnly || !doNotSerializeReadOnlyProperties) && exportImportContext.canExported(propertyName);
                 }
             }
 
             return true;
         }
 
-        protected void writeFields(Entity entity, JsonObject jsonObject, @Nullable FetchPlan fetchPlan, Set<Entity> cyclicReferences) {
-            MetaClass metaClass = metadata.getClass(entity);
-            Collection<MetaProperty> properties = new ArrayList<>(metaClass.getProperties());
-
-            Set<MetaProperty> additionalProperties = metadataTools.getAdditionalProperties(metaClass);
-            properties.addAll(additionalProperties);
-            ExportImportEntityContext exportImportEntityContext = new ExportImportEntityContext(metaClass);
-            if (doNotSerializeDeniedProperties) {
-                accessManager.applyRegisteredConstraints(exportImportEntityContext);
+        protected void writeFields(JsonWriter out, Entity entity, ClassSerializationInfo classInfo,
+                                   @Nullable FetchPlan fetchPlan, Set<Entity> cyclicReferences) throws IOException {
+            for (PropertySerializationInfo property : classInfo.properties) {
+                writeProperty(out, entity, classInfo, property, false, fetchPlan, cyclicReferences);
             }
+            for (PropertySerializationInfo property : getAdditionalProperties(classInfo.metaClass)) {
+                writeProperty(out, entity, classInfo, property, true, fetchPlan, cyclicReferences);
+            }
+        }
 
-            for (MetaProperty metaProperty : properties) {
-                if (!propertyWritingAllowed(metaProperty, entity, exportImportEntityContext)) {
-                    continue;
-                }
-                FetchPlanProperty fetchPlanProperty = null;
-                if (!additionalProperties.contains(metaProperty)) {
-                    if (fetchPlan != null) {
-                        fetchPlanProperty = fetchPlan.getProperty(metaProperty.getName());
-                        if (fetchPlanProperty == null) continue;
-                    }
-
-                    if (!entityStates.isNew(entity)
-                            && !entityStates.isLoaded(entity, metaProperty.getName())) {
-                        continue;
+        /**
+         * @return true if the property has been written
+         */
+        protected boolean writeProperty(JsonWriter out, Entity entity, ClassSerializationInfo classInfo,
+                                        PropertySerializationInfo property, boolean additional,
+                                        @Nullable FetchPlan fetchPlan, Set<Entity> cyclicReferences) throws IOException {
+            if (!propertyWritingAllowed(property, entity, classInfo, getExportImportContext(classInfo.metaClass))) {
+                return false;
+            }
+            FetchPlanProperty fetchPlanProperty = null;
+            if (!additional) {
+                if (fetchPlan != null) {
+                    fetchPlanProperty = fetchPlan.getProperty(property.name);
+                    if (fetchPlanProperty == null) {
+                        return false;
                     }
                 }
 
-                Object fieldValue;
-                try {
-                    fieldValue = EntityValues.getValue(entity, metaProperty.getName());
-                } catch (EntityValueAccessException e) {
-                    continue;
+                if (!entityStates.isNew(entity)
+                        && !entityStates.isLoaded(entity, property.name)) {
+                    return false;
                 }
+            }
 
-                //always write nulls here. GSON will not serialize them to the result if
-                //EntitySerializationOptions.SERIALIZE_NULLS was not set.
-                if (fieldValue == null) {
-                    jsonObject.add(metaProperty.getName(), null);
-                    continue;
-                }
+            Object fieldValue;
+            try {
+                fieldValue = EntityValues.getValue(entity, property.name);
+            } catch (EntityValueAccessException e) {
+                return false;
+            }
 
-                EntityAttributeSerializationExtension extension = extensionResolver.findExtension(metaProperty);
-                if (extension != null) {
-                    jsonObject.add(metaProperty.getName(), extension.toJson(metaProperty, fieldValue));
-                    continue;
-                }
+            //always write nulls here. JsonWriter will skip them if
+            //EntitySerializationOptions.SERIALIZE_NULLS was not set.
+            if (fieldValue == null) {
+                out.name(property.name).nullValue();
+                return true;
+            }
 
-                Range propertyRange = metaProperty.getRange();
-                if (propertyRange.isDatatype()) {
-                    if (fieldValue instanceof Collection) {
-                        jsonObject.add(metaProperty.getName(),
-                                serializeSimpleCollection((Collection) fieldValue, metaProperty));
-                    } else {
-                        writeSimpleProperty(jsonObject, fieldValue, metaProperty);
-                    }
-                } else if (propertyRange.isEnum()) {
-                    jsonObject.addProperty(metaProperty.getName(), fieldValue.toString());
-                } else if (propertyRange.isClass()) {
-                    if (fieldValue instanceof Entity) {
-                        JsonObject propertyJsonObject = serializeEntity((Entity) fieldValue,
-                                fetchPlanProperty != null ? fetchPlanProperty.getFetchPlan() : null,
-                                new HashSet<>(cyclicReferences));
-                        jsonObject.add(metaProperty.getName(), propertyJsonObject);
-                    } else if (fieldValue instanceof Collection) {
-                        JsonArray jsonArray = serializeCollection((Collection) fieldValue,
-                                fetchPlanProperty != null ? fetchPlanProperty.getFetchPlan() : null,
-                                new HashSet<>(cyclicReferences));
-                        jsonObject.add(metaProperty.getName(), jsonArray);
-                    }
+            if (property.extension != null) {
+                out.name(property.name);
+                JSON_ELEMENT_ADAPTER.write(out, property.extension.toJson(property.metaProperty, fieldValue));
+                return true;
+            }
+
+            Range propertyRange = property.range;
+            if (propertyRange.isDatatype()) {
+                out.name(property.name);
+                if (fieldValue instanceof Collection) {
+                    writeSimpleCollection(out, (Collection<?>) fieldValue, property);
+                } else {
+                    writeSimpleValue(out, fieldValue, property);
+                }
+                return true;
+            } else if (propertyRange.isEnum()) {
+                out.name(property.name).value(fieldValue.toString());
+                return true;
+            } else if (propertyRange.isClass()) {
+                FetchPlan propertyFetchPlan = fetchPlanProperty != null ? fetchPlanProperty.getFetchPlan() : null;
+                if (fieldValue instanceof Entity) {
+                    out.name(property.name);
+                    writeEntity(out, (Entity) fieldValue, propertyFetchPlan, cyclicReferences);
+                    return true;
+                } else if (fieldValue instanceof Collection) {
+                    out.name(property.name);
+                    writeCollection(out, (Collection<?>) fieldValue, propertyFetchPlan, cyclicReferences);
+                    return true;
                 }
             }
+            return false;
         }
 
-        protected void writeSimpleProperty(JsonObject jsonObject, @NotNull Object fieldValue, MetaProperty property) {
-            String propertyName = property.getName();
+        protected void writeSimpleValue(JsonWriter out, Object fieldValue, PropertySerializationInfo property) throws IOException {
             if (fieldValue instanceof Number) {
-                jsonObject.addProperty(propertyName, (Number) fieldValue);
+                out.value((Number) fieldValue);
             } else if (fieldValue instanceof Boolean) {
-                jsonObject.addProperty(propertyName, (Boolean) fieldValue);
+                out.value((Boolean) fieldValue);
             } else {
-                Datatype datatype = property.getRange().asDatatype();
-                jsonObject.addProperty(propertyName, datatype.format(fieldValue));
-            }
-        }
-
-        protected JsonArray serializeCollection(Collection value, @Nullable FetchPlan fetchPlan, Set<Entity> cyclicReferences) {
-            JsonArray jsonArray = new JsonArray();
-            value.stream()
-                    .filter(e -> e instanceof Entity)
-                    .forEach(e -> {
-                        JsonObject jsonObject = serializeEntity((Entity) e, fetchPlan, new HashSet<>(cyclicReferences));
-                        jsonArray.add(jsonObject);
-                    });
-            return jsonArray;
-        }
-
-        protected JsonArray serializeSimpleCollection(Collection fieldValue, MetaProperty property) {
-            JsonArray jsonArray = new JsonArray();
-            fieldValue.stream()
-                    .forEach(item -> {
-                        if (item instanceof Number) {
-                            jsonArray.add((Number) item);
-                        } else if (item instanceof Boolean) {
-                            jsonArray.add((Boolean) item);
-                        } else {
-                            Datatype datatype = property.getRange().asDatatype();
-                            jsonArray.add(datatype.format(item));
-                        }
-                    });
-            return jsonArray;
+                out.value(property.datatype.format(fieldValue));
+            }
+        }
+
+        protected void writeCollection(JsonWriter out, Collection<?> value, @Nullable FetchPlan fetchPlan,
+                                       Set<Entity> cyclicReferences) throws IOException {
+            out.beginArray();
+            for (Object item : value) {
+                if (item instanceof Entity) {
+                    writeEntity(out, (Entity) item, fetchPlan, cyclicReferences);
+                }
+            }
+            out.endArray();
+        }
+
+        protected void writeSimpleCollection(JsonWriter out, Collection<?> fieldValue,
+                                             PropertySerializationInfo property) throws IOException {
+            out.beginArray();
+            for (Object item : fieldValue) {
+                writeSimpleValue(out, item, property);
+            }
+            out.endArray();
         }
     }
 
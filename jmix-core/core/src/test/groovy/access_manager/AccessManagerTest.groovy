@@ -0,0 +1,108 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package access_manager
+
+import io.jmix.core.AccessConstraintsRegistry
+import io.jmix.core.AccessManager
+import io.jmix.core.CoreConfiguration
+import io.jmix.core.accesscontext.AccessContext
+import io.jmix.core.constraint.AccessConstraint
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.test.context.ContextConfiguration
+import spock.lang.Specification
+import test_support.base.TestBaseConfiguration
+
+@ContextConfiguration(classes = [CoreConfiguration, TestBaseConfiguration])
+class AccessManagerTest extends Specification {
+
+    @Autowired
+    AccessManager accessManager
+
+    @Autowired
+    AccessConstraintsRegistry registry
+
+    def "registered constraints are dispatched by context class"() {
+        def denyingConstraint = new DenyingConstraint(denied: 'secret')
+        registry.register(denyingConstraint)
+
+        when:
+        def constraints = registry.getConstraintsForContext(TestItemContext)
+
+        then:
+        constraints.contains(denyingConstraint)
+        registry.getConstraintsForContext(OtherContext).every { it.contextType.isAssignableFrom(OtherContext) }
+        !registry.getConstraintsForContext(OtherContext).contains(denyingConstraint)
+
+        when:
+        def secretContext = new TestItemContext(item: 'secret')
+        accessManager.applyRegisteredConstraints(secretContext)
+        def publicContext = new TestItemContext(item: 'public')
+        accessManager.applyConstraints(publicContext, new ArrayList<>(registry.getConstraints()))
+
+        then:
+        !secretContext.permitted
+        publicContext.permitted
+    }
+
+    def "constraints are applied to many contexts at once"() {
+        def contexts = ['a', 'b', 'c', 'b'].collect { new TestItemContext(item: it) }
+        List<AccessConstraint<?>> constraints = [new DenyingConstraint(denied: 'b'), new OtherConstraint()]
+
+        when:
+        accessManager.applyConstraintsToAll(contexts, constraints)
+
+        then:
+        contexts*.permitted == [true, false, true, false]
+    }
+
+    static class TestItemContext implements AccessContext {
+        String item
+        boolean permitted = true
+    }
+
+    static class OtherContext implements AccessContext {
+    }
+
+    static class DenyingConstraint implements AccessConstraint<TestItemContext> {
+        String denied
+
+        @Override
+        Class<TestItemContext> getContextType() {
+            return TestItemContext
+        }
+
+        @Override
+        void applyTo(TestItemContext context) {
+            if (context.item == denied) {
+                context.permitted = false
+            }
+        }
+    }
+
+    static class OtherConstraint implements AccessConstraint<OtherContext> {
+
+        @Override
+        Class<OtherContext> getContextType() {
+            return OtherContext
+        }
+
+        @Override
+        void applyTo(OtherContext context) {
+            throw new IllegalStateException("Must not be applied to other contexts")
+        }
+    }
+}
@@ -19,9 +19,11 @@ package entity_serialization
 import com.google.gson.Gson
 import com.google.gson.reflect.TypeToken
 import io.jmix.core.CoreConfiguration
+import io.jmix.core.Entity
 import io.jmix.core.EntitySerialization
 import io.jmix.core.EntitySerializationOption
 import io.jmix.core.Metadata
+import io.jmix.core.impl.serialization.EntitySerializationImpl
 import org.springframework.beans.factory.annotation.Autowired
 import org.springframework.test.context.ContextConfiguration
 import spock.lang.Specification
@@ -69,4 +71,100 @@ class EntitySerializationTest extends Specification {
         jsonFields['regularField'] == 'regular'
         jsonFields['secretField'] == 'secret'
     }
+
+    def "should write the same JSON to a writer as to a string"() {
+
+        TestSecretFieldEntity entity = metadata.create(TestSecretFieldEntity.class)
+        entity.regularField = 'regular'
+
+        when:
+
+        def writer = new StringWriter()
+        entitySerialization.toJson(entity, writer, null, EntitySerializationOption.SERIALIZE_INSTANCE_NAME)
+
+        def collectionWriter = new StringWriter()
+        entitySerialization.toJson([entity, entity], collectionWriter, null)
+
+        then:
+        writer.toString() == entitySerialization.toJson(entity, null, EntitySerializationOption.SERIALIZE_INSTANCE_NAME)
+        collectionWriter.toString() == entitySerialization.toJson([entity, entity])
+
+        List jsonItems = new Gson().fromJson(collectionWriter.toString(), new TypeToken<List<Map<String, Object>>>() {}.getType())
+        jsonItems.size() == 2
+        jsonItems.every { it['regularField'] == 'regular' && it['id'] == entity.id.toString() }
+    }
+
+    def "should write nulls only if SERIALIZE_NULLS is set"() {
+
+        TestSecretFieldEntity entity = metadata.create(TestSecretFieldEntity.class)
+
+        when:
+
+        def json = entitySerialization.toJson(entity)
+        def jsonWithNulls = entitySerialization.toJson(entity, null, EntitySerializationOption.SERIALIZE_NULLS)
+
+        then:
+        Map jsonFields = new Gson().fromJson(json, new TypeToken<Map<String, Object>>() {}.getType())
+        !jsonFields.containsKey('regularField')
+
+        Map jsonFieldsWithNulls = new Gson().fromJson(jsonWithNulls, new TypeToken<Map<String, Object>>() {}.getType())
+        jsonFieldsWithNulls.containsKey('regularField')
+        jsonFieldsWithNulls['regularField'] == null
+    }
+
+    def "should not share state between serializations with different options"() {
+
+        TestSecretFieldEntity entity = metadata.create(TestSecretFieldEntity.class)
+        entity.regularField = 'regular'
+        entity.secretField = 'secret'
+
+        when:
+
+        def jsonWithSecret = entitySerialization.toJson(entity, null, EntitySerializationOption.SERIALIZE_SECRET_FIELDS)
+        def json = entitySerialization.toJson(entity)
+        def jsonWithSecretAgain = entitySerialization.toJson(entity, null, EntitySerializationOption.SERIALIZE_SECRET_FIELDS)
+
+        then:
+        jsonWithSecret.contains('secret')
+        !json.contains('"secretField"')
+        jsonWithSecretAgain == jsonWithSecret
+    }
+
+    def "should restore the context of the outer serialization after a nested one"() {
+
+        TestSecretFieldEntity entity = metadata.create(TestSecretFieldEntity.class)
+        entity.regularField = 'regular'
+
+        def outerContext = new EntitySerializationImpl.EntitySerializationContext()
+        outerContext.serializationInProgress = true
+        entitySerialization.context.set(outerContext)
+
+        when:
+
+        def json = entitySerialization.toJson(entity)
+
+        then:
+        json.contains('"regularField": "regular"') || json.contains('"regularField":"regular"')
+        entitySerialization.context.get().is(outerContext)
+        outerContext.processedEntities.isEmpty()
+
+        cleanup:
+        entitySerialization.context.remove()
+    }
+
+    def "should read entities with the cached serialization Gson"() {
+
+        TestSecretFieldEntity entity = metadata.create(TestSecretFieldEntity.class)
+        entity.regularField = 'regular'
+
+        when:
+
+        def json = entitySerialization.toJson(entity)
+        def read = entitySerialization.getGsonForSerialization().fromJson(json, Entity)
+
+        then:
+        read instanceof TestSecretFieldEntity
+        read.id == entity.id
+        read.regularField == 'regular'
+    }
 }
@@ -31,6 +31,10 @@ public class TestCoreProperties extends CoreProperties {
                               String dbDir,
                               List<String> availableLocales,
                               int crossDataStoreReferenceLoadingBatchSize,
+                              int crossDataStoreReferenceLoadingThreads,
+                              int crossDataStoreReferenceLoadingQueueCapacity,
+                              int loadByIdsBatchSize,
+                              int entityImportBatchSize,
                               boolean idGenerationForEntitiesInAdditionalDataStoresEnabled,
                               int dom4jMaxPoolSize,
                               int dom4jMaxBorrowWaitMillis,
@@ -44,7 +48,9 @@ public class TestCoreProperties extends CoreProperties {
                               PessimisticLock pessimisticLock,
                               boolean roundDecimalValueByFormat) {
         super(webHostName, webPort, confDir, workDir, tempDir, dbDir, availableLocales,
-                crossDataStoreReferenceLoadingBatchSize, idGenerationForEntitiesInAdditionalDataStoresEnabled,
+                crossDataStoreReferenceLoadingBatchSize, crossDataStoreReferenceLoadingThreads,
+                crossDataStoreReferenceLoadingQueueCapacity, loadByIdsBatchSize, entityImportBatchSize,
+                idGenerationForEntitiesInAdditionalDataStoresEnabled,
                 dom4jMaxPoolSize, dom4jMaxBorrowWaitMillis, anonymousAuthenticationTokenKey, defaultFileStorage,
                 entitySerializationTokenRequired, entitySerializationTokenEncryptionKey,
                 legacyFetchPlanSerializationAttributeName, triggerFilesEnabled, triggerFilesProcessInterval,
@@ -64,6 +70,10 @@ public class TestCoreProperties extends CoreProperties {
         String dbDir;
         List<String> availableLocales;
         int crossDataStoreReferenceLoadingBatchSize = 50;
+        int crossDataStoreReferenceLoadingThreads = 4;
+        int crossDataStoreReferenceLoadingQueueCapacity = 100;
+        int loadByIdsBatchSize = 500;
+        int entityImportBatchSize = 1000;
         boolean idGenerationForEntitiesInAdditionalDataStoresEnabled = true;
         int dom4jMaxPoolSize = 100;
         int dom4jMaxBorrowWaitMillis = 1000;
@@ -117,6 +127,26 @@ public class TestCoreProperties extends CoreProperties {
             return this;
         }
 
+        public Builder setCrossDataStoreReferenceLoadingThreads(int crossDataStoreReferenceLoadingThreads) {
+            this.crossDataStoreReferenceLoadingThreads = crossDataStoreReferenceLoadingThreads;
+            return this;
+        }
+
+        public Builder setCrossDataStoreReferenceLoadingQueueCapacity(int crossDataStoreReferenceLoadingQueueCapacity) {
+            this.crossDataStoreReferenceLoadingQueueCapacity = crossDataStoreReferenceLoadingQueueCapacity;
+            return this;
+        }
+
+        public Builder setLoadByIdsBatchSize(int loadByIdsBatchSize) {
+            this.loadByIdsBatchSize = loadByIdsBatchSize;
+            return this;
+        }
+
+        public Builder setEntityImportBatchSize(int entityImportBatchSize) {
+            this.entityImportBatchSize = entityImportBatchSize;
+            return this;
+        }
+
         public Builder setIdGenerationForEntitiesInAdditionalDataStoresEnabled(boolean idGenerationForEntitiesInAdditionalDataStoresEnabled) {
             this.idGenerationForEntitiesInAdditionalDataStoresEnabled = idGenerationForEntitiesInAdditionalDataStoresEnabled;
             return this;
@@ -187,6 +217,10 @@ public class TestCoreProperties extends CoreProperties {
                     this.dbDir,
                     this.availableLocales,
                     this.crossDataStoreReferenceLoadingBatchSize,
+                    this.crossDataStoreReferenceLoadingThreads,
+                    this.crossDataStoreReferenceLoadingQueueCapacity,
+                    this.loadByIdsBatchSize,
+                    this.entityImportBatchSize,
                     this.idGenerationForEntitiesInAdditionalDataStoresEnabled,
                     this.dom4jMaxPoolSize,
                     this.dom4jMaxBorrowWaitMillis,
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.jmix.databenchmarks;
+
+import io.jmix.core.AccessConstraintsRegistry;
+import io.jmix.core.AccessManager;
+import io.jmix.core.Metadata;
+import io.jmix.core.accesscontext.CrudEntityContext;
+import io.jmix.core.accesscontext.EntityAttributeContext;
+import io.jmix.core.constraint.EntityOperationConstraint;
+import io.jmix.core.metamodel.model.MetaClass;
+import io.jmix.core.metamodel.model.MetaProperty;
+import io.jmix.databenchmarks.entity.BenchCustomer;
+import io.jmix.databenchmarks.entity.BenchOrder;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Application of registered access constraints to entity operation and attribute contexts by {@link AccessManager}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AccessManagerBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int constraintCount;
+
+    private BenchmarkContext context;
+    private AccessManager accessManager;
+    private MetaClass metaClass;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkContext.start();
+        accessManager = context.getBean(AccessManager.class);
+
+        Metadata metadata = context.getBean(Metadata.class);
+        metaClass = metadata.getClass(BenchOrder.class);
+        MetaClass restrictedMetaClass = metadata.getClass(BenchCustomer.class);
+
+        AccessConstraintsRegistry registry = context.getBean(AccessConstraintsRegistry.class);
+        for (int i = 0; i < constraintCount; i++) {
+            registry.register(new DenyDeleteConstraint(restrictedMetaClass));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean applyRegisteredConstraints() {
+        CrudEntityContext entityContext = new CrudEntityContext(metaClass);
+        accessManager.applyRegisteredConstraints(entityContext);
+        return entityContext.isDeletePermitted();
+    }
+
+    @Benchmark
+    public int applyRegisteredConstraintsToAttributes() {
+        int viewable = 0;
+        for (MetaProperty metaProperty : metaClass.getProperties()) {
+            EntityAttributeContext attributeContext = new EntityAttributeContext(metaClass, metaProperty.getName());
+            accessManager.applyRegisteredConstraints(attributeContext);
+            if (attributeContext.canView()) {
+                viewable++;
+            }
+        }
+        return viewable;
+    }
+
+    @Benchmark
+    public int applyRegisteredConstraintsToAllAttributes() {
+        List<EntityAttributeContext> attributeContexts = new ArrayList<>();
+        for (MetaProperty metaProperty : metaClass.getProperties()) {
+            attributeContexts.add(new EntityAttributeContext(metaClass, metaProperty.getName()));
+        }
+        accessManager.applyRegisteredConstraintsToAll(attributeContexts);
+        int viewable = 0;
+        for (EntityAttributeContext attributeContext : attributeContexts) {
+            if (attributeContext.canView()) {
+                viewable++;
+            }
+        }
+        return viewable;
+    }
+
+    private static class DenyDeleteConstraint implements EntityOperationConstraint<CrudEntityContext> {
+
+        private final MetaClass metaClass;
+
+        private DenyDeleteConstraint(MetaClass metaClass) {
+            this.metaClass = metaClass;
+        }
+
+        @Override
+        public Class<CrudEntityContext> getContextType() {
+            return CrudEntityContext.class;
+        }
+
+        @Override
+        public void applyTo(CrudEntityContext context) {
+            if (context.getEntityClass().equals(metaClass)) {
+                context.setDeleteDenied();
+            }
+        }
+    }
+}
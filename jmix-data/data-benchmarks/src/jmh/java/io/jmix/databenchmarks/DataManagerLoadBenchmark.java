@@ -0,0 +1,76 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.jmix.databenchmarks;
+
+import io.jmix.core.DataManager;
+import io.jmix.databenchmarks.entity.BenchOrder;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading entity lists by {@code DataManager} from {@code JpaDataStore}, including JPQL transformation,
+ * fetch group calculation and the data store events.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DataManagerLoadBenchmark {
+
+    @Param({"1000", "10000"})
+    public int datasetSize;
+
+    @Param({"50", "1000"})
+    public int pageSize;
+
+    private BenchmarkContext context;
+    private DataManager dataManager;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkContext.start();
+        context.getBean(BenchmarkDataGenerator.class).generate(datasetSize);
+        dataManager = context.getBean(DataManager.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<BenchOrder> loadPage() {
+        return dataManager.load(BenchOrder.class)
+                .query("select e from bench_Order e where e.amount > :amount order by e.number")
+                .parameter("amount", BigDecimal.valueOf(100))
+                .maxResults(pageSize)
+                .list();
+    }
+
+    @Benchmark
+    public List<BenchOrder> loadPageWithReference() {
+        return dataManager.load(BenchOrder.class)
+                .query("select e from bench_Order e where e.amount > :amount order by e.number")
+                .parameter("amount", BigDecimal.valueOf(100))
+                .fetchPlan("order-with-customer")
+                .maxResults(pageSize)
+                .list();
+    }
+}
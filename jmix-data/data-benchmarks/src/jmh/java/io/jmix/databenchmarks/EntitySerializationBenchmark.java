@@ -0,0 +1,84 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.jmix.databenchmarks;
+
+import io.jmix.core.*;
+import io.jmix.core.metamodel.model.MetaClass;
+import io.jmix.databenchmarks.entity.BenchOrder;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.Writer;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of entity graphs to JSON and back by {@link EntitySerialization}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EntitySerializationBenchmark {
+
+    @Param({"100", "1000"})
+    public int datasetSize;
+
+    private BenchmarkContext context;
+    private EntitySerialization entitySerialization;
+    private MetaClass metaClass;
+    private FetchPlan fetchPlan;
+    private List<BenchOrder> orders;
+    private String json;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkContext.start();
+        context.getBean(BenchmarkDataGenerator.class).generate(datasetSize);
+
+        entitySerialization = context.getBean(EntitySerialization.class);
+        metaClass = context.getBean(Metadata.class).getClass(BenchOrder.class);
+        fetchPlan = context.getBean(FetchPlanRepository.class).getFetchPlan(BenchOrder.class, "order-with-customer");
+        orders = context.getBean(UnconstrainedDataManager.class).load(BenchOrder.class)
+                .all()
+                .fetchPlan(fetchPlan)
+                .list();
+        json = entitySerialization.toJson(orders, fetchPlan);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String toJson() {
+        return entitySerialization.toJson(orders, fetchPlan);
+    }
+
+    @Benchmark
+    public Writer toJsonWriter() {
+        Writer writer = Writer.nullWriter();
+        entitySerialization.toJson(orders, writer, fetchPlan);
+        return writer;
+    }
+
+    @Benchmark
+    public Collection<BenchOrder> fromJson() {
+        return entitySerialization.entitiesCollectionFromJson(json, metaClass);
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.jmix.databenchmarks;
+
+import io.jmix.core.FetchPlan;
+import io.jmix.core.FetchPlanRepository;
+import io.jmix.core.FetchPlans;
+import io.jmix.databenchmarks.entity.BenchOrder;
+import io.jmix.eclipselink.impl.FetchGroupDescription;
+import io.jmix.eclipselink.impl.FetchGroupManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Calculation of EclipseLink fetch groups and fetch hints from fetch plans for each query.
+ * Compare results with {@code fetchGroupCacheSize=0} (no cache) and the default cache size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FetchGroupManagerBenchmark {
+
+    private static final String QUERY = "select e from bench_Order e where e.amount > :amount";
+
+    @Param({"0", "1000"})
+    public int fetchGroupCacheSize;
+
+    private BenchmarkContext context;
+    private FetchGroupManager fetchGroupManager;
+    private FetchPlans fetchPlans;
+    private FetchPlan namedFetchPlan;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkContext.start(Map.of("jmix.eclipselink.fetch-group-cache-size", fetchGroupCacheSize));
+        fetchGroupManager = context.getBean(FetchGroupManager.class);
+        fetchPlans = context.getBean(FetchPlans.class);
+        namedFetchPlan = context.getBean(FetchPlanRepository.class).getFetchPlan(BenchOrder.class, "order-with-customer");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public FetchGroupDescription namedFetchPlan() {
+        return fetchGroupManager.calculateFetchGroup(QUERY, namedFetchPlan, false, false);
+    }
+
+    @Benchmark
+    public FetchGroupDescription namedFetchPlanSingleResult() {
+        return fetchGroupManager.calculateFetchGroup(QUERY, namedFetchPlan, true, false);
+    }
+
+    /**
+     * Fetch plan built in code for each query, as in screens and REST endpoints.
+     */
+    @Benchmark
+    public FetchGroupDescription builtFetchPlan() {
+        FetchPlan fetchPlan = fetchPlans.builder(BenchOrder.class)
+                .addFetchPlan(FetchPlan.BASE)
+                .add("customer", FetchPlan.BASE)
+                .build();
+        return fetchGroupManager.calculateFetchGroup(QUERY, fetchPlan, false, false);
+    }
+}
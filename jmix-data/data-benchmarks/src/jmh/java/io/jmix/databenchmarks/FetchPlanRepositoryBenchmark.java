@@ -0,0 +1,67 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.jmix.databenchmarks;
+
+import io.jmix.core.FetchPlan;
+import io.jmix.core.FetchPlanRepository;
+import io.jmix.core.Metadata;
+import io.jmix.core.metamodel.model.MetaClass;
+import io.jmix.databenchmarks.entity.BenchOrder;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups of built-in and named fetch plans in {@link FetchPlanRepository}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FetchPlanRepositoryBenchmark {
+
+    private BenchmarkContext context;
+    private FetchPlanRepository fetchPlanRepository;
+    private MetaClass metaClass;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkContext.start();
+        fetchPlanRepository = context.getBean(FetchPlanRepository.class);
+        metaClass = context.getBean(Metadata.class).getClass(BenchOrder.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public FetchPlan getBaseFetchPlan() {
+        return fetchPlanRepository.getFetchPlan(metaClass, FetchPlan.BASE);
+    }
+
+    @Benchmark
+    public FetchPlan getNamedFetchPlan() {
+        return fetchPlanRepository.getFetchPlan(metaClass, "order-with-customer");
+    }
+
+    @Benchmark
+    public FetchPlan getNamedFetchPlanByClass() {
+        return fetchPlanRepository.getFetchPlan(BenchOrder.class, "order-with-customer");
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.jmix.databenchmarks;
+
+import io.jmix.data.QueryParser;
+import io.jmix.data.QueryTransformer;
+import io.jmix.data.QueryTransformerFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing and transformation of JPQL queries by the AST based parser and transformer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JpqlBenchmark {
+
+    private static final String SIMPLE_QUERY = "select e from bench_Order e where e.amount > :amount";
+
+    private static final String COMPLEX_QUERY = "select e from bench_Order e join e.customer c " +
+            "where e.amount > :amount and (c.name like :name or c.email is null) and e.date between :from and :to " +
+            "order by e.date desc, e.number";
+
+    private BenchmarkContext context;
+    private QueryTransformerFactory queryTransformerFactory;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkContext.start();
+        queryTransformerFactory = context.getBean(QueryTransformerFactory.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Set<String> parseSimple() {
+        QueryParser parser = queryTransformerFactory.parser(SIMPLE_QUERY);
+        return parser.getParamNames();
+    }
+
+    @Benchmark
+    public Set<String> parseComplex() {
+        QueryParser parser = queryTransformerFactory.parser(COMPLEX_QUERY);
+        return parser.getParamNames();
+    }
+
+    @Benchmark
+    public String addWhere() {
+        QueryTransformer transformer = queryTransformerFactory.transformer(COMPLEX_QUERY);
+        transformer.addWhere("{E}.number like :number");
+        return transformer.getResult();
+    }
+
+    @Benchmark
+    public String replaceWithCount() {
+        QueryTransformer transformer = queryTransformerFactory.transformer(COMPLEX_QUERY);
+        transformer.replaceWithCount();
+        return transformer.getResult();
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.jmix.databenchmarks;
+
+import io.jmix.core.CoreConfiguration;
+import io.jmix.data.DataConfiguration;
+import io.jmix.eclipselink.EclipselinkConfiguration;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Spring context of a benchmark. Started in the {@code @Setup} method of a benchmark state and closed
+ * in its {@code @TearDown} method.
+ */
+public class BenchmarkContext implements AutoCloseable {
+
+    private final AnnotationConfigApplicationContext context;
+
+    protected BenchmarkContext(Map<String, Object> properties) {
+        context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources()
+                .addFirst(new MapPropertySource("benchmarkProperties", properties));
+        context.register(CoreConfiguration.class, DataConfiguration.class, EclipselinkConfiguration.class,
+                DataBenchmarksConfiguration.class);
+        context.refresh();
+    }
+
+    /**
+     * Starts the context with default application properties.
+     */
+    public static BenchmarkContext start() {
+        return start(Collections.emptyMap());
+    }
+
+    /**
+     * Starts the context with the given properties overriding application properties.
+     */
+    public static BenchmarkContext start(Map<String, Object> properties) {
+        return new BenchmarkContext(properties);
+    }
+
+    public <T> T getBean(Class<T> beanClass) {
+        return context.getBean(beanClass);
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
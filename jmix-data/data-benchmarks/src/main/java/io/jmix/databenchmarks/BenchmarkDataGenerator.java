@@ -0,0 +1,106 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.jmix.databenchmarks;
+
+import io.jmix.core.SaveContext;
+import io.jmix.core.UnconstrainedDataManager;
+import io.jmix.databenchmarks.entity.BenchCustomer;
+import io.jmix.databenchmarks.entity.BenchOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates datasets of the benchmark entities.
+ */
+@Component("bench_BenchmarkDataGenerator")
+public class BenchmarkDataGenerator {
+
+    private static final int SAVE_BATCH_SIZE = 1000;
+
+    @Autowired
+    private UnconstrainedDataManager dataManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Removes existing data and creates the given number of orders, referencing {@code orderCount / 10}
+     * customers (at least one). Values are generated with a fixed seed, so datasets of the same size are equal.
+     *
+     * @return created customers
+     */
+    public List<BenchCustomer> generate(int orderCount) {
+        clear();
+
+        Random random = new Random(orderCount);
+
+        int customerCount = Math.max(1, orderCount / 10);
+        List<BenchCustomer> customers = new ArrayList<>(customerCount);
+        SaveContext saveContext = new SaveContext();
+        for (int i = 0; i < customerCount; i++) {
+            BenchCustomer customer = dataManager.create(BenchCustomer.class);
+            customer.setName("customer-" + i);
+            customer.setEmail("customer-" + i + "@example.com");
+            customers.add(customer);
+            saveContext.saving(customer);
+            saveContext = saveIfFull(saveContext);
+        }
+        save(saveContext);
+
+        saveContext = new SaveContext();
+        LocalDate startDate = LocalDate.of(2023, 1, 1);
+        for (int i = 0; i < orderCount; i++) {
+            BenchOrder order = dataManager.create(BenchOrder.class);
+            order.setNumber(String.format("%08d", i));
+            order.setDate(startDate.plusDays(random.nextInt(365)));
+            order.setAmount(BigDecimal.valueOf(random.nextInt(100_000), 2));
+            order.setCustomer(customers.get(random.nextInt(customerCount)));
+            saveContext.saving(order);
+            saveContext = saveIfFull(saveContext);
+        }
+        save(saveContext);
+
+        return customers;
+    }
+
+    public void clear() {
+        jdbcTemplate.update("delete from BENCH_ORDER");
+        jdbcTemplate.update("delete from BENCH_CUSTOMER");
+    }
+
+    private SaveContext saveIfFull(SaveContext saveContext) {
+        if (saveContext.getEntitiesToSave().size() < SAVE_BATCH_SIZE) {
+            return saveContext;
+        }
+        save(saveContext);
+        return new SaveContext();
+    }
+
+    private void save(SaveContext saveContext) {
+        if (!saveContext.getEntitiesToSave().isEmpty()) {
+            dataManager.save(saveContext.setDiscardSaved(true));
+        }
+    }
+}
@@ -25,6 +25,12 @@ public class DataProperties {
 
     boolean useReadOnlyTransactionForLoad;
     int numberIdCacheSize;
+
+    /**
+     * Number of cached ids left in the current block at which the next block is requested from the database
+     * sequence in background. 0 means that the next block is requested only when the current one is exhausted.
+     */
+    int numberIdCachePrefetchThreshold;
     boolean useEntityDataStoreForIdSequence;
 
     /**
@@ -33,17 +39,42 @@ public class DataProperties {
     String uniqueConstraintViolationPattern;
     boolean useUserLocaleForRelativeDateTimeMoments;
 
+    /**
+     * Maximum number of saved entities of the same type and fetch plan that are reloaded by a single query
+     * after save. Set to 1 to reload each saved entity by a separate query.
+     */
+    int reloadAfterSaveBatchSize;
+
+    /**
+     * Number of ids of previously selected results inserted into the SYS_QUERY_RESULT table by a single JDBC batch.
+     */
+    int queryResultsBatchSize;
+
+    /**
+     * Maximum number of parsed JPQL query trees kept in memory to avoid parsing the same query text again.
+     * Set to 0 to parse each query.
+     */
+    int jpqlParseCacheSize;
+
     public DataProperties(
             @DefaultValue("true") boolean useReadOnlyTransactionForLoad,
             @DefaultValue("100") int numberIdCacheSize,
+            @DefaultValue("0") int numberIdCachePrefetchThreshold,
             boolean useEntityDataStoreForIdSequence,
             @Nullable String uniqueConstraintViolationPattern,
-            @DefaultValue("true") boolean useUserLocaleForRelativeDateTimeMoments) {
+            @DefaultValue("true") boolean useUserLocaleForRelativeDateTimeMoments,
+            @DefaultValue("100") int reloadAfterSaveBatchSize,
+            @DefaultValue("1000") int queryResultsBatchSize,
+            @DefaultValue("1000") int jpqlParseCacheSize) {
         this.useReadOnlyTransactionForLoad = useReadOnlyTransactionForLoad;
         this.numberIdCacheSize = numberIdCacheSize;
+        this.numberIdCachePrefetchThreshold = numberIdCachePrefetchThreshold;
         this.useEntityDataStoreForIdSequence = useEntityDataStoreForIdSequence;
         this.uniqueConstraintViolationPattern = uniqueConstraintViolationPattern;
         this.useUserLocaleForRelativeDateTimeMoments = useUserLocaleForRelativeDateTimeMoments;
+        this.reloadAfterSaveBatchSize = reloadAfterSaveBatchSize;
+        this.queryResultsBatchSize = Math.max(1, queryResultsBatchSize);
+        this.jpqlParseCacheSize = jpqlParseCacheSize;
     }
 
     public boolean isUseReadOnlyTransactionForLoad() {
@@ -54,6 +85,13 @@ public class DataProperties {
         return numberIdCacheSize;
     }
 
+    /**
+     * @see #numberIdCachePrefetchThreshold
+     */
+    public int getNumberIdCachePrefetchThreshold() {
+        return numberIdCachePrefetchThreshold;
+    }
+
     public boolean isUseEntityDataStoreForIdSequence() {
         return useEntityDataStoreForIdSequence;
     }
@@ -69,4 +107,25 @@ public class DataProperties {
     public boolean isUseUserLocaleForRelativeDateTimeMoments() {
         return useUserLocaleForRelativeDateTimeMoments;
     }
+
+    /**
+     * @see #reloadAfterSaveBatchSize
+     */
+    public int getReloadAfterSaveBatchSize() {
+        return reloadAfterSaveBatchSize;
+    }
+
+    /**
+     * @see #queryResultsBatchSize
+     */
+    public int getQueryResultsBatchSize() {
+        return queryResultsBatchSize;
+    }
+
+    /**
+     * @see #jpqlParseCacheSize
+     */
+    public int getJpqlParseCacheSize() {
+        return jpqlParseCacheSize;
+    }
 }
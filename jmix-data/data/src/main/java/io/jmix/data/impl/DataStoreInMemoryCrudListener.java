@@ -18,6 +18,7 @@ package io.jmix.data.impl;
 
 import io.jmix.core.*;
 import io.jmix.core.accesscontext.InMemoryCrudEntityContext;
+import io.jmix.core.constraint.AccessConstraint;
 import io.jmix.core.datastore.*;
 import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.security.AccessDeniedException;
@@ -101,11 +102,11 @@ public class DataStoreInMemoryCrudListener implements DataStoreEventListener {
             }
         }
 
+        Map<MetaClass, InMemoryCrudEntityContext> childCrudContexts = new HashMap<>();
         EntityAttributesEraser.ReferencesCollector references = entityAttributesEraser.collectErasingReferences(entities,
                 entity -> {
-                    InMemoryCrudEntityContext childCrudContext =
-                            new InMemoryCrudEntityContext(metadata.getClass(entity), applicationContext);
-                    accessManager.applyConstraints(childCrudContext, context.getAccessConstraints());
+                    InMemoryCrudEntityContext childCrudContext = childCrudContexts.computeIfAbsent(metadata.getClass(entity),
+                            childMetaClass -> createCrudContext(childMetaClass, context.getAccessConstraints()));
                     boolean readPermitted = childCrudContext.isReadPermitted(entity);
                     if (!readPermitted) {
                         log.debug("Reading entity {} is not permitted by access constraints", entity);
@@ -128,11 +129,11 @@ public class DataStoreInMemoryCrudListener implements DataStoreEventListener {
     public void entitySaving(DataStoreEntitySavingEvent event) {
         SaveContext context = event.getSaveContext();
 
-        for (Object entity : event.getEntities()) {
-            MetaClass metaClass = metadata.getClass(entity);
+        Map<MetaClass, InMemoryCrudEntityContext> entityContexts = createCrudContexts(event.getEntities(),
+                context.getAccessConstraints());
 
-            InMemoryCrudEntityContext entityContext = new InMemoryCrudEntityContext(metaClass, applicationContext);
-            accessManager.applyConstraints(entityContext, context.getAccessConstraints());
+        for (Object entity : event.getEntities()) {
+            InMemoryCrudEntityContext entityContext = entityContexts.get(metadata.getClass(entity));
 
             if (isNew(context, entity)) {
                 if (!entityContext.isCreatePermitted(entity)) {
@@ -150,11 +151,11 @@ public class DataStoreInMemoryCrudListener implements DataStoreEventListener {
     public void entityDeleting(DataStoreEntityDeletingEvent event) {
         SaveContext context = event.getSaveContext();
 
-        for (Object entity : event.getEntities()) {
-            MetaClass metaClass = metadata.getClass(entity);
+        Map<MetaClass, InMemoryCrudEntityContext> entityContexts = createCrudContexts(event.getEntities(),
+                context.getAccessConstraints());
 
-            InMemoryCrudEntityContext entityContext = new InMemoryCrudEntityContext(metaClass, applicationContext);
-            accessManager.applyConstraints(entityContext, context.getAccessConstraints());
+        for (Object entity : event.getEntities()) {
+            InMemoryCrudEntityContext entityContext = entityContexts.get(metadata.getClass(entity));
 
             if (!entityContext.isDeletePermitted(entity)) {
                 throw new AccessDeniedException("entity", entity.toString(), "delete");
@@ -167,6 +168,26 @@ public class DataStoreInMemoryCrudListener implements DataStoreEventListener {
         return JmixOrder.HIGHEST_PRECEDENCE + 10;
     }
 
+    protected InMemoryCrudEntityContext createCrudContext(MetaClass metaClass, Collection<AccessConstraint<?>> accessConstraints) {
+        InMemoryCrudEntityContext crudContext = new InMemoryCrudEntityContext(metaClass, applicationContext);
+        accessManager.applyConstraints(crudContext, accessConstraints);
+        return crudContext;
+    }
+
+    /**
+     * Creates contexts for distinct entity classes of the given entities and applies constraints to them in one pass.
+     */
+    protected Map<MetaClass, InMemoryCrudEntityContext> createCrudContexts(Collection<?> entities,
+                                                                          Collection<AccessConstraint<?>> accessConstraints) {
+        Map<MetaClass, InMemoryCrudEntityContext> entityContexts = new LinkedHashMap<>();
+        for (Object entity : entities) {
+            entityContexts.computeIfAbsent(metadata.getClass(entity),
+                    metaClass -> new InMemoryCrudEntityContext(metaClass, applicationContext));
+        }
+        accessManager.applyConstraintsToAll(entityContexts.values(), accessConstraints);
+        return entityContexts;
+    }
+
     protected boolean hasInMemoryRead(LoadContext<?> context) {
         return collectEntityClasses(context).stream()
                 .anyMatch(entityClass -> {
@@ -17,6 +17,7 @@
 package io.jmix.data.impl;
 
 import com.google.common.base.Strings;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.jmix.core.Metadata;
 import io.jmix.core.MetadataTools;
 import io.jmix.core.annotation.Internal;
@@ -24,18 +25,25 @@ import io.jmix.core.entity.annotation.JmixGeneratedValue;
 import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.metamodel.model.MetaProperty;
 import io.jmix.data.DataProperties;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import org.springframework.lang.Nullable;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Intermediate cache for generated ids of entities with long/integer PK.
  * The cache size is determined by the {@code jmix.data.numberIdCacheSize} property.
+ * If {@code jmix.data.numberIdCachePrefetchThreshold} is set, the next block of ids is requested in background
+ * when the current block is close to exhaustion.
  */
 @Component("data_NumberIdCache")
 public class NumberIdCache {
@@ -51,13 +59,36 @@ public class NumberIdCache {
 
     protected ConcurrentMap<String, Generator> cache = new ConcurrentHashMap<>();
 
+    protected ExecutorService prefetchExecutor = Executors.newCachedThreadPool(new ThreadFactoryBuilder()
+            .setNameFormat("jmix-number-id-prefetch-%d")
+            .setDaemon(true)
+            .build());
+
+    private static final Logger log = LoggerFactory.getLogger(NumberIdCache.class);
+
+    /**
+     * Range of ids obtained by a single sequence call: {@code (sequenceValue, sequenceValue + size]}.
+     */
+    protected static class IdBlock {
+        protected final long maxValue;
+        protected final AtomicLong counter;
+        protected final AtomicBoolean prefetchRequested = new AtomicBoolean();
+
+        public IdBlock(long sequenceValue, int size) {
+            this.maxValue = sequenceValue + size;
+            this.counter = new AtomicLong(sequenceValue);
+        }
+    }
+
     protected class Generator {
-        protected long counter;
-        protected long sequenceValue;
         protected String entityName;
         protected String sequenceName;
         protected boolean cached;
 
+        protected final AtomicReference<IdBlock> currentBlock = new AtomicReference<>();
+        protected final AtomicReference<CompletableFuture<IdBlock>> nextBlock = new AtomicReference<>();
+        protected final Object refillLock = new Object();
+
         public Generator(String entityName,
                          @Nullable String sequenceName,
                          boolean cached) {
@@ -65,7 +96,7 @@ public class NumberIdCache {
             this.sequenceName = sequenceName;
             this.cached = cached;
             if (useIdCache()) {
-                createCachedCounter();
+                currentBlock.set(createCachedBlock());
             }
         }
 
@@ -73,23 +104,56 @@ public class NumberIdCache {
             return dataProperties.getNumberIdCacheSize() != 0 && cached;
         }
 
-        protected void createCachedCounter() {
-            sequenceValue = numberIdWorker.createCachedLongId(entityName, sequenceName);
-            counter = sequenceValue;
+        protected IdBlock createCachedBlock() {
+            long sequenceValue = numberIdWorker.createCachedLongId(entityName, sequenceName);
+            return new IdBlock(sequenceValue, dataProperties.getNumberIdCacheSize());
         }
 
-        public synchronized long getNext() {
+        public long getNext() {
             if (!useIdCache()) {
                 return numberIdWorker.createLongId(entityName, sequenceName);
-            } else {
-                long next = ++counter;
-                if (next > sequenceValue + dataProperties.getNumberIdCacheSize()) {
-                    createCachedCounter();
-                    next = ++counter;
+            }
+            while (true) {
+                IdBlock block = currentBlock.get();
+                if (block != null) {
+                    long next = block.counter.incrementAndGet();
+                    if (next <= block.maxValue) {
+                        if (block.maxValue - next < dataProperties.getNumberIdCachePrefetchThreshold()) {
+                            prefetchNextBlock(block);
+                        }
+                        return next;
+                    }
+                }
+                refill(block);
+            }
+        }
+
+        protected void refill(@Nullable IdBlock exhaustedBlock) {
+            synchronized (refillLock) {
+                // another thread may have already replaced the exhausted block
+                if (currentBlock.get() == exhaustedBlock) {
+                    currentBlock.set(takeNextBlock());
                 }
-                return next;
             }
         }
+
+        protected void prefetchNextBlock(IdBlock block) {
+            if (nextBlock.get() == null && block.prefetchRequested.compareAndSet(false, true)) {
+                nextBlock.set(CompletableFuture.supplyAsync(this::createCachedBlock, prefetchExecutor));
+            }
+        }
+
+        protected IdBlock takeNextBlock() {
+            CompletableFuture<IdBlock> prefetched = nextBlock.getAndSet(null);
+            if (prefetched != null) {
+                try {
+                    return prefetched.join();
+                } catch (CompletionException | CancellationException e) {
+                    log.warn("Unable to prefetch ids for {}, requesting them again", entityName, e);
+                }
+            }
+            return createCachedBlock();
+        }
     }
 
     protected static class SequenceParams {
@@ -154,6 +218,11 @@ public class NumberIdCache {
         cache.clear();
     }
 
+    @PreDestroy
+    protected void shutdown() {
+        prefetchExecutor.shutdownNow();
+    }
+
     protected String getCacheKey(String entityName, @Nullable String sequenceName) {
         return sequenceName == null ? entityName : sequenceName;
     }
@@ -25,7 +25,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.PlatformTransactionManager;
@@ -35,10 +34,8 @@ import org.springframework.transaction.support.TransactionTemplate;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.Query;
-import jakarta.persistence.TypedQuery;
 import javax.sql.DataSource;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * Supports functionality that allows queries from previously selected results.
@@ -66,6 +63,9 @@ public class QueryResultsManagerImpl implements QueryResultsManager {
     @Autowired
     protected QueryTransformerFactory queryTransformerFactory;
 
+    @Autowired
+    protected DataProperties dataProperties;
+
     @Autowired
     protected ObjectProvider<JpqlQueryBuilder> jpqlQueryBuilderProvider;
 
@@ -73,12 +73,6 @@ public class QueryResultsManagerImpl implements QueryResultsManager {
 
     protected TransactionTemplate transaction;
 
-    protected static final int BATCH_SIZE = 100;
-
-    protected static final int DELETE_BATCH_SIZE = 100;
-
-    protected static final int INACTIVE_DELETION_MAX = 100000;
-
     @Autowired
     protected void setDataSource(DataSource dataSource) {
         jdbcTemplate = new JdbcTemplate(dataSource);
@@ -191,7 +185,7 @@ public class QueryResultsManagerImpl implements QueryResultsManager {
         transaction.executeWithoutResult(transactionStatus -> {
             DbTypeConverter converter = dbmsSpecifics.getDbTypeConverter();
             Object idFromList = idList.get(0);
-            String columnName = null;
+            String columnName;
             if (idFromList instanceof String) {
                 columnName = "STRING_ENTITY_ID";
             } else if (idFromList instanceof Long) {
@@ -202,21 +196,18 @@ public class QueryResultsManagerImpl implements QueryResultsManager {
                 columnName = "ENTITY_ID";
             }
 
-            String userSessionIdStr = converter.getSqlObject(userSessionId).toString(); // assuming that UUID can be passed to query as string in all databases
-            String sql = String.format("insert into SYS_QUERY_RESULT (SESSION_ID, QUERY_KEY, %s) values ('%s', %s, ?)",
-                    columnName, userSessionIdStr, queryKey);
-            int[] paramTypes = new int[]{converter.getSqlType(idFromList.getClass())};
-            for (int i = 0; i < idList.size(); i += BATCH_SIZE) {
-                @SuppressWarnings("unchecked")
-                List<UUID> sublist = idList.subList(i, Math.min(i + BATCH_SIZE, idList.size()));
-                List<Object[]> params = new ArrayList<>(sublist.size());
-                for (int j = 0; j < sublist.size(); j++) {
-                    Object[] row = new Object[1];
-                    row[0] = sublist.get(j);
-                    params.add(row);
-                }
-                jdbcTemplate.batchUpdate(sql, params, paramTypes);
-            }
+            String sql = String.format("insert into SYS_QUERY_RESULT (SESSION_ID, QUERY_KEY, %s) values (?, ?, ?)",
+                    columnName);
+            Object userSessionIdParam = converter.getSqlObject(userSessionId);
+            int idSqlType = converter.getSqlType(idFromList.getClass());
+
+            @SuppressWarnings("unchecked")
+            List<Object> ids = (List<Object>) idList;
+            jdbcTemplate.batchUpdate(sql, ids, dataProperties.getQueryResultsBatchSize(), (ps, id) -> {
+                ps.setObject(1, userSessionIdParam);
+                ps.setInt(2, queryKey);
+                ps.setObject(3, converter.getSqlObject(id), idSqlType);
+            });
             log.debug("Done in " + (System.currentTimeMillis() - start) + "ms: " + logMsg);
         });
     }
@@ -227,28 +218,22 @@ public class QueryResultsManagerImpl implements QueryResultsManager {
         //todo MG
 //        UUID userSessionId = userSessionSource.getUserSession().getId();
         UUID userSessionId = UUID.randomUUID();
-        String userSessionIdStr = converter.getSqlObject(userSessionId).toString();
         long start = System.currentTimeMillis();
         String logMsg = "Delete query results for " + userSessionId + " / " + queryKey;
         log.debug(logMsg);
 
-        String sql = "delete from SYS_QUERY_RESULT where SESSION_ID = '"
-                + userSessionIdStr + "' and QUERY_KEY = " + queryKey;
-
-        jdbcTemplate.update(sql);
+        jdbcTemplate.update("delete from SYS_QUERY_RESULT where SESSION_ID = ? and QUERY_KEY = ?",
+                converter.getSqlObject(userSessionId), queryKey);
 
         log.debug("Done in " + (System.currentTimeMillis() - start) + "ms : " + logMsg);
     }
 
     @Override
     public void deleteForCurrentSession() {
-        DbTypeConverter converter = dbmsSpecifics.getDbTypeConverter();
         //todo MG
 //        UUID userSessionId = userSessionSource.getUserSession().getId();
         UUID userSessionId = UUID.randomUUID();
-        String userSessionIdStr = converter.getSqlObject(userSessionId).toString();
-        jdbcTemplate.update("delete from SYS_QUERY_RESULT where SESSION_ID = '"
-                + userSessionIdStr + "'");
+        deleteForSession(userSessionId);
     }
 
     @Override
@@ -259,45 +244,25 @@ public class QueryResultsManagerImpl implements QueryResultsManager {
     public void internalDeleteForInactiveSessions() {
         log.debug("Delete query results for inactive user sessions");
 
-        List<Object[]> rows = transaction.execute(status -> {
-            TypedQuery<Object[]> query = entityManager.createQuery(
-                    "select e.id, e.sessionId from sys$QueryResult e", Object[].class);
-            query.setMaxResults(INACTIVE_DELETION_MAX);
-            return query.getResultList();
-        });
-        assert rows != null;
-        if (rows.size() == INACTIVE_DELETION_MAX) {
-            log.debug("Processing " + INACTIVE_DELETION_MAX + " records, run again for the rest");
-        }
+        DbTypeConverter converter = dbmsSpecifics.getDbTypeConverter();
+        List<Object> storedSessionIds = jdbcTemplate.query("select distinct SESSION_ID from SYS_QUERY_RESULT",
+                (rs, rowNum) -> converter.getJavaObject(rs, 1));
 
         //todo MG
 //        Set<UUID> sessionIds = userSessions.getUserSessionsStream().map(UserSession::getId).collect(Collectors.toSet());
         Set<UUID> sessionIds = new HashSet<>();
 
-        List<Long> ids = new ArrayList<>();
-        int i = 0;
-        for (Object[] row : rows) {
-            if (!sessionIds.contains((UUID) row[1])) {
-                ids.add((Long) row[0]);
-            }
-            i++;
-            if (i % DELETE_BATCH_SIZE == 0) {
-                if (!ids.isEmpty())
-                    delete(ids);
-                ids.clear();
+        for (Object sessionId : storedSessionIds) {
+            if (sessionId != null && !sessionIds.contains(sessionId)) {
+                deleteForSession(sessionId);
             }
         }
-        if (!ids.isEmpty())
-            delete(ids);
     }
 
-    protected void delete(List<Long> ids) {
-        log.debug("Deleting " + ids.size() + " records");
-        String str = ids.stream().map(String::valueOf).collect(Collectors.joining(","));
-        try {
-            jdbcTemplate.update("delete from SYS_QUERY_RESULT where ID in (" + str + ")");
-        } catch (DataAccessException e) {
-            throw new RuntimeException("Error deleting query result records", e);
-        }
+    protected void deleteForSession(Object userSessionId) {
+        DbTypeConverter converter = dbmsSpecifics.getDbTypeConverter();
+        int count = jdbcTemplate.update("delete from SYS_QUERY_RESULT where SESSION_ID = ?",
+                converter.getSqlObject(userSessionId));
+        log.debug("Deleted {} query results for {}", count, userSessionId);
     }
 }
@@ -42,18 +42,50 @@ public class QueryTree {
 
     public QueryTree(DomainModel model, String query, boolean failOnErrors) {
         Preconditions.checkNotNull(query, "query is null");
-        String modifiedQuery = StringUtils.replaceChars(query, "\n\r\t", "   ");
+        String modifiedQuery = normalizeQuery(query);
 
         this.model = model;
         this.queryString = modifiedQuery;
+        this.tree = parse(modifiedQuery, failOnErrors);
+
+        this.idVarSelector = new IdVarSelector(model);
+        new TreeVisitor().visit(tree, idVarSelector);
+    }
+
+    /**
+     * Creates the query tree from the already parsed AST of the query.
+     *
+     * @param query query string normalized by {@link #normalizeQuery(String)}
+     * @param tree  AST of the query, becomes owned by this query tree
+     */
+    public QueryTree(DomainModel model, String query, CommonTree tree) {
+        Preconditions.checkNotNull(query, "query is null");
+        Preconditions.checkNotNull(tree, "tree is null");
+
+        this.model = model;
+        this.queryString = query;
+        this.tree = tree;
+
+        this.idVarSelector = new IdVarSelector(model);
+        new TreeVisitor().visit(tree, idVarSelector);
+    }
+
+    /**
+     * Replaces line breaks and tabs in the query string with spaces, as expected by the parser.
+     */
+    public static String normalizeQuery(String query) {
+        return StringUtils.replaceChars(query, "\n\r\t", "   ");
+    }
+
+    /**
+     * Parses the normalized query string.
+     */
+    public static CommonTree parse(String query, boolean failOnErrors) {
         try {
-            this.tree = Parser.parse(modifiedQuery, failOnErrors);
+            return Parser.parse(query, failOnErrors);
         } catch (RecognitionException e) {
             throw new JPA2RecognitionException("JPA grammar recognition error", e);
         }
-
-        this.idVarSelector = new IdVarSelector(model);
-        new TreeVisitor().visit(tree, idVarSelector);
     }
 
     public DomainModel getModel() {
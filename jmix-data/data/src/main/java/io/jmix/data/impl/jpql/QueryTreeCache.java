@@ -0,0 +1,123 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.jmix.data.impl.jpql;
+
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.jmix.data.DataProperties;
+import io.jmix.data.impl.jpql.tree.BaseCustomNode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.antlr.runtime.tree.CommonTree;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Keeps parsed ASTs of JPQL queries by query string. The AST depends only on the query text, so a cached
+ * AST is reused for any domain model. Each {@link QueryTree} gets its own copy of the cached AST, because
+ * transformers modify the tree.
+ * <p>
+ * Cache statistics are published as {@code jmix.QueryTreeCache} cache metrics, parsing time of queries not found
+ * in the cache as the {@code jmix.QueryTreeCache.parse} timer.
+ */
+@Component("data_QueryTreeCache")
+public class QueryTreeCache {
+
+    @Autowired
+    protected DataProperties properties;
+
+    @Autowired
+    protected MeterRegistry meterRegistry;
+
+    protected Cache<String, CommonTree> cache;
+
+    protected Timer parseTimer;
+
+    @PostConstruct
+    protected void init() {
+        parseTimer = meterRegistry.timer("jmix.QueryTreeCache.parse");
+
+        int cacheSize = properties.getJpqlParseCacheSize();
+        if (cacheSize > 0) {
+            cache = CacheBuilder.newBuilder()
+                    .maximumSize(cacheSize)
+                    .recordStats()
+                    .build();
+            GuavaCacheMetrics.monitor(meterRegistry, cache, "jmix.QueryTreeCache");
+        }
+    }
+
+    /**
+     * Returns a query tree for the query, parsing the query only if it is not found in the cache.
+     *
+     * @throws JPA2RecognitionException if the query cannot be parsed
+     * @throws JpqlSyntaxException      if the query contains syntax errors
+     */
+    public QueryTree getTree(DomainModel model, String query) {
+        String queryString = QueryTree.normalizeQuery(query);
+        if (cache == null) {
+            return new QueryTree(model, queryString, parse(queryString));
+        }
+
+        CommonTree tree;
+        try {
+            tree = cache.get(queryString, () -> parse(queryString));
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Unable to parse query: " + queryString, e.getCause());
+        } catch (UncheckedExecutionException e) {
+            Throwables.throwIfUnchecked(e.getCause());
+            throw e;
+        }
+        return new QueryTree(model, queryString, copyTree(tree));
+    }
+
+    public void invalidateAll() {
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+
+    protected CommonTree parse(String queryString) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return QueryTree.parse(queryString, true);
+        } finally {
+            sample.stop(parseTimer);
+        }
+    }
+
+    /**
+     * Creates a deep copy of the tree. Custom nodes keep their types and attributes,
+     * see {@link BaseCustomNode#createDuplicate()}.
+     */
+    protected CommonTree copyTree(CommonTree node) {
+        CommonTree copy = node instanceof BaseCustomNode
+                ? ((BaseCustomNode) node).createDuplicate()
+                : (CommonTree) node.dupNode();
+        for (int i = 0; i < node.getChildCount(); i++) {
+            copy.addChild(copyTree((CommonTree) node.getChild(i)));
+        }
+        return copy;
+    }
+}
@@ -18,7 +18,6 @@ package io.jmix.data.impl.jpql.tree;
 
 import org.antlr.runtime.CommonToken;
 import org.antlr.runtime.Token;
-import org.antlr.runtime.tree.Tree;
 
 public class AggregateExpressionNode extends BaseCustomNode {
     private AggregateExpressionNode(Token token) {
@@ -35,9 +34,7 @@ public class AggregateExpressionNode extends BaseCustomNode {
     }
 
     @Override
-    public Tree dupNode() {
-        AggregateExpressionNode result = new AggregateExpressionNode(token);
-        dupChildren(result);
-        return result;
+    public AggregateExpressionNode createDuplicate() {
+        return new AggregateExpressionNode(token);
     }
 }
\ No newline at end of file
@@ -21,7 +21,6 @@ import io.jmix.data.impl.jpql.QueryBuilder;
 import org.antlr.runtime.CommonToken;
 import org.antlr.runtime.Token;
 import org.antlr.runtime.tree.CommonTree;
-import org.antlr.runtime.tree.Tree;
 
 import java.util.List;
 
@@ -41,10 +40,8 @@ public class CollectionMemberNode extends BaseJoinNode {
     }
 
     @Override
-    public Tree dupNode() {
-        CollectionMemberNode result = new CollectionMemberNode(token, variableName);
-        dupChildren(result);
-        return result;
+    public CollectionMemberNode createDuplicate() {
+        return new CollectionMemberNode(token, variableName);
     }
 
     @Override
@@ -20,7 +20,6 @@ import io.jmix.data.impl.jpql.ErrorRec;
 import io.jmix.data.impl.jpql.QueryBuilder;
 import org.antlr.runtime.CommonToken;
 import org.antlr.runtime.tree.CommonTree;
-import org.antlr.runtime.tree.Tree;
 
 import java.util.List;
 
@@ -43,7 +42,7 @@ public class EnumConditionNode extends BaseCustomNode {
     }
 
     @Override
-    public Tree dupNode() {
+    public EnumConditionNode createDuplicate() {
         return new EnumConditionNode(getType(), enumName);
     }
 }
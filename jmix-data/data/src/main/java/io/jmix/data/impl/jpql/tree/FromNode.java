@@ -21,7 +21,6 @@ import io.jmix.data.impl.jpql.QueryBuilder;
 import org.antlr.runtime.CommonToken;
 import org.antlr.runtime.Token;
 import org.antlr.runtime.tree.CommonTree;
-import org.antlr.runtime.tree.Tree;
 
 import java.util.List;
 
@@ -43,10 +42,8 @@ public class FromNode extends BaseCustomNode {
     }
 
     @Override
-    public Tree dupNode() {
-        FromNode result = new FromNode(token, fromT);
-        dupChildren(result);
-        return result;
+    public FromNode createDuplicate() {
+        return new FromNode(token, fromT);
     }
 
     @Override
@@ -18,7 +18,6 @@ package io.jmix.data.impl.jpql.tree;
 
 import org.antlr.runtime.CommonToken;
 import org.antlr.runtime.Token;
-import org.antlr.runtime.tree.Tree;
 
 public class GroupByNode extends BaseCustomNode {
     private GroupByNode(Token token) {
@@ -35,9 +34,7 @@ public class GroupByNode extends BaseCustomNode {
     }
 
     @Override
-    public Tree dupNode() {
-        GroupByNode result = new GroupByNode(token);
-        dupChildren(result);
-        return result;
+    public GroupByNode createDuplicate() {
+        return new GroupByNode(token);
     }
 }
\ No newline at end of file
@@ -46,10 +46,8 @@ public class JoinVariableNode extends BaseJoinNode {
     }
 
     @Override
-    public Tree dupNode() {
-        JoinVariableNode result = new JoinVariableNode(token, joinSpec, variableName);
-        dupChildren(result);
-        return result;
+    public JoinVariableNode createDuplicate() {
+        return new JoinVariableNode(token, joinSpec, variableName);
     }
 
     @Override
@@ -18,7 +18,6 @@ package io.jmix.data.impl.jpql.tree;
 
 import org.antlr.runtime.CommonToken;
 import org.antlr.runtime.Token;
-import org.antlr.runtime.tree.Tree;
 
 public class OrderByFieldNode extends BaseCustomNode {
     private OrderByFieldNode(Token token) {
@@ -35,9 +34,7 @@ public class OrderByFieldNode extends BaseCustomNode {
     }
 
     @Override
-    public Tree dupNode() {
-        OrderByFieldNode result = new OrderByFieldNode(token);
-        dupChildren(result);
-        return result;
+    public OrderByFieldNode createDuplicate() {
+        return new OrderByFieldNode(token);
     }
 }
\ No newline at end of file
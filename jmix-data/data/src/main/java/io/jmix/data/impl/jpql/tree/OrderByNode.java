@@ -18,7 +18,6 @@ package io.jmix.data.impl.jpql.tree;
 
 import org.antlr.runtime.CommonToken;
 import org.antlr.runtime.Token;
-import org.antlr.runtime.tree.Tree;
 
 public class OrderByNode extends BaseCustomNode {
     private OrderByNode(Token token) {
@@ -35,9 +34,7 @@ public class OrderByNode extends BaseCustomNode {
     }
 
     @Override
-    public Tree dupNode() {
-        OrderByNode result = new OrderByNode(token);
-        dupChildren(result);
-        return result;
+    public OrderByNode createDuplicate() {
+        return new OrderByNode(token);
     }
 }    
\ No newline at end of file
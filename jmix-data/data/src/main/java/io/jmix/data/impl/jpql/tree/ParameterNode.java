@@ -21,7 +21,6 @@ import io.jmix.data.impl.jpql.QueryBuilder;
 import org.antlr.runtime.CommonToken;
 import org.antlr.runtime.Token;
 import org.antlr.runtime.tree.CommonTree;
-import org.antlr.runtime.tree.Tree;
 
 import java.util.List;
 
@@ -41,10 +40,8 @@ public class ParameterNode extends BaseCustomNode {
     }
 
     @Override
-    public Tree dupNode() {
-        ParameterNode result = new ParameterNode(token);
-        dupChildren(result);
-        return result;
+    public ParameterNode createDuplicate() {
+        return new ParameterNode(token);
     }
 
     @Override
@@ -51,7 +51,8 @@ public class PathNode extends BaseCustomNode {
         return result;
     }
 
-    protected PathNode createDuplicate() {
+    @Override
+    public PathNode createDuplicate() {
         return new PathNode(token, entityVariableName);
     }
 
@@ -20,7 +20,6 @@ import io.jmix.data.impl.jpql.ErrorRec;
 import io.jmix.data.impl.jpql.QueryBuilder;
 import org.antlr.runtime.Token;
 import org.antlr.runtime.tree.CommonTree;
-import org.antlr.runtime.tree.Tree;
 
 import java.util.List;
 
@@ -47,10 +46,8 @@ public class QueryNode extends BaseCustomNode {
     }
 
     @Override
-    public Tree dupNode() {
-        QueryNode result = new QueryNode(token, lastToken);
-        dupChildren(result);
-        return result;
+    public QueryNode createDuplicate() {
+        return new QueryNode(token, lastToken);
     }
 
     @Override
@@ -18,7 +18,6 @@ package io.jmix.data.impl.jpql.tree;
 
 import org.antlr.runtime.CommonToken;
 import org.antlr.runtime.Token;
-import org.antlr.runtime.tree.Tree;
 
 public class SelectedItemsNode extends BaseCustomNode {
     private SelectedItemsNode(Token token) {
@@ -35,9 +34,7 @@ public class SelectedItemsNode extends BaseCustomNode {
     }
 
     @Override
-    public Tree dupNode() {
-        SelectedItemsNode result = new SelectedItemsNode(token);
-        dupChildren(result);
-        return result;
+    public SelectedItemsNode createDuplicate() {
+        return new SelectedItemsNode(token);
     }
 }
\ No newline at end of file
@@ -21,7 +21,6 @@ import io.jmix.data.impl.jpql.QueryBuilder;
 import org.antlr.runtime.CommonToken;
 import org.antlr.runtime.Token;
 import org.antlr.runtime.tree.CommonTree;
-import org.antlr.runtime.tree.Tree;
 
 import java.util.List;
 
@@ -40,10 +39,8 @@ public class SelectionSourceNode extends BaseCustomNode {
     }
 
     @Override
-    public Tree dupNode() {
-        SelectionSourceNode result = new SelectionSourceNode(token);
-        dupChildren(result);
-        return result;
+    public SelectionSourceNode createDuplicate() {
+        return new SelectionSourceNode(token);
     }
 
     @Override
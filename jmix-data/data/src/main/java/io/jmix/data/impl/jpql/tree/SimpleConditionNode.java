@@ -21,7 +21,6 @@ import io.jmix.data.impl.jpql.QueryBuilder;
 import org.antlr.runtime.CommonToken;
 import org.antlr.runtime.Token;
 import org.antlr.runtime.tree.CommonTree;
-import org.antlr.runtime.tree.Tree;
 
 import java.util.List;
 
@@ -40,10 +39,8 @@ public class SimpleConditionNode extends BaseCustomNode {
     }
 
     @Override
-    public Tree dupNode() {
-        SimpleConditionNode result = new SimpleConditionNode(token);
-        dupChildren(result);
-        return result;
+    public SimpleConditionNode createDuplicate() {
+        return new SimpleConditionNode(token);
     }
 
     @Override
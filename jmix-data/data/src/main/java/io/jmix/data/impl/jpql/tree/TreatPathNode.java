@@ -49,7 +49,7 @@ public class TreatPathNode extends PathNode {
     }
 
     @Override
-    protected PathNode createDuplicate() {
+    public PathNode createDuplicate() {
         return new TreatPathNode(token, entityVariableName, subtype);
     }
 
@@ -28,6 +28,11 @@ public class UpdateSetNode extends BaseCustomNode {
         super(t);
     }
 
+    @Override
+    public UpdateSetNode createDuplicate() {
+        return new UpdateSetNode(token);
+    }
+
     @Override
     public CommonTree treeToQueryPre(QueryBuilder sb, List<ErrorRec> invalidNodes) {
         sb.appendString(" ");
@@ -21,7 +21,6 @@ import io.jmix.data.impl.jpql.QueryBuilder;
 import org.antlr.runtime.CommonToken;
 import org.antlr.runtime.Token;
 import org.antlr.runtime.tree.CommonTree;
-import org.antlr.runtime.tree.Tree;
 
 import java.util.List;
 
@@ -43,10 +42,8 @@ public class WhereNode extends BaseCustomNode {
     }
 
     @Override
-    public Tree dupNode() {
-        WhereNode result = new WhereNode(token, whereT);
-        dupChildren(result);
-        return result;
+    public WhereNode createDuplicate() {
+        return new WhereNode(token, whereT);
     }
 
     @Override
@@ -23,11 +23,42 @@ import org.springframework.boot.context.properties.bind.DefaultValue;
 public class EclipselinkProperties {
     boolean queryCacheEnabled;
 
-    public EclipselinkProperties(@DefaultValue("true") boolean queryCacheEnabled) {
+    /**
+     * Whether the query cache keeps a local index of cached queries by related entity types, so that invalidation
+     * for a type evicts only the affected queries instead of scanning the whole cache. The index is local to the
+     * JVM, so it must be turned off if the query cache is shared between cluster nodes.
+     */
+    boolean queryCacheTypeIndexEnabled;
+
+    /**
+     * Maximum number of fetch group descriptions calculated from fetch plans that are kept in memory.
+     * Set to 0 to calculate the description for each query.
+     */
+    int fetchGroupCacheSize;
+
+    public EclipselinkProperties(@DefaultValue("true") boolean queryCacheEnabled,
+                                 @DefaultValue("true") boolean queryCacheTypeIndexEnabled,
+                                 @DefaultValue("1000") int fetchGroupCacheSize) {
         this.queryCacheEnabled = queryCacheEnabled;
+        this.queryCacheTypeIndexEnabled = queryCacheTypeIndexEnabled;
+        this.fetchGroupCacheSize = fetchGroupCacheSize;
     }
 
     public boolean isQueryCacheEnabled() {
         return queryCacheEnabled;
     }
+
+    /**
+     * @see #queryCacheTypeIndexEnabled
+     */
+    public boolean isQueryCacheTypeIndexEnabled() {
+        return queryCacheTypeIndexEnabled;
+    }
+
+    /**
+     * @see #fetchGroupCacheSize
+     */
+    public int getFetchGroupCacheSize() {
+        return fetchGroupCacheSize;
+    }
 }
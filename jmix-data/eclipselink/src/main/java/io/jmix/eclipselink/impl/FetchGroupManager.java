@@ -16,6 +16,8 @@
 
 package io.jmix.eclipselink.impl;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import io.jmix.core.*;
 import io.jmix.core.common.util.Preconditions;
 import io.jmix.core.metamodel.model.MetaClass;
@@ -24,6 +26,8 @@ import io.jmix.core.metamodel.model.MetaPropertyPath;
 import io.jmix.core.metamodel.model.Range;
 import io.jmix.data.QueryParser;
 import io.jmix.data.QueryTransformerFactory;
+import io.jmix.eclipselink.EclipselinkProperties;
+import jakarta.annotation.PostConstruct;
 import org.apache.commons.lang3.StringUtils;
 import org.eclipse.persistence.config.QueryHints;
 import org.eclipse.persistence.jpa.JpaQuery;
@@ -33,12 +37,15 @@ import org.eclipse.persistence.queries.LoadGroup;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 import org.springframework.util.ClassUtils;
 
 import org.springframework.lang.Nullable;
 import java.lang.reflect.Method;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
 
 @Component("eclipselink_FetchGroupManager")
@@ -64,6 +71,31 @@ public class FetchGroupManager {
     @Autowired
     private FetchPlans fetchPlans;
 
+    @Autowired
+    private EclipselinkProperties properties;
+
+    private Cache<FetchGroupKey, FetchGroupDescription> descriptionCache;
+
+    @PostConstruct
+    protected void init() {
+        int cacheSize = properties.getFetchGroupCacheSize();
+        if (cacheSize > 0) {
+            descriptionCache = CacheBuilder.newBuilder()
+                    .maximumSize(cacheSize)
+                    .build();
+        }
+    }
+
+    /**
+     * Removes all calculated fetch group descriptions, as they depend on metadata and fetch plan repository.
+     */
+    @EventListener(ContextRefreshedEvent.class)
+    public void clearCache() {
+        if (descriptionCache != null) {
+            descriptionCache.invalidateAll();
+        }
+    }
+
     public void setFetchPlan(JpaQuery query, String queryString, @Nullable FetchPlan fetchPlan, boolean singleResultExpected) {
         Preconditions.checkNotNullArgument(query, "query is null");
         if (fetchPlan != null) {
@@ -133,10 +165,30 @@ public class FetchGroupManager {
         }
     }
 
+    /**
+     * Calculates fetch group attributes and fetch hints for the query and fetch plan.
+     * The returned description is shared between queries and cannot be modified.
+     */
     public FetchGroupDescription calculateFetchGroup(String queryString,
                                                      FetchPlan fetchPlan,
                                                      boolean singleResultExpected,
                                                      boolean useFetchGroup) {
+        if (descriptionCache == null) {
+            return createFetchGroupDescription(queryString, fetchPlan, singleResultExpected, useFetchGroup);
+        }
+        FetchGroupKey key = new FetchGroupKey(queryString, fetchPlan, singleResultExpected, useFetchGroup);
+        try {
+            return descriptionCache.get(key,
+                    () -> createFetchGroupDescription(queryString, fetchPlan, singleResultExpected, useFetchGroup));
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Error calculating fetch group for " + fetchPlan, e.getCause());
+        }
+    }
+
+    private FetchGroupDescription createFetchGroupDescription(String queryString,
+                                                              FetchPlan fetchPlan,
+                                                              boolean singleResultExpected,
+                                                              boolean useFetchGroup) {
         Set<FetchGroupField> fetchGroupFields = new LinkedHashSet<>();
 
         fetchPlan = completeFetchPlan(fetchPlan);
@@ -332,6 +384,7 @@ public class FetchGroupManager {
             }
         }
 
+        description.freeze();
         return description;
     }
 
@@ -663,6 +716,66 @@ public class FetchGroupManager {
         }
     }
 
+    /**
+     * Key of a calculated fetch group description. Fetch plans are compared by structure, the hash code
+     * is calculated once for the key.
+     */
+    private static class FetchGroupKey {
+        private final String queryString;
+        private final FetchPlan fetchPlan;
+        private final boolean singleResultExpected;
+        private final boolean useFetchGroup;
+        private final int hashCode;
+
+        public FetchGroupKey(String queryString, FetchPlan fetchPlan, boolean singleResultExpected, boolean useFetchGroup) {
+            this.queryString = queryString;
+            this.fetchPlan = fetchPlan;
+            this.singleResultExpected = singleResultExpected;
+            this.useFetchGroup = useFetchGroup;
+
+            int result = queryString.hashCode();
+            result = 31 * result + structuralHashCode(fetchPlan, Collections.newSetFromMap(new IdentityHashMap<>()));
+            result = 31 * result + Boolean.hashCode(singleResultExpected);
+            result = 31 * result + Boolean.hashCode(useFetchGroup);
+            this.hashCode = result;
+        }
+
+        private static int structuralHashCode(FetchPlan fetchPlan, Set<FetchPlan> visited) {
+            if (!visited.add(fetchPlan)) {
+                return 0;
+            }
+            int result = fetchPlan.hashCode();
+            result = 31 * result + Boolean.hashCode(fetchPlan.loadPartialEntities());
+            for (FetchPlanProperty property : fetchPlan.getProperties()) {
+                int propertyHash = property.getName().hashCode();
+                propertyHash = 31 * propertyHash + Objects.hashCode(property.getFetchMode());
+                if (property.getFetchPlan() != null) {
+                    propertyHash = 31 * propertyHash + structuralHashCode(property.getFetchPlan(), visited);
+                }
+                // properties are kept in a map, so the order does not matter
+                result += propertyHash;
+            }
+            return result;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            FetchGroupKey that = (FetchGroupKey) o;
+            return hashCode == that.hashCode
+                    && singleResultExpected == that.singleResultExpected
+                    && useFetchGroup == that.useFetchGroup
+                    && queryString.equals(that.queryString)
+                    && fetchPlan.equals(that.fetchPlan);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
     private static class OccurrenceDescription {
         private final FetchPlan fetchPlan;
         private final String path;
@@ -24,8 +24,12 @@ import io.jmix.core.entity.EntityValues;
 import io.jmix.core.event.EntityChangedEvent;
 import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.metamodel.model.MetaProperty;
+import io.jmix.core.querycondition.Condition;
+import io.jmix.core.querycondition.LogicalCondition;
+import io.jmix.core.querycondition.PropertyCondition;
 import io.jmix.data.DataProperties;
 import io.jmix.data.PersistenceHints;
+import io.jmix.data.QueryParser;
 import io.jmix.data.QueryTransformerFactory;
 import io.jmix.data.StoreAwareLocator;
 import io.jmix.data.accesscontext.ReadEntityQueryContext;
@@ -69,7 +73,7 @@ import static jakarta.persistence.CascadeType.*;
  */
 @Component("eclipselink_JpaDataStore")
 @Scope(BeanDefinition.SCOPE_PROTOTYPE)
-public class JpaDataStore extends AbstractDataStore implements DataSortingOptions {
+public class JpaDataStore extends AbstractDataStore implements DataSortingOptions, KeysetLoadingSupport {
 
     public static final String LOAD_TX_PREFIX = "JpaDataStore-load-";
     public static final String SAVE_TX_PREFIX = "JpaDataStore-save-";
@@ -122,6 +126,8 @@ public class JpaDataStore extends AbstractDataStore implements DataSortingOption
 
     protected static final AtomicLong txCount = new AtomicLong();
 
+    protected static final Pattern ORDER_BY_PATTERN = Pattern.compile("\\border\\s+by\\b", Pattern.CASE_INSENSITIVE);
+
     @Override
     public String getName() {
         return storeName;
@@ -205,6 +211,76 @@ public class JpaDataStore extends AbstractDataStore implements DataSortingOption
         return resultList;
     }
 
+    @Override
+    protected int getReloadAfterSaveBatchSize() {
+        return properties.getReloadAfterSaveBatchSize();
+    }
+
+    @Nullable
+    @Override
+    public LoadContext<?> createKeysetBatchContext(LoadContext<?> context, @Nullable Object lastLoadedEntity) {
+        LoadContext.Query contextQuery = context.getQuery();
+        if (contextQuery == null
+                || !context.getPreviousQueries().isEmpty()
+                || ORDER_BY_PATTERN.matcher(contextQuery.getQueryString()).find()) {
+            return null;
+        }
+
+        MetaClass metaClass = extendedEntities.getEffectiveMetaClass(context.getEntityMetaClass());
+        String primaryKeyName = metadataTools.getPrimaryKeyName(metaClass);
+        if (primaryKeyName == null
+                || metadataTools.hasCompositePrimaryKey(metaClass)
+                || !isRootEntitySelect(contextQuery.getQueryString(), metaClass)) {
+            return null;
+        }
+
+        Sort sort = contextQuery.getSort();
+        Sort.Direction direction;
+        if (sort == null || sort.getOrders().isEmpty()) {
+            direction = Sort.Direction.ASC;
+        } else if (sort.getOrders().size() == 1 && primaryKeyName.equals(sort.getOrders().get(0).getProperty())) {
+            direction = sort.getOrders().get(0).getDirection();
+        } else {
+            return null;
+        }
+
+        LoadContext<?> batchContext = context.copy();
+        LoadContext.Query batchQuery = Objects.requireNonNull(batchContext.getQuery());
+        batchQuery.setFirstResult(0);
+        batchQuery.setSort(Sort.by(direction, primaryKeyName));
+
+        if (lastLoadedEntity != null) {
+            Object lastId = EntityValues.getId(lastLoadedEntity);
+            Condition keyCondition = direction == Sort.Direction.ASC
+                    ? PropertyCondition.greater(primaryKeyName, lastId)
+                    : PropertyCondition.less(primaryKeyName, lastId);
+            batchQuery.setCondition(contextQuery.getCondition() == null
+                    ? keyCondition
+                    : LogicalCondition.and(contextQuery.getCondition(), keyCondition));
+        }
+        return batchContext;
+    }
+
+    /**
+     * Returns true if the query selects the main entity of its FROM clause and this entity is the given one, so
+     * the condition on the primary key of the entity continues the query.
+     */
+    protected boolean isRootEntitySelect(String queryString, MetaClass metaClass) {
+        QueryParser parser;
+        String entityName;
+        try {
+            parser = queryTransformerFactory.parser(queryString);
+            entityName = parser.getEntityName();
+        } catch (RuntimeException e) {
+            log.debug("Unable to parse query to check if it selects the root entity: {}", queryString, e);
+            return false;
+        }
+        MetaClass queryMetaClass = entityName != null ? metadata.findClass(entityName) : null;
+        return queryMetaClass != null
+                && parser.isEntitySelect(entityName)
+                && extendedEntities.getEffectiveMetaClass(queryMetaClass).equals(metaClass);
+    }
+
     @Override
     protected long countAll(LoadContext<?> context) {
         queryResultsManager.savePreviousQueryResults(context);
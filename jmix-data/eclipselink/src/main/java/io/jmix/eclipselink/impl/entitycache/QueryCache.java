@@ -53,4 +53,25 @@ public interface QueryCache {
      * Returns number of entries in this cache.
      */
     long size();
+
+    /**
+     * Returns number of lookups that found cached query results.
+     */
+    default long getHitCount() {
+        return 0;
+    }
+
+    /**
+     * Returns number of lookups that did not find cached query results.
+     */
+    default long getMissCount() {
+        return 0;
+    }
+
+    /**
+     * Returns number of query results discarded by invalidation for particular entity types.
+     */
+    default long getEvictionCount() {
+        return 0;
+    }
 }
@@ -40,6 +40,21 @@ public class QueryCacheManagementFacade {
         return queryCache.size();
     }
 
+    @ManagedAttribute(description = "Number of lookups that found cached query results")
+    public long getHitCount() {
+        return queryCache.getHitCount();
+    }
+
+    @ManagedAttribute(description = "Number of lookups that did not find cached query results")
+    public long getMissCount() {
+        return queryCache.getMissCount();
+    }
+
+    @ManagedAttribute(description = "Number of cached queries discarded on entity changes")
+    public long getEvictionCount() {
+        return queryCache.getEvictionCount();
+    }
+
     @ManagedOperation(description = "Discard all cached queries")
     public String evictAll() {
         queryCacheMgr.invalidateAll();
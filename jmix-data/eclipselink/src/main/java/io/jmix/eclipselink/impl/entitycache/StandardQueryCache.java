@@ -18,49 +18,154 @@ package io.jmix.eclipselink.impl.entitycache;
 
 import com.google.common.collect.Sets;
 import io.jmix.core.CacheOperations;
+import io.jmix.eclipselink.EclipselinkProperties;
 import org.apache.commons.collections4.CollectionUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import javax.cache.configuration.CacheEntryListenerConfiguration;
+import javax.cache.configuration.Factory;
+import javax.cache.configuration.MutableCacheEntryListenerConfiguration;
+import javax.cache.event.CacheEntryEvent;
+import javax.cache.event.CacheEntryExpiredListener;
+import javax.cache.event.CacheEntryListener;
+import javax.cache.event.CacheEntryRemovedListener;
 import java.util.HashSet;
+import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 @Component("eclipselink_QueryCache")
 public class StandardQueryCache implements QueryCache {
 
     protected Cache queries;
 
+    /**
+     * Related entity type name to the keys of cached queries depending on this type.
+     */
+    protected final Map<String, Set<QueryKey>> typeIndex = new ConcurrentHashMap<>();
+
+    /**
+     * Key of a cached query to its related entity type names, used to remove evicted keys from {@link #typeIndex}.
+     * Keys of entries expired or removed by the cache provider itself are removed by {@link #cleanUpIndex()}.
+     */
+    protected final Map<QueryKey, Set<String>> keyIndex = new ConcurrentHashMap<>();
+
+    /**
+     * Guards the index: putting a query to the cache together with its index entries holds the read lock,
+     * invalidation and index clean up hold the write lock. So an invalidation never runs between caching a query
+     * and indexing it, and a cached query is always reachable through the index.
+     */
+    protected final ReadWriteLock indexLock = new ReentrantReadWriteLock();
+
+    /**
+     * Keys reported as expired or removed by a JCache provider, removed from the index on the next clean up.
+     */
+    protected final Queue<QueryKey> removedKeys = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Number of keys in {@link #removedKeys}, maintained separately because the size of the queue is not a
+     * constant-time operation.
+     */
+    protected final AtomicInteger removedKeysCount = new AtomicInteger();
+
+    /**
+     * Size of {@link #keyIndex} after which the index is checked for keys evicted by the cache provider without
+     * notification, e.g. because of the cache size limit.
+     */
+    protected volatile int indexPruneThreshold = MIN_INDEX_PRUNE_THRESHOLD;
+
+    protected CacheEntryListenerConfiguration<Object, Object> removalListenerConfiguration;
+
+    protected final AtomicLong hitCount = new AtomicLong();
+    protected final AtomicLong missCount = new AtomicLong();
+    protected final AtomicLong evictionCount = new AtomicLong();
+
     @Autowired
     protected CacheManager cacheManager;
     @Autowired
     protected CacheOperations cacheOperations;
+    @Autowired
+    protected EclipselinkProperties properties;
 
     public static final String QUERY_CACHE_NAME = "jmix-eclipselink-query-cache";
 
+    protected static final int MIN_INDEX_PRUNE_THRESHOLD = 1000;
+
+    /**
+     * Number of removed keys collected before they are removed from the index, and the max number of keys removed
+     * by a single clean up.
+     */
+    protected static final int REMOVED_KEYS_BATCH_SIZE = 100;
+
     protected static final Logger log = LoggerFactory.getLogger(QueryCache.class);
 
+    @SuppressWarnings("unchecked")
     @PostConstruct
     protected void init() {
         queries = cacheManager.getCache(QUERY_CACHE_NAME);
         if (queries == null) {
             throw new IllegalStateException(String.format("Unable to find cache: %s", QUERY_CACHE_NAME));
         }
+        if (isTypeIndexEnabled() && queries.getNativeCache() instanceof javax.cache.Cache) {
+            registerRemovalListener((javax.cache.Cache<Object, Object>) queries.getNativeCache());
+        }
+    }
+
+    @PreDestroy
+    protected void destroy() {
+        if (removalListenerConfiguration != null) {
+            ((javax.cache.Cache<?, ?>) queries.getNativeCache()).deregisterCacheEntryListener(removalListenerConfiguration);
+        }
+    }
+
+    protected void registerRemovalListener(javax.cache.Cache<Object, Object> nativeCache) {
+        CacheEntryListener<Object, Object> listener = new RemovalListener();
+        removalListenerConfiguration = new MutableCacheEntryListenerConfiguration<>(
+                (Factory<CacheEntryListener<? super Object, ? super Object>>) () -> listener, null, false, false);
+        nativeCache.registerCacheEntryListener(removalListenerConfiguration);
     }
 
     @Override
     public QueryResult get(QueryKey queryKey) {
-        return queries.get(queryKey, QueryResult.class);
+        QueryResult queryResult = queries.get(queryKey, QueryResult.class);
+        if (queryResult != null) {
+            hitCount.incrementAndGet();
+        } else {
+            missCount.incrementAndGet();
+        }
+        return queryResult;
     }
 
     @Override
     public void put(QueryKey queryKey, QueryResult queryResult) {
-        queries.put(queryKey, queryResult);
+        if (!isTypeIndexEnabled()) {
+            queries.put(queryKey, queryResult);
+            return;
+        }
+        indexLock.readLock().lock();
+        try {
+            queries.put(queryKey, queryResult);
+            addToIndex(queryKey, queryResult);
+        } finally {
+            indexLock.readLock().unlock();
+        }
+        if (removedKeysCount.get() >= REMOVED_KEYS_BATCH_SIZE || keyIndex.size() > indexPruneThreshold) {
+            tryCleanUpIndex();
+        }
     }
 
     @Override
@@ -76,7 +181,22 @@ public class StandardQueryCache implements QueryCache {
     }
 
     protected void invalidateByTypes(Set<String> typeNames) {
-        if (cacheOperations.isIterableCache(queries)) {
+        if (isTypeIndexEnabled()) {
+            indexLock.writeLock().lock();
+            try {
+                for (String typeName : typeNames) {
+                    Set<QueryKey> keys = typeIndex.remove(typeName);
+                    if (keys != null) {
+                        for (QueryKey queryKey : keys) {
+                            removeFromIndex(queryKey);
+                            evict(queryKey);
+                        }
+                    }
+                }
+            } finally {
+                indexLock.writeLock().unlock();
+            }
+        } else if (cacheOperations.isIterableCache(queries)) {
             Set<QueryKey> evicted = new HashSet<>();
 
             cacheOperations.<QueryKey, QueryResult>forEach(queries, (queryKey, queryResult) -> {
@@ -86,8 +206,7 @@ public class StandardQueryCache implements QueryCache {
             });
 
             for (QueryKey queryKey : evicted) {
-                queries.evictIfPresent(queryKey);
-
+                evict(queryKey);
             }
         } else {
             queries.invalidate();
@@ -97,7 +216,16 @@ public class StandardQueryCache implements QueryCache {
     @Override
     public void invalidateAll() {
         log.debug("Invalidate all cache");
-        queries.invalidate();
+        indexLock.writeLock().lock();
+        try {
+            queries.invalidate();
+            typeIndex.clear();
+            keyIndex.clear();
+            removedKeys.clear();
+            removedKeysCount.set(0);
+        } finally {
+            indexLock.writeLock().unlock();
+        }
     }
 
     @Override
@@ -106,8 +234,136 @@ public class StandardQueryCache implements QueryCache {
             AtomicLong count = new AtomicLong();
             cacheOperations.forEach(queries, (queryKey, queryResult) -> count.incrementAndGet());
             return count.get();
+        } else if (isTypeIndexEnabled()) {
+            return keyIndex.size();
         } else {
             return 0;
         }
     }
+
+    @Override
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    @Override
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    protected boolean isTypeIndexEnabled() {
+        return properties.isQueryCacheTypeIndexEnabled();
+    }
+
+    protected void evict(QueryKey queryKey) {
+        if (queries.evictIfPresent(queryKey)) {
+            evictionCount.incrementAndGet();
+        }
+    }
+
+    protected void addToIndex(QueryKey queryKey, QueryResult queryResult) {
+        Set<String> relatedTypes = queryResult.getRelatedTypes();
+        if (relatedTypes == null || relatedTypes.isEmpty()) {
+            return;
+        }
+        keyIndex.put(queryKey, relatedTypes);
+        for (String typeName : relatedTypes) {
+            typeIndex.computeIfAbsent(typeName, key -> ConcurrentHashMap.newKeySet()).add(queryKey);
+        }
+    }
+
+    /**
+     * Cleans up the index if no other thread holds {@link #indexLock}. Called after putting a query, so a put
+     * never waits for an invalidation or another clean up: the next put retries it.
+     */
+    protected void tryCleanUpIndex() {
+        if (indexLock.writeLock().tryLock()) {
+            try {
+                doCleanUpIndex();
+            } finally {
+                indexLock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Removes index entries of queries no longer present in the cache: up to {@link #REMOVED_KEYS_BATCH_SIZE} keys
+     * reported by the removal listener and, when the index has grown over {@link #indexPruneThreshold}, all keys
+     * evicted by the cache provider without notification.
+     */
+    protected void cleanUpIndex() {
+        indexLock.writeLock().lock();
+        try {
+            doCleanUpIndex();
+        } finally {
+            indexLock.writeLock().unlock();
+        }
+    }
+
+    protected void doCleanUpIndex() {
+        QueryKey queryKey;
+        for (int i = 0; i < REMOVED_KEYS_BATCH_SIZE && (queryKey = removedKeys.poll()) != null; i++) {
+            removedKeysCount.decrementAndGet();
+            if (queries.get(queryKey) == null) {
+                removeFromIndex(queryKey);
+            }
+        }
+        if (keyIndex.size() > indexPruneThreshold) {
+            keyIndex.keySet().removeIf(key -> {
+                if (queries.get(key) == null) {
+                    removeFromTypeIndex(key, keyIndex.get(key));
+                    return true;
+                }
+                return false;
+            });
+            indexPruneThreshold = Math.max(MIN_INDEX_PRUNE_THRESHOLD, keyIndex.size() * 2);
+        }
+    }
+
+    protected void removeFromIndex(QueryKey queryKey) {
+        removeFromTypeIndex(queryKey, keyIndex.remove(queryKey));
+    }
+
+    protected void removeFromTypeIndex(QueryKey queryKey, @Nullable Set<String> relatedTypes) {
+        if (relatedTypes != null) {
+            for (String typeName : relatedTypes) {
+                typeIndex.computeIfPresent(typeName, (key, keys) -> {
+                    keys.remove(queryKey);
+                    return keys.isEmpty() ? null : keys;
+                });
+            }
+        }
+    }
+
+    /**
+     * Collects keys of entries expired or removed by the JCache provider. The index is not modified here because
+     * the listener may be invoked synchronously by the thread putting a query while it holds {@link #indexLock}.
+     */
+    protected class RemovalListener implements CacheEntryExpiredListener<Object, Object>,
+            CacheEntryRemovedListener<Object, Object> {
+
+        @Override
+        public void onExpired(Iterable<CacheEntryEvent<?, ?>> events) {
+            collectKeys(events);
+        }
+
+        @Override
+        public void onRemoved(Iterable<CacheEntryEvent<?, ?>> events) {
+            collectKeys(events);
+        }
+
+        protected void collectKeys(Iterable<CacheEntryEvent<?, ?>> events) {
+            for (CacheEntryEvent<?, ?> event : events) {
+                if (event.getKey() instanceof QueryKey) {
+                    removedKeys.add((QueryKey) event.getKey());
+                    removedKeysCount.incrementAndGet();
+                }
+            }
+        }
+    }
 }
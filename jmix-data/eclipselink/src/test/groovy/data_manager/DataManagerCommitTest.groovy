@@ -207,4 +207,28 @@ class DataManagerCommitTest extends DataSpec {
         then: 'another overloaded save() method is chosen which accepts and returns a single instance'
         thrown(Exception)
     }
+
+    def "save reloads multiple entities of the same type and fetch plan by batches"() {
+        given:
+        def customers = (1..5).collect {
+            def customer = dataManager.create(Customer)
+            customer.name = "c$it"
+            customer
+        }
+        def order = dataManager.create(Order)
+        order.number = '1'
+        order.customer = customers[0]
+
+        def saveContext = new SaveContext().saving(customers).saving(order,
+                fetchPlans.builder(Order).addFetchPlan(FetchPlan.LOCAL).add('customer.name').build())
+
+        when:
+        def saved = dataManager.save(saveContext)
+
+        then:
+        saved.size() == 6
+        customers.every { saved.get(it).name == it.name }
+        entityStates.isLoaded(saved.get(order), 'customer')
+        saved.get(order).customer.name == 'c1'
+    }
 }
@@ -18,6 +18,8 @@ package data_manager
 
 import io.jmix.core.*
 import io.jmix.core.querycondition.PropertyCondition
+import jakarta.persistence.EntityManager
+import jakarta.persistence.PersistenceContext
 import org.springframework.beans.factory.annotation.Autowired
 import test_support.DataSpec
 import test_support.entity.TestAppEntity
@@ -35,6 +37,9 @@ class DataManagerTest extends DataSpec {
     @Autowired
     EntityStates entityStates
 
+    @PersistenceContext
+    EntityManager entityManager
+
     def "create commit load"() {
         when:
 
@@ -370,4 +375,59 @@ class DataManagerTest extends DataSpec {
         list1 == [line1]
     }
 
+    def "load by batches"() {
+        def products = (1..25).collect {
+            def product = dataManager.create(Product)
+            product.name = "p$it"
+            product.quantity = it
+            product
+        }
+        dataManager.save(products as Object[])
+
+        when: 'keyset batches'
+        def batches = []
+        dataManager.load(Product).all().forEachBatch(10) { batches << it }
+
+        then:
+        batches*.size() == [10, 10, 5]
+        (batches.flatten()*.id as Set) == (products*.id as Set)
+
+        when: 'offset batches because of the custom sort'
+        def names = dataManager.load(Product)
+                .condition(PropertyCondition.greater('quantity', 5))
+                .sort(Sort.by('quantity'))
+                .stream(7)
+                .map { it.name }
+                .collect(java.util.stream.Collectors.toList())
+
+        then:
+        names == (6..25).collect { "p$it" }
+
+        when: 'limited by max results'
+        def limited = dataManager.load(Product).all().maxResults(12).stream(5).count()
+
+        then:
+        limited == 12
+    }
+
+    def "batches are not kept in the persistence context of the caller"() {
+        def products = (1..25).collect {
+            def product = dataManager.create(Product)
+            product.name = "p$it"
+            product
+        }
+        dataManager.save(products as Object[])
+
+        when:
+        def managedCounts = transaction.execute {
+            def counts = []
+            dataManager.load(Product).all().forEachBatch(10) { batch ->
+                counts << batch.count { entityManager.contains(it) }
+            }
+            counts
+        }
+
+        then:
+        managedCounts == [0, 0, 0]
+    }
 }
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package data_manager
+
+import io.jmix.core.*
+import io.jmix.core.impl.DataStoreFactory
+import org.springframework.beans.factory.annotation.Autowired
+import test_support.DataSpec
+import test_support.entity.sales.Customer
+import test_support.entity.sales.Order
+import test_support.entity.sales.Product
+
+class KeysetBatchContextTest extends DataSpec {
+
+    @Autowired
+    DataManager dataManager
+
+    @Autowired
+    Metadata metadata
+
+    @Autowired
+    DataStoreFactory dataStoreFactory
+
+    def "keyset continuation is used for queries selecting the root entity"() {
+        def context = createContext(Order, 'select e from sales_Order e')
+
+        when:
+        def batchContext = dataStore().createKeysetBatchContext(context, null)
+
+        then:
+        batchContext != null
+        batchContext.query.sort.orders*.property == ['id']
+        batchContext.query.sort.orders*.direction == [Sort.Direction.ASC]
+    }
+
+    def "keyset continuation is not used for queries selecting a non-root entity"() {
+        expect:
+        dataStore().createKeysetBatchContext(createContext(Customer, queryString), null) == null
+
+        where:
+        queryString << [
+                'select e.customer from sales_Order e',
+                'select c from sales_Order o join o.customer c'
+        ]
+    }
+
+    def "keyset continuation is not used for queries ordered by other properties"() {
+        def orderedContext = createContext(Order, 'select e from sales_Order e order by e.number')
+        def sortedContext = createContext(Order, 'select e from sales_Order e')
+        sortedContext.query.sort = Sort.by('number')
+        def sortedByIdContext = createContext(Order, 'select e from sales_Order e')
+        sortedByIdContext.query.sort = Sort.by(Sort.Direction.DESC, 'id')
+
+        expect:
+        dataStore().createKeysetBatchContext(orderedContext, null) == null
+        dataStore().createKeysetBatchContext(sortedContext, null) == null
+        dataStore().createKeysetBatchContext(sortedByIdContext, null).query.sort.orders*.direction == [Sort.Direction.DESC]
+    }
+
+    def "batches of queries with ORDER BY keep the order"() {
+        (1..10).each {
+            def product = dataManager.create(Product)
+            product.name = "p${it.toString().padLeft(2, '0')}"
+            dataManager.save(product)
+        }
+
+        when:
+        def names = dataManager.load(Product)
+                .query('select p from sales_Product p order by p.name desc')
+                .stream(3)
+                .map { it.name }
+                .collect(java.util.stream.Collectors.toList())
+
+        then:
+        names == (10..1).collect { "p${it.toString().padLeft(2, '0')}" }
+    }
+
+    def "batches of queries selecting a non-root entity contain entities of the selected type"() {
+        def customers = (1..3).collect {
+            def customer = dataManager.create(Customer)
+            customer.name = "c$it"
+            dataManager.save(customer)
+        }
+        customers.each { customer ->
+            (1..2).each {
+                def order = dataManager.create(Order)
+                order.number = "${customer.name}-$it"
+                order.customer = customer
+                dataManager.save(order)
+            }
+        }
+
+        when:
+        def loaded = dataManager.load(Customer)
+                .query('select distinct o.customer from sales_Order o')
+                .stream(2)
+                .collect(java.util.stream.Collectors.toList())
+
+        then:
+        (loaded*.id as Set) == (customers*.id as Set)
+    }
+
+    private DataStore dataStore() {
+        dataStoreFactory.get(Stores.MAIN)
+    }
+
+    private LoadContext<?> createContext(Class<?> entityClass, String queryString) {
+        new LoadContext<>(metadata.getClass(entityClass)).setQuery(new LoadContext.Query(queryString))
+    }
+}
@@ -9,6 +9,7 @@ import io.jmix.core.*
 import io.jmix.core.impl.DataStoreFactory
 import io.jmix.data.StoreAwareLocator
 import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.context.i18n.LocaleContextHolder
 import org.springframework.dao.DataAccessException
 import org.springframework.jdbc.core.JdbcTemplate
 import org.springframework.transaction.support.TransactionTemplate
@@ -160,6 +161,84 @@ class MultiDbDataManagerTest extends DataSpec {
         loadedOrder.mem1Customer != null
     }
 
+    void testCrossDataStoreReferencesOfManyEntities() {
+        when:
+        List<Mem1Customer> customers = (1..2).collect {
+            Mem1Customer customer = metadata.create(Mem1Customer)
+            customer.setName("customer-" + it)
+            dataManager.save(customer)
+        }
+
+        List<Db1Order> orders = (0..3).collect {
+            Db1Order order = metadata.create(Db1Order)
+            order.setOrderDate(new Date())
+            order.setMem1Customer(customers[it % 2])
+            dataManager.save(order)
+        }
+
+        List<MainReport> reports = (0..7).collect {
+            MainReport report = metadata.create(MainReport)
+            report.setName("report-" + it)
+            report.setDb1Order(orders[it % 4])
+            dataManager.save(report)
+        }
+
+        List<MainReport> loadedReports = dataManager.load(MainReport)
+                .ids(reports.collect { it.id })
+                .fetchPlan({ builder ->
+                    builder.addAll("name", "db1OrderId")
+                            .add("db1Order", { b1 -> b1.addAll("orderDate", "mem1CustomerId", "mem1Customer") })
+                })
+                .list()
+
+        then: "references to the same entity of another store are resolved for each referencing entity"
+        loadedReports.size() == 8
+        loadedReports.every { it.db1Order != null && it.db1Order.id == it.db1OrderId }
+        loadedReports.every { it.db1Order.mem1Customer != null && it.db1Order.mem1Customer.id == it.db1Order.mem1CustomerId }
+        loadedReports.collect { it.db1Order.mem1Customer.id }.toSet() == customers.collect { it.id }.toSet()
+    }
+
+    void testCrossDataStoreReferencesLoadedFromTwoStoresInParallel() {
+        when:
+        Mem1Customer customer = metadata.create(Mem1Customer)
+        customer.setName("customer")
+        customer = dataManager.save(customer)
+
+        Db1Order order = metadata.create(Db1Order)
+        order.setOrderDate(new Date())
+        order = dataManager.save(order)
+
+        MainReport report = metadata.create(MainReport)
+        report.setName("report")
+        report.setDb1Order(order)
+        report.setMem1Customer(customer)
+        report = dataManager.save(report)
+
+        TestInMemoryDataStore mem1Store = (TestInMemoryDataStore) dataStoreFactory.get("mem1")
+        mem1Store.getLoadingContexts().clear()
+
+        LocaleContextHolder.setLocale(Locale.FRENCH)
+        MainReport loadedReport
+        try {
+            loadedReport = dataManager.load(MainReport)
+                    .id(report.id)
+                    .fetchPlan({ builder -> builder.addAll("name", "db1Order", "mem1Customer") })
+                    .one()
+        } finally {
+            LocaleContextHolder.resetLocaleContext()
+        }
+
+        then: "references of both stores are loaded"
+        loadedReport.db1Order != null
+        loadedReport.db1Order.id == order.id
+        loadedReport.mem1Customer != null
+        loadedReport.mem1Customer.id == customer.id
+
+        and: "the second store is loaded by the loading executor with the locale of the calling thread"
+        mem1Store.getLoadingContexts().size() == 1
+        mem1Store.getLoadingContexts()[0] ==~ /jmix-cross-datastore-loader-\d+ fr/
+    }
+
     void testNestedCrossDatastoreEntitiesSaving() {
         when:
         Db1Order order = metadata.create(Db1Order)
@@ -212,4 +212,46 @@ class FetchGroupManagerTest extends DataSpec {
         entityStates.isLoaded(order.orderLines[0], 'product')
         entityStates.isLoaded(order.orderLines[0].product, 'quantity')
     }
+
+    def "fetch group description is calculated once for equal fetch plans"() {
+        def fetchPlan1 = fetchPlans.builder(Order)
+                .addFetchPlan(FetchPlan.BASE)
+                .add('customer', FetchPlan.BASE)
+                .add('orderLines', FetchPlan.BASE)
+                .build()
+        def fetchPlan2 = fetchPlans.builder(Order)
+                .addFetchPlan(FetchPlan.BASE)
+                .add('orderLines', FetchPlan.BASE)
+                .add('customer', FetchPlan.BASE)
+                .build()
+
+        when:
+        def description1 = fetchGroupManager.calculateFetchGroup(
+                'select o from sales_Order o', fetchPlan1, false, true)
+        def description2 = fetchGroupManager.calculateFetchGroup(
+                'select o from sales_Order o', fetchPlan2, false, true)
+        def singleResultDescription = fetchGroupManager.calculateFetchGroup(
+                'select o from sales_Order o', fetchPlan1, true, true)
+
+        then:
+        description1.is(description2)
+        !description1.is(singleResultDescription)
+        singleResultDescription.hints.isEmpty()
+
+        when:
+        description1.addHint('o.customer', QueryHints.BATCH)
+
+        then:
+        thrown(IllegalStateException)
+
+        when:
+        fetchGroupManager.clearCache()
+        def description3 = fetchGroupManager.calculateFetchGroup(
+                'select o from sales_Order o', fetchPlan1, false, true)
+
+        then:
+        !description3.is(description1)
+        description3.attributes == description1.attributes
+        description3.hints == description1.hints
+    }
 }
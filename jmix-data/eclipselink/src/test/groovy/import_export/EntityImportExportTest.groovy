@@ -0,0 +1,250 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package import_export
+
+import com.google.gson.JsonParser
+import io.jmix.core.*
+import io.jmix.core.impl.importexport.EntityImportExportImpl
+import org.springframework.beans.factory.annotation.Autowired
+import test_support.DataSpec
+import test_support.entity.sales.Customer
+import test_support.entity.sales.Order
+
+class EntityImportExportTest extends DataSpec {
+
+    @Autowired
+    DataManager dataManager
+
+    @Autowired
+    EntityImportExport entityImportExport
+
+    @Autowired
+    EntityImportPlans entityImportPlans
+
+    @Autowired
+    EntitySerialization entitySerialization
+
+    @Autowired
+    EntityStates entityStates
+
+    @Autowired
+    FetchPlans fetchPlans
+
+    def "ZIP export is imported in batches"() {
+        def customers = createCustomers(5)
+        def output = new ByteArrayOutputStream()
+        entityImportExport.exportEntitiesToZIP(customers, fetchPlans.builder(Customer).addFetchPlan(FetchPlan.LOCAL).build(), output)
+        jdbc.update('delete from SALES_CUSTOMER')
+
+        def batches = []
+
+        when:
+        def count = entityImportExport.importEntitiesFromZIP(new ByteArrayInputStream(output.toByteArray()),
+                customerImportPlan(), 2, { batches << it.size() })
+
+        then:
+        count == 5
+        batches == [2, 2, 1]
+        loadCustomerNames() == customers.collect { it.name }.sort()
+    }
+
+    def "JSON export is imported in batches"() {
+        def customers = createCustomers(5)
+        def writer = new StringWriter()
+        entityImportExport.exportEntitiesToJSON(customers, fetchPlans.builder(Customer).addFetchPlan(FetchPlan.LOCAL).build(), writer)
+        jdbc.update('delete from SALES_CUSTOMER')
+
+        def batches = []
+
+        when:
+        def count = entityImportExport.importEntitiesFromJson(new StringReader(writer.toString()),
+                customerImportPlan(), 3, { batches << it.size() })
+
+        then:
+        count == 5
+        batches == [3, 2]
+        loadCustomerNames() == customers.collect { it.name }.sort()
+    }
+
+    def "JSON compacted for the whole array is imported in batches"() {
+        def customer = createCustomers(1)[0]
+        (1..3).each {
+            def order = dataManager.create(Order)
+            order.number = "order-$it"
+            order.customer = customer
+            dataManager.save(order)
+        }
+        def orders = dataManager.load(Order)
+                .all()
+                .fetchPlan { it.addFetchPlan(FetchPlan.LOCAL).add('customer', FetchPlan.LOCAL) }
+                .list()
+        def json = entitySerialization.toJson(orders, null, EntitySerializationOption.COMPACT_REPEATED_ENTITIES)
+
+        def importPlan = entityImportPlans.builder(Order)
+                .addLocalProperties()
+                .addManyToOneProperty('customer', customerImportPlan())
+                .build()
+
+        when:
+        def count = entityImportExport.importEntitiesFromJson(new StringReader(json), importPlan, 1, null)
+
+        then:
+        count == 3
+        dataManager.load(Order)
+                .all()
+                .fetchPlan { it.addFetchPlan(FetchPlan.LOCAL).add('customer', FetchPlan.LOCAL) }
+                .list()
+                .every { it.customer == customer && it.customer.name == customer.name }
+    }
+
+    def "entities imported into save context resolve existing entities and references in several batches"() {
+        def saveContext = new SaveContext()
+        def customers = (1..600).collect {
+            def customer = dataManager.create(Customer)
+            customer.name = "customer-$it"
+            saveContext.saving(customer)
+            customer
+        }
+        dataManager.save(saveContext)
+
+        def entities = [:]
+        def customerPlan = customerImportPlan()
+        customers.each {
+            def customer = dataManager.create(Customer)
+            customer.id = it.id
+            customer.name = "${it.name}-changed"
+            entities[customer] = customerPlan
+        }
+        def orderPlan = entityImportPlans.builder(Order)
+                .addLocalProperties()
+                .addManyToOneProperty('customer', ReferenceImportBehaviour.ERROR_ON_MISSING)
+                .build()
+        def orders = customers.collect {
+            def customer = dataManager.create(Customer)
+            customer.id = it.id
+            def order = dataManager.create(Order)
+            order.number = "order-${it.name}"
+            order.customer = customer
+            entities[order] = orderPlan
+            order
+        }
+
+        def importContext = new SaveContext()
+
+        when:
+        entityImportExport.importEntitiesIntoSaveContext(importContext, entities, false, false)
+
+        then:
+        def imported = importContext.entitiesToSave.collectEntries { [(it.id): it] }
+        customers.every {
+            def customer = imported[it.id]
+            customer != null && !entityStates.isNew(customer) && customer.name == "${it.name}-changed"
+        }
+        orders.every {
+            def order = imported[it.id]
+            order != null && entityStates.isNew(order) && order.customer.id == it.customer.id
+        }
+    }
+
+    def "repeated entities resolver keeps a limited number of entities"() {
+        def resolver = new EntityImportExportImpl.RepeatedEntitiesResolver(2)
+
+        when:
+        resolver.resolve(JsonParser.parseString('''[
+            {"_entityName": "sales_Customer", "id": "1", "name": "c1"},
+            {"_entityName": "sales_Customer", "id": "2", "name": "c2"},
+            {"_entityName": "sales_Customer", "id": "3", "name": "c3"}
+        ]''').asJsonArray)
+
+        then:
+        resolver.entities.keySet() == ['sales_Customer-"2"', 'sales_Customer-"3"'] as Set
+
+        when:
+        def batch = JsonParser.parseString('''[
+            {"_entityName": "sales_Order", "id": "4", "customer": {"_entityName": "sales_Customer", "id": "3"}}
+        ]''').asJsonArray
+        resolver.resolve(batch)
+
+        then:
+        batch[0].asJsonObject.getAsJsonObject('customer').get('name').asString == 'c3'
+    }
+
+    def "repeated entities resolver stops keeping entities if they are compacted for each element"() {
+        def resolver = new EntityImportExportImpl.RepeatedEntitiesResolver(100)
+
+        when:
+        resolver.resolve(JsonParser.parseString('''[
+            {"_entityName": "sales_Order", "id": "1", "customer": {"_entityName": "sales_Customer", "id": "3", "name": "c3"}},
+            {"_entityName": "sales_Order", "id": "2", "customer": {"_entityName": "sales_Customer", "id": "3", "name": "c3"}}
+        ]''').asJsonArray)
+
+        then:
+        resolver.disabled
+        resolver.entities.isEmpty()
+    }
+
+    def "ZIP export with the fetch plan is imported from bytes"() {
+        def customer = createCustomers(1)[0]
+        (1..3).each {
+            def order = dataManager.create(Order)
+            order.number = "order-$it"
+            order.customer = customer
+            dataManager.save(order)
+        }
+        def orders = dataManager.load(Order).all().list()
+        def fetchPlan = fetchPlans.builder(Order)
+                .addFetchPlan(FetchPlan.LOCAL)
+                .add('customer', FetchPlan.LOCAL)
+                .build()
+        def zipBytes = entityImportExport.exportEntitiesToZIP(orders, fetchPlan)
+        jdbc.update('delete from SALES_ORDER')
+
+        def importPlan = entityImportPlans.builder(Order)
+                .addLocalProperties()
+                .addManyToOneProperty('customer', ReferenceImportBehaviour.ERROR_ON_MISSING)
+                .build()
+
+        when:
+        def imported = entityImportExport.importEntitiesFromZIP(zipBytes, importPlan)
+
+        then:
+        imported.size() == 3
+        dataManager.load(Order)
+                .all()
+                .fetchPlan(fetchPlan)
+                .list()
+                .every { it.customer == customer }
+    }
+
+    private List<Object> createCustomers(int count) {
+        def customers = []
+        (1..count).each {
+            def customer = dataManager.create(Customer)
+            customer.name = "customer-$it"
+            customers << dataManager.save(customer)
+        }
+        customers
+    }
+
+    private EntityImportPlan customerImportPlan() {
+        entityImportPlans.builder(Customer).addLocalProperties().build()
+    }
+
+    private List<String> loadCustomerNames() {
+        dataManager.load(Customer).all().list().collect { it.name }.sort()
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package jpql_transform
+
+import io.jmix.data.QueryTransformer
+import io.jmix.data.QueryTransformerFactory
+import io.jmix.data.impl.jpql.DomainModel
+import io.jmix.data.impl.jpql.DomainModelBuilder
+import io.jmix.data.impl.jpql.transform.QueryTransformerAstBased
+import io.micrometer.core.instrument.MeterRegistry
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.beans.factory.annotation.Qualifier
+import test_support.DataSpec
+
+class QueryTreeCacheTest extends DataSpec {
+
+    @Autowired
+    QueryTransformerFactory queryTransformerFactory
+
+    @Autowired
+    @Qualifier("regular")
+    DomainModelBuilder domainModelBuilder
+
+    @Autowired
+    MeterRegistry meterRegistry
+
+    def "transformations of a cached query do not affect each other"() {
+        def query = 'select o from sales_Order o where o.number like :number order by o.date'
+        DomainModel domainModel = domainModelBuilder.produce()
+
+        when:
+        def transformer1 = queryTransformerFactory.transformer(query)
+        transformer1.addWhere('{E}.amount > :amount')
+
+        def transformer2 = queryTransformerFactory.transformer(query)
+        transformer2.replaceWithCount()
+
+        def transformer3 = queryTransformerFactory.transformer(query)
+
+        // created without the cache
+        QueryTransformer expected1 = new QueryTransformerAstBased(domainModel, query)
+        expected1.addWhere('{E}.amount > :amount')
+        QueryTransformer expected2 = new QueryTransformerAstBased(domainModel, query)
+        expected2.replaceWithCount()
+        QueryTransformer expected3 = new QueryTransformerAstBased(domainModel, query)
+
+        then:
+        transformer1.getResult() == expected1.getResult()
+        transformer2.getResult() == expected2.getResult()
+        transformer3.getResult() == expected3.getResult()
+        transformer1.getResult() != transformer3.getResult()
+        transformer2.getResult() != transformer3.getResult()
+    }
+
+    def "query is parsed once"() {
+        def query = 'select c from sales_Customer c where c.name = :name and c.id <> :id'
+        def parseTimer = meterRegistry.get('jmix.QueryTreeCache.parse').timer()
+
+        when:
+        def paramNames = queryTransformerFactory.parser(query).getParamNames()
+        def parseCount = parseTimer.count()
+
+        def cachedParamNames = queryTransformerFactory.parser(query).getParamNames()
+        def transformer = queryTransformerFactory.transformer(query.replace(' where ', '\nwhere '))
+        transformer.addWhere('{E}.name is not null')
+
+        then:
+        parseCount > 0
+        parseTimer.count() == parseCount
+        cachedParamNames == paramNames
+        transformer.getResult().contains('is not null')
+    }
+}
@@ -119,6 +119,25 @@ class NumberIdConcurrencyTest extends DataSpec {
         DataConfigPropertiesAccess.setNumberIdCacheSize(dataProperties, 100)
     }
 
+    def "generating ids with increment 20 and prefetching"() {
+
+        DataConfigPropertiesAccess.setNumberIdCacheSize(dataProperties, 20)
+        DataConfigPropertiesAccess.setNumberIdCachePrefetchThreshold(dataProperties, 5)
+
+        when:
+
+        generateSomeEntities(500)
+
+        then:
+
+        countEntities() == 500
+
+        cleanup:
+
+        DataConfigPropertiesAccess.setNumberIdCacheSize(dataProperties, 100)
+        DataConfigPropertiesAccess.setNumberIdCachePrefetchThreshold(dataProperties, 0)
+    }
+
     def "generate with zero size cache"() {
         DataConfigPropertiesAccess.setNumberIdCacheSize(dataProperties, 0)
 
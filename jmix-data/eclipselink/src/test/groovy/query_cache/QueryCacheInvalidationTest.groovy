@@ -0,0 +1,84 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package query_cache
+
+import io.jmix.eclipselink.impl.entitycache.QueryCache
+import io.jmix.eclipselink.impl.entitycache.QueryKey
+import io.jmix.eclipselink.impl.entitycache.QueryResult
+import org.springframework.beans.factory.annotation.Autowired
+import test_support.DataSpec
+
+class QueryCacheInvalidationTest extends DataSpec {
+
+    @Autowired
+    QueryCache queryCache
+
+    void cleanup() {
+        queryCache.invalidateAll()
+    }
+
+    def "invalidation by type evicts only queries related to the type"() {
+        given:
+        def customerKey = createKey('select c from sales_Customer c')
+        def orderKey = createKey('select o from sales_Order o join o.customer c')
+        def productKey = createKey('select p from sales_Product p')
+
+        queryCache.put(customerKey, new QueryResult([], 'sales_Customer', ['sales_Customer'] as Set))
+        queryCache.put(orderKey, new QueryResult([], 'sales_Order', ['sales_Order', 'sales_Customer'] as Set))
+        queryCache.put(productKey, new QueryResult([], 'sales_Product', ['sales_Product'] as Set))
+
+        def evictionCount = queryCache.evictionCount
+
+        when:
+        queryCache.invalidate('sales_Customer')
+
+        then:
+        queryCache.get(customerKey) == null
+        queryCache.get(orderKey) == null
+        queryCache.get(productKey) != null
+        queryCache.size() == 1
+        queryCache.evictionCount == evictionCount + 2
+
+        when:
+        queryCache.invalidate('sales_Order')
+
+        then:
+        queryCache.get(productKey) != null
+        queryCache.evictionCount == evictionCount + 2
+    }
+
+    def "hits and misses are counted"() {
+        given:
+        def key = createKey('select c from sales_Customer c')
+        def hitCount = queryCache.hitCount
+        def missCount = queryCache.missCount
+
+        when:
+        queryCache.get(key)
+        queryCache.put(key, new QueryResult([], 'sales_Customer', ['sales_Customer'] as Set))
+        queryCache.get(key)
+        queryCache.get(key)
+
+        then:
+        queryCache.missCount == missCount + 1
+        queryCache.hitCount == hitCount + 2
+    }
+
+    private static QueryKey createKey(String queryString) {
+        new QueryKey(queryString, 0, 0, true, false, null, null, [:])
+    }
+}
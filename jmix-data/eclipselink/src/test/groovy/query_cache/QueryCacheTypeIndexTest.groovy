@@ -0,0 +1,164 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package query_cache
+
+import io.jmix.eclipselink.impl.entitycache.QueryKey
+import io.jmix.eclipselink.impl.entitycache.QueryResult
+import io.jmix.eclipselink.impl.entitycache.StandardQueryCache
+import org.springframework.beans.factory.annotation.Autowired
+import test_support.DataSpec
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+class QueryCacheTypeIndexTest extends DataSpec {
+
+    @Autowired
+    StandardQueryCache queryCache
+
+    void cleanup() {
+        queryCache.invalidateAll()
+    }
+
+    def "invalidation by type evicts queries through the index"() {
+        given:
+        def customerKey = createKey('select c from sales_Customer c')
+        def productKey = createKey('select p from sales_Product p')
+
+        queryCache.put(customerKey, new QueryResult([], 'sales_Customer', ['sales_Customer'] as Set))
+        queryCache.put(productKey, new QueryResult([], 'sales_Product', ['sales_Product'] as Set))
+
+        when:
+        queryCache.invalidate('sales_Customer')
+
+        then:
+        queryCache.get(customerKey) == null
+        queryCache.get(productKey) != null
+        queryCache.keyIndex.keySet() == [productKey] as Set
+        !queryCache.typeIndex.containsKey('sales_Customer')
+    }
+
+    def "index entries of queries evicted by the cache provider are removed"() {
+        given:
+        def keys = (0..StandardQueryCache.MIN_INDEX_PRUNE_THRESHOLD).collect { createKey("select c from sales_Customer c where c.id = $it") }
+        keys.each { queryCache.put(it, new QueryResult([], 'sales_Customer', ['sales_Customer'] as Set)) }
+
+        when: "entries are evicted by the provider without notification"
+        keys.each { queryCache.queries.evict(it) }
+        def lastKey = createKey('select p from sales_Product p')
+        queryCache.put(lastKey, new QueryResult([], 'sales_Product', ['sales_Product'] as Set))
+
+        then:
+        queryCache.keyIndex.keySet() == [lastKey] as Set
+        queryCache.typeIndex.keySet() == ['sales_Product'] as Set
+    }
+
+    def "keys removed by the cache provider are dropped from the index in batches"() {
+        given:
+        def keys = (0..<250).collect { createKey("select c from sales_Customer c where c.id = $it") }
+        keys.each { queryCache.put(it, new QueryResult([], 'sales_Customer', ['sales_Customer'] as Set)) }
+
+        when: "the provider reports removed entries"
+        keys.each {
+            queryCache.queries.evict(it)
+            queryCache.removedKeys.add(it)
+            queryCache.removedKeysCount.incrementAndGet()
+        }
+        def lastKey = createKey('select p from sales_Product p')
+        queryCache.put(lastKey, new QueryResult([], 'sales_Product', ['sales_Product'] as Set))
+
+        then: "a single put removes one batch of keys"
+        queryCache.keyIndex.size() == 250 - StandardQueryCache.REMOVED_KEYS_BATCH_SIZE + 1
+        queryCache.removedKeysCount.get() == 250 - StandardQueryCache.REMOVED_KEYS_BATCH_SIZE
+    }
+
+    def "put skips the index clean up while another thread holds the index lock"() {
+        given:
+        def keys = (0..<StandardQueryCache.REMOVED_KEYS_BATCH_SIZE).collect { createKey("select c from sales_Customer c where c.id = $it") }
+        keys.each {
+            queryCache.removedKeys.add(it)
+            queryCache.removedKeysCount.incrementAndGet()
+        }
+        def executor = Executors.newSingleThreadExecutor()
+        def locked = new CountDownLatch(1)
+        def release = new CountDownLatch(1)
+        def lockHolder = executor.submit {
+            queryCache.indexLock.readLock().lock()
+            try {
+                locked.countDown()
+                release.await()
+            } finally {
+                queryCache.indexLock.readLock().unlock()
+            }
+        }
+        locked.await()
+
+        when: "a query is put while another put holds the lock"
+        queryCache.put(createKey('select p from sales_Product p'), new QueryResult([], 'sales_Product', ['sales_Product'] as Set))
+
+        then: "the put does not wait and leaves removed keys for the next put"
+        queryCache.removedKeysCount.get() == StandardQueryCache.REMOVED_KEYS_BATCH_SIZE
+
+        when:
+        release.countDown()
+        lockHolder.get(10, TimeUnit.SECONDS)
+        queryCache.put(createKey('select p from sales_Product p where p.id = 1'), new QueryResult([], 'sales_Product', ['sales_Product'] as Set))
+
+        then:
+        queryCache.removedKeysCount.get() == 0
+
+        cleanup:
+        release.countDown()
+        executor.shutdown()
+    }
+
+    def "queries put concurrently with invalidation are not left without index entries"() {
+        given:
+        def executor = Executors.newFixedThreadPool(4)
+        def start = new CountDownLatch(1)
+
+        when:
+        def futures = (0..<4).collect { thread ->
+            executor.submit {
+                start.await()
+                for (int i = 0; i < 500; i++) {
+                    if (thread == 0) {
+                        queryCache.invalidate('sales_Customer')
+                    } else {
+                        queryCache.put(createKey("select c from sales_Customer c where c.id = $thread$i"),
+                                new QueryResult([], 'sales_Customer', ['sales_Customer'] as Set))
+                    }
+                }
+            }
+        }
+        start.countDown()
+        futures.each { it.get(30, TimeUnit.SECONDS) }
+        queryCache.invalidate('sales_Customer')
+
+        then:
+        queryCache.size() == 0
+
+        cleanup:
+        executor.shutdown()
+    }
+
+    private static QueryKey createKey(String queryString) {
+        new QueryKey(queryString, 0, 0, true, false, null, null, [:])
+    }
+}
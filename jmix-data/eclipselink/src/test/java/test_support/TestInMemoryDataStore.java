@@ -21,12 +21,14 @@ import io.jmix.core.entity.EntityValues;
 import io.jmix.core.entity.KeyValueEntity;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 
 import org.springframework.lang.Nullable;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 @Component("test_InMemoryDataStore")
 @Scope(BeanDefinition.SCOPE_PROTOTYPE)
@@ -36,6 +38,8 @@ public class TestInMemoryDataStore implements DataStore {
 
     private Map<String, Map<Object, Object>> entities = new ConcurrentHashMap<>();
 
+    private List<String> loadingContexts = new CopyOnWriteArrayList<>();
+
     @Autowired
     private Metadata metadata;
 
@@ -61,6 +65,7 @@ public class TestInMemoryDataStore implements DataStore {
 
     @Override
     public List<Object> loadList(LoadContext<?> context) {
+        loadingContexts.add(Thread.currentThread().getName() + " " + LocaleContextHolder.getLocale());
         Map<Object, Object> instances = entities.get(context.getEntityMetaClass().getName());
         if (instances == null)
             return Collections.emptyList();
@@ -113,7 +118,15 @@ public class TestInMemoryDataStore implements DataStore {
         return 0;
     }
 
+    /**
+     * Returns thread names and locales of {@link #loadList(LoadContext)} invocations.
+     */
+    public List<String> getLoadingContexts() {
+        return loadingContexts;
+    }
+
     public void clear() {
         entities.clear();
+        loadingContexts.clear();
     }
 }
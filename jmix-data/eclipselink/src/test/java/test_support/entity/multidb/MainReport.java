@@ -48,6 +48,14 @@ public class MainReport {
     @Column(name = "DB1_ORDER_ID")
     private Long db1OrderId;
 
+    @Transient
+    @JmixProperty
+    @DependsOnProperties("mem1CustomerId")
+    private Mem1Customer mem1Customer;
+
+    @Column(name = "MEM_CUST_ID")
+    private UUID mem1CustomerId;
+
     public UUID getId() {
         return id;
     }
@@ -79,4 +87,20 @@ public class MainReport {
     public void setDb1OrderId(Long db1OrderId) {
         this.db1OrderId = db1OrderId;
     }
+
+    public Mem1Customer getMem1Customer() {
+        return mem1Customer;
+    }
+
+    public void setMem1Customer(Mem1Customer mem1Customer) {
+        this.mem1Customer = mem1Customer;
+    }
+
+    public UUID getMem1CustomerId() {
+        return mem1CustomerId;
+    }
+
+    public void setMem1CustomerId(UUID mem1CustomerId) {
+        this.mem1CustomerId = mem1CustomerId;
+    }
 }
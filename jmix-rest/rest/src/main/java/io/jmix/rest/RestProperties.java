@@ -46,17 +46,40 @@ public class RestProperties {
     private final int defaultMaxFetchSize;
     private final Map<String, Integer> entityMaxFetchSize;
 
+    /**
+     * Whether the entities list and search endpoints load entities in pages and write them to the response
+     * incrementally instead of building the whole JSON in memory.
+     */
+    private final boolean entitiesStreamingEnabled;
+
+    /**
+     * Number of entities loaded from the database at once when {@link #entitiesStreamingEnabled} is true.
+     */
+    private final int entitiesStreamingPageSize;
+
+    /**
+     * Whether the entity and entities list endpoints return an ETag computed from the versions of the loaded entities
+     * and respond with 304 Not Modified to conditional requests with a matching {@code If-None-Match} header.
+     */
+    private final boolean entitiesEtagEnabled;
+
     public RestProperties(
             @DefaultValue("*") String[] allowedOrigins,
             @DefaultValue("false") boolean optimisticLockingEnabled,
             @DefaultValue("true") boolean responseFetchPlanEnabled,
             @DefaultValue("10000") int defaultMaxFetchSize,
-            @Nullable Map<String, Integer> entityMaxFetchSize) {
+            @Nullable Map<String, Integer> entityMaxFetchSize,
+            @DefaultValue("false") boolean entitiesStreamingEnabled,
+            @DefaultValue("500") int entitiesStreamingPageSize,
+            @DefaultValue("false") boolean entitiesEtagEnabled) {
         this.allowedOrigins = allowedOrigins;
         this.optimisticLockingEnabled = optimisticLockingEnabled;
         this.responseFetchPlanEnabled = responseFetchPlanEnabled;
         this.defaultMaxFetchSize = defaultMaxFetchSize;
         this.entityMaxFetchSize = entityMaxFetchSize == null ? Collections.emptyMap() : entityMaxFetchSize;
+        this.entitiesStreamingEnabled = entitiesStreamingEnabled;
+        this.entitiesStreamingPageSize = entitiesStreamingPageSize;
+        this.entitiesEtagEnabled = entitiesEtagEnabled;
     }
 
     /**
@@ -86,4 +109,25 @@ public class RestProperties {
     public int getEntityMaxFetchSize(String entityName) {
         return entityMaxFetchSize.getOrDefault(entityName, defaultMaxFetchSize);
     }
+
+    /**
+     * @see #entitiesStreamingEnabled
+     */
+    public boolean isEntitiesStreamingEnabled() {
+        return entitiesStreamingEnabled;
+    }
+
+    /**
+     * @see #entitiesStreamingPageSize
+     */
+    public int getEntitiesStreamingPageSize() {
+        return entitiesStreamingPageSize;
+    }
+
+    /**
+     * @see #entitiesEtagEnabled
+     */
+    public boolean isEntitiesEtagEnabled() {
+        return entitiesEtagEnabled;
+    }
 }
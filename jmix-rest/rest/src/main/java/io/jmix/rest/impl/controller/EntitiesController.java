@@ -30,8 +30,14 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import org.springframework.lang.Nullable;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 
 /**
  * Controller that performs CRUD entity operations
@@ -50,7 +56,13 @@ public class EntitiesController {
                              @RequestParam(required = false) String fetchPlan,
                              @RequestParam(required = false) Boolean returnNulls,
                              @RequestParam(required = false) Boolean dynamicAttributes,
-                             @RequestParam(required = false) String modelVersion) {
+                             @RequestParam(required = false) String modelVersion,
+                             WebRequest webRequest) {
+        String eTag = entitiesControllerManager.getEntityETag(entityName, entityId, StringUtils.defaultString(fetchPlan, view),
+                returnNulls, dynamicAttributes, modelVersion);
+        if (eTag != null && webRequest.checkNotModified(eTag)) {
+            return null;
+        }
         return entitiesControllerManager.loadEntity(entityName, entityId, StringUtils.defaultString(fetchPlan, view),
                 returnNulls, dynamicAttributes, modelVersion);
     }
@@ -65,14 +77,17 @@ public class EntitiesController {
                                                    @RequestParam(required = false) Boolean returnNulls,
                                                    @RequestParam(required = false) Boolean returnCount,
                                                    @RequestParam(required = false) Boolean dynamicAttributes,
-                                                   @RequestParam(required = false) String modelVersion) {
+                                                   @RequestParam(required = false) String modelVersion,
+                                                   WebRequest webRequest,
+                                                   HttpServletResponse response) throws IOException {
+        String eTag = entitiesControllerManager.getEntitiesListETag(entityName, StringUtils.defaultString(fetchPlan, view),
+                limit, offset, sort, returnNulls, returnCount, dynamicAttributes, modelVersion);
+        if (eTag != null && webRequest.checkNotModified(eTag)) {
+            return null;
+        }
         EntitiesSearchResult entitiesSearchResult = entitiesControllerManager.loadEntitiesList(entityName, StringUtils.defaultString(fetchPlan, view), limit,
                 offset, sort, returnNulls, returnCount, dynamicAttributes, modelVersion);
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(HttpStatus.OK);
-        if (BooleanUtils.isTrue(returnCount)) {
-            responseBuilder.header("X-Total-Count", entitiesSearchResult.getCount().toString());
-        }
-        return responseBuilder.body(entitiesSearchResult.getJson());
+        return createEntitiesListResponse(entitiesSearchResult, BooleanUtils.isTrue(returnCount), response);
     }
 
     @GetMapping("/{entityName}/search")
@@ -86,14 +101,17 @@ public class EntitiesController {
                                                         @RequestParam(required = false) Boolean returnNulls,
                                                         @RequestParam(required = false) Boolean returnCount,
                                                         @RequestParam(required = false) Boolean dynamicAttributes,
-                                                        @RequestParam(required = false) String modelVersion) {
+                                                        @RequestParam(required = false) String modelVersion,
+                                                        WebRequest webRequest,
+                                                        HttpServletResponse response) throws IOException {
+        String eTag = entitiesControllerManager.getSearchEntitiesETag(entityName, filter, StringUtils.defaultString(fetchPlan, view),
+                limit, offset, sort, returnNulls, returnCount, dynamicAttributes, modelVersion);
+        if (eTag != null && webRequest.checkNotModified(eTag)) {
+            return null;
+        }
         EntitiesSearchResult entitiesSearchResult = entitiesControllerManager.searchEntities(entityName, filter,
                 StringUtils.defaultString(fetchPlan, view), limit, offset, sort, returnNulls, returnCount, dynamicAttributes, modelVersion);
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(HttpStatus.OK);
-        if (BooleanUtils.isTrue(returnCount)) {
-            responseBuilder.header("X-Total-Count", entitiesSearchResult.getCount().toString());
-        }
-        return responseBuilder.body(entitiesSearchResult.getJson());
+        return createEntitiesListResponse(entitiesSearchResult, BooleanUtils.isTrue(returnCount), response);
     }
 
     @GetMapping("/{entityName}/search/count")
@@ -105,15 +123,12 @@ public class EntitiesController {
 
     @PostMapping("/{entityName}/search")
     public ResponseEntity<String> searchEntitiesListPost(@PathVariable String entityName,
-                                                         @RequestBody String requestBodyJson) {
+                                                         @RequestBody String requestBodyJson,
+                                                         HttpServletResponse response) throws IOException {
         EntitiesSearchResult entitiesSearchResult = entitiesControllerManager.searchEntities(entityName, requestBodyJson);
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(HttpStatus.OK);
         JsonObject requestJsonObject = new JsonParser().parse(requestBodyJson).getAsJsonObject();
         JsonPrimitive returnCount = requestJsonObject.getAsJsonPrimitive("returnCount");
-        if (returnCount != null && returnCount.getAsBoolean()) {
-            responseBuilder.header("X-Total-Count", entitiesSearchResult.getCount().toString());
-        }
-        return responseBuilder.body(entitiesSearchResult.getJson());
+        return createEntitiesListResponse(entitiesSearchResult, returnCount != null && returnCount.getAsBoolean(), response);
     }
 
     @PostMapping("/{entityName}/search/count")
@@ -172,4 +187,32 @@ public class EntitiesController {
         entitiesControllerManager.deleteEntities(entityName, entitiesIdJson, modelVersion);
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * Returns a response entity with the JSON of the result. A streaming result is written directly to the servlet
+     * response, and null is returned to indicate that the request has been handled.
+     */
+    @Nullable
+    protected ResponseEntity<String> createEntitiesListResponse(EntitiesSearchResult entitiesSearchResult,
+                                                                boolean returnCount,
+                                                                HttpServletResponse response) throws IOException {
+        if (entitiesSearchResult.isStreaming()) {
+            response.setStatus(HttpStatus.OK.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            if (returnCount) {
+                response.setHeader("X-Total-Count", entitiesSearchResult.getCount().toString());
+            }
+            Writer writer = response.getWriter();
+            entitiesSearchResult.writeJson(writer);
+            writer.flush();
+            return null;
+        }
+
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(HttpStatus.OK);
+        if (returnCount) {
+            responseBuilder.header("X-Total-Count", entitiesSearchResult.getCount().toString());
+        }
+        return responseBuilder.body(entitiesSearchResult.getJson());
+    }
 }
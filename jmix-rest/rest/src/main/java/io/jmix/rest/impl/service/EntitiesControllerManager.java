@@ -18,18 +18,24 @@ package io.jmix.rest.impl.service;
 
 import com.google.common.base.Splitter;
 import com.google.common.base.Strings;
+import com.google.common.collect.Lists;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
 import com.google.gson.*;
 import io.jmix.core.*;
 import io.jmix.core.accesscontext.CrudEntityContext;
 import io.jmix.core.common.datastruct.Pair;
 import io.jmix.core.common.util.Preconditions;
 import io.jmix.core.entity.EntityValues;
+import io.jmix.core.entity.KeyValueEntity;
+import io.jmix.core.impl.EntitiesByIdsLoader;
 import io.jmix.core.impl.importexport.EntityImportException;
 import io.jmix.core.impl.importexport.EntityImportPlanJsonBuilder;
 import io.jmix.core.impl.serialization.EntitySerializationException;
 import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.metamodel.model.MetaProperty;
 import io.jmix.core.metamodel.model.MetaPropertyPath;
+import io.jmix.core.security.CurrentAuthentication;
 import io.jmix.core.validation.EntityValidationException;
 import io.jmix.core.validation.group.RestApiChecks;
 import io.jmix.rest.RestProperties;
@@ -51,11 +57,14 @@ import org.springframework.web.util.UriComponents;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import org.springframework.lang.Nullable;
+import jakarta.persistence.Version;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
 import jakarta.validation.Validator;
 import jakarta.validation.groups.Default;
+import java.io.IOException;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -72,6 +81,9 @@ public class EntitiesControllerManager {
     @Autowired
     protected DataManager dataManager;
 
+    @Autowired
+    protected EntitiesByIdsLoader entitiesByIdsLoader;
+
     @Autowired
     protected Metadata metadata;
 
@@ -111,6 +123,9 @@ public class EntitiesControllerManager {
     @Autowired
     protected Validator validator;
 
+    @Autowired
+    protected CurrentAuthentication currentAuthentication;
+
     public String loadEntity(String entityName,
                              String entityId,
                              @Nullable String viewName,
@@ -146,6 +161,196 @@ public class EntitiesControllerManager {
         return json;
     }
 
+    /**
+     * Returns a weak ETag of the entity computed from its version, or null if the ETag cannot be computed: ETags are
+     * disabled, the entity is not versioned, has a composite key, dynamic attributes are requested or the entity is
+     * not found. Only the version attribute is loaded, so the check is much cheaper than loading the entity itself.
+     * <p>
+     * The ETag reflects the version of the requested entity only, changes of the referenced entities included by the
+     * fetch plan do not change it.
+     */
+    @Nullable
+    public String getEntityETag(String entityName,
+                                String entityId,
+                                @Nullable String viewName,
+                                @Nullable Boolean returnNulls,
+                                @Nullable Boolean dynamicAttributes,
+                                @Nullable String modelVersion) {
+        if (!restProperties.isEntitiesEtagEnabled() || BooleanUtils.isTrue(dynamicAttributes)) {
+            return null;
+        }
+        String transformedEntityName = restControllerUtils.transformEntityNameIfRequired(entityName, modelVersion, JsonTransformationDirection.FROM_VERSION);
+        MetaClass metaClass = restControllerUtils.getMetaClass(transformedEntityName);
+        checkCanReadEntity(metaClass);
+
+        MetaProperty primaryKeyProperty = metadataTools.getPrimaryKeyProperty(metaClass);
+        MetaProperty versionProperty = getVersionProperty(metaClass);
+        if (primaryKeyProperty == null || !primaryKeyProperty.getRange().isDatatype() || versionProperty == null) {
+            return null;
+        }
+
+        Object id = getIdFromString(entityId, metaClass);
+        List<KeyValueEntity> versions = dataManager.loadValues(String.format("select e.%s from %s e where e.%s = :id",
+                        versionProperty.getName(), transformedEntityName, primaryKeyProperty.getName()))
+                .properties("version")
+                .parameter("id", id)
+                .list();
+        if (versions.isEmpty()) {
+            return null;
+        }
+
+        Hasher hasher = createETagHasher(metaClass, viewName, returnNulls, modelVersion);
+        putETagValue(hasher, id);
+        putETagValue(hasher, versions.get(0).getValue("version"));
+        return createETag(hasher);
+    }
+
+    /**
+     * Returns a weak ETag of the entities list computed from the ids and versions of the entities, or null if the ETag
+     * cannot be computed.
+     *
+     * @see #getEntityETag(String, String, String, Boolean, Boolean, String)
+     */
+    @Nullable
+    public String getEntitiesListETag(String entityName,
+                                      @Nullable String viewName,
+                                      @Nullable Integer limit,
+                                      @Nullable Integer offset,
+                                      @Nullable String sort,
+                                      @Nullable Boolean returnNulls,
+                                      @Nullable Boolean returnCount,
+                                      @Nullable Boolean dynamicAttributes,
+                                      @Nullable String modelVersion) {
+        if (!restProperties.isEntitiesEtagEnabled() || BooleanUtils.isTrue(dynamicAttributes)) {
+            return null;
+        }
+        entityName = restControllerUtils.transformEntityNameIfRequired(entityName, modelVersion, JsonTransformationDirection.FROM_VERSION);
+        MetaClass metaClass = restControllerUtils.getMetaClass(entityName);
+        checkCanReadEntity(metaClass);
+
+        String queryString = "select e from " + entityName + " e";
+        return _getEntitiesListETag(queryString, viewName, limit, offset, sort, returnNulls, returnCount, modelVersion,
+                metaClass, new HashMap<>());
+    }
+
+    /**
+     * Returns a weak ETag of the entities search result computed from the ids and versions of the found entities,
+     * or null if the ETag cannot be computed.
+     *
+     * @see #getEntityETag(String, String, String, Boolean, Boolean, String)
+     */
+    @Nullable
+    public String getSearchEntitiesETag(String entityName,
+                                        String filterJson,
+                                        @Nullable String viewName,
+                                        @Nullable Integer limit,
+                                        @Nullable Integer offset,
+                                        @Nullable String sort,
+                                        @Nullable Boolean returnNulls,
+                                        @Nullable Boolean returnCount,
+                                        @Nullable Boolean dynamicAttributes,
+                                        @Nullable String modelVersion) {
+        if (!restProperties.isEntitiesEtagEnabled() || BooleanUtils.isTrue(dynamicAttributes) || filterJson == null) {
+            return null;
+        }
+        entityName = restControllerUtils.transformEntityNameIfRequired(entityName, modelVersion, JsonTransformationDirection.FROM_VERSION);
+        MetaClass metaClass = restControllerUtils.getMetaClass(entityName);
+        checkCanReadEntity(metaClass);
+
+        RestFilterParseResult filterParseResult = parseEntitiesFilter(filterJson, metaClass);
+        String jpqlWhere = filterParseResult.getJpqlWhere();
+
+        String queryString = "select e from " + entityName + " e";
+        if (jpqlWhere != null) {
+            queryString += " where " + jpqlWhere.replace("{E}", "e");
+        }
+        return _getEntitiesListETag(queryString, viewName, limit, offset, sort, returnNulls, returnCount, modelVersion,
+                metaClass, filterParseResult.getQueryParameters());
+    }
+
+    /**
+     * Executes the entities list query selecting only ids and versions with the same sorting and paging as
+     * {@link #_loadEntitiesList(String, String, Integer, Integer, String, Boolean, Boolean, String, MetaClass, Map)}
+     * and hashes the result.
+     */
+    @Nullable
+    protected String _getEntitiesListETag(String queryString,
+                                          @Nullable String viewName,
+                                          @Nullable Integer limit,
+                                          @Nullable Integer offset,
+                                          @Nullable String sort,
+                                          @Nullable Boolean returnNulls,
+                                          @Nullable Boolean returnCount,
+                                          @Nullable String modelVersion,
+                                          MetaClass metaClass,
+                                          Map<String, Object> queryParameters) {
+        MetaProperty primaryKeyProperty = metadataTools.getPrimaryKeyProperty(metaClass);
+        MetaProperty versionProperty = getVersionProperty(metaClass);
+        if (primaryKeyProperty == null || !primaryKeyProperty.getRange().isDatatype() || versionProperty == null) {
+            return null;
+        }
+
+        String listSort = restProperties.isEntitiesStreamingEnabled() ? addPrimaryKeySort(sort, primaryKeyProperty) : sort;
+        LoadContext<Object> ctx = createEntitiesListLoadContext(addOrderBy(queryString, listSort, metaClass),
+                viewName, limit, offset, false, metaClass, queryParameters);
+        LoadContext.Query query = ctx.getQuery();
+
+        String versionsQueryString = String.format("select e.%s, e.%s", primaryKeyProperty.getName(), versionProperty.getName())
+                + query.getQueryString().substring("select e".length());
+        List<KeyValueEntity> versions = dataManager.loadValues(versionsQueryString)
+                .properties("id", "version")
+                .setParameters(query.getParameters())
+                .firstResult(query.getFirstResult())
+                .maxResults(query.getMaxResults())
+                .list();
+
+        Hasher hasher = createETagHasher(metaClass, viewName, returnNulls, modelVersion);
+        for (KeyValueEntity version : versions) {
+            putETagValue(hasher, version.getValue("id"));
+            putETagValue(hasher, version.getValue("version"));
+        }
+        if (BooleanUtils.isTrue(returnCount)) {
+            putETagValue(hasher, getEntitiesCount(queryString, metaClass, queryParameters));
+        }
+        return createETag(hasher);
+    }
+
+    /**
+     * Creates a hasher initialized with the request parameters and the current user attributes that affect the
+     * resulting JSON.
+     */
+    protected Hasher createETagHasher(MetaClass metaClass,
+                                      @Nullable String viewName,
+                                      @Nullable Boolean returnNulls,
+                                      @Nullable String modelVersion) {
+        Hasher hasher = Hashing.murmur3_128().newHasher();
+        putETagValue(hasher, metaClass.getName());
+        putETagValue(hasher, viewName);
+        putETagValue(hasher, BooleanUtils.isTrue(returnNulls));
+        putETagValue(hasher, modelVersion);
+        putETagValue(hasher, currentAuthentication.isSet() ? currentAuthentication.getUser().getUsername() : null);
+        putETagValue(hasher, currentAuthentication.isSet() ? currentAuthentication.getLocale() : null);
+        return hasher;
+    }
+
+    protected void putETagValue(Hasher hasher, @Nullable Object value) {
+        hasher.putString(String.valueOf(value), StandardCharsets.UTF_8).putByte((byte) 0);
+    }
+
+    protected String createETag(Hasher hasher) {
+        return "W/\"" + hasher.hash() + "\"";
+    }
+
+    @Nullable
+    protected MetaProperty getVersionProperty(MetaClass metaClass) {
+        for (MetaProperty metaProperty : metaClass.getProperties()) {
+            if (metaProperty.getAnnotatedElement().isAnnotationPresent(Version.class)) {
+                return metaProperty;
+            }
+        }
+        return null;
+    }
+
     public EntitiesSearchResult loadEntitiesList(String entityName,
                                                  @Nullable String viewName,
                                                  @Nullable Integer limit,
@@ -160,17 +365,19 @@ public class EntitiesControllerManager {
         checkCanReadEntity(metaClass);
 
         String queryString = "select e from " + entityName + " e";
+        if (restProperties.isEntitiesStreamingEnabled()) {
+            EntitiesSearchResult.JsonWriterCallback jsonWriter = _streamEntitiesList(queryString, viewName, limit, offset,
+                    sort, returnNulls, dynamicAttributes, modelVersion, metaClass, new HashMap<>());
+            Long count = BooleanUtils.isTrue(returnCount) ? getEntitiesCount(queryString, metaClass, null) : null;
+            return new EntitiesSearchResult(jsonWriter, count);
+        }
+
         String json = _loadEntitiesList(queryString, viewName, limit, offset, sort, returnNulls, dynamicAttributes, modelVersion,
                 metaClass, new HashMap<>());
 
         json = restControllerUtils.transformJsonIfRequired(entityName, modelVersion, JsonTransformationDirection.TO_VERSION, json);
 
-        Long count = null;
-        if (BooleanUtils.isTrue(returnCount)) {
-            LoadContext ctx = new LoadContext(metadata.getClass(metaClass.getJavaClass()))
-                    .setQuery(new LoadContext.Query(queryString));
-            count = dataManager.getCount(ctx);
-        }
+        Long count = BooleanUtils.isTrue(returnCount) ? getEntitiesCount(queryString, metaClass, null) : null;
         return new EntitiesSearchResult(json, count);
 
     }
@@ -193,12 +400,7 @@ public class EntitiesControllerManager {
         MetaClass metaClass = restControllerUtils.getMetaClass(entityName);
         checkCanReadEntity(metaClass);
 
-        RestFilterParseResult filterParseResult;
-        try {
-            filterParseResult = restFilterParser.parse(filterJson, metaClass);
-        } catch (RestFilterParseException e) {
-            throw new RestAPIException("Cannot parse entities filter", e.getMessage(), HttpStatus.BAD_REQUEST, e);
-        }
+        RestFilterParseResult filterParseResult = parseEntitiesFilter(filterJson, metaClass);
 
         String jpqlWhere = filterParseResult.getJpqlWhere();
         Map<String, Object> queryParameters = filterParseResult.getQueryParameters();
@@ -209,21 +411,37 @@ public class EntitiesControllerManager {
             queryString += " where " + jpqlWhere.replace("{E}", "e");
         }
 
+        if (restProperties.isEntitiesStreamingEnabled()) {
+            EntitiesSearchResult.JsonWriterCallback jsonWriter = _streamEntitiesList(queryString, viewName, limit, offset,
+                    sort, returnNulls, dynamicAttributes, modelVersion, metaClass, queryParameters);
+            Long count = BooleanUtils.isTrue(returnCount) ? getEntitiesCount(queryString, metaClass, queryParameters) : null;
+            return new EntitiesSearchResult(jsonWriter, count);
+        }
+
         String json = _loadEntitiesList(queryString, viewName, limit, offset, sort, returnNulls,
                 dynamicAttributes, modelVersion, metaClass, queryParameters);
-        Long count = null;
-        if (BooleanUtils.isTrue(returnCount)) {
-            LoadContext ctx = new LoadContext(metadata.getClass(metaClass.getJavaClass()))
-                    .setQuery(new LoadContext.Query(queryString));
-            if (queryParameters != null) {
-                ctx.getQuery().setParameters(queryParameters);
-            }
-            count = dataManager.getCount(ctx);
-        }
+        Long count = BooleanUtils.isTrue(returnCount) ? getEntitiesCount(queryString, metaClass, queryParameters) : null;
 
         return new EntitiesSearchResult(json, count);
     }
 
+    protected RestFilterParseResult parseEntitiesFilter(String filterJson, MetaClass metaClass) {
+        try {
+            return restFilterParser.parse(filterJson, metaClass);
+        } catch (RestFilterParseException e) {
+            throw new RestAPIException("Cannot parse entities filter", e.getMessage(), HttpStatus.BAD_REQUEST, e);
+        }
+    }
+
+    protected long getEntitiesCount(String queryString, MetaClass metaClass, @Nullable Map<String, Object> queryParameters) {
+        LoadContext ctx = new LoadContext(metadata.getClass(metaClass.getJavaClass()))
+                .setQuery(new LoadContext.Query(queryString));
+        if (queryParameters != null) {
+            ctx.getQuery().setParameters(queryParameters);
+        }
+        return dataManager.getCount(ctx);
+    }
+
     public Long countSearchEntities(String entityName,
                                     String filterJson,
                                     @Nullable String modelVersion) {
@@ -235,12 +453,7 @@ public class EntitiesControllerManager {
         MetaClass metaClass = restControllerUtils.getMetaClass(entityName);
         checkCanReadEntity(metaClass);
 
-        RestFilterParseResult filterParseResult;
-        try {
-            filterParseResult = restFilterParser.parse(filterJson, metaClass);
-        } catch (RestFilterParseException e) {
-            throw new RestAPIException("Cannot parse entities filter", e.getMessage(), HttpStatus.BAD_REQUEST, e);
-        }
+        RestFilterParseResult filterParseResult = parseEntitiesFilter(filterJson, metaClass);
 
         String jpqlWhere = filterParseResult.getJpqlWhere();
         Map<String, Object> queryParameters = filterParseResult.getQueryParameters();
@@ -305,8 +518,148 @@ public class EntitiesControllerManager {
                                        @Nullable String modelVersion,
                                        MetaClass metaClass,
                                        Map<String, Object> queryParameters) {
+        LoadContext<Object> ctx = createEntitiesListLoadContext(addOrderBy(queryString, sort, metaClass),
+                viewName, limit, offset, dynamicAttributes, metaClass, queryParameters);
+
+        List<Object> entities = dataManager.loadList(ctx);
+
+        String json = entitySerialization.toJson(entities, ctx.getFetchPlan(), getEntitiesListSerializationOptions(returnNulls));
+        json = restControllerUtils.transformJsonIfRequired(metaClass.getName(), modelVersion, JsonTransformationDirection.TO_VERSION, json);
+        return json;
+    }
+
+    /**
+     * Streaming version of the {@link #_loadEntitiesList(String, String, Integer, Integer, String, Boolean, Boolean,
+     * String, MetaClass, Map)}. Each entity is serialized and transformed separately, so the whole list is never
+     * kept in memory.
+     * <p>
+     * Ids of the requested entities are selected at once with the requested sorting and paging, so errors in
+     * the query are reported before the response is committed. Then entities are loaded by these ids in pages of
+     * {@link RestProperties#getEntitiesStreamingPageSize()} size. This keeps the order stable and does not skip or
+     * duplicate entities changed concurrently.
+     */
+    protected EntitiesSearchResult.JsonWriterCallback _streamEntitiesList(String queryString,
+                                                                          @Nullable String viewName,
+                                                                          @Nullable Integer limit,
+                                                                          @Nullable Integer offset,
+                                                                          @Nullable String sort,
+                                                                          @Nullable Boolean returnNulls,
+                                                                          @Nullable Boolean dynamicAttributes,
+                                                                          @Nullable String modelVersion,
+                                                                          MetaClass metaClass,
+                                                                          Map<String, Object> queryParameters) {
+        MetaProperty primaryKeyProperty = metadataTools.getPrimaryKeyProperty(metaClass);
+        boolean pageable = primaryKeyProperty != null && primaryKeyProperty.getRange().isDatatype();
+        String pagingSort = pageable ? addPrimaryKeySort(sort, primaryKeyProperty) : sort;
+        LoadContext<Object> ctx = createEntitiesListLoadContext(addOrderBy(queryString, pagingSort, metaClass),
+                viewName, limit, offset, dynamicAttributes, metaClass, queryParameters);
+
+        FetchPlan fetchPlan = ctx.getFetchPlan();
+        EntitySerializationOption[] serializationOptions = getEntitiesListSerializationOptions(returnNulls);
+        if (!pageable) {
+            List<Object> entities = dataManager.loadList(ctx);
+            return writer -> {
+                writer.write('[');
+                writeEntitiesListPage(writer, entities, true, fetchPlan, serializationOptions, modelVersion, metaClass);
+                writer.write(']');
+            };
+        }
+
+        List<Object> ids = loadEntitiesListIds(ctx, primaryKeyProperty);
+        int pageSize = Math.max(1, restProperties.getEntitiesStreamingPageSize());
+
+        return writer -> {
+            writer.write('[');
+            boolean first = true;
+            for (List<Object> pageIds : Lists.partition(ids, pageSize)) {
+                List<Object> page = loadEntitiesListPage(metaClass, pageIds, fetchPlan, dynamicAttributes);
+                writeEntitiesListPage(writer, page, first, fetchPlan, serializationOptions, modelVersion, metaClass);
+                first = first && page.isEmpty();
+                writer.flush();
+            }
+            writer.write(']');
+        };
+    }
+
+    /**
+     * Selects ids of entities returned by the query of the given context, keeping its sorting and paging.
+     * Zero max results of the query means no limit.
+     */
+    protected List<Object> loadEntitiesListIds(LoadContext<Object> ctx, MetaProperty primaryKeyProperty) {
+        LoadContext.Query query = ctx.getQuery();
+        String idsQueryString = String.format("select e.%s", primaryKeyProperty.getName())
+                + query.getQueryString().substring("select e".length());
+        ValueLoadContext valueLoadContext = ValueLoadContext.create()
+                .setQuery(new ValueLoadContext.Query(idsQueryString)
+                        .setParameters(query.getParameters())
+                        .setFirstResult(query.getFirstResult())
+                        .setMaxResults(query.getMaxResults()));
+        valueLoadContext.setProperties(Collections.singletonList("id"));
+        return dataManager.loadValues(valueLoadContext).stream()
+                .map(keyValueEntity -> keyValueEntity.getValue("id"))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Loads entities by ids in the order of the ids. Entities removed after the ids were selected are skipped.
+     */
+    protected List<Object> loadEntitiesListPage(MetaClass metaClass, List<Object> ids, @Nullable FetchPlan fetchPlan,
+                                                @Nullable Boolean dynamicAttributes) {
+        LoadContext<Object> ctx = new LoadContext<>(metaClass).setIds(new ArrayList<>(ids));
+        if (fetchPlan != null) {
+            ctx.setFetchPlan(fetchPlan);
+        }
+        ctx.setHint("jmix.dynattr", BooleanUtils.isTrue(dynamicAttributes));
+
+        Map<Object, Object> entitiesById = new HashMap<>();
+        for (Object entity : dataManager.loadList(ctx)) {
+            entitiesById.put(EntityValues.getId(entity), entity);
+        }
+        List<Object> entities = new ArrayList<>(ids.size());
+        for (Object id : ids) {
+            Object entity = entitiesById.get(id);
+            if (entity != null) {
+                entities.add(entity);
+            }
+        }
+        return entities;
+    }
+
+    protected void writeEntitiesListPage(Writer writer,
+                                         List<Object> entities,
+                                         boolean firstPage,
+                                         @Nullable FetchPlan fetchPlan,
+                                         EntitySerializationOption[] serializationOptions,
+                                         @Nullable String modelVersion,
+                                         MetaClass metaClass) throws IOException {
+        boolean first = firstPage;
+        for (Object entity : entities) {
+            if (!first) {
+                writer.write(',');
+            }
+            if (Strings.isNullOrEmpty(modelVersion)) {
+                entitySerialization.toJson(entity, writer, fetchPlan, serializationOptions);
+            } else {
+                String json = entitySerialization.toJson(entity, fetchPlan, serializationOptions);
+                writer.write(restControllerUtils.transformJsonIfRequired(metaClass.getName(), modelVersion,
+                        JsonTransformationDirection.TO_VERSION, json));
+            }
+            first = false;
+        }
+    }
+
+    protected String addPrimaryKeySort(@Nullable String sort, MetaProperty primaryKeyProperty) {
+        return Strings.isNullOrEmpty(sort) ? primaryKeyProperty.getName() : sort + "," + primaryKeyProperty.getName();
+    }
+
+    protected LoadContext<Object> createEntitiesListLoadContext(String orderedQueryString,
+                                                                @Nullable String viewName,
+                                                                @Nullable Integer limit,
+                                                                @Nullable Integer offset,
+                                                                @Nullable Boolean dynamicAttributes,
+                                                                MetaClass metaClass,
+                                                                Map<String, Object> queryParameters) {
         LoadContext<Object> ctx = new LoadContext<>(metaClass);
-        String orderedQueryString = addOrderBy(queryString, sort, metaClass);
         LoadContext.Query query = new LoadContext.Query(orderedQueryString);
 
         int limitFromProperties = restProperties.getEntityMaxFetchSize(metaClass.getName());
@@ -326,24 +679,21 @@ public class EntitiesControllerManager {
         }
         ctx.setQuery(query);
 
-        FetchPlan view = null;
         if (!Strings.isNullOrEmpty(viewName)) {
-            view = restControllerUtils.getView(metaClass, viewName);
+            FetchPlan view = restControllerUtils.getView(metaClass, viewName);
             ctx.setFetchPlan(view);
         }
 
         ctx.setHint("jmix.dynattr", BooleanUtils.isTrue(dynamicAttributes));
+        return ctx;
+    }
 
-        List<Object> entities = dataManager.loadList(ctx);
-
+    protected EntitySerializationOption[] getEntitiesListSerializationOptions(@Nullable Boolean returnNulls) {
         List<EntitySerializationOption> serializationOptions = new ArrayList<>();
         serializationOptions.add(SERIALIZE_INSTANCE_NAME);
         serializationOptions.add(DO_NOT_SERIALIZE_DENIED_PROPERTY);
         if (BooleanUtils.isTrue(returnNulls)) serializationOptions.add(EntitySerializationOption.SERIALIZE_NULLS);
-
-        String json = entitySerialization.toJson(entities, view, serializationOptions.toArray(new EntitySerializationOption[0]));
-        json = restControllerUtils.transformJsonIfRequired(metaClass.getName(), modelVersion, JsonTransformationDirection.TO_VERSION, json);
-        return json;
+        return serializationOptions.toArray(new EntitySerializationOption[0]);
     }
 
     protected String addOrderBy(String queryString, @Nullable String sort, MetaClass metaClass) {
@@ -661,19 +1011,28 @@ public class EntitiesControllerManager {
                                                     String transformedEntityName,
                                                     MetaClass metaClass,
                                                     JsonArray entitiesJsonArray) {
-        Map<Object, EntityImportPlan> objectEntityImportPlanMap = new LinkedHashMap<>();
-        Object entity;
-        EntityImportPlan entityImportPlan;
+        String primaryKeyName = Objects.requireNonNull(metadataTools.getPrimaryKeyName(metaClass));
+        List<String> idStrings = new ArrayList<>(entitiesJsonArray.size());
+        List<Object> ids = new ArrayList<>(entitiesJsonArray.size());
         for (JsonElement element : entitiesJsonArray) {
-            String entityJson = element.toString();
             String idString = element.getAsJsonObject()
-                    .get(Objects.requireNonNull(metadataTools.getPrimaryKeyName(metaClass)))
+                    .get(primaryKeyName)
                     .getAsString();
-            Object id = getIdFromString(idString, metaClass);
-            LoadContext<Object> loadContext = new LoadContext<>(metaClass).setId(id);
-            Object existingEntity = dataManager.load(loadContext);
+            idStrings.add(idString);
+            ids.add(getIdFromString(idString, metaClass));
+        }
+
+        //existing entities are checked by a few queries instead of one query per array element
+        Map<Object, Object> existingEntities = loadEntitiesByIds(metaClass, ids);
+
+        Map<Object, EntityImportPlan> objectEntityImportPlanMap = new LinkedHashMap<>();
+        Object entity;
+        EntityImportPlan entityImportPlan;
+        for (int i = 0; i < entitiesJsonArray.size(); i++) {
+            String entityJson = entitiesJsonArray.get(i).toString();
+            Object id = ids.get(i);
 
-            checkEntityIsNotNull(transformedEntityName, idString, existingEntity);
+            checkEntityIsNotNull(transformedEntityName, idStrings.get(i), existingEntities.get(id));
             entityJson = restControllerUtils.transformJsonIfRequired(entityName, modelVersion,
                     JsonTransformationDirection.FROM_VERSION, entityJson);
             try {
@@ -690,10 +1049,8 @@ public class EntitiesControllerManager {
         Collection<Object> mainEntities = objectEntityImportPlanMap.keySet();
         SaveContext saveContext = new SaveContext();
         try {
-            for (Map.Entry<Object, EntityImportPlan> entry : objectEntityImportPlanMap.entrySet()) {
-                entityImportExport.importEntityIntoSaveContext(saveContext, entry.getKey(), entry.getValue(),
-                        false, restProperties.isOptimisticLockingEnabled());
-            }
+            entityImportExport.importEntitiesIntoSaveContext(saveContext, objectEntityImportPlanMap,
+                    false, restProperties.isOptimisticLockingEnabled());
 
             validateEntities(mainEntities, new LinkedHashSet<>(saveContext.getEntitiesToSave()));
             mainEntities = CollectionUtils.retainAll(dataManager.save(saveContext), mainEntities);
@@ -703,6 +1060,15 @@ public class EntitiesControllerManager {
         return mainEntities;
     }
 
+    /**
+     * Loads entities by ids in batches. Entities with composite primary keys are loaded one by one.
+     *
+     * @return map of loaded entities by their ids, missing entities are absent in the map
+     */
+    protected Map<Object, Object> loadEntitiesByIds(MetaClass metaClass, List<Object> ids) {
+        return entitiesByIdsLoader.loadByIds(new LoadContext<>(metaClass), ids, dataManager::loadList);
+    }
+
     protected Object getUpdatedEntity(String entityName,
                                       String modelVersion,
                                       String transformedEntityName,
@@ -763,6 +1129,8 @@ public class EntitiesControllerManager {
 
         JsonArray entitiesJsonArray = JsonParser.parseString(entitiesIdJson).getAsJsonArray();
 
+        List<String> entityIds = new ArrayList<>(entitiesJsonArray.size());
+        List<Object> ids = new ArrayList<>(entitiesJsonArray.size());
         for (int i = 0; i < entitiesJsonArray.size(); i++) {
             JsonElement element = entitiesJsonArray.get(i);
 
@@ -776,10 +1144,19 @@ public class EntitiesControllerManager {
             }
 
             String entityId = element.getAsString();
-            Object id = getIdFromString(entityId, metaClass);
-            Object entity = dataManager.load(new LoadContext<>(metaClass).setId(id));
-            checkEntityIsNotNull(entityName, entityId, entity);
-            dataManager.remove(entity);
+            entityIds.add(entityId);
+            ids.add(getIdFromString(entityId, metaClass));
+        }
+
+        Map<Object, Object> loadedEntities = loadEntitiesByIds(metaClass, ids);
+        List<Object> entities = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            Object entity = loadedEntities.get(ids.get(i));
+            checkEntityIsNotNull(entityName, entityIds.get(i), entity);
+            entities.add(entity);
+        }
+        if (!entities.isEmpty()) {
+            dataManager.remove(entities.toArray());
         }
     }
 
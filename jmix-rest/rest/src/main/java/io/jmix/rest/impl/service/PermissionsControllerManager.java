@@ -93,10 +93,14 @@ public class PermissionsControllerManager {
                         ALLOWED_CRUD_PERMISSION));
             }
 
+            List<EntityAttributeContext> attributeContexts = new ArrayList<>();
             for (MetaProperty metaProperty : metaClass.getProperties()) {
-                EntityAttributeContext attributeContext = new EntityAttributeContext(metaClass, metaProperty.getName());
-                accessManager.applyRegisteredConstraints(attributeContext);
+                attributeContexts.add(new EntityAttributeContext(metaClass, metaProperty.getName()));
+            }
+            accessManager.applyRegisteredConstraintsToAll(attributeContexts);
 
+            for (EntityAttributeContext attributeContext : attributeContexts) {
+                MetaProperty metaProperty = attributeContext.getPropertyPath().getMetaProperty();
                 if (attributeContext.canModify()) {
                     entityAttributePermissions.add(new ShortPermissionInfo(
                             getEntityAttributeTarget(metaClass, metaProperty),
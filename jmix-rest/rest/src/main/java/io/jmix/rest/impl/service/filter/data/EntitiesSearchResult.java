@@ -16,8 +16,16 @@
 
 package io.jmix.rest.impl.service.filter.data;
 
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
 public class EntitiesSearchResult {
     protected String json;
+    protected JsonWriterCallback jsonWriter;
     protected Long count;
 
     public EntitiesSearchResult(String json, Long count) {
@@ -25,11 +33,55 @@ public class EntitiesSearchResult {
         this.count = count;
     }
 
+    /**
+     * Creates a result which JSON is not built in memory but written directly to the response.
+     */
+    public EntitiesSearchResult(JsonWriterCallback jsonWriter, @Nullable Long count) {
+        this.jsonWriter = jsonWriter;
+        this.count = count;
+    }
+
     public String getJson() {
+        if (json == null && jsonWriter != null) {
+            StringWriter writer = new StringWriter();
+            try {
+                jsonWriter.write(writer);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            json = writer.toString();
+            jsonWriter = null;
+        }
         return json;
     }
 
     public Long getCount() {
         return count;
     }
+
+    /**
+     * @return true if the JSON should be written to the response by {@link #writeJson(Writer)}
+     */
+    public boolean isStreaming() {
+        return jsonWriter != null;
+    }
+
+    /**
+     * Writes the JSON to the given writer. A streaming result can be written only once.
+     */
+    public void writeJson(Writer writer) throws IOException {
+        if (jsonWriter != null) {
+            JsonWriterCallback callback = jsonWriter;
+            jsonWriter = null;
+            callback.write(writer);
+        } else {
+            writer.write(json);
+        }
+    }
+
+    @FunctionalInterface
+    public interface JsonWriterCallback {
+
+        void write(Writer writer) throws IOException;
+    }
 }
@@ -180,4 +180,41 @@ class EntitiesControllerTest extends RestSpec {
         sql.rows("select * from SAMPLE_REST_SEC_USER where LOGIN like 'toDeleteById_'")
                 .every { it.delete_ts != null }
     }
+
+    def "DELETE-request bulk deletion with a missing id doesn't delete any entity"() {
+        def users = sql.rows("select * from SAMPLE_REST_SEC_USER where LOGIN like 'toDeleteById_'")
+        def body = users.collect { it.id } + [UUID.randomUUID()]
+
+        when:
+        def request = createRequest(userToken).body(body)
+        def response = request.with().delete(baseUrl + "/entities/sec\$User")
+
+        then:
+        response.statusCode == 404
+        sql.rows("select * from SAMPLE_REST_SEC_USER where LOGIN like 'toDeleteById_'")
+                .every { it.delete_ts == null }
+    }
+
+    def "PUT-request to bulk update with a missing id returns not found"() {
+        def userRows = sql.rows("select * from SAMPLE_REST_SEC_USER where FIRST_NAME = 'testFirstName'")
+        def body =
+                [
+                        [
+                                'id'       : userRows[0].id,
+                                'firstName': 'Some name'
+                        ],
+                        [
+                                'id'       : UUID.randomUUID(),
+                                'firstName': 'Some name'
+                        ]
+                ]
+
+        when:
+        def request = createRequest(userToken).body(body)
+        def response = request.with().put(baseUrl + "/entities/sec\$User")
+
+        then:
+        response.statusCode == 404
+        sql.rows("select * from SAMPLE_REST_SEC_USER where FIRST_NAME = 'Some name'").size() == 0
+    }
 }
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package entities
+
+import org.springframework.test.context.TestPropertySource
+import test_support.RestSpec
+
+import static test_support.DataUtils.createGroup
+import static test_support.DataUtils.createUser
+import static test_support.RestSpecsUtils.createRequest
+
+@TestPropertySource(properties = ["jmix.rest.entities-etag-enabled=true"])
+class EntitiesETagTest extends RestSpec {
+
+    private UUID userId
+
+    void prepareDb() {
+        UUID groupId = createGroup(dirtyData, sql, "Company")
+
+        userId = createUser(dirtyData, sql, "etag1", "etagName", groupId)
+        createUser(dirtyData, sql, "etag2", "etagName", groupId)
+    }
+
+    def "GET-request of an entity returns 304 if the ETag matches"() {
+        when:
+        def response = createRequest(userToken).get(baseUrl + "/entities/sec\$User/" + userId)
+        def eTag = response.header("ETag")
+
+        then:
+        response.statusCode() == 200
+        eTag != null
+
+        when:
+        def conditionalResponse = createRequest(userToken)
+                .header("If-None-Match", eTag)
+                .get(baseUrl + "/entities/sec\$User/" + userId)
+
+        then:
+        conditionalResponse.statusCode() == 304
+        conditionalResponse.body.asString().isEmpty()
+    }
+
+    def "GET-request of an entity returns the entity if its version has changed"() {
+        when:
+        def eTag = createRequest(userToken).get(baseUrl + "/entities/sec\$User/" + userId).header("ETag")
+        sql.executeUpdate("update sample_rest_sec_user set version = version + 1, first_name = 'changed' where id = ?",
+                [userId])
+        def response = createRequest(userToken)
+                .header("If-None-Match", eTag)
+                .get(baseUrl + "/entities/sec\$User/" + userId)
+
+        then:
+        response.statusCode() == 200
+        response.header("ETag") != eTag
+        response.body.jsonPath().getString("firstName") == 'changed'
+    }
+
+    def "GET-request of an entities list returns 304 until an entity of the list changes"() {
+        def filter = [
+                'conditions': [
+                        [
+                                'property': 'firstName',
+                                'operator': '=',
+                                'value'   : 'etagName'
+                        ]
+                ]
+        ]
+
+        when:
+        def eTag = createRequest(userToken)
+                .param("filter", filter)
+                .get(baseUrl + "/entities/sec\$User/search")
+                .header("ETag")
+        def notModifiedResponse = createRequest(userToken)
+                .param("filter", filter)
+                .header("If-None-Match", eTag)
+                .get(baseUrl + "/entities/sec\$User/search")
+
+        then:
+        eTag != null
+        notModifiedResponse.statusCode() == 304
+
+        when:
+        sql.executeUpdate("update sample_rest_sec_user set version = version + 1 where id = ?", [userId])
+        def modifiedResponse = createRequest(userToken)
+                .param("filter", filter)
+                .header("If-None-Match", eTag)
+                .get(baseUrl + "/entities/sec\$User/search")
+
+        then:
+        modifiedResponse.statusCode() == 200
+        modifiedResponse.body.as(List).size() == 2
+    }
+
+    def "ETag of an entities list depends on the fetch plan"() {
+        when:
+        def eTag = createRequest(userToken).get(baseUrl + "/entities/sec\$User").header("ETag")
+        def response = createRequest(userToken)
+                .param("fetchPlan", "_instance_name")
+                .header("If-None-Match", eTag)
+                .get(baseUrl + "/entities/sec\$User")
+
+        then:
+        response.statusCode() == 200
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package entities
+
+import org.springframework.test.context.TestPropertySource
+import test_support.RestSpec
+
+import static test_support.DataUtils.createGroup
+import static test_support.DataUtils.createUser
+import static test_support.RestSpecsUtils.createRequest
+
+@TestPropertySource(properties = [
+        "jmix.rest.entities-streaming-enabled=true",
+        "jmix.rest.entities-streaming-page-size=2"
+])
+class EntitiesStreamingTest extends RestSpec {
+
+    void prepareDb() {
+        UUID groupId = createGroup(dirtyData, sql, "Company")
+
+        createUser(dirtyData, sql, "streaming1", "streamingName", groupId)
+        createUser(dirtyData, sql, "streaming2", "streamingName", groupId)
+        createUser(dirtyData, sql, "streaming3", "streamingName", groupId)
+        createUser(dirtyData, sql, "streaming4", "streamingName", groupId)
+        createUser(dirtyData, sql, "streaming5", "streamingName", groupId)
+    }
+
+    def "GET-request loads all entities in several pages"() {
+        when:
+        def request = createRequest(userToken)
+                .param("returnCount", true)
+                .param("sort", "login")
+        def response = request.with().get(baseUrl + "/entities/sec\$User")
+
+        then:
+        response.statusCode() == 200
+        response.contentType().startsWith("application/json")
+
+        List users = response.body.as(List)
+        users.size() == response.header("X-Total-Count").toInteger()
+        users.collect { it['login'] } == users.collect { it['login'] }.sort()
+        users.collect { it['id'] }.unique().size() == users.size()
+        users.every { it['_entityName'] == 'sec$User' && it.containsKey('_instanceName') }
+    }
+
+    def "GET-request with limit and offset loads only the requested part"() {
+        def filter = [
+                'conditions': [
+                        [
+                                'property': 'firstName',
+                                'operator': '=',
+                                'value'   : 'streamingName'
+                        ]
+                ]
+        ]
+
+        when:
+        def request = createRequest(userToken)
+                .param("filter", filter)
+                .param("sort", "login")
+                .param("limit", 3)
+                .param("offset", 1)
+        def response = request.with().get(baseUrl + "/entities/sec\$User/search")
+
+        then:
+        response.statusCode() == 200
+        response.body.as(List).collect { it['login'] } == ['streaming2', 'streaming3', 'streaming4']
+    }
+
+    def "GET-request with zero limit loads all entities"() {
+        def filter = [
+                'conditions': [
+                        [
+                                'property': 'firstName',
+                                'operator': '=',
+                                'value'   : 'streamingName'
+                        ]
+                ]
+        ]
+
+        when:
+        def request = createRequest(userToken)
+                .param("filter", filter)
+                .param("sort", "-login")
+                .param("limit", 0)
+        def response = request.with().get(baseUrl + "/entities/sec\$User/search")
+
+        then:
+        response.statusCode() == 200
+        response.body.as(List).collect { it['login'] } ==
+                ['streaming5', 'streaming4', 'streaming3', 'streaming2', 'streaming1']
+    }
+
+    def "POST-request with filter returns the count header"() {
+        def body = [
+                'filter'     : [
+                        'conditions': [
+                                [
+                                        'property': 'firstName',
+                                        'operator': '=',
+                                        'value'   : 'streamingName'
+                                ]
+                        ]
+                ],
+                'returnCount': true
+        ]
+
+        when:
+        def request = createRequest(userToken).body(body)
+        def response = request.with().post(baseUrl + "/entities/sec\$User/search")
+
+        then:
+        response.statusCode() == 200
+        response.header("X-Total-Count") == "5"
+        response.body.as(List).size() == 5
+    }
+
+    def "GET-request with an empty result returns an empty array"() {
+        def filter = [
+                'conditions': [
+                        [
+                                'property': 'login',
+                                'operator': '=',
+                                'value'   : 'unknown'
+                        ]
+                ]
+        ]
+
+        when:
+        def request = createRequest(userToken).param("filter", filter)
+        def response = request.with().get(baseUrl + "/entities/sec\$User/search")
+
+        then:
+        response.statusCode() == 200
+        response.body.asString() == '[]'
+    }
+}
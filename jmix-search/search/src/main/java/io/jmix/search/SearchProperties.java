@@ -24,7 +24,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.boot.convert.DurationUnit;
+import org.springframework.util.unit.DataSize;
 
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -54,11 +58,30 @@ public class SearchProperties {
      */
     protected final int processQueueBatchSize;
 
+    /**
+     * Amount of workers processing the Indexing Queue concurrently. Each worker claims its own batches
+     * of queue items, so several workers and several cluster nodes can process the queue at the same time.
+     * Value 1 means the queue is processed sequentially in the calling thread.
+     */
+    protected final int processQueueWorkers;
+
+    /**
+     * Time after which queue items claimed by a worker become available for other workers again, e.g. if the
+     * worker has failed or the node has stopped during processing. Claims of running workers are renewed
+     * several times within this period.
+     */
+    protected final Duration processQueueClaimTimeout;
+
     /**
      * Amount of entity instances enqueued in single batch during entity reindex process.
      */
     protected final int reindexEntityEnqueueBatchSize;
 
+    /**
+     * Max amount of changed entity ids passed to a single query loading ids of dependent indexed entities.
+     */
+    protected final int dependentEntitiesLoadBatchSize;
+
     /**
      * Whether automatic indexing of changed entities is enabled.
      */
@@ -127,7 +150,10 @@ public class SearchProperties {
             @DefaultValue("100") int maxSearchPageCount,
             @DefaultValue("100") int searchReloadEntitiesBatchSize,
             @DefaultValue("100") int processQueueBatchSize,
+            @DefaultValue("1") int processQueueWorkers,
+            @DefaultValue("300") @DurationUnit(ChronoUnit.SECONDS) Duration processQueueClaimTimeout,
             @DefaultValue("100") int reindexEntityEnqueueBatchSize,
+            @DefaultValue("500") int dependentEntitiesLoadBatchSize,
             @DefaultValue("true") boolean changedEntitiesIndexingEnabled,
             @DefaultValue("true") boolean useDefaultIndexingQueueProcessingQuartzConfiguration,
             @DefaultValue("true") boolean useDefaultEnqueueingSessionProcessingQuartzConfiguration,
@@ -144,7 +170,10 @@ public class SearchProperties {
         this.maxSearchPageCount = maxSearchPageCount;
         this.searchReloadEntitiesBatchSize = searchReloadEntitiesBatchSize;
         this.processQueueBatchSize = processQueueBatchSize;
+        this.processQueueWorkers = processQueueWorkers;
+        this.processQueueClaimTimeout = processQueueClaimTimeout;
         this.reindexEntityEnqueueBatchSize = reindexEntityEnqueueBatchSize;
+        this.dependentEntitiesLoadBatchSize = dependentEntitiesLoadBatchSize;
         this.changedEntitiesIndexingEnabled = changedEntitiesIndexingEnabled;
         this.useDefaultIndexingQueueProcessingQuartzConfiguration = useDefaultIndexingQueueProcessingQuartzConfiguration;
         this.useDefaultEnqueueingSessionProcessingQuartzConfiguration = useDefaultEnqueueingSessionProcessingQuartzConfiguration;
@@ -187,6 +216,20 @@ public class SearchProperties {
         return processQueueBatchSize;
     }
 
+    /**
+     * @see #processQueueWorkers
+     */
+    public int getProcessQueueWorkers() {
+        return processQueueWorkers;
+    }
+
+    /**
+     * @see #processQueueClaimTimeout
+     */
+    public Duration getProcessQueueClaimTimeout() {
+        return processQueueClaimTimeout;
+    }
+
     /**
      * @see #reindexEntityEnqueueBatchSize
      */
@@ -194,6 +237,13 @@ public class SearchProperties {
         return reindexEntityEnqueueBatchSize;
     }
 
+    /**
+     * @see #dependentEntitiesLoadBatchSize
+     */
+    public int getDependentEntitiesLoadBatchSize() {
+        return dependentEntitiesLoadBatchSize;
+    }
+
     /**
      * @see #changedEntitiesIndexingEnabled
      */
@@ -320,6 +370,41 @@ public class SearchProperties {
         return elasticsearch.bulkRequestRefreshPolicy;
     }
 
+    /**
+     * @see Elasticsearch#bulkRequestMaxActions
+     */
+    public int getElasticsearchBulkRequestMaxActions() {
+        return elasticsearch.bulkRequestMaxActions;
+    }
+
+    /**
+     * @see Elasticsearch#bulkRequestMaxSize
+     */
+    public DataSize getElasticsearchBulkRequestMaxSize() {
+        return elasticsearch.bulkRequestMaxSize;
+    }
+
+    /**
+     * @see Elasticsearch#bulkRequestConcurrency
+     */
+    public int getElasticsearchBulkRequestConcurrency() {
+        return elasticsearch.bulkRequestConcurrency;
+    }
+
+    /**
+     * @see Elasticsearch#bulkRequestMaxRetries
+     */
+    public int getElasticsearchBulkRequestMaxRetries() {
+        return elasticsearch.bulkRequestMaxRetries;
+    }
+
+    /**
+     * @see Elasticsearch#bulkRequestInitialBackoff
+     */
+    public Duration getElasticsearchBulkRequestInitialBackoff() {
+        return elasticsearch.bulkRequestInitialBackoff;
+    }
+
     /**
      * @see #indexSchemaManagementStrategy
      */
@@ -361,17 +446,54 @@ public class SearchProperties {
          */
         protected final RefreshPolicy bulkRequestRefreshPolicy;
 
+        /**
+         * Max amount of actions sent to Elasticsearch in a single bulk request.
+         * Larger bulk operations are split into several requests.
+         */
+        protected final int bulkRequestMaxActions;
+
+        /**
+         * Max estimated payload size of a single bulk request.
+         */
+        protected final DataSize bulkRequestMaxSize;
+
+        /**
+         * Max amount of bulk requests executed concurrently. Value 1 means requests are executed sequentially
+         * in the calling thread.
+         */
+        protected final int bulkRequestConcurrency;
+
+        /**
+         * Max amount of retries of bulk request items rejected by Elasticsearch because of overload (status 429).
+         */
+        protected final int bulkRequestMaxRetries;
+
+        /**
+         * Delay before the first retry of rejected bulk request items. Delay is doubled for every next retry.
+         */
+        protected final Duration bulkRequestInitialBackoff;
+
         public Elasticsearch(
                 @DefaultValue("localhost:9200") String url,
                 String login,
                 String password,
                 @DefaultValue SSL ssl,
-                @DefaultValue("NONE") String bulkRequestRefreshPolicy) {
+                @DefaultValue("NONE") String bulkRequestRefreshPolicy,
+                @DefaultValue("1000") int bulkRequestMaxActions,
+                @DefaultValue("5MB") DataSize bulkRequestMaxSize,
+                @DefaultValue("1") int bulkRequestConcurrency,
+                @DefaultValue("3") int bulkRequestMaxRetries,
+                @DefaultValue("100ms") Duration bulkRequestInitialBackoff) {
             this.url = url;
             this.login = login;
             this.password = password;
             this.ssl = ssl;
             this.bulkRequestRefreshPolicy = resolveRefreshPolicy(bulkRequestRefreshPolicy.toUpperCase());
+            this.bulkRequestMaxActions = bulkRequestMaxActions;
+            this.bulkRequestMaxSize = bulkRequestMaxSize;
+            this.bulkRequestConcurrency = bulkRequestConcurrency;
+            this.bulkRequestMaxRetries = bulkRequestMaxRetries;
+            this.bulkRequestInitialBackoff = bulkRequestInitialBackoff;
         }
 
         protected RefreshPolicy resolveRefreshPolicy(String propertyValue) {
@@ -35,7 +35,29 @@ public interface ESIndexManager {
     boolean createIndex(IndexConfiguration indexConfiguration);
 
     /**
-     * Drops index by name.
+     * Creates index with provided name using mapping and settings of provided {@link IndexConfiguration}.
+     * <p>
+     * Availability of the index related to configuration is not affected. Such index can be filled
+     * in the background and then replace the current one via {@link #swapIndex(IndexConfiguration, String)}.
+     *
+     * @param indexConfiguration index configuration
+     * @param indexName          name of the created index
+     * @return true if index was successfully created, false otherwise
+     */
+    boolean createIndex(IndexConfiguration indexConfiguration, String indexName);
+
+    /**
+     * Atomically makes the index name of provided {@link IndexConfiguration} an alias of the provided index.
+     * Indexes previously available by this name are dropped within the same operation.
+     *
+     * @param indexConfiguration index configuration
+     * @param newIndexName       name of the index that should be used by configuration from now on
+     * @return true if indexes were successfully swapped, false otherwise
+     */
+    boolean swapIndex(IndexConfiguration indexConfiguration, String newIndexName);
+
+    /**
+     * Drops index by name. If name is an alias all indexes behind it are dropped.
      *
      * @param indexName index name
      * @return true if index was successfully dropped, false otherwise
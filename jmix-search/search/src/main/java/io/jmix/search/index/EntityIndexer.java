@@ -16,6 +16,7 @@
 
 package io.jmix.search.index;
 
+import io.jmix.core.FetchPlan;
 import io.jmix.core.Id;
 
 import java.util.Collection;
@@ -57,6 +58,28 @@ public interface EntityIndexer {
      */
     IndexResult indexCollectionByEntityIds(Collection<Id<?>> entityIds);
 
+    /**
+     * Stores provided entity instances to the index with provided name instead of the index
+     * defined by {@link IndexConfiguration}. Instances are not reloaded, so they should be loaded
+     * with fetch plan provided by {@link #getFetchPlan(IndexConfiguration)}.
+     * <p>
+     * Availability of the index related to configuration is not checked.
+     *
+     * @param indexConfiguration configuration of the index related to entity of instances
+     * @param entityInstances    loaded instances
+     * @param indexName          name of the target index
+     * @return {@link IndexResult}
+     */
+    IndexResult indexCollection(IndexConfiguration indexConfiguration, Collection<Object> entityInstances, String indexName);
+
+    /**
+     * Gets fetch plan which is used to load entity instances before indexing.
+     *
+     * @param indexConfiguration index configuration
+     * @return fetch plan containing all properties required for indexing
+     */
+    FetchPlan getFetchPlan(IndexConfiguration indexConfiguration);
+
     /**
      * Deletes provided entity instance from index.
      *
@@ -102,6 +102,32 @@ public class EntityIndexingManagementFacade {
         return String.format("Async enqueueing process has been initialized for entity '%s'", entityName);
     }
 
+    @Authenticated
+    @ManagedOperation(description = "Init async reindex process for all indexed entities. " +
+            "Instances are stored directly into new indexes which replace the current ones when the process is completed")
+    public String initAsyncReindex() {
+        indexingQueueManager.initAsyncReindexAll();
+        return "Async reindex process has been initialized for all indexed entities";
+    }
+
+    @Authenticated
+    @ManagedOperation(description = "Init async reindex process for provided entity. " +
+            "Instances are stored directly into a new index which replaces the current one when the process is completed")
+    @ManagedOperationParameters({
+            @ManagedOperationParameter(name = "entityName", description = "Name of entity configured for indexing, e.g. demo_Order")
+    })
+    public String initAsyncReindex(String entityName) {
+        InputValidationResult inputValidationResult = validateInputEntity(entityName);
+        if (!inputValidationResult.isValid()) {
+            return inputValidationResult.getMessage();
+        }
+
+        boolean initialized = indexingQueueManager.initAsyncReindexAll(entityName);
+        return initialized
+                ? String.format("Async reindex process has been initialized for entity '%s'", entityName)
+                : String.format("Unable to initialize async reindex process for entity '%s'", entityName);
+    }
+
     @Authenticated
     @ManagedOperation(description = "Suspend async enqueueing process")
     public String suspendAsyncEnqueueing() {
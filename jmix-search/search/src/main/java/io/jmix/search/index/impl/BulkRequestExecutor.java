@@ -0,0 +1,293 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.search.index.impl;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.jmix.search.SearchProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.elasticsearch.ElasticsearchStatusException;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.support.WriteRequest.RefreshPolicy;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.rest.RestStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Executes bulk requests to Elasticsearch.
+ * <p>
+ * Large bulk requests are split into several ones according to max amount of actions and max payload size.
+ * Parts are executed concurrently by a limited number of threads shared by all callers.
+ * If execution of any part fails, the parts still in progress are cancelled.
+ * Items rejected by Elasticsearch because of overload (status 429) are retried with exponential backoff.
+ * <p>
+ * Responses of all parts are combined into a single {@link BulkResponse} with items in the order of the original request.
+ */
+@Component("search_BulkRequestExecutor")
+public class BulkRequestExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkRequestExecutor.class);
+
+    protected final RestHighLevelClient esClient;
+    protected final SearchProperties searchProperties;
+
+    protected final Timer requestTimer;
+    protected final DistributionSummary requestSizeSummary;
+    protected final Counter successfulItemsCounter;
+    protected final Counter failedItemsCounter;
+    protected final Counter retriedItemsCounter;
+
+    protected volatile ExecutorService executor;
+
+    @Autowired
+    public BulkRequestExecutor(RestHighLevelClient esClient, SearchProperties searchProperties, MeterRegistry meterRegistry) {
+        this.esClient = esClient;
+        this.searchProperties = searchProperties;
+        this.requestTimer = meterRegistry.timer("jmix.BulkRequestExecutor.request");
+        this.requestSizeSummary = DistributionSummary.builder("jmix.BulkRequestExecutor.requestSize")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.successfulItemsCounter = meterRegistry.counter("jmix.BulkRequestExecutor.items", "result", "success");
+        this.failedItemsCounter = meterRegistry.counter("jmix.BulkRequestExecutor.items", "result", "failure");
+        this.retriedItemsCounter = meterRegistry.counter("jmix.BulkRequestExecutor.retries");
+    }
+
+    /**
+     * Executes provided bulk request.
+     *
+     * @param request bulk request
+     * @return combined response
+     */
+    public BulkResponse execute(BulkRequest request) {
+        long startTime = System.nanoTime();
+        List<List<DocWriteRequest<?>>> parts = splitRequest(request);
+        log.debug("Execute bulk request with {} actions in {} parts", request.numberOfActions(), parts.size());
+
+        List<BulkItemResponse> items = new ArrayList<>(request.numberOfActions());
+        int concurrency = searchProperties.getElasticsearchBulkRequestConcurrency();
+        if (concurrency <= 1 || parts.size() == 1) {
+            for (List<DocWriteRequest<?>> part : parts) {
+                items.addAll(executeWithRetries(part));
+            }
+        } else {
+            List<Future<List<BulkItemResponse>>> futures = new ArrayList<>(parts.size());
+            CompletionService<List<BulkItemResponse>> completionService =
+                    new ExecutorCompletionService<>(getExecutor(concurrency));
+            try {
+                for (List<DocWriteRequest<?>> part : parts) {
+                    futures.add(completionService.submit(() -> executeWithRetries(part)));
+                }
+                // Wait for parts in order of completion to fail fast
+                for (int i = 0; i < futures.size(); i++) {
+                    getResult(takeCompleted(completionService));
+                }
+            } catch (RuntimeException e) {
+                futures.forEach(future -> future.cancel(true));
+                throw e;
+            }
+            for (Future<List<BulkItemResponse>> future : futures) {
+                items.addAll(getResult(future));
+            }
+        }
+
+        long tookMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+        return new BulkResponse(items.toArray(new BulkItemResponse[0]), tookMs);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Splits actions of provided request into parts limited by max amount of actions and max payload size.
+     */
+    protected List<List<DocWriteRequest<?>>> splitRequest(BulkRequest request) {
+        int maxActions = Math.max(searchProperties.getElasticsearchBulkRequestMaxActions(), 1);
+        long maxBytes = searchProperties.getElasticsearchBulkRequestMaxSize().toBytes();
+
+        List<List<DocWriteRequest<?>>> parts = new ArrayList<>();
+        List<DocWriteRequest<?>> currentPart = new ArrayList<>();
+        long currentPartBytes = 0;
+        for (DocWriteRequest<?> action : request.requests()) {
+            long actionBytes = estimateSize(action);
+            if (!currentPart.isEmpty()
+                    && (currentPart.size() >= maxActions || currentPartBytes + actionBytes > maxBytes)) {
+                parts.add(currentPart);
+                currentPart = new ArrayList<>();
+                currentPartBytes = 0;
+            }
+            currentPart.add(action);
+            currentPartBytes += actionBytes;
+        }
+        if (!currentPart.isEmpty()) {
+            parts.add(currentPart);
+        }
+        return parts;
+    }
+
+    protected long estimateSize(DocWriteRequest<?> action) {
+        return new BulkRequest().add(action).estimatedSizeInBytes();
+    }
+
+    /**
+     * Executes provided actions. Actions rejected because of overload are retried with exponential backoff
+     * until max amount of retries is reached.
+     *
+     * @return item responses in the order of provided actions
+     */
+    protected List<BulkItemResponse> executeWithRetries(List<DocWriteRequest<?>> actions) {
+        BulkItemResponse[] results = new BulkItemResponse[actions.size()];
+        List<Integer> pendingPositions = new ArrayList<>(actions.size());
+        for (int i = 0; i < actions.size(); i++) {
+            pendingPositions.add(i);
+        }
+
+        int maxRetries = searchProperties.getElasticsearchBulkRequestMaxRetries();
+        long backoffMs = searchProperties.getElasticsearchBulkRequestInitialBackoff().toMillis();
+        for (int attempt = 0; ; attempt++) {
+            BulkRequest request = new BulkRequest();
+            pendingPositions.forEach(position -> request.add(actions.get(position)));
+
+            boolean retriesLeft = attempt < maxRetries && !Thread.currentThread().isInterrupted();
+            List<Integer> rejectedPositions = new ArrayList<>();
+            try {
+                BulkItemResponse[] items = executeBulkRequest(request).getItems();
+                for (int i = 0; i < items.length; i++) {
+                    int position = pendingPositions.get(i);
+                    results[position] = items[i];
+                    if (retriesLeft && isRejected(items[i])) {
+                        rejectedPositions.add(position);
+                    }
+                }
+            } catch (ElasticsearchStatusException e) {
+                if (!retriesLeft || e.status() != RestStatus.TOO_MANY_REQUESTS) {
+                    throw e;
+                }
+                rejectedPositions.addAll(pendingPositions);
+            }
+
+            if (rejectedPositions.isEmpty()) {
+                break;
+            }
+
+            log.debug("{} of {} bulk items have been rejected - retry in {} ms", rejectedPositions.size(), actions.size(), backoffMs);
+            retriedItemsCounter.increment(rejectedPositions.size());
+            try {
+                Thread.sleep(backoffMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            backoffMs *= 2;
+            pendingPositions = rejectedPositions;
+        }
+
+        List<BulkItemResponse> resultList = new ArrayList<>(results.length);
+        for (BulkItemResponse item : results) {
+            resultList.add(item);
+            if (item.isFailed()) {
+                failedItemsCounter.increment();
+            } else {
+                successfulItemsCounter.increment();
+            }
+        }
+        return resultList;
+    }
+
+    protected BulkResponse executeBulkRequest(BulkRequest request) {
+        RefreshPolicy refreshPolicy = searchProperties.getElasticsearchBulkRequestRefreshPolicy();
+        request.setRefreshPolicy(refreshPolicy);
+        requestSizeSummary.record(request.estimatedSizeInBytes());
+        Timer.Sample sample = Timer.start();
+        try {
+            BulkResponse bulkResponse = doExecuteBulkRequest(request);
+            log.debug("Bulk Response: Took {}, Status = {}, With Failures = {}{}",
+                    bulkResponse.getTook(), bulkResponse.status(), bulkResponse.hasFailures(),
+                    bulkResponse.hasFailures() ? ": " + bulkResponse.buildFailureMessage() : "");
+            return bulkResponse;
+        } finally {
+            sample.stop(requestTimer);
+        }
+    }
+
+    protected BulkResponse doExecuteBulkRequest(BulkRequest request) {
+        try {
+            return esClient.bulk(request, RequestOptions.DEFAULT);
+        } catch (IOException e) {
+            throw new RuntimeException("Bulk request failed", e);
+        }
+    }
+
+    protected boolean isRejected(BulkItemResponse item) {
+        return item.isFailed() && item.getFailure().getStatus() == RestStatus.TOO_MANY_REQUESTS;
+    }
+
+    protected ExecutorService getExecutor(int concurrency) {
+        if (executor == null) {
+            synchronized (this) {
+                if (executor == null) {
+                    executor = Executors.newFixedThreadPool(concurrency, new ThreadFactoryBuilder()
+                            .setNameFormat("search-bulk-request-%d")
+                            .setDaemon(true)
+                            .build());
+                }
+            }
+        }
+        return executor;
+    }
+
+    protected Future<List<BulkItemResponse>> takeCompleted(CompletionService<List<BulkItemResponse>> completionService) {
+        try {
+            return completionService.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Bulk request execution has been interrupted", e);
+        }
+    }
+
+    protected List<BulkItemResponse> getResult(Future<List<BulkItemResponse>> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Bulk request execution has been interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new RuntimeException("Bulk request failed", cause);
+        }
+    }
+}
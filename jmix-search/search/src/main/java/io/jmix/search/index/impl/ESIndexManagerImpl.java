@@ -23,6 +23,8 @@ import io.jmix.core.common.util.Preconditions;
 import io.jmix.search.SearchProperties;
 import io.jmix.search.index.*;
 import io.jmix.search.index.mapping.IndexConfigurationManager;
+import org.elasticsearch.action.admin.indices.alias.IndicesAliasesRequest;
+import org.elasticsearch.action.admin.indices.alias.IndicesAliasesRequest.AliasActions;
 import org.elasticsearch.action.admin.indices.delete.DeleteIndexRequest;
 import org.elasticsearch.action.support.master.AcknowledgedResponse;
 import org.elasticsearch.client.RequestOptions;
@@ -43,6 +45,7 @@ import java.io.IOException;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 @Component("search_ESIndexManager")
 public class ESIndexManagerImpl implements ESIndexManager {
@@ -64,23 +67,62 @@ public class ESIndexManagerImpl implements ESIndexManager {
     public boolean createIndex(IndexConfiguration indexConfiguration) {
         Preconditions.checkNotNullArgument(indexConfiguration);
 
-        CreateIndexRequest request = new CreateIndexRequest(indexConfiguration.getIndexName());
+        boolean created = createIndex(indexConfiguration, indexConfiguration.getIndexName());
+        if (created) {
+            indexStateRegistry.markIndexAsAvailable(indexConfiguration.getEntityName());
+        }
+        return created;
+    }
+
+    @Override
+    public boolean createIndex(IndexConfiguration indexConfiguration, String indexName) {
+        Preconditions.checkNotNullArgument(indexConfiguration);
+        Preconditions.checkNotNullArgument(indexName);
+
+        CreateIndexRequest request = new CreateIndexRequest(indexName);
         String mappingBody;
         try {
             mappingBody = objectMapper.writeValueAsString(indexConfiguration.getMapping());
         } catch (JsonProcessingException e) {
-            throw new RuntimeException("Unable to create index '" + indexConfiguration.getIndexName() + "': Failed to parse index definition", e);
+            throw new RuntimeException("Unable to create index '" + indexName + "': Failed to parse index definition", e);
         }
         request.mapping(mappingBody, XContentType.JSON);
         request.settings(indexConfiguration.getSettings());
-        log.info("Create index '{}' with mapping {}", indexConfiguration.getIndexName(), mappingBody);
+        log.info("Create index '{}' with mapping {}", indexName, mappingBody);
         CreateIndexResponse response;
         try {
             response = esClient.indices().create(request, RequestOptions.DEFAULT);
         } catch (IOException e) {
-            throw new RuntimeException("Unable to create index '" + indexConfiguration.getIndexName() + "': Request failed", e);
+            throw new RuntimeException("Unable to create index '" + indexName + "': Request failed", e);
+        }
+        log.info("Result of index '{}' creation: {}", indexName, response.isAcknowledged() ? "Success" : "Failure");
+        return response.isAcknowledged();
+    }
+
+    @Override
+    public boolean swapIndex(IndexConfiguration indexConfiguration, String newIndexName) {
+        Preconditions.checkNotNullArgument(indexConfiguration);
+        Preconditions.checkNotNullArgument(newIndexName);
+
+        String aliasName = indexConfiguration.getIndexName();
+        IndicesAliasesRequest request = new IndicesAliasesRequest();
+        if (isIndexExist(aliasName)) {
+            // Either the index itself or all indexes behind the alias
+            for (String currentIndexName : getIndex(aliasName).getIndices()) {
+                if (!currentIndexName.equals(newIndexName)) {
+                    request.addAliasAction(AliasActions.removeIndex().index(currentIndexName));
+                }
+            }
+        }
+        request.addAliasAction(AliasActions.add().index(newIndexName).alias(aliasName));
+
+        AcknowledgedResponse response;
+        try {
+            response = esClient.indices().updateAliases(request, RequestOptions.DEFAULT);
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to swap index '" + aliasName + "' to '" + newIndexName + "': Request failed", e);
         }
-        log.info("Result of index '{}' creation: {}", indexConfiguration.getIndexName(), response.isAcknowledged() ? "Success" : "Failure");
+        log.info("Result of index '{}' swap to '{}': {}", aliasName, newIndexName, response.isAcknowledged() ? "Success" : "Failure");
         if (response.isAcknowledged()) {
             indexStateRegistry.markIndexAsAvailable(indexConfiguration.getEntityName());
         }
@@ -91,11 +133,13 @@ public class ESIndexManagerImpl implements ESIndexManager {
     public boolean dropIndex(String indexName) {
         Preconditions.checkNotNullArgument(indexName);
 
-        IndexConfiguration indexConfiguration = indexConfigurationManager.getIndexConfigurationByIndexName(indexName);
-        DeleteIndexRequest request = new DeleteIndexRequest(indexName);
+        Optional<IndexConfiguration> indexConfigurationOpt = indexConfigurationManager.getIndexConfigurationByIndexNameOpt(indexName);
+        // Aliases can't be deleted directly - delete all indexes behind the alias
+        String[] concreteIndexNames = isIndexExist(indexName) ? getIndex(indexName).getIndices() : new String[]{indexName};
+        DeleteIndexRequest request = new DeleteIndexRequest(concreteIndexNames);
         AcknowledgedResponse response;
         try {
-            indexStateRegistry.markIndexAsUnavailable(indexConfiguration.getEntityName());
+            indexConfigurationOpt.ifPresent(config -> indexStateRegistry.markIndexAsUnavailable(config.getEntityName()));
             response = esClient.indices().delete(request, RequestOptions.DEFAULT);
         } catch (IOException e) {
             throw new RuntimeException("Unable to delete index '" + indexName + "': Request failed", e);
@@ -296,7 +340,7 @@ public class ESIndexManagerImpl implements ESIndexManager {
 
     protected boolean isIndexMappingActual(IndexConfiguration indexConfiguration, GetIndexResponse indexResponse) {
         Map<String, MappingMetadata> mappings = indexResponse.getMappings();
-        MappingMetadata indexMappingMetadata = mappings.get(indexConfiguration.getIndexName());
+        MappingMetadata indexMappingMetadata = mappings.get(resolveConcreteIndexName(indexConfiguration, indexResponse));
         Map<String, Object> currentMapping = indexMappingMetadata.getSourceAsMap();
         Map<String, Object> actualMapping = objectMapper.convertValue(
                 indexConfiguration.getMapping(),
@@ -310,7 +354,7 @@ public class ESIndexManagerImpl implements ESIndexManager {
 
     protected boolean isIndexSettingsActual(IndexConfiguration indexConfiguration, GetIndexResponse indexResponse) {
         Map<String, Settings> settings = indexResponse.getSettings();
-        Settings currentSettings = settings.get(indexConfiguration.getIndexName());
+        Settings currentSettings = settings.get(resolveConcreteIndexName(indexConfiguration, indexResponse));
         Settings actualSettings = indexConfiguration.getSettings();
         long unmatchedSettings = actualSettings.keySet().stream().filter(key -> {
             String actualValue = actualSettings.get(key);
@@ -320,4 +364,17 @@ public class ESIndexManagerImpl implements ESIndexManager {
 
         return unmatchedSettings == 0;
     }
+
+    /**
+     * Index name of configuration may be an alias of the index created by the direct reindex process.
+     * Response is keyed by the names of concrete indexes in this case.
+     */
+    protected String resolveConcreteIndexName(IndexConfiguration indexConfiguration, GetIndexResponse indexResponse) {
+        String indexName = indexConfiguration.getIndexName();
+        String[] concreteIndexNames = indexResponse.getIndices();
+        if (concreteIndexNames.length == 1 && !indexName.equals(concreteIndexNames[0])) {
+            return concreteIndexNames[0];
+        }
+        return indexName;
+    }
 }
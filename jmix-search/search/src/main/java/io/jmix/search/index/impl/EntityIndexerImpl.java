@@ -36,8 +36,6 @@ import org.elasticsearch.action.bulk.BulkRequest;
 import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.delete.DeleteRequest;
 import org.elasticsearch.action.index.IndexRequest;
-import org.elasticsearch.action.support.WriteRequest.RefreshPolicy;
-import org.elasticsearch.client.RequestOptions;
 import org.elasticsearch.client.RestHighLevelClient;
 import org.elasticsearch.xcontent.XContentType;
 import org.slf4j.Logger;
@@ -45,7 +43,6 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.io.IOException;
 import java.util.*;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -73,6 +70,8 @@ public class EntityIndexerImpl implements EntityIndexer {
     protected MetadataTools metadataTools;
     @Autowired
     protected SearchProperties searchProperties;
+    @Autowired
+    protected BulkRequestExecutor bulkRequestExecutor;
 
     protected ObjectMapper objectMapper = new ObjectMapper();
 
@@ -98,6 +97,30 @@ public class EntityIndexerImpl implements EntityIndexer {
         return indexGroupedInstances(groupedInstances);
     }
 
+    @Override
+    public IndexResult indexCollection(IndexConfiguration indexConfiguration, Collection<Object> entityInstances, String indexName) {
+        log.debug("Prepared {} instances of entity '{}' for index '{}'",
+                entityInstances.size(), indexConfiguration.getEntityName(), indexName);
+
+        BulkRequest request = new BulkRequest();
+        Predicate<Object> indexablePredicate = indexConfiguration.getIndexablePredicate();
+        for (Object instance : entityInstances) {
+            if (indexablePredicate.test(instance)) {
+                addIndexActionToBulkRequest(request, indexConfiguration, instance, indexName);
+            }
+        }
+
+        BulkResponse bulkResponse = request.requests().isEmpty()
+                ? createNoopBulkResponse()
+                : executeBulkRequest(request);
+        return IndexResult.create(bulkResponse);
+    }
+
+    @Override
+    public FetchPlan getFetchPlan(IndexConfiguration indexConfiguration) {
+        return createFetchPlan(indexConfiguration);
+    }
+
     @Override
     public IndexResult delete(Object entityInstance) {
         return deleteCollection(Collections.singletonList(entityInstance));
@@ -149,18 +172,7 @@ public class EntityIndexerImpl implements EntityIndexer {
     }
 
     protected BulkResponse executeBulkRequest(BulkRequest request) {
-        try {
-            RefreshPolicy refreshPolicy = searchProperties.getElasticsearchBulkRequestRefreshPolicy();
-            log.debug("Refresh policy: {}", refreshPolicy);
-            request.setRefreshPolicy(refreshPolicy);
-            BulkResponse bulkResponse = esClient.bulk(request, RequestOptions.DEFAULT);
-            log.debug("Bulk Response: Took {}, Status = {}, With Failures = {}{}",
-                    bulkResponse.getTook(), bulkResponse.status(), bulkResponse.hasFailures(),
-                    bulkResponse.hasFailures() ? ": " + bulkResponse.buildFailureMessage() : "");
-            return bulkResponse;
-        } catch (IOException e) {
-            throw new RuntimeException("Bulk request failed", e);
-        }
+        return bulkRequestExecutor.execute(request);
     }
 
     protected Map<IndexConfiguration, Collection<Object>> prepareInstancesForIndexing(Collection<Object> instances) {
@@ -254,6 +266,13 @@ public class EntityIndexerImpl implements EntityIndexer {
     protected void addIndexActionToBulkRequest(BulkRequest request,
                                                IndexConfiguration indexConfiguration,
                                                Object instance) {
+        addIndexActionToBulkRequest(request, indexConfiguration, instance, indexConfiguration.getIndexName());
+    }
+
+    protected void addIndexActionToBulkRequest(BulkRequest request,
+                                               IndexConfiguration indexConfiguration,
+                                               Object instance,
+                                               String indexName) {
         ObjectNode sourceObject = JsonNodeFactory.instance.objectNode();
         IndexMappingConfiguration indexMappingConfiguration = indexConfiguration.getMapping();
         indexMappingConfiguration.getFields()
@@ -270,7 +289,7 @@ public class EntityIndexerImpl implements EntityIndexer {
         try {
             String serializedEntityId = idSerialization.idToString(Id.of(instance));
             request.add(new IndexRequest()
-                    .index(indexConfiguration.getIndexName())
+                    .index(indexName)
                     .id(serializedEntityId)
                     .source(objectMapper.writeValueAsString(sourceObject), XContentType.JSON));
         } catch (JsonProcessingException e) {
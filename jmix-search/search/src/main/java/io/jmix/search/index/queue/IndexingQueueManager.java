@@ -115,6 +115,28 @@ public interface IndexingQueueManager {
      */
     boolean initAsyncEnqueueIndexAll(String entityName);
 
+    /**
+     * Initializes direct reindex session for all indexed entities.
+     * <p>
+     * See {@link #initAsyncReindexAll(String)}.
+     */
+    void initAsyncReindexAll();
+
+    /**
+     * Initializes direct reindex session for provided entity.
+     * Existing session will be removed and created again.
+     * <p>
+     * Session is processed the same way as enqueueing session, but instances are loaded page by page
+     * and stored directly into a new index instead of the indexing queue. When all instances are processed
+     * the new index atomically replaces the current one. The current index stays available for searching
+     * during the whole process. Items of this entity in the indexing queue are not processed until the session
+     * is completed or terminated.
+     *
+     * @param entityName entity name
+     * @return true if operation was successfully performed, false otherwise
+     */
+    boolean initAsyncReindexAll(String entityName);
+
     /**
      * Suspends all enqueueing sessions.
      * Suspended sessions are ignored during session processing.
@@ -152,6 +174,7 @@ public interface IndexingQueueManager {
 
     /**
      * Terminates enqueueing session for provided entity.
+     * Index filled by the direct reindex session is dropped.
      *
      * @param entityName entity name
      * @return true if operation was successfully performed, false otherwise
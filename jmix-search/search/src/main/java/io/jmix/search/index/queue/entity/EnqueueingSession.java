@@ -29,7 +29,7 @@ import java.util.Date;
 import java.util.UUID;
 
 /**
- * Keeps progress of async enqueueing process.
+ * Keeps progress of async enqueueing process or direct reindex process.
  */
 @JmixEntity
 @Table(name = "SEARCH_ENQUEUEING_SESSION")
@@ -55,6 +55,9 @@ public class EnqueueingSession {
     @Column(name = "LAST_PROCESSED_VALUE", length = 1000)
     private String lastProcessedValue;
 
+    @Column(name = "TARGET_INDEX_NAME")
+    private String targetIndexName;
+
     @CreatedBy
     @Column(name = "CREATED_BY")
     private String createdBy;
@@ -80,6 +83,18 @@ public class EnqueueingSession {
         this.lastProcessedValue = lastProcessedValue;
     }
 
+    /**
+     * Returns name of the index filled directly by the reindex process
+     * or null if instances are sent to the indexing queue.
+     */
+    public String getTargetIndexName() {
+        return targetIndexName;
+    }
+
+    public void setTargetIndexName(String targetIndexName) {
+        this.targetIndexName = targetIndexName;
+    }
+
     public String getOrderingProperty() {
         return orderingProperty;
     }
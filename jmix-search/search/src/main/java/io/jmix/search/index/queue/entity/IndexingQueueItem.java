@@ -60,6 +60,12 @@ public class IndexingQueueItem {
     @Column(name = "CREATED_DATE")
     private Date createdDate;
 
+    @Column(name = "CLAIM_TOKEN", length = 36)
+    private String claimToken;
+
+    @Column(name = "CLAIM_DATE")
+    private Date claimDate;
+
     public String getEntityName() {
         return entityName;
     }
@@ -100,6 +106,25 @@ public class IndexingQueueItem {
         this.createdBy = createdBy;
     }
 
+    /**
+     * Returns the token of the queue processing worker which has claimed the item, or null if the item is not claimed.
+     */
+    public String getClaimToken() {
+        return claimToken;
+    }
+
+    public void setClaimToken(String claimToken) {
+        this.claimToken = claimToken;
+    }
+
+    public Date getClaimDate() {
+        return claimDate;
+    }
+
+    public void setClaimDate(Date claimDate) {
+        this.claimDate = claimDate;
+    }
+
     public UUID getId() {
         return id;
     }
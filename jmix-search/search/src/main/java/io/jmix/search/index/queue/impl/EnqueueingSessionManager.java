@@ -60,6 +60,21 @@ public class EnqueueingSessionManager {
      * @return true if operation was successfully performed, false otherwise
      */
     public boolean initSession(String entityName) {
+        return initSession(entityName, null);
+    }
+
+    /**
+     * Initializes session for provided entity.
+     * Existing session will be removed and created again.
+     * <p>
+     * If target index name is provided, the session is processed by direct reindex into that index
+     * instead of sending instances to the indexing queue.
+     *
+     * @param entityName      entity name
+     * @param targetIndexName name of index for direct reindex or null
+     * @return true if operation was successfully performed, false otherwise
+     */
+    public boolean initSession(String entityName, @Nullable String targetIndexName) {
         return executeManagementAction(entityName, 10000, () -> {
             EnqueueingSession existingSession = getSession(entityName);
             if (existingSession != null) {
@@ -75,6 +90,7 @@ public class EnqueueingSessionManager {
             effectiveSession.setStatus(EnqueueingSessionStatus.ACTIVE);
             effectiveSession.setOrderingProperty(orderingProperty.getName());
             effectiveSession.setLastProcessedValue(null);
+            effectiveSession.setTargetIndexName(targetIndexName);
 
             dataManager.save(effectiveSession);
             return true;
@@ -92,6 +108,17 @@ public class EnqueueingSessionManager {
         return loadedValues.stream().map(v -> (String) v.getValue("entityName")).collect(Collectors.toList());
     }
 
+    /**
+     * Gets entity names of sessions reindexing entities directly into a new index.
+     *
+     * @return list of entity names
+     */
+    public List<String> loadEntityNamesOfReindexSessions() {
+        String queryString = "select e.entityName from search_EnqueueingSession e where e.targetIndexName is not null";
+        List<KeyValueEntity> loadedValues = dataManager.loadValues(queryString).properties("entityName").list();
+        return loadedValues.stream().map(v -> (String) v.getValue("entityName")).collect(Collectors.toList());
+    }
+
     /**
      * Prevents session from being executed.
      *
@@ -16,12 +16,16 @@
 
 package io.jmix.search.index.queue.impl;
 
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.jmix.core.*;
 import io.jmix.core.common.util.Preconditions;
 import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.security.SystemAuthenticator;
 import io.jmix.data.StoreAwareLocator;
 import io.jmix.search.SearchProperties;
+import io.jmix.search.index.ESIndexManager;
 import io.jmix.search.index.EntityIndexer;
 import io.jmix.search.index.IndexConfiguration;
 import io.jmix.search.index.IndexResult;
@@ -37,13 +41,16 @@ import org.apache.commons.collections4.MapUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.support.TransactionTemplate;
 
+import jakarta.annotation.PreDestroy;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.Query;
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -80,6 +87,12 @@ public class JpaIndexingQueueManager implements IndexingQueueManager {
     protected EnqueueingSessionManager enqueueingSessionManager;
     @Autowired
     protected EntityIdsLoaderProvider entityIdsLoaderProvider;
+    @Autowired
+    protected TimeSource timeSource;
+    @Autowired
+    protected ESIndexManager esIndexManager;
+
+    protected volatile ScheduledExecutorService queueWorkersExecutor;
 
     @Override
     public int emptyQueue() {
@@ -169,6 +182,39 @@ public class JpaIndexingQueueManager implements IndexingQueueManager {
         return enqueueingSessionManager.initSession(entityName);
     }
 
+    @Override
+    public void initAsyncReindexAll() {
+        indexConfigurationManager.getAllIndexConfigurations().stream()
+                .map(IndexConfiguration::getEntityName)
+                .forEach(this::initAsyncReindexAll);
+    }
+
+    @Override
+    public boolean initAsyncReindexAll(String entityName) {
+        Preconditions.checkNotEmptyString(entityName);
+        IndexConfiguration indexConfiguration = indexConfigurationManager.getIndexConfigurationByEntityName(entityName);
+        MetaClass metaClass = metadata.getClass(entityName);
+        if (metadataTools.hasCompositePrimaryKey(metaClass) && !metadataTools.hasUuid(metaClass)) {
+            throw new IllegalArgumentException(String.format("Unable to reindex entity '%s' - " +
+                    "entity with composite primary key should have UUID property", entityName));
+        }
+
+        EnqueueingSession existingSession = enqueueingSessionManager.getSession(entityName);
+        String targetIndexName = createReindexTargetIndexName(indexConfiguration);
+        if (!esIndexManager.createIndex(indexConfiguration, targetIndexName)) {
+            log.warn("Unable to init reindex session for entity '{}': index '{}' has not been created", entityName, targetIndexName);
+            return false;
+        }
+
+        boolean initialized = enqueueingSessionManager.initSession(entityName, targetIndexName);
+        if (initialized) {
+            dropReindexTargetIndex(existingSession);
+        } else {
+            esIndexManager.dropIndex(targetIndexName);
+        }
+        return initialized;
+    }
+
     @Override
     public void suspendAsyncEnqueueIndexAll() {
         indexConfigurationManager.getAllIndexConfigurations().stream()
@@ -202,7 +248,12 @@ public class JpaIndexingQueueManager implements IndexingQueueManager {
 
     @Override
     public boolean terminateAsyncEnqueueIndexAll(String entityName) {
-        return enqueueingSessionManager.removeSession(entityName);
+        EnqueueingSession session = enqueueingSessionManager.getSession(entityName);
+        boolean removed = enqueueingSessionManager.removeSession(entityName);
+        if (removed) {
+            dropReindexTargetIndex(session);
+        }
+        return removed;
     }
 
     @Override
@@ -315,7 +366,9 @@ public class JpaIndexingQueueManager implements IndexingQueueManager {
         EnqueueingSessionStatus status = session.getStatus();
         switch (status) {
             case ACTIVE:
-                return enqueueNextBatchInternal(session, batchSize);
+                return session.getTargetIndexName() == null
+                        ? enqueueNextBatchInternal(session, batchSize)
+                        : reindexNextBatchInternal(session, batchSize);
             case SUSPENDED:
                 log.debug("Skip session for entity '{}'", session.getEntityName());
             default:
@@ -347,6 +400,83 @@ public class JpaIndexingQueueManager implements IndexingQueueManager {
         return processed;
     }
 
+    protected int reindexNextBatchInternal(EnqueueingSession session, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Size of reindex batch must be positive");
+        }
+
+        String entityName = session.getEntityName();
+        String targetIndexName = session.getTargetIndexName();
+        MetaClass metaClass = metadata.getClass(entityName);
+        IndexConfiguration indexConfiguration = indexConfigurationManager.getIndexConfigurationByEntityName(entityName);
+
+        EntityIdsLoader loader = entityIdsLoaderProvider.getLoader(entityName);
+        ResultHolder resultHolder = loader.loadNextIds(session, batchSize);
+        List<?> ids = resultHolder.getIds();
+        Object lastOrderingValue = resultHolder.getLastOrderingValue();
+        // Loader returns all ids without ordering value if it's unable to load them page by page
+        boolean allIdsLoaded = lastOrderingValue == null || ids.size() < batchSize;
+        log.debug("Next {} reindexing instances of entity '{}'", ids.size(), entityName);
+
+        int processed = 0;
+        for (List<?> idsBatch : Lists.partition(ids, batchSize)) {
+            processed += reindexInstances(metaClass, indexConfiguration, idsBatch, targetIndexName);
+        }
+
+        if (allIdsLoaded) {
+            log.debug("All instances of entity '{}' have been reindexed into index '{}'", entityName, targetIndexName);
+            if (esIndexManager.swapIndex(indexConfiguration, targetIndexName)) {
+                enqueueingSessionManager.removeSession(session);
+            } else {
+                log.error("Unable to replace index of entity '{}' by index '{}' - will be retried", entityName, targetIndexName);
+            }
+        } else {
+            enqueueingSessionManager.updateOrderingValue(session, lastOrderingValue);
+        }
+        return processed;
+    }
+
+    /**
+     * Loads instances by ids with the fetch plan used for indexing and writes them into the target index.
+     *
+     * @return amount of successfully indexed instances
+     */
+    protected int reindexInstances(MetaClass metaClass, IndexConfiguration indexConfiguration,
+                                   List<?> rawIds, String targetIndexName) {
+        LoadContext<Object> loadContext = new LoadContext<>(metaClass)
+                .setIds(new ArrayList<>(rawIds))
+                .setFetchPlan(entityIndexer.getFetchPlan(indexConfiguration));
+        List<Object> instances = dataManager.loadList(loadContext);
+        if (instances.isEmpty()) {
+            return 0;
+        }
+
+        int processed = instances.size();
+        IndexResult indexResult = entityIndexer.indexCollection(indexConfiguration, instances, targetIndexName);
+        if (indexResult.hasFailures()) {
+            // Failed instances are indexed via queue after the new index replaces the current one
+            List<Id<?>> failedIds = indexResult.getFailedIndexIds().stream()
+                    .map(idSerialization::stringToId)
+                    .collect(Collectors.toList());
+            log.warn("Failed to reindex {} instances of entity '{}' - they are enqueued for indexing",
+                    failedIds.size(), metaClass.getName());
+            enqueueByIds(failedIds, IndexingOperation.INDEX);
+            processed -= failedIds.size();
+        }
+        return processed;
+    }
+
+    protected String createReindexTargetIndexName(IndexConfiguration indexConfiguration) {
+        return indexConfiguration.getIndexName() + "_" + timeSource.currentTimeMillis();
+    }
+
+    protected void dropReindexTargetIndex(@Nullable EnqueueingSession session) {
+        if (session != null && session.getTargetIndexName() != null && esIndexManager.isIndexExist(session.getTargetIndexName())) {
+            log.info("Drop index '{}' of terminated reindex session for entity '{}'", session.getTargetIndexName(), session.getEntityName());
+            esIndexManager.dropIndex(session.getTargetIndexName());
+        }
+    }
+
     protected int enqueueIndexAll(String entityName, int batchSize) {
         if (batchSize <= 0) {
             throw new IllegalArgumentException("Size of enqueuing batch during reindex entity must be positive");
@@ -444,39 +574,284 @@ public class JpaIndexingQueueManager implements IndexingQueueManager {
         try {
             authenticator.begin();
 
-            List<IndexingQueueItem> queueItems;
-            do {
-                List<String> unavailableEntities = indexStateRegistry.getAllUnavailableIndexedEntities();
-                LoadContext<IndexingQueueItem> loadContext = createDequeueLoadContext(unavailableEntities, batchSize);
-                log.trace("Dequeue items by load context: {}", loadContext);
-                queueItems = dataManager.loadList(loadContext);
-                log.debug("Dequeued {} items: {}", queueItems.size(), queueItems);
+            int workers = searchProperties.getProcessQueueWorkers();
+            if (workers > 1) {
+                count = processQueueConcurrently(batchSize, processEntireQueue, workers);
+            } else {
+                count = processQueueSequentially(batchSize, processEntireQueue);
+            }
+        } finally {
+            locker.unlockQueueProcessing();
+            authenticator.end();
+        }
+
+        log.debug("{} queue items have been successfully processed", count);
+        return count;
+    }
 
-                if (queueItems.isEmpty()) {
+    protected int processQueueSequentially(int batchSize, boolean processEntireQueue) {
+        int count = 0;
+        List<IndexingQueueItem> queueItems;
+        do {
+            List<String> excludedEntities = getExcludedEntities();
+            LoadContext<IndexingQueueItem> loadContext = createDequeueLoadContext(excludedEntities, batchSize);
+            log.trace("Dequeue items by load context: {}", loadContext);
+            queueItems = dataManager.loadList(loadContext);
+            log.debug("Dequeued {} items: {}", queueItems.size(), queueItems);
+
+            if (queueItems.isEmpty()) {
+                break;
+            }
+            List<IndexingQueueItem> successfullyProcessedQueueItems = processQueueItems(queueItems);
+
+            SaveContext saveContext = new SaveContext();
+            saveContext.removing(successfullyProcessedQueueItems);
+            dataManager.save(saveContext);
+
+            count += successfullyProcessedQueueItems.size();
+        } while (processEntireQueue && queueItems.size() == batchSize);
+        return count;
+    }
+
+    /**
+     * Processes the queue by several workers. Every worker claims its own batches of queue items
+     * (see {@link #claimQueueItems(String, int)}) and processes them independently,
+     * so loading of entities by one worker overlaps with sending of bulk requests by another.
+     * <p>
+     * Claims are stored in the database, therefore workers of different cluster nodes never process
+     * the same queue items at the same time. Claims of batches being processed are renewed periodically
+     * (see {@link #renewQueueItemClaims(Collection)}), so they don't expire while the worker is still running.
+     */
+    protected int processQueueConcurrently(int batchSize, boolean processEntireQueue, int workers) {
+        ScheduledExecutorService executorService = getQueueWorkersExecutor(workers);
+        Set<String> activeClaimTokens = ConcurrentHashMap.newKeySet();
+        long renewalPeriodMs = Math.max(searchProperties.getProcessQueueClaimTimeout().toMillis() / 3, 1);
+        ScheduledFuture<?> renewal = executorService.scheduleWithFixedDelay(
+                () -> renewQueueItemClaims(activeClaimTokens), renewalPeriodMs, renewalPeriodMs, TimeUnit.MILLISECONDS);
+
+        List<Future<Integer>> results = new ArrayList<>(workers);
+        try {
+            for (int i = 0; i < workers; i++) {
+                results.add(executorService.submit(() ->
+                        authenticator.withSystem(() -> runQueueWorker(batchSize, processEntireQueue, activeClaimTokens))));
+            }
+
+            int count = 0;
+            for (Future<Integer> result : results) {
+                try {
+                    count += result.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    log.warn("Queue processing has been interrupted");
                     break;
+                } catch (ExecutionException e) {
+                    log.error("Queue processing worker has failed", e.getCause());
                 }
-                List<IndexingQueueItem> successfullyProcessedQueueItems = processQueueItems(queueItems);
+            }
+            return count;
+        } finally {
+            results.forEach(result -> result.cancel(true));
+            renewal.cancel(false);
+        }
+    }
+
+    protected int runQueueWorker(int batchSize, boolean processEntireQueue, Set<String> activeClaimTokens) {
+        int count = 0;
+        do {
+            if (Thread.currentThread().isInterrupted()) {
+                break;
+            }
+
+            String claimToken = UUID.randomUUID().toString();
+            activeClaimTokens.add(claimToken);
+            List<IndexingQueueItem> queueItems = Collections.emptyList();
+            List<IndexingQueueItem> successfullyProcessedQueueItems = Collections.emptyList();
+            try {
+                int claimed = claimQueueItems(claimToken, batchSize);
+                if (claimed == 0) {
+                    break;
+                }
+
+                queueItems = dataManager.loadList(createClaimedItemsLoadContext(claimToken));
+                log.debug("Claimed {} items: {}", queueItems.size(), queueItems);
+
+                successfullyProcessedQueueItems = processQueueItems(queueItems);
 
                 SaveContext saveContext = new SaveContext();
                 saveContext.removing(successfullyProcessedQueueItems);
                 dataManager.save(saveContext);
+            } finally {
+                activeClaimTokens.remove(claimToken);
+                // Failed items are released at once, so they are retried by the next batches
+                Set<UUID> successfulIds = successfullyProcessedQueueItems.stream()
+                        .map(IndexingQueueItem::getId)
+                        .collect(Collectors.toSet());
+                releaseQueueItems(queueItems.stream()
+                        .map(IndexingQueueItem::getId)
+                        .filter(id -> !successfulIds.contains(id))
+                        .collect(Collectors.toList()));
+            }
 
-                count += successfullyProcessedQueueItems.size();
-            } while (processEntireQueue && queueItems.size() == batchSize);
-        } finally {
-            locker.unlockQueueProcessing();
-            authenticator.end();
+            if (successfullyProcessedQueueItems.isEmpty()) {
+                log.debug("No items of the claimed batch have been processed successfully, stop the worker");
+                break;
+            }
+            count += successfullyProcessedQueueItems.size();
+        } while (processEntireQueue);
+        return count;
+    }
+
+    /**
+     * Marks the next batch of unclaimed queue items with the provided token.
+     * <p>
+     * Items are selected and marked in a separate transaction. The update condition is re-checked,
+     * so if another worker has claimed some of the selected items in the meantime they are skipped.
+     *
+     * @param claimToken unique token of the batch
+     * @param batchSize  max amount of items to claim
+     * @return amount of claimed items, 0 if there are no items available for processing
+     */
+    protected int claimQueueItems(String claimToken, int batchSize) {
+        List<String> unavailableEntities = getExcludedEntities();
+        TransactionTemplate transactionTemplate = storeAwareLocator.getTransactionTemplate(Stores.MAIN);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        Integer result = transactionTemplate.execute(status -> {
+            EntityManager entityManager = storeAwareLocator.getEntityManager(Stores.MAIN);
+            Date now = timeSource.currentTimestamp();
+            Date claimExpirationDate = getClaimExpirationDate(now);
+            int claimed;
+            List<?> candidateIds;
+            do {
+                StringBuilder sb = new StringBuilder("select q.id from search_IndexingQueue q")
+                        .append(" where (q.claimToken is null or q.claimDate < :claimExpirationDate)");
+                if (!unavailableEntities.isEmpty()) {
+                    sb.append(" and q.entityName not in :unavailableEntities");
+                }
+                sb.append(" order by q.createdDate asc");
+                Query selectQuery = entityManager.createQuery(sb.toString());
+                selectQuery.setParameter("claimExpirationDate", claimExpirationDate);
+                if (!unavailableEntities.isEmpty()) {
+                    selectQuery.setParameter("unavailableEntities", unavailableEntities);
+                }
+                selectQuery.setMaxResults(batchSize);
+                candidateIds = selectQuery.getResultList();
+                if (candidateIds.isEmpty()) {
+                    return 0;
+                }
+
+                Query updateQuery = entityManager.createQuery("update search_IndexingQueue q" +
+                        " set q.claimToken = :claimToken, q.claimDate = :claimDate" +
+                        " where q.id in :ids and (q.claimToken is null or q.claimDate < :claimExpirationDate)");
+                updateQuery.setParameter("claimToken", claimToken);
+                updateQuery.setParameter("claimDate", now);
+                updateQuery.setParameter("ids", candidateIds);
+                updateQuery.setParameter("claimExpirationDate", claimExpirationDate);
+                claimed = updateQuery.executeUpdate();
+                // All selected items have been claimed by concurrent workers - try the next ones
+            } while (claimed == 0);
+            log.trace("Claimed {} of {} selected queue items with token {}", claimed, candidateIds.size(), claimToken);
+            return claimed;
+        });
+        return result == null ? 0 : result;
+    }
+
+    /**
+     * Makes the queue items with provided ids available for further processing.
+     */
+    protected void releaseQueueItems(Collection<UUID> itemIds) {
+        if (itemIds.isEmpty()) {
+            return;
+        }
+        log.debug("Release {} failed queue items", itemIds.size());
+        TransactionTemplate transactionTemplate = storeAwareLocator.getTransactionTemplate(Stores.MAIN);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        for (List<UUID> idsBatch : Iterables.partition(itemIds, searchProperties.getProcessQueueBatchSize())) {
+            transactionTemplate.executeWithoutResult(status -> {
+                EntityManager entityManager = storeAwareLocator.getEntityManager(Stores.MAIN);
+                Query query = entityManager.createQuery("update search_IndexingQueue q" +
+                        " set q.claimToken = null, q.claimDate = null where q.id in :ids");
+                query.setParameter("ids", idsBatch);
+                query.executeUpdate();
+            });
         }
+    }
 
-        log.debug("{} queue items have been successfully processed", count);
-        return count;
+    /**
+     * Prolongs the claims with provided tokens, so the items being processed are not taken over by other workers.
+     */
+    protected void renewQueueItemClaims(Collection<String> claimTokens) {
+        if (claimTokens.isEmpty()) {
+            return;
+        }
+        try {
+            TransactionTemplate transactionTemplate = storeAwareLocator.getTransactionTemplate(Stores.MAIN);
+            transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            transactionTemplate.executeWithoutResult(status -> {
+                EntityManager entityManager = storeAwareLocator.getEntityManager(Stores.MAIN);
+                Query query = entityManager.createQuery("update search_IndexingQueue q" +
+                        " set q.claimDate = :claimDate where q.claimToken in :claimTokens");
+                query.setParameter("claimDate", timeSource.currentTimestamp());
+                query.setParameter("claimTokens", new ArrayList<>(claimTokens));
+                int renewed = query.executeUpdate();
+                log.trace("Renewed claims of {} queue items", renewed);
+            });
+        } catch (RuntimeException e) {
+            log.warn("Unable to renew claims of queue items", e);
+        }
+    }
+
+    /**
+     * Gets names of entities whose queue items are not processed now: entities with unavailable indexes and
+     * entities being reindexed directly. Items of the latter are processed after the index replacement.
+     */
+    protected List<String> getExcludedEntities() {
+        List<String> excludedEntities = new ArrayList<>(indexStateRegistry.getAllUnavailableIndexedEntities());
+        excludedEntities.addAll(enqueueingSessionManager.loadEntityNamesOfReindexSessions());
+        return excludedEntities;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (queueWorkersExecutor != null) {
+            queueWorkersExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * Gets the executor of queue processing workers. Besides the workers it runs renewal of their claims.
+     */
+    protected ScheduledExecutorService getQueueWorkersExecutor(int workers) {
+        if (queueWorkersExecutor == null) {
+            synchronized (this) {
+                if (queueWorkersExecutor == null) {
+                    queueWorkersExecutor = Executors.newScheduledThreadPool(workers + 1, new ThreadFactoryBuilder()
+                            .setNameFormat("search-queue-worker-%d")
+                            .setDaemon(true)
+                            .build());
+                }
+            }
+        }
+        return queueWorkersExecutor;
+    }
+
+    protected Date getClaimExpirationDate(Date now) {
+        return new Date(now.getTime() - searchProperties.getProcessQueueClaimTimeout().toMillis());
+    }
+
+    protected LoadContext<IndexingQueueItem> createClaimedItemsLoadContext(String claimToken) {
+        LoadContext.Query query = new LoadContext.Query("select q from search_IndexingQueue q where q.claimToken = :claimToken");
+        query.setParameter("claimToken", claimToken);
+        return new LoadContext<IndexingQueueItem>(metadata.getClass(IndexingQueueItem.class)).setQuery(query);
     }
 
     protected LoadContext<IndexingQueueItem> createDequeueLoadContext(List<String> unavailableEntities, int batchSize) {
         LoadContext.Query query = new LoadContext.Query("");
         StringBuilder sb = new StringBuilder("select q from search_IndexingQueue q");
+        // Skip items being processed by workers of other nodes
+        sb.append(" where (q.claimToken is null or q.claimDate < :claimExpirationDate)");
+        query.setParameter("claimExpirationDate", getClaimExpirationDate(timeSource.currentTimestamp()));
         if (!unavailableEntities.isEmpty()) {
-            sb.append(" where q.entityName not in :unavailableEntities");
+            sb.append(" and q.entityName not in :unavailableEntities");
             query.setParameter("unavailableEntities", unavailableEntities);
         }
         sb.append(" order by q.createdDate asc");
@@ -18,11 +18,13 @@ package io.jmix.search.listener;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Iterables;
 import io.jmix.core.*;
 import io.jmix.core.datastore.AbstractDataStore;
 import io.jmix.core.datastore.DataStoreBeforeEntitySaveEvent;
 import io.jmix.core.datastore.DataStoreCustomizer;
 import io.jmix.core.datastore.DataStoreEventListener;
+import io.jmix.core.entity.KeyValueEntity;
 import io.jmix.core.event.AttributeChanges;
 import io.jmix.core.event.EntityChangedEvent;
 import io.jmix.core.metamodel.model.MetaClass;
@@ -39,7 +41,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.event.EventListener;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.OneToMany;
@@ -101,15 +108,24 @@ public class EntityTrackingListener implements DataStoreEventListener, DataStore
          */
         if (isChangeTrackingEnabled()) {
             SaveContext saveContext = event.getSaveContext();
-            Collection<Object> entitiesToRemove = saveContext.getEntitiesToRemove();
-            for (Object entity : entitiesToRemove) {
+            if (isDependentEntitiesSynchronizationRequired(saveContext)) {
+                // register the synchronization before the transaction commit starts, so it takes part in it
+                getDependentEntitiesSynchronization();
+            }
+
+            Map<MetaClass, List<Id<?>>> removedEntityIds = new LinkedHashMap<>();
+            for (Object entity : saveContext.getEntitiesToRemove()) {
                 if (isRemovedEntityProcessingRequired(entity)) {
-                    try {
-                        log.trace("Process entity: {}", entity);
-                        processRemovedEntity(entity);
-                    } catch (Exception e) {
-                        log.error("Failed to process entity {}", entity, e);
-                    }
+                    removedEntityIds.computeIfAbsent(metadata.getClass(entity), metaClass -> new ArrayList<>())
+                            .add(Id.of(entity));
+                }
+            }
+            for (Map.Entry<MetaClass, List<Id<?>>> entry : removedEntityIds.entrySet()) {
+                try {
+                    log.trace("Process removed entities: {}", entry.getValue());
+                    processRemovedEntities(entry.getKey(), entry.getValue());
+                } catch (Exception e) {
+                    log.error("Failed to process removed entities {}", entry.getValue(), e);
                 }
             }
         }
@@ -128,13 +144,14 @@ public class EntityTrackingListener implements DataStoreEventListener, DataStore
     }
 
     protected void processRemovedEntity(Object removedEntity) {
-        Id<?> removedEntityId = Id.of(removedEntity);
-        MetaClass metaClass = metadata.getClass(removedEntity);
+        processRemovedEntities(metadata.getClass(removedEntity), Collections.singletonList(Id.of(removedEntity)));
+    }
 
-        Set<Id<?>> dependentEntityIds = getEntityIdsDependentOnRemovedEntity(removedEntityId, metaClass);
-        if (!dependentEntityIds.isEmpty()) {
-            removalDependencies.put(removedEntityId, dependentEntityIds);
-        }
+    protected void processRemovedEntities(MetaClass metaClass, Collection<Id<?>> removedEntityIds) {
+        Map<MetaClass, Set<MetaPropertyPath>> dependenciesMetaData =
+                indexConfigurationManager.getDependenciesMetaDataForDelete(metaClass.getJavaClass());
+        Map<Id<?>, Set<Id<?>>> dependentEntityIds = loadDependentEntityIds(metaClass, removedEntityIds, dependenciesMetaData);
+        removalDependencies.putAll(dependentEntityIds);
     }
 
     protected void processEntityChangedEvent(EntityChangedEvent<?> event) {
@@ -164,10 +181,18 @@ public class EntityTrackingListener implements DataStoreEventListener, DataStore
         }
 
         if (EntityChangedEvent.Type.UPDATED.equals(eventType)) {
-            Set<Id<?>> dependentEntityIds = getEntityIdsDependentOnUpdatedEntity(entityId, metaClass, changes);
-
-            if (!dependentEntityIds.isEmpty()) {
-                indexingQueueManager.enqueueIndexCollectionByEntityIds(dependentEntityIds);
+            Map<MetaClass, Set<MetaPropertyPath>> dependenciesMetaData =
+                    indexConfigurationManager.getDependenciesMetaDataForUpdate(entityClass, changes.getAttributes());
+            if (!dependenciesMetaData.isEmpty()) {
+                DependentEntitiesSynchronization synchronization = getDependentEntitiesSynchronization();
+                if (synchronization != null) {
+                    synchronization.addUpdatedEntity(entityId, metaClass, dependenciesMetaData);
+                } else {
+                    Set<Id<?>> dependentEntityIds = loadDependentEntityIds(entityId, metaClass, dependenciesMetaData);
+                    if (!dependentEntityIds.isEmpty()) {
+                        indexingQueueManager.enqueueIndexCollectionByEntityIds(dependentEntityIds);
+                    }
+                }
             }
         } else if (EntityChangedEvent.Type.DELETED.equals(eventType)) {
             Set<Id<?>> dependentEntityIds = removalDependencies.getIfPresent(entityId);
@@ -188,6 +213,11 @@ public class EntityTrackingListener implements DataStoreEventListener, DataStore
                 .anyMatch(affectedLocalPropertyNames::contains);
     }
 
+    protected boolean isDependentEntitiesSynchronizationRequired(SaveContext saveContext) {
+        return saveContext.getEntitiesToSave().stream()
+                .anyMatch(entity -> isEntityClassCanBeProcessed(metadata.getClass(entity).getJavaClass()));
+    }
+
     protected boolean isChangeTrackingEnabled() {
         return searchProperties.isChangedEntitiesIndexingEnabled();
     }
@@ -210,6 +240,12 @@ public class EntityTrackingListener implements DataStoreEventListener, DataStore
         return !IndexingQueueItem.class.equals(entityClass) && indexConfigurationManager.isAffectedEntityClass(entityClass);
     }
 
+    /**
+     * @deprecated is not invoked by the listener anymore: dependent entities of updated entities are collected
+     * by {@link DependentEntitiesSynchronization} and loaded for all updated entities at once.
+     * Use {@link #loadDependentEntityIds(MetaClass, Collection, Map)} instead.
+     */
+    @Deprecated
     protected Set<Id<?>> getEntityIdsDependentOnUpdatedEntity(Id<?> updatedEntityId, MetaClass metaClass, AttributeChanges changes) {
         Class<?> entityClass = updatedEntityId.getEntityClass();
         Map<MetaClass, Set<MetaPropertyPath>> dependenciesMetaData;
@@ -217,6 +253,12 @@ public class EntityTrackingListener implements DataStoreEventListener, DataStore
         return loadDependentEntityIds(updatedEntityId, metaClass, dependenciesMetaData);
     }
 
+    /**
+     * @deprecated is not invoked by the listener anymore: dependent entities of removed entities are loaded
+     * for all removed entities of the same class at once in {@link #processRemovedEntities(MetaClass, Collection)}.
+     * Use {@link #loadDependentEntityIds(MetaClass, Collection, Map)} instead.
+     */
+    @Deprecated
     protected Set<Id<?>> getEntityIdsDependentOnRemovedEntity(Id<?> removedEntityId, MetaClass metaClass) {
         Class<?> entityClass = removedEntityId.getEntityClass();
         Map<MetaClass, Set<MetaPropertyPath>> dependenciesMetaData;
@@ -227,9 +269,24 @@ public class EntityTrackingListener implements DataStoreEventListener, DataStore
     protected Set<Id<?>> loadDependentEntityIds(Id<?> targetEntityId,
                                                 MetaClass targetMetaClass,
                                                 Map<MetaClass, Set<MetaPropertyPath>> dependencyMetaData) {
-        log.debug("Load dependent entity pks for entity {}: {}", targetEntityId, dependencyMetaData);
+        Map<Id<?>, Set<Id<?>>> dependentEntityIds = loadDependentEntityIds(targetMetaClass,
+                Collections.singletonList(targetEntityId), dependencyMetaData);
+        return dependentEntityIds.getOrDefault(targetEntityId, Collections.emptySet());
+    }
 
-        Set<Id<?>> result = new HashSet<>();
+    /**
+     * Loads ids of entities dependent on the provided target entities. One id-only query is performed
+     * per dependent entity and property path for every chunk of target ids.
+     *
+     * @return dependent entity ids grouped by target entity id
+     */
+    protected Map<Id<?>, Set<Id<?>>> loadDependentEntityIds(MetaClass targetMetaClass,
+                                                            Collection<Id<?>> targetEntityIds,
+                                                            Map<MetaClass, Set<MetaPropertyPath>> dependencyMetaData) {
+        log.debug("Load dependent entity pks for entities {}: {}", targetEntityIds, dependencyMetaData);
+
+        Map<Id<?>, Set<Id<?>>> result = new HashMap<>();
+        int batchSize = Math.max(1, searchProperties.getDependentEntitiesLoadBatchSize());
         for (Map.Entry<MetaClass, Set<MetaPropertyPath>> entry : dependencyMetaData.entrySet()) {
             Set<MetaPropertyPath> properties = entry.getValue();
             if (properties.isEmpty()) {
@@ -241,40 +298,167 @@ public class EntityTrackingListener implements DataStoreEventListener, DataStore
             for (MetaPropertyPath propertyPath : properties) {
                 log.debug("Load entities '{}' dependent via property '{}'", entityName, propertyPath);
 
-                DependentEntitiesQuery dependentEntitiesQuery = new DependentEntitiesQueryBuilder()
-                        .loadEntity(entityName)
-                        .byProperty(propertyPath)
-                        .dependedOn(targetMetaClass, targetEntityId)
-                        .buildQuery();
-                log.debug("{}", dependentEntitiesQuery);
-
-                List<Id<?>> refObjectIds = performLoadingDependentEntityIds(metaClass, dependentEntitiesQuery);
-                log.debug("Loaded primary keys of dependent references ({}): {}", refObjectIds.size(), refObjectIds);
-                result.addAll(refObjectIds);
+                for (List<Id<?>> targetEntityIdsBatch : Iterables.partition(targetEntityIds, batchSize)) {
+                    DependentEntitiesQuery dependentEntitiesQuery = new DependentEntitiesQueryBuilder()
+                            .loadEntity(metaClass)
+                            .byProperty(propertyPath)
+                            .dependedOn(targetMetaClass, targetEntityIdsBatch)
+                            .buildQuery();
+                    log.debug("{}", dependentEntitiesQuery);
+
+                    Map<Id<?>, Set<Id<?>>> refObjectIds =
+                            performLoadingDependentEntityIds(metaClass, targetMetaClass, dependentEntitiesQuery);
+                    log.debug("Loaded primary keys of dependent references: {}", refObjectIds);
+                    refObjectIds.forEach((targetEntityId, dependentEntityIds) ->
+                            result.computeIfAbsent(targetEntityId, id -> new HashSet<>()).addAll(dependentEntityIds));
+                }
             }
         }
 
         return result;
     }
 
-    protected List<Id<?>> performLoadingDependentEntityIds(MetaClass metaClass, DependentEntitiesQuery dependentEntitiesQuery) {
-        return dataManager.load(metaClass.getJavaClass())
-                .query(dependentEntitiesQuery.getQuery())
-                .parameters(dependentEntitiesQuery.getParameters())
-                .hint(PersistenceHints.SOFT_DELETION, false)
-                .joinTransaction(true)
-                .list()
-                .stream()
-                .map(Id::of)
-                .collect(Collectors.toList());
+    protected Map<Id<?>, Set<Id<?>>> performLoadingDependentEntityIds(MetaClass metaClass,
+                                                                      MetaClass targetMetaClass,
+                                                                      DependentEntitiesQuery dependentEntitiesQuery) {
+        ValueLoadContext loadContext = ValueLoadContext.create()
+                .setStoreName(metaClass.getStore().getName())
+                .setQuery(new ValueLoadContext.Query(dependentEntitiesQuery.getQuery())
+                        .setParameters(dependentEntitiesQuery.getParameters()))
+                .setHint(PersistenceHints.SOFT_DELETION, false)
+                .setJoinTransaction(true);
+        loadContext.setProperties(List.of(DependentEntitiesQuery.DEPENDENT_ID, DependentEntitiesQuery.TARGET_ID));
+
+        Map<Id<?>, Set<Id<?>>> result = new HashMap<>();
+        for (KeyValueEntity row : dataManager.loadValues(loadContext)) {
+            Id<?> targetEntityId = Id.of(row.getValue(DependentEntitiesQuery.TARGET_ID), targetMetaClass.getJavaClass());
+            Id<?> dependentEntityId = Id.of(row.getValue(DependentEntitiesQuery.DEPENDENT_ID), metaClass.getJavaClass());
+            result.computeIfAbsent(targetEntityId, id -> new HashSet<>()).add(dependentEntityId);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the synchronization collecting updated entities of the current transaction,
+     * or null if there is no active transaction synchronization.
+     */
+    @Nullable
+    protected DependentEntitiesSynchronization getDependentEntitiesSynchronization() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof DependentEntitiesSynchronization
+                    && !((DependentEntitiesSynchronization) synchronization).processed) {
+                return (DependentEntitiesSynchronization) synchronization;
+            }
+        }
+        DependentEntitiesSynchronization synchronization = new DependentEntitiesSynchronization();
+        TransactionSynchronizationManager.registerSynchronization(synchronization);
+        return synchronization;
+    }
+
+    /**
+     * Collects ids of entities updated within a transaction and enqueues entities dependent on them
+     * before the transaction commit. Dependent entities are resolved for all updated entities at once.
+     * <p>
+     * If the synchronization is registered when the before-commit phase is already in progress (e.g. an entity
+     * is saved from another synchronization), it is not invoked before the commit. In this case dependent
+     * entities are enqueued in a new transaction after the commit.
+     */
+    protected class DependentEntitiesSynchronization implements TransactionSynchronization {
+
+        protected final Map<DependencyKey, Set<Id<?>>> updatedEntityIds = new LinkedHashMap<>();
+        protected boolean processed;
+
+        protected void addUpdatedEntity(Id<?> entityId, MetaClass metaClass,
+                                        Map<MetaClass, Set<MetaPropertyPath>> dependenciesMetaData) {
+            for (Map.Entry<MetaClass, Set<MetaPropertyPath>> entry : dependenciesMetaData.entrySet()) {
+                for (MetaPropertyPath propertyPath : entry.getValue()) {
+                    updatedEntityIds.computeIfAbsent(new DependencyKey(metaClass, entry.getKey(), propertyPath),
+                                    key -> new LinkedHashSet<>())
+                            .add(entityId);
+                }
+            }
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            processed = true;
+            enqueueDependentEntities();
+        }
+
+        @Override
+        public void afterCommit() {
+            if (processed || updatedEntityIds.isEmpty()) {
+                return;
+            }
+            processed = true;
+            log.debug("Enqueue entities dependent on {} after commit", updatedEntityIds.values());
+
+            TransactionTemplate transactionTemplate = storeAwareLocator.getTransactionTemplate(Stores.MAIN);
+            transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            transactionTemplate.executeWithoutResult(status -> enqueueDependentEntities());
+        }
+
+        protected void enqueueDependentEntities() {
+            Set<Id<?>> dependentEntityIds = new LinkedHashSet<>();
+            for (Map.Entry<DependencyKey, Set<Id<?>>> entry : updatedEntityIds.entrySet()) {
+                DependencyKey key = entry.getKey();
+                try {
+                    Map<Id<?>, Set<Id<?>>> loadedIds = loadDependentEntityIds(key.targetMetaClass, entry.getValue(),
+                            Collections.singletonMap(key.dependentMetaClass, Collections.singleton(key.propertyPath)));
+                    loadedIds.values().forEach(dependentEntityIds::addAll);
+                } catch (Exception e) {
+                    log.error("Failed to load entities dependent on {}", entry.getValue(), e);
+                }
+            }
+
+            if (!dependentEntityIds.isEmpty()) {
+                indexingQueueManager.enqueueIndexCollectionByEntityIds(dependentEntityIds);
+            }
+        }
+
+        @Override
+        public int getOrder() {
+            return LOWEST_PRECEDENCE;
+        }
+    }
+
+    protected static class DependencyKey {
+
+        protected final MetaClass targetMetaClass;
+        protected final MetaClass dependentMetaClass;
+        protected final MetaPropertyPath propertyPath;
+
+        protected DependencyKey(MetaClass targetMetaClass, MetaClass dependentMetaClass, MetaPropertyPath propertyPath) {
+            this.targetMetaClass = targetMetaClass;
+            this.dependentMetaClass = dependentMetaClass;
+            this.propertyPath = propertyPath;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            DependencyKey that = (DependencyKey) o;
+            return targetMetaClass.equals(that.targetMetaClass)
+                    && dependentMetaClass.equals(that.dependentMetaClass)
+                    && propertyPath.equals(that.propertyPath);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(targetMetaClass, dependentMetaClass, propertyPath);
+        }
     }
 
     private class DependentEntitiesQueryBuilder {
 
-        private String entityName;
+        private MetaClass metaClass;
         private MetaPropertyPath propertyPath;
         private MetaClass targetMetaClass;
-        private Id<?> targetEntityId;
+        private Collection<Id<?>> targetEntityIds;
 
         private int currentEntityIndex;
         private String currentEntityAlias;
@@ -287,8 +471,8 @@ public class EntityTrackingListener implements DataStoreEventListener, DataStore
 
         private Map<String, Object> parameters;
 
-        protected DependentEntitiesQueryBuilder loadEntity(String entityName) {
-            this.entityName = entityName;
+        protected DependentEntitiesQueryBuilder loadEntity(MetaClass metaClass) {
+            this.metaClass = metaClass;
             return this;
         }
 
@@ -297,9 +481,9 @@ public class EntityTrackingListener implements DataStoreEventListener, DataStore
             return this;
         }
 
-        protected DependentEntitiesQueryBuilder dependedOn(MetaClass metaClass, Id<?> entityId) {
+        protected DependentEntitiesQueryBuilder dependedOn(MetaClass metaClass, Collection<Id<?>> entityIds) {
             this.targetMetaClass = metaClass;
-            this.targetEntityId = entityId;
+            this.targetEntityIds = entityIds;
             return this;
         }
 
@@ -314,10 +498,8 @@ public class EntityTrackingListener implements DataStoreEventListener, DataStore
             currentEntityIndex = 1;
             currentEntityAlias = "e1";
             initPropertyPathStringBuilderForCurrentEntity();
-            querySb = new StringBuilder("select ")
-                    .append(currentEntityAlias)
-                    .append(" from ")
-                    .append(entityName)
+            querySb = new StringBuilder(" from ")
+                    .append(metaClass.getName())
                     .append(' ')
                     .append(currentEntityAlias);
         }
@@ -370,12 +552,19 @@ public class EntityTrackingListener implements DataStoreEventListener, DataStore
         }
 
         private void appendWhereBlock() {
-            querySb.append(" where ").append(currentPropertyPathSb).append('.').append(targetPrimaryKeyName).append(" = :ref");
-            parameters.put("ref", targetEntityId.getValue());
+            String targetIdPath = currentPropertyPathSb + "." + targetPrimaryKeyName;
+            querySb.insert(0, "select distinct e1." + metadataTools.getPrimaryKeyName(metaClass) + ", " + targetIdPath)
+                    .append(" where ").append(targetIdPath).append(" in :refs");
+            parameters.put("refs", targetEntityIds.stream()
+                    .map(Id::getValue)
+                    .collect(Collectors.toList()));
         }
     }
 
-    private static class DependentEntitiesQuery {
+    protected static class DependentEntitiesQuery {
+        protected static final String DEPENDENT_ID = "dependentId";
+        protected static final String TARGET_ID = "targetId";
+
         private final String query;
         private final Map<String, Object> parameters;
 
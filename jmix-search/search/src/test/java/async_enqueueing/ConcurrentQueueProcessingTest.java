@@ -0,0 +1,177 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package async_enqueueing;
+
+import io.jmix.core.DataManager;
+import io.jmix.core.Id;
+import io.jmix.core.IdSerialization;
+import io.jmix.search.index.EntityIndexer;
+import io.jmix.search.index.IndexResult;
+import io.jmix.search.index.queue.entity.EnqueueingSession;
+import io.jmix.search.index.queue.entity.IndexingQueueItem;
+import org.apache.commons.lang3.time.DateUtils;
+import org.junit.Assert;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import test_support.ReindexSessionTestConfiguration;
+import test_support.TestCommonEntityWrapperManager;
+import test_support.TestJpaIndexingQueueManager;
+import test_support.entity.TestRootEntity;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(
+        classes = {ReindexSessionTestConfiguration.class}
+)
+public class ConcurrentQueueProcessingTest {
+
+    @Autowired
+    TestJpaIndexingQueueManager indexingQueueManager;
+    @Autowired
+    TestCommonEntityWrapperManager ewm;
+    @Autowired
+    EntityIndexer entityIndexer;
+    @Autowired
+    IdSerialization idSerialization;
+    @Autowired
+    DataManager dataManager;
+
+    @BeforeEach
+    public void setUp() {
+        Mockito.reset(entityIndexer);
+        when(entityIndexer.indexCollectionByEntityIds(anyCollection())).thenReturn(mock(IndexResult.class));
+
+        dataManager.load(EnqueueingSession.class).all().list().forEach(dataManager::remove);
+        dataManager.load(IndexingQueueItem.class).all().list().forEach(dataManager::remove);
+        dataManager.load(TestRootEntity.class).all().list().forEach(dataManager::remove);
+    }
+
+    @Test
+    @DisplayName("Competing workers claim disjoint batches of queue items")
+    public void competingWorkersClaimDisjointBatches() throws Exception {
+        enqueueEntities(20);
+
+        int workers = 4;
+        ExecutorService executorService = Executors.newFixedThreadPool(workers);
+        try {
+            CountDownLatch startLatch = new CountDownLatch(1);
+            List<Future<Map<String, Integer>>> results = new ArrayList<>();
+            for (int i = 0; i < workers; i++) {
+                results.add(executorService.submit(() -> {
+                    startLatch.await();
+                    Map<String, Integer> claims = new HashMap<>();
+                    int claimed;
+                    do {
+                        String claimToken = UUID.randomUUID().toString();
+                        claimed = indexingQueueManager.claimQueueItems(claimToken, 5);
+                        claims.put(claimToken, claimed);
+                    } while (claimed > 0);
+                    return claims;
+                }));
+            }
+            startLatch.countDown();
+
+            Map<String, Integer> claims = new HashMap<>();
+            for (Future<Map<String, Integer>> result : results) {
+                claims.putAll(result.get(30, TimeUnit.SECONDS));
+            }
+
+            List<IndexingQueueItem> queueItems = loadQueueItems();
+            Assert.assertTrue(queueItems.stream().allMatch(item -> item.getClaimToken() != null));
+            Map<String, Long> claimedItems = queueItems.stream()
+                    .collect(Collectors.groupingBy(IndexingQueueItem::getClaimToken, Collectors.counting()));
+            Assert.assertEquals(20, claimedItems.values().stream().mapToLong(Long::longValue).sum());
+            claims.forEach((claimToken, claimed) ->
+                    Assert.assertEquals(claimed.longValue(), claimedItems.getOrDefault(claimToken, 0L).longValue()));
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Expired claim is taken over by another worker unless it has been renewed")
+    public void expiredClaimIsTakenOver() {
+        enqueueEntities(3);
+
+        String firstToken = UUID.randomUUID().toString();
+        String secondToken = UUID.randomUUID().toString();
+        Assert.assertEquals(3, indexingQueueManager.claimQueueItems(firstToken, 10));
+        Assert.assertEquals(0, indexingQueueManager.claimQueueItems(secondToken, 10));
+
+        expireClaims();
+        indexingQueueManager.renewQueueItemClaims(Collections.singleton(firstToken));
+        Assert.assertEquals(0, indexingQueueManager.claimQueueItems(secondToken, 10));
+
+        expireClaims();
+        Assert.assertEquals(3, indexingQueueManager.claimQueueItems(secondToken, 10));
+        Assert.assertTrue(loadQueueItems().stream().allMatch(item -> secondToken.equals(item.getClaimToken())));
+    }
+
+    @Test
+    @DisplayName("Failed queue items are released right after processing of their batch")
+    public void failedItemsAreReleased() {
+        List<TestRootEntity> entities = enqueueEntities(3);
+        String failedId = idSerialization.idToString(Id.of(entities.get(0)));
+        IndexResult indexResult = mock(IndexResult.class);
+        when(indexResult.hasFailures()).thenReturn(true);
+        when(indexResult.getFailedIndexIds()).thenReturn(Collections.singletonList(failedId));
+        when(entityIndexer.indexCollectionByEntityIds(anyCollection())).thenReturn(indexResult);
+
+        Assert.assertEquals(2, indexingQueueManager.processQueueConcurrently(10, true, 2));
+
+        List<IndexingQueueItem> queueItems = loadQueueItems();
+        Assert.assertEquals(1, queueItems.size());
+        Assert.assertEquals(failedId, queueItems.get(0).getEntityId());
+        Assert.assertNull(queueItems.get(0).getClaimToken());
+        Assert.assertNull(queueItems.get(0).getClaimDate());
+    }
+
+    protected List<TestRootEntity> enqueueEntities(int amount) {
+        List<TestRootEntity> entities = new ArrayList<>();
+        for (int i = 0; i < amount; i++) {
+            TestRootEntity entity = ewm.createTestRootEntity().save();
+            indexingQueueManager.enqueueIndexByEntityId(Id.of(entity));
+            entities.add(entity);
+        }
+        return entities;
+    }
+
+    protected List<IndexingQueueItem> loadQueueItems() {
+        return dataManager.load(IndexingQueueItem.class).all().list();
+    }
+
+    protected void expireClaims() {
+        Date claimDate = DateUtils.addHours(new Date(), -1);
+        List<IndexingQueueItem> queueItems = loadQueueItems().stream()
+                .peek(item -> item.setClaimDate(claimDate))
+                .collect(Collectors.toList());
+        dataManager.save(queueItems.toArray());
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package async_enqueueing;
+
+import io.jmix.core.*;
+import io.jmix.core.entity.EntityValues;
+import io.jmix.search.index.ESIndexManager;
+import io.jmix.search.index.EntityIndexer;
+import io.jmix.search.index.IndexConfiguration;
+import io.jmix.search.index.IndexResult;
+import io.jmix.search.index.queue.entity.EnqueueingSession;
+import io.jmix.search.index.queue.entity.IndexingQueueItem;
+import io.jmix.search.index.queue.impl.EnqueueingSessionStatus;
+import org.junit.Assert;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import test_support.ReindexSessionTestConfiguration;
+import test_support.TestCommonEntityWrapperManager;
+import test_support.TestJpaIndexingQueueManager;
+import test_support.entity.TestRootEntity;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(
+        classes = {ReindexSessionTestConfiguration.class}
+)
+public class ReindexSessionTest {
+
+    @Autowired
+    TestJpaIndexingQueueManager indexingQueueManager;
+    @Autowired
+    TestCommonEntityWrapperManager ewm;
+    @Autowired
+    ESIndexManager esIndexManager;
+    @Autowired
+    EntityIndexer entityIndexer;
+    @Autowired
+    AutowireCapableBeanFactory beanFactory;
+
+    @Autowired
+    Metadata metadata;
+    @Autowired
+    DataManager dataManager;
+    @Autowired
+    FetchPlans fetchPlans;
+
+    String entityName;
+
+    @BeforeEach
+    public void setUp() {
+        entityName = metadata.getClass(TestRootEntity.class).getName();
+
+        Mockito.reset(esIndexManager, entityIndexer);
+        when(esIndexManager.createIndex(any(IndexConfiguration.class), anyString())).thenReturn(true);
+        when(esIndexManager.swapIndex(any(IndexConfiguration.class), anyString())).thenReturn(true);
+        IndexResult indexResult = mock(IndexResult.class);
+        when(entityIndexer.indexCollection(any(IndexConfiguration.class), anyCollection(), anyString())).thenReturn(indexResult);
+        when(entityIndexer.indexCollectionByEntityIds(anyCollection())).thenReturn(indexResult);
+        when(entityIndexer.getFetchPlan(any(IndexConfiguration.class)))
+                .thenReturn(fetchPlans.builder(TestRootEntity.class).addFetchPlan(FetchPlan.BASE).build());
+
+        dataManager.load(EnqueueingSession.class).all().list().forEach(dataManager::remove);
+        dataManager.load(IndexingQueueItem.class).all().list().forEach(dataManager::remove);
+        dataManager.load(TestRootEntity.class).all().list().forEach(dataManager::remove);
+    }
+
+    @Test
+    @DisplayName("Reindex session writes instances into new index and replaces current index by it")
+    public void reindexIntoNewIndex() {
+        List<TestRootEntity> entities = createEntities(3);
+
+        Assert.assertTrue(indexingQueueManager.initAsyncReindexAll(entityName));
+        String targetIndexName = getTargetIndexName();
+        EnqueueingSession session = dataManager.load(EnqueueingSession.class).all().one();
+        Assert.assertEquals(targetIndexName, session.getTargetIndexName());
+
+        int processed = indexingQueueManager.processEnqueueingSession(entityName, 2);
+        Assert.assertEquals(2, processed);
+        verify(esIndexManager, never()).swapIndex(any(IndexConfiguration.class), anyString());
+
+        processed = indexingQueueManager.processEnqueueingSession(entityName, 2);
+        Assert.assertEquals(1, processed);
+        verify(esIndexManager).swapIndex(any(IndexConfiguration.class), eq(targetIndexName));
+        Assert.assertTrue(dataManager.load(EnqueueingSession.class).all().list().isEmpty());
+
+        Assert.assertEquals(getIds(entities), getReindexedIds(targetIndexName, 2));
+    }
+
+    @Test
+    @DisplayName("Reindex session is continued from the last processed instance after restart")
+    public void resumeReindexAfterRestart() {
+        List<TestRootEntity> entities = createEntities(3);
+
+        indexingQueueManager.initAsyncReindexAll(entityName);
+        String targetIndexName = getTargetIndexName();
+        indexingQueueManager.processEnqueueingSession(entityName, 2);
+        indexingQueueManager.suspendAsyncEnqueueIndexAll(entityName);
+
+        EnqueueingSession session = dataManager.load(EnqueueingSession.class).all().one();
+        Assert.assertEquals(EnqueueingSessionStatus.SUSPENDED, session.getStatus());
+        Assert.assertNotNull(session.getLastProcessedValue());
+
+        // New manager instance has only the state stored in the database
+        TestJpaIndexingQueueManager restartedQueueManager = beanFactory.createBean(TestJpaIndexingQueueManager.class);
+        Assert.assertEquals(0, restartedQueueManager.processEnqueueingSession(entityName, 2));
+        restartedQueueManager.resumeAsyncEnqueueIndexAll(entityName);
+        Assert.assertEquals(1, restartedQueueManager.processEnqueueingSession(entityName, 2));
+
+        verify(esIndexManager, times(1)).createIndex(any(IndexConfiguration.class), anyString());
+        verify(esIndexManager).swapIndex(any(IndexConfiguration.class), eq(targetIndexName));
+        Assert.assertEquals(getIds(entities), getReindexedIds(targetIndexName, 2));
+    }
+
+    @Test
+    @DisplayName("Queue items of entity being reindexed are processed after index replacement")
+    public void holdQueueItemsDuringReindex() {
+        List<TestRootEntity> entities = createEntities(1);
+
+        indexingQueueManager.initAsyncReindexAll(entityName);
+        indexingQueueManager.enqueueIndexByEntityId(Id.of(entities.get(0)));
+
+        Assert.assertEquals(0, indexingQueueManager.processNextBatch());
+        Assert.assertEquals(1, dataManager.load(IndexingQueueItem.class).all().list().size());
+        verify(entityIndexer, never()).indexCollectionByEntityIds(anyCollection());
+
+        indexingQueueManager.processEnqueueingSession(entityName, 10);
+        Assert.assertTrue(dataManager.load(EnqueueingSession.class).all().list().isEmpty());
+
+        Assert.assertEquals(1, indexingQueueManager.processNextBatch());
+        Assert.assertTrue(dataManager.load(IndexingQueueItem.class).all().list().isEmpty());
+        verify(entityIndexer).indexCollectionByEntityIds(anyCollection());
+    }
+
+    protected List<TestRootEntity> createEntities(int amount) {
+        List<TestRootEntity> entities = new ArrayList<>();
+        for (int i = 0; i < amount; i++) {
+            entities.add(ewm.createTestRootEntity().save());
+        }
+        return entities;
+    }
+
+    protected String getTargetIndexName() {
+        ArgumentCaptor<String> indexNameCaptor = ArgumentCaptor.forClass(String.class);
+        verify(esIndexManager).createIndex(any(IndexConfiguration.class), indexNameCaptor.capture());
+        return indexNameCaptor.getValue();
+    }
+
+    protected Set<Object> getIds(Collection<?> entities) {
+        return entities.stream().map(EntityValues::getId).collect(Collectors.toSet());
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    protected Set<Object> getReindexedIds(String targetIndexName, int invocations) {
+        ArgumentCaptor<Collection> instancesCaptor = ArgumentCaptor.forClass(Collection.class);
+        verify(entityIndexer, times(invocations))
+                .indexCollection(any(IndexConfiguration.class), instancesCaptor.capture(), eq(targetIndexName));
+        List<Object> instances = new ArrayList<>();
+        instancesCaptor.getAllValues().forEach(instances::addAll);
+        Assert.assertEquals(new HashSet<>(instances).size(), instances.size());
+        return getIds(instances);
+    }
+}
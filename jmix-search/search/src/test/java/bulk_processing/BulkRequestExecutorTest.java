@@ -0,0 +1,246 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package bulk_processing;
+
+import io.jmix.search.SearchProperties;
+import io.jmix.search.index.impl.BulkRequestExecutor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.elasticsearch.ElasticsearchStatusException;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.index.IndexResponse;
+import org.elasticsearch.action.support.WriteRequest.RefreshPolicy;
+import org.elasticsearch.index.shard.ShardId;
+import org.elasticsearch.rest.RestStatus;
+import org.elasticsearch.xcontent.XContentType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BulkRequestExecutorTest {
+
+    SearchProperties searchProperties;
+    MeterRegistry meterRegistry;
+    StubBulkRequestExecutor executor;
+
+    @BeforeEach
+    public void setUp() {
+        searchProperties = mock(SearchProperties.class);
+        when(searchProperties.getElasticsearchBulkRequestRefreshPolicy()).thenReturn(RefreshPolicy.NONE);
+        when(searchProperties.getElasticsearchBulkRequestMaxActions()).thenReturn(1000);
+        when(searchProperties.getElasticsearchBulkRequestMaxSize()).thenReturn(DataSize.ofMegabytes(5));
+        when(searchProperties.getElasticsearchBulkRequestConcurrency()).thenReturn(1);
+        when(searchProperties.getElasticsearchBulkRequestMaxRetries()).thenReturn(3);
+        when(searchProperties.getElasticsearchBulkRequestInitialBackoff()).thenReturn(Duration.ofMillis(1));
+
+        meterRegistry = new SimpleMeterRegistry();
+        executor = new StubBulkRequestExecutor(searchProperties, meterRegistry);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Bulk request is split according to max amount of actions")
+    public void splitByMaxActions() {
+        when(searchProperties.getElasticsearchBulkRequestMaxActions()).thenReturn(10);
+
+        BulkResponse response = executor.execute(createBulkRequest(25));
+
+        assertEquals(Arrays.asList(10, 10, 5), executor.getReceivedRequestSizes());
+        assertEquals(createIds(25), getResponseIds(response));
+        assertFalse(response.hasFailures());
+    }
+
+    @Test
+    @DisplayName("Bulk request is split according to max payload size")
+    public void splitByMaxSize() {
+        long actionSize = new BulkRequest().add(createIndexRequest("0")).estimatedSizeInBytes();
+        when(searchProperties.getElasticsearchBulkRequestMaxSize()).thenReturn(DataSize.ofBytes(actionSize * 3));
+
+        BulkResponse response = executor.execute(createBulkRequest(7));
+
+        assertEquals(Arrays.asList(3, 3, 1), executor.getReceivedRequestSizes());
+        assertEquals(createIds(7), getResponseIds(response));
+    }
+
+    @Test
+    @DisplayName("Rejected items are retried")
+    public void retryRejectedItems() {
+        executor.rejectIds(Arrays.asList("1", "3"), 2);
+
+        BulkResponse response = executor.execute(createBulkRequest(5));
+
+        assertEquals(Arrays.asList(5, 2, 2), executor.getReceivedRequestSizes());
+        assertEquals(createIds(5), getResponseIds(response));
+        assertFalse(response.hasFailures());
+        assertEquals(4, meterRegistry.counter("jmix.BulkRequestExecutor.retries").count());
+    }
+
+    @Test
+    @DisplayName("Rejected items are failed when max amount of retries is reached")
+    public void failAfterMaxRetries() {
+        executor.rejectIds(Collections.singletonList("2"), Integer.MAX_VALUE);
+
+        BulkResponse response = executor.execute(createBulkRequest(3));
+
+        assertEquals(Arrays.asList(3, 1, 1, 1), executor.getReceivedRequestSizes());
+        assertEquals(createIds(3), getResponseIds(response));
+        assertTrue(response.hasFailures());
+        List<String> failedIds = Arrays.stream(response.getItems())
+                .filter(BulkItemResponse::isFailed)
+                .map(BulkItemResponse::getId)
+                .collect(Collectors.toList());
+        assertEquals(Collections.singletonList("2"), failedIds);
+        assertEquals(1, meterRegistry.counter("jmix.BulkRequestExecutor.items", "result", "failure").count());
+        assertEquals(2, meterRegistry.counter("jmix.BulkRequestExecutor.items", "result", "success").count());
+    }
+
+    @Test
+    @DisplayName("Parts of bulk request are executed concurrently keeping the order of items")
+    public void concurrentExecution() {
+        when(searchProperties.getElasticsearchBulkRequestMaxActions()).thenReturn(5);
+        when(searchProperties.getElasticsearchBulkRequestConcurrency()).thenReturn(4);
+
+        BulkResponse response = executor.execute(createBulkRequest(40));
+
+        assertEquals(8, executor.getReceivedRequestSizes().size());
+        assertEquals(createIds(40), getResponseIds(response));
+        assertEquals(8, meterRegistry.timer("jmix.BulkRequestExecutor.request").count());
+    }
+
+    @Test
+    @DisplayName("Outstanding parts of bulk request are cancelled when one of them fails")
+    public void cancelOutstandingPartsOnFailure() throws InterruptedException {
+        when(searchProperties.getElasticsearchBulkRequestMaxActions()).thenReturn(1);
+        when(searchProperties.getElasticsearchBulkRequestConcurrency()).thenReturn(2);
+        executor.failIds(Collections.singletonList("0"));
+        executor.setRequestDelayMs(50);
+
+        assertThrows(ElasticsearchStatusException.class, () -> executor.execute(createBulkRequest(20)));
+
+        Thread.sleep(200);
+        assertTrue(executor.getReceivedRequestSizes().size() < 20);
+    }
+
+    protected BulkRequest createBulkRequest(int size) {
+        BulkRequest request = new BulkRequest();
+        createIds(size).forEach(id -> request.add(createIndexRequest(id)));
+        return request;
+    }
+
+    protected IndexRequest createIndexRequest(String id) {
+        return new IndexRequest()
+                .index("test_index")
+                .id(id)
+                .source("{\"name\":\"Name of the instance " + id + "\"}", XContentType.JSON);
+    }
+
+    protected List<String> createIds(int size) {
+        return IntStream.range(0, size).mapToObj(String::valueOf).collect(Collectors.toList());
+    }
+
+    protected List<String> getResponseIds(BulkResponse response) {
+        return Arrays.stream(response.getItems()).map(BulkItemResponse::getId).collect(Collectors.toList());
+    }
+
+    /**
+     * Replaces the bulk endpoint of Elasticsearch: successfully processes all received items
+     * except configured ones which are rejected with status 429. Requests containing configured failing items
+     * fail as a whole.
+     */
+    protected static class StubBulkRequestExecutor extends BulkRequestExecutor {
+
+        protected final List<Integer> receivedRequestSizes = Collections.synchronizedList(new ArrayList<>());
+        protected final Map<String, Integer> rejectionsLeft = new HashMap<>();
+        protected final Set<String> failingIds = new HashSet<>();
+        protected volatile long requestDelayMs;
+
+        public StubBulkRequestExecutor(SearchProperties searchProperties, MeterRegistry meterRegistry) {
+            super(null, searchProperties, meterRegistry);
+        }
+
+        public void rejectIds(Collection<String> ids, int times) {
+            ids.forEach(id -> rejectionsLeft.put(id, times));
+        }
+
+        public void failIds(Collection<String> ids) {
+            failingIds.addAll(ids);
+        }
+
+        public void setRequestDelayMs(long requestDelayMs) {
+            this.requestDelayMs = requestDelayMs;
+        }
+
+        public List<Integer> getReceivedRequestSizes() {
+            return receivedRequestSizes;
+        }
+
+        @Override
+        protected BulkResponse doExecuteBulkRequest(BulkRequest request) {
+            receivedRequestSizes.add(request.numberOfActions());
+            List<DocWriteRequest<?>> actions = request.requests();
+            if (actions.stream().anyMatch(action -> failingIds.contains(action.id()))) {
+                throw new ElasticsearchStatusException("Failed", RestStatus.BAD_REQUEST);
+            }
+            if (requestDelayMs > 0) {
+                try {
+                    Thread.sleep(requestDelayMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return createResponse(actions);
+        }
+
+        protected synchronized BulkResponse createResponse(List<DocWriteRequest<?>> actions) {
+            BulkItemResponse[] items = new BulkItemResponse[actions.size()];
+            for (int i = 0; i < actions.size(); i++) {
+                DocWriteRequest<?> action = actions.get(i);
+                int rejections = rejectionsLeft.getOrDefault(action.id(), 0);
+                if (rejections > 0) {
+                    rejectionsLeft.put(action.id(), rejections - 1);
+                    BulkItemResponse.Failure failure = new BulkItemResponse.Failure(action.index(), "_doc", action.id(),
+                            new RuntimeException("Rejected"), RestStatus.TOO_MANY_REQUESTS);
+                    items[i] = new BulkItemResponse(i, action.opType(), failure);
+                } else {
+                    IndexResponse indexResponse = new IndexResponse(new ShardId(action.index(), "uuid", 0), "_doc",
+                            action.id(), 1, 1, 1, true);
+                    items[i] = new BulkItemResponse(i, action.opType(), indexResponse);
+                }
+            }
+            return new BulkResponse(items, 1);
+        }
+    }
+}
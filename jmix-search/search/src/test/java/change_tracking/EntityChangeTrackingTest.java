@@ -19,6 +19,7 @@ package change_tracking;
 import io.jmix.core.DataManager;
 import io.jmix.core.Id;
 import io.jmix.core.Metadata;
+import io.jmix.core.SaveContext;
 import io.jmix.search.index.queue.impl.IndexingOperation;
 import org.junit.Assert;
 import org.junit.jupiter.api.BeforeEach;
@@ -28,13 +29,19 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import test_support.EntityChangeTrackingTestConfiguration;
 import test_support.TestCommonEntityWrapperManager;
 import test_support.TestIndexingQueueItemsTracker;
 import test_support.entity.*;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 
 @ExtendWith(SpringExtension.class)
 @ContextConfiguration(
@@ -50,6 +57,8 @@ public class EntityChangeTrackingTest {
     Metadata metadata;
     @Autowired
     DataManager dataManager;
+    @Autowired
+    PlatformTransactionManager transactionManager;
 
     @BeforeEach
     public void setUp() {
@@ -1363,4 +1372,74 @@ public class EntityChangeTrackingTest {
         boolean enqueued = indexingQueueItemsTracker.containsQueueItemsForEntityAndOperation(rootEntity, IndexingOperation.INDEX, 0);
         Assert.assertTrue(enqueued);
     }
+
+    @Test
+    @DisplayName("Update of indexed local property of several one-to-one references within single transaction leads to single queue item per dependent entity")
+    public void updateIndexedLocalPropertyOfSeveralOneToOneReferences() {
+        List<TestReferenceEntity> references = new ArrayList<>();
+        List<TestRootEntity> rootEntities = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            TestReferenceEntity reference = ewm.createTestReferenceEntity().save();
+            references.add(reference);
+            rootEntities.add(ewm.createTestRootEntity().setOneToOneAssociation(reference).save());
+        }
+        indexingQueueItemsTracker.clear();
+
+        SaveContext saveContext = new SaveContext();
+        for (TestReferenceEntity reference : references) {
+            TestReferenceEntity loaded = dataManager.load(Id.of(reference)).one();
+            loaded.setTextValue("Some text value");
+            saveContext.saving(loaded);
+        }
+        dataManager.save(saveContext);
+
+        for (TestRootEntity rootEntity : rootEntities) {
+            boolean enqueued = indexingQueueItemsTracker.containsQueueItemsForEntityAndOperation(rootEntity, IndexingOperation.INDEX, 1);
+            Assert.assertTrue(enqueued);
+        }
+    }
+
+    @Test
+    @DisplayName("Deletion of several one-to-one references within single transaction leads to queue item enqueueing for every dependent entity")
+    public void deleteSeveralOneToOneReferences() {
+        List<TestReferenceEntityHD> references = new ArrayList<>();
+        List<TestRootEntityHD> rootEntities = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            TestReferenceEntityHD reference = ewm.createTestReferenceEntityHD().save();
+            references.add(reference);
+            rootEntities.add(ewm.createTestRootEntityHD().setOneToOneAssociation(reference).save());
+        }
+        indexingQueueItemsTracker.clear();
+
+        ewm.remove(references.toArray());
+
+        for (TestRootEntityHD rootEntity : rootEntities) {
+            boolean enqueued = indexingQueueItemsTracker.containsQueueItemsForEntityAndOperation(rootEntity, IndexingOperation.INDEX, 1);
+            Assert.assertTrue(enqueued);
+        }
+    }
+
+    @Test
+    @DisplayName("Update of one-to-one reference within before-commit of another synchronization leads to queue item enqueueing")
+    public void updateOneToOneReferenceBeforeCommit() {
+        TestReferenceEntity reference = ewm.createTestReferenceEntity().save();
+        TestRootEntity rootEntity = ewm.createTestRootEntity().setOneToOneAssociation(reference).save();
+        indexingQueueItemsTracker.clear();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void beforeCommit(boolean readOnly) {
+                        ewm.wrap(reference).setTextValue("Some text value").save();
+                    }
+
+                    @Override
+                    public int getOrder() {
+                        return HIGHEST_PRECEDENCE;
+                    }
+                }));
+
+        boolean enqueued = indexingQueueItemsTracker.containsQueueItemsForEntityAndOperation(rootEntity, IndexingOperation.INDEX, 1);
+        Assert.assertTrue(enqueued);
+    }
 }
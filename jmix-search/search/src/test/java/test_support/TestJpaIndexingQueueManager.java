@@ -45,6 +45,21 @@ public class TestJpaIndexingQueueManager extends JpaIndexingQueueManager {
         this.idsProcessingDelay = idsProcessingDelay;
     }
 
+    @Override
+    public int processQueueConcurrently(int batchSize, boolean processEntireQueue, int workers) {
+        return super.processQueueConcurrently(batchSize, processEntireQueue, workers);
+    }
+
+    @Override
+    public int claimQueueItems(String claimToken, int batchSize) {
+        return super.claimQueueItems(claimToken, batchSize);
+    }
+
+    @Override
+    public void renewQueueItemClaims(Collection<String> claimTokens) {
+        super.renewQueueItemClaims(claimTokens);
+    }
+
     @Override
     protected int enqueue(@Nonnull Collection<IndexingQueueItem> queueItems) {
         indexingQueueItemsTracker.accept(queueItems);
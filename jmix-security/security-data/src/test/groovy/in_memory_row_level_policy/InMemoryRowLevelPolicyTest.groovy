@@ -175,4 +175,29 @@ class InMemoryRowLevelPolicyTest extends SecurityDataSpecification {
         testOrders[0].number == 'A-1-B'
     }
 
+    def "in-memory row-level policies are applied to the requested page loaded by batches"() {
+
+        given: "orders that alternately conform and do not conform to predicate from the role"
+
+        (1..300).each {
+            def order = metadata.create(TestOrder)
+            order.number = it % 2 == 0 ? "A-$it-B" : "A-$it-C"
+            dataManager.unconstrained().save(order)
+        }
+
+        when: "the user with row-level policies loads pages of orders"
+
+        systemAuthenticator.begin('user2')
+        def firstPage = dataManager.load(TestOrder).all().firstResult(0).maxResults(20).list()
+        def lastPage = dataManager.load(TestOrder).all().firstResult(140).maxResults(20).list()
+        systemAuthenticator.end()
+
+        then: "pages contain only conforming orders and do not overlap"
+
+        firstPage.size() == 20
+        // 150 created orders and order1 from setup conform, so the page starting at 140 has 11 of them
+        lastPage.size() == 151 - 140
+        (firstPage + lastPage).every { it.number.endsWith('B') }
+        (firstPage*.id as Set).intersect(lastPage*.id as Set).isEmpty()
+    }
 }
@@ -32,11 +32,19 @@ public class SecurityProperties {
      */
     String defaultRowLevelRolePrefix;
 
+    /**
+     * Maximum number of compiled policy indexes (one per distinct set of authorities and scope) cached by
+     * {@link io.jmix.security.impl.constraint.AuthenticationPolicyStore}. Set to 0 to disable the cache.
+     */
+    int policyIndexCacheSize;
+
     public SecurityProperties(
             @DefaultValue("true") boolean annotatedRolesHotDeployEnabled,
-            @DefaultValue("ROW_LEVEL_ROLE_") String defaultRowLevelRolePrefix) {
+            @DefaultValue("ROW_LEVEL_ROLE_") String defaultRowLevelRolePrefix,
+            @DefaultValue("1000") int policyIndexCacheSize) {
         this.annotatedRolesHotDeployEnabled = annotatedRolesHotDeployEnabled;
         this.defaultRowLevelRolePrefix = defaultRowLevelRolePrefix;
+        this.policyIndexCacheSize = policyIndexCacheSize;
     }
 
     /**
@@ -52,4 +60,11 @@ public class SecurityProperties {
     public String getDefaultRowLevelRolePrefix() {
         return defaultRowLevelRolePrefix;
     }
+
+    /**
+     * @see #policyIndexCacheSize
+     */
+    public int getPolicyIndexCacheSize() {
+        return policyIndexCacheSize;
+    }
 }
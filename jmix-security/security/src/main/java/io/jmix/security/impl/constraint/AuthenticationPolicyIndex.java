@@ -0,0 +1,137 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.security.impl.constraint;
+
+import io.jmix.security.model.*;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Effective policies of a distinct set of authorities, compiled from the resource and row-level roles granted by
+ * these authorities.
+ * <p>
+ * Policies of all roles are merged into a single structure grouped by policy type and resource (for resource policies)
+ * or by entity name (for row-level policies). Results of lookups that depend on the entity hierarchy are memoized by
+ * entity name, so repeated checks of the same entity or attribute do not traverse the roles again.
+ * <p>
+ * Instances are immutable from the caller's point of view and are shared between threads.
+ *
+ * @see AuthenticationPolicyStore
+ */
+public class AuthenticationPolicyIndex {
+
+    protected final Map<String, Map<String, List<ResourcePolicy>>> resourcePoliciesByTypeAndResource;
+    protected final Map<String, List<RowLevelPolicy>> rowLevelPoliciesByEntityName;
+
+    protected final Map<String, List<ResourcePolicy>> entityPoliciesCache = new ConcurrentHashMap<>();
+    protected final Map<String, List<ResourcePolicy>> entityAttributePoliciesCache = new ConcurrentHashMap<>();
+    protected final Map<String, List<RowLevelPolicy>> rowLevelPoliciesCache = new ConcurrentHashMap<>();
+
+    public AuthenticationPolicyIndex(Collection<ResourceRole> resourceRoles, Collection<RowLevelRole> rowLevelRoles) {
+        Map<String, Map<String, List<ResourcePolicy>>> resourcePolicies = new HashMap<>();
+        for (ResourceRole resourceRole : resourceRoles) {
+            for (ResourcePolicy policy : resourceRole.getAllResourcePolicies()) {
+                resourcePolicies.computeIfAbsent(policy.getType(), type -> new HashMap<>())
+                        .computeIfAbsent(policy.getResource(), resource -> new ArrayList<>())
+                        .add(policy);
+            }
+        }
+        this.resourcePoliciesByTypeAndResource = resourcePolicies;
+
+        Map<String, List<RowLevelPolicy>> rowLevelPolicies = new HashMap<>();
+        for (RowLevelRole rowLevelRole : rowLevelRoles) {
+            for (RowLevelPolicy policy : rowLevelRole.getAllRowLevelPolicies()) {
+                rowLevelPolicies.computeIfAbsent(policy.getEntityName(), entityName -> new ArrayList<>())
+                        .add(policy);
+            }
+        }
+        this.rowLevelPoliciesByEntityName = rowLevelPolicies;
+    }
+
+    /**
+     * Returns policies of the specified type and resource.
+     */
+    public List<ResourcePolicy> getResourcePolicies(String policyType, String resource) {
+        Map<String, List<ResourcePolicy>> policiesByResource = resourcePoliciesByTypeAndResource.get(policyType);
+        if (policiesByResource == null) {
+            return Collections.emptyList();
+        }
+        List<ResourcePolicy> policies = policiesByResource.get(resource);
+        return policies == null ? Collections.emptyList() : Collections.unmodifiableList(policies);
+    }
+
+    /**
+     * Returns policies of the specified type for all given resources.
+     */
+    public List<ResourcePolicy> getResourcePolicies(String policyType, Collection<String> resources) {
+        List<ResourcePolicy> result = new ArrayList<>();
+        for (String resource : resources) {
+            result.addAll(getResourcePolicies(policyType, resource));
+        }
+        return result;
+    }
+
+    /**
+     * Returns entity policies of the given entity, computing them once from the supplied resource names.
+     *
+     * @param entityName name of the entity used as a memoization key
+     * @param resources  supplies the resource names (the entity and its original entity) on the first call
+     */
+    public List<ResourcePolicy> getEntityPolicies(String entityName, Supplier<Collection<String>> resources) {
+        return entityPoliciesCache.computeIfAbsent(entityName,
+                key -> toUnmodifiableList(getResourcePolicies(ResourcePolicyType.ENTITY, resources.get())));
+    }
+
+    /**
+     * Returns entity attribute policies of the given attribute, computing them once from the supplied resource names.
+     *
+     * @param entityName name of the entity used as a part of memoization key
+     * @param attribute  attribute name used as a part of memoization key
+     * @param resources  supplies the resource names (the attribute of the entity and of its original entity)
+     *                   on the first call
+     */
+    public List<ResourcePolicy> getEntityAttributePolicies(String entityName, String attribute,
+                                                           Supplier<Collection<String>> resources) {
+        return entityAttributePoliciesCache.computeIfAbsent(entityName + "." + attribute,
+                key -> toUnmodifiableList(getResourcePolicies(ResourcePolicyType.ENTITY_ATTRIBUTE, resources.get())));
+    }
+
+    /**
+     * Returns row-level policies of the given entity, computing them once from the supplied entity names.
+     *
+     * @param entityName  name of the entity used as a memoization key
+     * @param entityNames supplies the names of the entity, its original entity and their ancestors on the first call
+     */
+    public List<RowLevelPolicy> getRowLevelPolicies(String entityName, Supplier<Collection<String>> entityNames) {
+        return rowLevelPoliciesCache.computeIfAbsent(entityName, key -> {
+            List<RowLevelPolicy> result = new ArrayList<>();
+            for (String name : entityNames.get()) {
+                List<RowLevelPolicy> policies = rowLevelPoliciesByEntityName.get(name);
+                if (policies != null) {
+                    result.addAll(policies);
+                }
+            }
+            return toUnmodifiableList(result);
+        });
+    }
+
+    protected <T> List<T> toUnmodifiableList(List<T> list) {
+        return list.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(list);
+    }
+}
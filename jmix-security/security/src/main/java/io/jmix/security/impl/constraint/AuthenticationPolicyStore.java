@@ -16,24 +16,30 @@
 
 package io.jmix.security.impl.constraint;
 
+import com.google.common.cache.Cache;
+import com.google.common.base.Throwables;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import io.jmix.core.ExtendedEntities;
 import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.security.ClientDetails;
 import io.jmix.core.security.CurrentAuthentication;
+import io.jmix.security.SecurityProperties;
 import io.jmix.security.constraint.PolicyStore;
 import io.jmix.security.model.*;
 import io.jmix.security.role.ResourceRoleRepository;
 import io.jmix.security.role.RoleGrantedAuthorityUtils;
 import io.jmix.security.role.RowLevelRoleRepository;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.lang.Nullable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
 
-import java.util.Collection;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
@@ -54,21 +60,36 @@ public class AuthenticationPolicyStore implements PolicyStore {
     @Autowired
     protected RoleGrantedAuthorityUtils roleGrantedAuthorityUtils;
 
+    @Autowired
+    protected SecurityProperties securityProperties;
+
+    protected Cache<PolicyIndexKey, AuthenticationPolicyIndex> policyIndexCache;
+
+    /**
+     * Incremented on each invalidation and included in the cache keys, so an index compiled from the roles
+     * that were current before the invalidation is never returned after it.
+     */
+    protected final AtomicLong policyIndexGeneration = new AtomicLong();
+
+    @PostConstruct
+    protected void init() {
+        int cacheSize = securityProperties.getPolicyIndexCacheSize();
+        if (cacheSize > 0) {
+            policyIndexCache = CacheBuilder.newBuilder()
+                    .maximumSize(cacheSize)
+                    .build();
+        }
+    }
+
     @Override
     public Stream<RowLevelPolicy> getRowLevelPolicies(MetaClass metaClass) {
-        MetaClass originalMetaClass = extendedEntities.getOriginalMetaClass(metaClass);
-        Set<String> suitableMetaClassNames = new HashSet<>();
-        suitableMetaClassNames.add(metaClass.getName());
-        if (originalMetaClass != null) {
-            suitableMetaClassNames.add(originalMetaClass.getName());
-            for (MetaClass ancestor : originalMetaClass.getAncestors()) {
-                suitableMetaClassNames.add(ancestor.getName());
-            }
-        }
-        for (MetaClass ancestor : metaClass.getAncestors()) {
-            suitableMetaClassNames.add(ancestor.getName());
+        AuthenticationPolicyIndex policyIndex = getPolicyIndex();
+        if (policyIndex != null) {
+            return policyIndex.getRowLevelPolicies(metaClass.getName(), () -> getSuitableMetaClassNames(metaClass))
+                    .stream();
         }
 
+        Set<String> suitableMetaClassNames = getSuitableMetaClassNames(metaClass);
         return extractRowLevelPoliciesFromAuthentication(rowLevelRole ->
                 suitableMetaClassNames.stream()
                                 .flatMap(metaClassName ->
@@ -78,61 +99,143 @@ public class AuthenticationPolicyStore implements PolicyStore {
 
     @Override
     public Stream<ResourcePolicy> getEntityResourcePolicies(MetaClass metaClass) {
-        MetaClass originalMetaClass = extendedEntities.getOriginalMetaClass(metaClass);
-        return extractResourcePoliciesFromAuthenticationByScope(resourceRole -> {
-            Set<String> resources = new HashSet<>();
-            resources.add(metaClass.getName());
-            if (originalMetaClass != null) {
-                resources.add(originalMetaClass.getName());
-            }
-            return getPoliciesStreamByTypeAndResources(resourceRole, ResourcePolicyType.ENTITY, resources);
-        });
+        AuthenticationPolicyIndex policyIndex = getPolicyIndex();
+        if (policyIndex != null) {
+            return policyIndex.getEntityPolicies(metaClass.getName(), () -> getEntityResources(metaClass))
+                    .stream();
+        }
+
+        Set<String> resources = getEntityResources(metaClass);
+        return extractResourcePoliciesFromAuthenticationByScope(resourceRole ->
+                getPoliciesStreamByTypeAndResources(resourceRole, ResourcePolicyType.ENTITY, resources));
     }
 
     @Override
     public Stream<ResourcePolicy> getEntityResourcePoliciesByWildcard(String wildcard) {
-        return extractResourcePoliciesFromAuthenticationByScope(resourceRole ->
-            getPoliciesStreamByTypeAndResources(resourceRole,
-                    ResourcePolicyType.ENTITY,
-                    Set.of(wildcard))
-        );
+        return getResourcePolicies(ResourcePolicyType.ENTITY, wildcard);
     }
 
     @Override
     public Stream<ResourcePolicy> getEntityAttributesResourcePolicies(MetaClass metaClass, String attribute) {
-        MetaClass originalMetaClass = extendedEntities.getOriginalMetaClass(metaClass);
-        return extractResourcePoliciesFromAuthenticationByScope(resourceRole -> {
-            Set<String> resources = new HashSet<>();
-            resources.add(metaClass.getName() + "." + attribute);
-            if (originalMetaClass != null) {
-                resources.add(originalMetaClass.getName() + "." + attribute);
-            }
-            return getPoliciesStreamByTypeAndResources(resourceRole, ResourcePolicyType.ENTITY_ATTRIBUTE, resources);
-        });
+        AuthenticationPolicyIndex policyIndex = getPolicyIndex();
+        if (policyIndex != null) {
+            return policyIndex.getEntityAttributePolicies(metaClass.getName(), attribute,
+                            () -> getEntityAttributeResources(metaClass, attribute))
+                    .stream();
+        }
+
+        Set<String> resources = getEntityAttributeResources(metaClass, attribute);
+        return extractResourcePoliciesFromAuthenticationByScope(resourceRole ->
+                getPoliciesStreamByTypeAndResources(resourceRole, ResourcePolicyType.ENTITY_ATTRIBUTE, resources));
     }
 
     @Override
     public Stream<ResourcePolicy> getEntityAttributesResourcePoliciesByWildcard(String entityWildcard, String attributeWildcard) {
-        return extractResourcePoliciesFromAuthenticationByScope(resourceRole ->
-                getPoliciesStreamByTypeAndResources(resourceRole,
-                        ResourcePolicyType.ENTITY_ATTRIBUTE,
-                        Set.of(entityWildcard + "." + attributeWildcard)));
+        return getResourcePolicies(ResourcePolicyType.ENTITY_ATTRIBUTE, entityWildcard + "." + attributeWildcard);
     }
 
     @Override
     public Stream<ResourcePolicy> getSpecificResourcePolicies(String resourceName) {
-        return extractResourcePoliciesFromAuthenticationByScope(resourceRole ->
-                getPoliciesStreamByTypeAndResources(resourceRole,
-                        ResourcePolicyType.SPECIFIC,
-                        Set.of(resourceName)));
+        return getResourcePolicies(ResourcePolicyType.SPECIFIC, resourceName);
     }
 
     @Override
     public Stream<ResourcePolicy> getGraphQLResourcePolicies(String resourceName) {
+        return getResourcePolicies(ResourcePolicyType.GRAPHQL, resourceName);
+    }
+
+    /**
+     * Removes all compiled policy indexes. Must be invoked when resource or row-level roles are modified.
+     */
+    public void invalidatePolicyIndexCache() {
+        if (policyIndexCache != null) {
+            policyIndexGeneration.incrementAndGet();
+            policyIndexCache.invalidateAll();
+        }
+    }
+
+    protected Stream<ResourcePolicy> getResourcePolicies(String policyType, String resource) {
+        AuthenticationPolicyIndex policyIndex = getPolicyIndex();
+        if (policyIndex != null) {
+            return policyIndex.getResourcePolicies(policyType, resource).stream();
+        }
         return extractResourcePoliciesFromAuthenticationByScope(resourceRole ->
-                getPoliciesStreamByTypeAndResources(resourceRole,
-                        ResourcePolicyType.GRAPHQL,
-                        Set.of(resourceName)));
+                getPoliciesStreamByTypeAndResources(resourceRole, policyType, Set.of(resource)));
+    }
+
+    /**
+     * Returns the compiled policy index for the authorities and scope of the current authentication,
+     * or null if the policy index cache is disabled.
+     */
+    @Nullable
+    protected AuthenticationPolicyIndex getPolicyIndex() {
+        if (policyIndexCache == null) {
+            return null;
+        }
+        Authentication authentication = currentAuthentication.getAuthentication();
+        Set<String> authorities = new HashSet<>();
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            if (authority.getAuthority() != null) {
+                authorities.add(authority.getAuthority());
+            }
+        }
+        PolicyIndexKey key = new PolicyIndexKey(authorities, getScope(authentication), policyIndexGeneration.get());
+        try {
+            return policyIndexCache.get(key, this::compilePolicyIndex);
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            Throwables.throwIfUnchecked(e.getCause());
+            throw new RuntimeException("Unable to compile policy index", e.getCause());
+        }
+    }
+
+    protected AuthenticationPolicyIndex compilePolicyIndex() {
+        List<ResourceRole> resourceRoles = new ArrayList<>();
+        extractResourcePoliciesFromAuthenticationByScope(resourceRole -> {
+            resourceRoles.add(resourceRole);
+            return null;
+        });
+        List<RowLevelRole> rowLevelRoles = new ArrayList<>();
+        extractRowLevelPoliciesFromAuthentication(rowLevelRole -> {
+            rowLevelRoles.add(rowLevelRole);
+            return null;
+        });
+        return new AuthenticationPolicyIndex(resourceRoles, rowLevelRoles);
+    }
+
+    protected Set<String> getSuitableMetaClassNames(MetaClass metaClass) {
+        MetaClass originalMetaClass = extendedEntities.getOriginalMetaClass(metaClass);
+        Set<String> suitableMetaClassNames = new LinkedHashSet<>();
+        suitableMetaClassNames.add(metaClass.getName());
+        if (originalMetaClass != null) {
+            suitableMetaClassNames.add(originalMetaClass.getName());
+            for (MetaClass ancestor : originalMetaClass.getAncestors()) {
+                suitableMetaClassNames.add(ancestor.getName());
+            }
+        }
+        for (MetaClass ancestor : metaClass.getAncestors()) {
+            suitableMetaClassNames.add(ancestor.getName());
+        }
+        return suitableMetaClassNames;
+    }
+
+    protected Set<String> getEntityResources(MetaClass metaClass) {
+        MetaClass originalMetaClass = extendedEntities.getOriginalMetaClass(metaClass);
+        Set<String> resources = new LinkedHashSet<>();
+        resources.add(metaClass.getName());
+        if (originalMetaClass != null) {
+            resources.add(originalMetaClass.getName());
+        }
+        return resources;
+    }
+
+    protected Set<String> getEntityAttributeResources(MetaClass metaClass, String attribute) {
+        MetaClass originalMetaClass = extendedEntities.getOriginalMetaClass(metaClass);
+        Set<String> resources = new LinkedHashSet<>();
+        resources.add(metaClass.getName() + "." + attribute);
+        if (originalMetaClass != null) {
+            resources.add(originalMetaClass.getName() + "." + attribute);
+        }
+        return resources;
     }
 
     protected Stream<ResourcePolicy> extractResourcePoliciesFromAuthenticationByScope(Function<ResourceRole, Stream<ResourcePolicy>> extractor) {
@@ -201,4 +304,32 @@ public class AuthenticationPolicyStore implements PolicyStore {
         return resources.stream()
                 .flatMap(r -> resourceRole.getAllResourcePoliciesIndex().getPoliciesByTypeAndResource(policyType, r).stream());
     }
+
+    protected static class PolicyIndexKey {
+
+        private final Set<String> authorities;
+        private final String scope;
+        private final long generation;
+
+        public PolicyIndexKey(Set<String> authorities, @Nullable String scope, long generation) {
+            this.authorities = authorities;
+            this.scope = scope;
+            this.generation = generation;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            PolicyIndexKey that = (PolicyIndexKey) o;
+            return generation == that.generation
+                    && authorities.equals(that.authorities)
+                    && Objects.equals(scope, that.scope);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(authorities, scope, generation);
+        }
+    }
 }
@@ -16,25 +16,33 @@
 
 package io.jmix.security.impl.role;
 
+import io.jmix.security.impl.constraint.AuthenticationPolicyStore;
 import io.jmix.security.impl.role.event.ResourceRoleModifiedEvent;
 import io.jmix.security.role.ResourceRoleRepository;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
 /**
- * Listener invalidates resource roles repository cache when database resource role entity is modified.
+ * Listener invalidates resource roles repository cache and compiled policy indexes when database resource role entity is
+ * modified.
  */
 @Component("sec_ResourceRoleModifiedEventListener")
 public class ResourceRoleModifiedEventListener {
 
     private final ResourceRoleRepository resourceRoleRepository;
 
-    public ResourceRoleModifiedEventListener(ResourceRoleRepository resourceRoleRepository) {
+    private final ObjectProvider<AuthenticationPolicyStore> authenticationPolicyStoreProvider;
+
+    public ResourceRoleModifiedEventListener(ResourceRoleRepository resourceRoleRepository,
+                                             ObjectProvider<AuthenticationPolicyStore> authenticationPolicyStoreProvider) {
         this.resourceRoleRepository = resourceRoleRepository;
+        this.authenticationPolicyStoreProvider = authenticationPolicyStoreProvider;
     }
 
     @EventListener
     public void onResourceRoleModifiedEvent(ResourceRoleModifiedEvent event) {
         resourceRoleRepository.invalidateCache();
+        authenticationPolicyStoreProvider.ifAvailable(AuthenticationPolicyStore::invalidatePolicyIndexCache);
     }
 }
@@ -16,24 +16,32 @@
 
 package io.jmix.security.impl.role;
 
+import io.jmix.security.impl.constraint.AuthenticationPolicyStore;
 import io.jmix.security.impl.role.event.RowLevelRoleModifiedEvent;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
 /**
- * Listener invalidates row-level roles repository cache when database row-level role entity is modified.
+ * Listener invalidates row-level roles repository cache and compiled policy indexes when database row-level role entity is
+ * modified.
  */
 @Component("sec_RowLevelRoleModifiedEventListener")
 public class RowLevelRoleModifiedEventListener {
 
     private final RowLevelRoleRepositoryImpl rowLevelRoleRepository;
 
-    public RowLevelRoleModifiedEventListener(RowLevelRoleRepositoryImpl rowLevelRoleRepository) {
+    private final ObjectProvider<AuthenticationPolicyStore> authenticationPolicyStoreProvider;
+
+    public RowLevelRoleModifiedEventListener(RowLevelRoleRepositoryImpl rowLevelRoleRepository,
+                                             ObjectProvider<AuthenticationPolicyStore> authenticationPolicyStoreProvider) {
         this.rowLevelRoleRepository = rowLevelRoleRepository;
+        this.authenticationPolicyStoreProvider = authenticationPolicyStoreProvider;
     }
 
     @EventListener
     public void onRowLevelRoleModifiedEvent(RowLevelRoleModifiedEvent event) {
         rowLevelRoleRepository.invalidateCache();
+        authenticationPolicyStoreProvider.ifAvailable(AuthenticationPolicyStore::invalidatePolicyIndexCache);
     }
 }
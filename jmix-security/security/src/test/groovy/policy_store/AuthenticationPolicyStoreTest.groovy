@@ -0,0 +1,159 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package policy_store
+
+import io.jmix.core.Metadata
+import io.jmix.core.security.SecurityContextHelper
+import io.jmix.security.impl.constraint.AuthenticationPolicyIndex
+import io.jmix.security.impl.constraint.AuthenticationPolicyStore
+import io.jmix.security.impl.role.event.ResourceRoleModifiedEvent
+import io.jmix.security.model.ResourcePolicyType
+import io.jmix.security.role.RoleGrantedAuthorityUtils
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.context.ApplicationContext
+import org.springframework.context.ApplicationEventPublisher
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken
+import test_support.SecuritySpecification
+import test_support.entity.TestOrder
+
+class AuthenticationPolicyStoreTest extends SecuritySpecification {
+
+    @Autowired
+    AuthenticationPolicyStore policyStore
+
+    @Autowired
+    RoleGrantedAuthorityUtils roleGrantedAuthorityUtils
+
+    @Autowired
+    Metadata metadata
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher
+
+    @Autowired
+    ApplicationContext applicationContext
+
+    def setup() {
+        policyStore.invalidatePolicyIndexCache()
+        authenticate([
+                roleGrantedAuthorityUtils.createResourceRoleGrantedAuthority('TestEntityPolicyAllCrudRole'),
+                roleGrantedAuthorityUtils.createRowLevelRoleGrantedAuthority('TestJpqlRoleLevelPolicyRole')
+        ])
+    }
+
+    def cleanup() {
+        SecurityContextHelper.setAuthentication(null)
+    }
+
+    def "policies are looked up in compiled index"() {
+        def metaClass = metadata.getClass(TestOrder)
+
+        when:
+        def entityPolicies = policyStore.getEntityResourcePolicies(metaClass).toList()
+        def rowLevelPolicies = policyStore.getRowLevelPolicies(metaClass).toList()
+
+        then:
+        entityPolicies.size() == 1
+        entityPolicies[0].type == ResourcePolicyType.ENTITY
+        entityPolicies[0].resource == metaClass.name
+
+        rowLevelPolicies.size() == 2
+        rowLevelPolicies*.whereClause.toSet() == ['where1', 'where2'] as Set
+
+        policyStore.getEntityAttributesResourcePolicies(metaClass, 'number').count() == 0
+        policyStore.getSpecificResourcePolicies('someResource').count() == 0
+
+        policyStore.policyIndexCache.size() == 1
+
+        when: "same authorities in another authentication object"
+        authenticate([
+                roleGrantedAuthorityUtils.createRowLevelRoleGrantedAuthority('TestJpqlRoleLevelPolicyRole'),
+                roleGrantedAuthorityUtils.createResourceRoleGrantedAuthority('TestEntityPolicyAllCrudRole')
+        ])
+
+        then:
+        policyStore.getEntityResourcePolicies(metaClass).count() == 1
+        policyStore.policyIndexCache.size() == 1
+
+        when: "different authorities"
+        authenticate([roleGrantedAuthorityUtils.createRowLevelRoleGrantedAuthority('TestJpqlRoleLevelPolicyRole')])
+
+        then:
+        policyStore.getEntityResourcePolicies(metaClass).count() == 0
+        policyStore.getRowLevelPolicies(metaClass).count() == 2
+        policyStore.policyIndexCache.size() == 2
+    }
+
+    def "compiled indexes are invalidated when roles are modified"() {
+        def metaClass = metadata.getClass(TestOrder)
+
+        when:
+        policyStore.getEntityResourcePolicies(metaClass).count()
+
+        then:
+        policyStore.policyIndexCache.size() == 1
+
+        when:
+        eventPublisher.publishEvent(new ResourceRoleModifiedEvent(this))
+
+        then:
+        policyStore.policyIndexCache.size() == 0
+        policyStore.getEntityResourcePolicies(metaClass).count() == 1
+    }
+
+    def "index compiled before invalidation is not used after it"() {
+        def metaClass = metadata.getClass(TestOrder)
+        def store = new InvalidatingPolicyStore()
+        applicationContext.autowireCapableBeanFactory.autowireBean(store)
+        store.init()
+
+        when: "roles are modified while the index is being compiled"
+        store.invalidateDuringCompilation = true
+        store.getEntityResourcePolicies(metaClass).count()
+        store.getEntityResourcePolicies(metaClass).count()
+
+        then: "the index is compiled again"
+        store.compilations == 2
+
+        when:
+        store.getEntityResourcePolicies(metaClass).count()
+
+        then:
+        store.compilations == 2
+    }
+
+    private static void authenticate(List authorities) {
+        SecurityContextHelper.setAuthentication(new UsernamePasswordAuthenticationToken('user1', null, authorities))
+    }
+
+    static class InvalidatingPolicyStore extends AuthenticationPolicyStore {
+
+        boolean invalidateDuringCompilation
+        int compilations
+
+        @Override
+        protected AuthenticationPolicyIndex compilePolicyIndex() {
+            compilations++
+            def policyIndex = super.compilePolicyIndex()
+            if (invalidateDuringCompilation) {
+                invalidateDuringCompilation = false
+                invalidatePolicyIndexCache()
+            }
+            return policyIndex
+        }
+    }
+}